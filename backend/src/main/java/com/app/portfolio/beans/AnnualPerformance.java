@@ -4,9 +4,13 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "annual_performance")
+@Table(name = "annual_performance", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_annual_performance_client_year", columnNames = {"client_id", "financial_year"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,9 +27,25 @@ public class AnnualPerformance {
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
+    // Set for the app's own clients, whose rows are rolled up from the nightly snapshots
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id")
+    private Client client;
+
+    // Calendar year the financial year starts in
     @Column(name = "financial_year")
     private Integer financialYear;
 
+    @Column(length = 10)
+    private String currency;
+
+    // Dates of the snapshots the opening and closing values were read from
+    @Column(name = "opening_date")
+    private LocalDate openingDate;
+
+    @Column(name = "closing_date")
+    private LocalDate closingDate;
+
     @Column(name = "opening_value", precision = 18, scale = 2)
     private BigDecimal openingValue;
 
@@ -43,4 +63,11 @@ public class AnnualPerformance {
 
     @Column(name = "worst_performing_asset")
     private String worstPerformingAsset;
+
+    // Set once the year has ended and was rolled up from its last snapshot; never recomputed after
+    @Column(nullable = false)
+    private boolean closed;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
@@ -10,7 +10,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "assets")
+@Table(name = "assets", indexes = {
+    @Index(name = "idx_assets_client_purchase", columnList = "client_id,purchase_date,id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_assets_client_row_hash", columnNames = {"client_id", "row_hash"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -57,13 +61,18 @@ public class Asset {
     @Column(nullable = false)
     private boolean sold = false;
 
+    // SHA-256 of the imported row's content, see AssetRowHash; null for assets not created by an import
+    @Column(name = "row_hash", length = 64)
+    private String rowHash;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
-    @OneToMany(mappedBy = "asset", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Not cascaded: prices are keyed by symbol and are detached, not deleted, with the asset
+    @OneToMany(mappedBy = "asset")
     @OrderBy("priceDate DESC")
     @Builder.Default
     private List<AssetPrice> prices = new ArrayList<>();
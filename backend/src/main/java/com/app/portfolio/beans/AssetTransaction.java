@@ -0,0 +1,72 @@
+package com.app.portfolio.beans;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One entry of a client's trade ledger. Positions and their FIFO lots are derived from these
+ * by the lot engine; the entries themselves are never changed once recorded.
+ */
+@Entity
+@Table(name = "asset_transactions", indexes = {
+    @Index(name = "idx_asset_tx_client_symbol_date", columnList = "client_id, symbol, trade_date, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    private Client client;
+
+    @Column(nullable = false, length = 50)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TransactionType type;
+
+    // Units bought or sold; null for splits
+    @Column(precision = 20, scale = 4)
+    private BigDecimal quantity;
+
+    // Price per unit; null for splits
+    @Column(precision = 20, scale = 4)
+    private BigDecimal price;
+
+    // New units per old unit, e.g. 2 for a 2-for-1 split and 0.1 for a 1-for-10 reverse split
+    @Column(name = "split_ratio", precision = 12, scale = 6)
+    private BigDecimal splitRatio;
+
+    @Column(length = 3)
+    private String currency;
+
+    @Column(name = "trade_date", nullable = false)
+    private Instant tradeDateTime;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+
+    /**
+     * A sell of less than the open quantity is a partial sell; the lot engine consumes only as
+     * many lots as it needs
+     */
+    public enum TransactionType {
+        BUY, SELL, SPLIT
+    }
+}
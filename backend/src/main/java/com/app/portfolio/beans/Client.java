@@ -41,7 +41,8 @@ public class Client {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
-    @OneToMany(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Not cascaded: ClientServiceImpl deletes a client's assets with bulk statements
+    @OneToMany(mappedBy = "client")
     @Builder.Default
     private List<Asset> assets = new ArrayList<>();
 
@@ -0,0 +1,50 @@
+package com.app.portfolio.beans;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Daily FX rate history: value of one unit of {@code currency} in USD.
+ * One row per currency and day; the latest live rate of the day overwrites the row.
+ */
+@Entity
+@Table(name = "fx_rates",
+    uniqueConstraints = @UniqueConstraint(name = "uk_fx_rates_currency_date", columnNames = {"currency", "rate_date"}),
+    indexes = @Index(name = "idx_fx_rates_date", columnList = "rate_date"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FxRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "usd_rate", nullable = false, precision = 20, scale = 10)
+    private BigDecimal usdRate;
+
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AssetPrice.PriceSource source;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = Instant.now();
+    }
+}
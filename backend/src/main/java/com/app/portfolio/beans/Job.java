@@ -0,0 +1,78 @@
+package com.app.portfolio.beans;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A background import, export or statement run. Progress and the result summary are written
+ * by the worker running it; a downloadable result is kept on disk under the job's id.
+ */
+@Entity
+@Table(name = "jobs", indexes = {
+    @Index(name = "idx_jobs_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_jobs_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Job {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(nullable = false)
+    private long processed;
+
+    private Long total;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Lob
+    @Column(name = "result_json")
+    private String resultJson;
+
+    @Column(name = "result_name")
+    private String resultName;
+
+    @Column(name = "result_content_type", length = 100)
+    private String resultContentType;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public enum JobType {
+        CSV_IMPORT, EXCEL_IMPORT, JSON_IMPORT, CSV_EXPORT, EXCEL_EXPORT, STATEMENT, PORTFOLIO_UPLOAD
+    }
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+}
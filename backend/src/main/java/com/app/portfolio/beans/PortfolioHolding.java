@@ -28,6 +28,10 @@ public class PortfolioHolding {
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id")
+    private Client client;
+
     @Column(nullable = false, length = 50)
     private String ticker;
 
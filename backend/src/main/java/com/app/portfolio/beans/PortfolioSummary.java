@@ -27,6 +27,14 @@ public class PortfolioSummary {
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id")
+    private Client client;
+
+    // Currency of the totals; the holdings keep their own
+    @Column(length = 10)
+    private String currency;
+
     @Column(name = "total_invested_value", precision = 18, scale = 2)
     private BigDecimal totalInvestedValue;
 
@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "portfolio_uploads")
+@Table(name = "portfolio_uploads", indexes = {
+    @Index(name = "idx_portfolio_uploads_client_period", columnList = "client_id, period_type, period_label")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,6 +25,11 @@ public class PortfolioUpload {
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
+    // Set for the app's own clients, e.g. by the nightly snapshot
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id")
+    private Client client;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "period_type", nullable = false)
     private PeriodType periodType;
@@ -42,6 +49,6 @@ public class PortfolioUpload {
     }
 
     public enum PeriodType {
-        QUARTERLY, ANNUAL, CUSTOM
+        DAILY, QUARTERLY, ANNUAL, CUSTOM
     }
 }
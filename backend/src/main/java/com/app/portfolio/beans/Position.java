@@ -0,0 +1,74 @@
+package com.app.portfolio.beans;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A client's holding of one symbol, kept up to date by the lot engine as transactions are
+ * recorded. {@code costBasis} is the cost of the open lots and always equals the sum of their
+ * {@code cost}; {@code realizedPnl} accumulates over every sell.
+ */
+@Entity
+@Table(name = "positions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_positions_client_symbol", columnNames = {"client_id", "symbol"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Position {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    private Client client;
+
+    @Column(nullable = false, length = 50)
+    private String symbol;
+
+    @Column(length = 3)
+    private String currency;
+
+    @Column(nullable = false, precision = 24, scale = 8)
+    @Builder.Default
+    private BigDecimal quantity = BigDecimal.ZERO;
+
+    @Column(name = "cost_basis", nullable = false, precision = 20, scale = 4)
+    @Builder.Default
+    private BigDecimal costBasis = BigDecimal.ZERO;
+
+    @Column(name = "realized_pnl", nullable = false, precision = 20, scale = 4)
+    @Builder.Default
+    private BigDecimal realizedPnl = BigDecimal.ZERO;
+
+    // Last transaction applied; a transaction dated before it makes the position replay
+    @Column(name = "last_transaction_id")
+    private Long lastTransactionId;
+
+    @Column(name = "last_trade_date")
+    private Instant lastTradeDateTime;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Open lots, oldest first; sells consume them from the front
+    @OneToMany(mappedBy = "position", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("acquiredAt ASC, id ASC")
+    @Builder.Default
+    private List<PositionLot> lots = new ArrayList<>();
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = Instant.now();
+    }
+}
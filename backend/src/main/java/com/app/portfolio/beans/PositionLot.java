@@ -0,0 +1,44 @@
+package com.app.portfolio.beans;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * The open part of one buy. The lot keeps its total remaining cost rather than a unit cost, so
+ * splits only change the quantity and a fully sold lot takes exactly its cost with it.
+ */
+@Entity
+@Table(name = "position_lots", indexes = {
+    @Index(name = "idx_position_lots_position", columnList = "position_id, acquired_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionLot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "position_id", nullable = false)
+    private Position position;
+
+    // The buy this lot came from
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(nullable = false, precision = 24, scale = 8)
+    private BigDecimal quantity;
+
+    @Column(nullable = false, precision = 20, scale = 4)
+    private BigDecimal cost;
+
+    @Column(name = "acquired_at", nullable = false)
+    private Instant acquiredAt;
+}
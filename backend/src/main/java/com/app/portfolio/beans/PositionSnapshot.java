@@ -0,0 +1,66 @@
+package com.app.portfolio.beans;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A position as it stood when the nightly snapshot ran, with the price it was valued at, so
+ * past holdings and P&L are read back instead of replaying the ledger.
+ */
+@Entity
+@Table(name = "position_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_position_snapshots_position_date", columnNames = {"position_id", "snapshot_date"})
+}, indexes = {
+    @Index(name = "idx_position_snapshots_client_date", columnList = "client_id, snapshot_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "position_id", nullable = false)
+    private Position position;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    private Client client;
+
+    @Column(nullable = false, length = 50)
+    private String symbol;
+
+    @Column(length = 3)
+    private String currency;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false, precision = 24, scale = 8)
+    private BigDecimal quantity;
+
+    @Column(name = "cost_basis", nullable = false, precision = 20, scale = 4)
+    private BigDecimal costBasis;
+
+    @Column(name = "realized_pnl", nullable = false, precision = 20, scale = 4)
+    private BigDecimal realizedPnl;
+
+    // Null when no price was available for the symbol
+    @Column(precision = 20, scale = 4)
+    private BigDecimal price;
+
+    @Column(name = "last_transaction_id")
+    private Long lastTransactionId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
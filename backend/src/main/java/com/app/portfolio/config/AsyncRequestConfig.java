@@ -0,0 +1,29 @@
+package com.app.portfolio.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AsyncRequestConfig implements WebMvcConfigurer {
+
+    // Streamed exports are written after the handler returns; the container's default of 30s is too short for large books
+    @Value("${assets.export.timeout-ms:600000}")
+    private long timeoutMs;
+
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    public AsyncRequestConfig(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(timeoutMs);
+        // Streamed responses are written on this pool rather than an unbounded SimpleAsyncTaskExecutor
+        configurer.setTaskExecutor(applicationTaskExecutor);
+    }
+}
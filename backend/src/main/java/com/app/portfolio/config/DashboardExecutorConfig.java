@@ -0,0 +1,20 @@
+package com.app.portfolio.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+    /**
+     * Runs dashboard sections concurrently. Sections mostly wait on the database or the
+     * pricing service, so a virtual thread per task is cheaper than a sized pool.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService dashboardExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
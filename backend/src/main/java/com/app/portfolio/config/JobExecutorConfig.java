@@ -0,0 +1,32 @@
+package com.app.portfolio.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class JobExecutorConfig {
+
+    /**
+     * Runs background jobs. Imports and exports each hold a connection while they run, so the
+     * pool is small and fixed, and the queue is bounded: once it is full, new jobs are refused
+     * instead of piling up.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService jobExecutor(@Value("${jobs.threads:2}") int threads,
+                                       @Value("${jobs.queue-capacity:100}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.portfolio.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class SnapshotExecutorConfig {
+
+    /**
+     * Writes the chunks of a nightly portfolio snapshot in parallel. Each chunk holds a
+     * connection for its transaction, so the pool stays small; a run queues all its chunks up
+     * front, hence the unbounded queue.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService snapshotExecutor(@Value("${portfolio.snapshot.threads:4}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "snapshot-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
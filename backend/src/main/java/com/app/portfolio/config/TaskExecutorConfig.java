@@ -0,0 +1,22 @@
+package com.app.portfolio.config;
+
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class TaskExecutorConfig {
+
+    /**
+     * Runs {@code @Async} methods and async MVC requests. Boot only creates this executor when
+     * no other {@link java.util.concurrent.Executor} bean exists, and the dashboard, job and
+     * snapshot pools are such beans, so it is declared here; Boot's builder keeps the
+     * {@code spring.task.execution.*} settings. Without it {@code @Async} falls back to the
+     * single-threaded scheduler.
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.app.portfolio.controller;
+
+import com.app.portfolio.dto.performance.AnnualPerformanceResponse;
+import com.app.portfolio.security.UserPrincipal;
+import com.app.portfolio.service.performance.AnnualPerformanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/clients/{clientId}/annual-performance")
+@RequiredArgsConstructor
+public class AnnualPerformanceController {
+
+    private final AnnualPerformanceService annualPerformanceService;
+
+    @GetMapping
+    public ResponseEntity<List<AnnualPerformanceResponse>> getAnnualPerformance(@PathVariable Long clientId,
+                                                                                @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(annualPerformanceService.getAnnualPerformance(clientId, userPrincipal.getId()));
+    }
+}
@@ -1,21 +1,45 @@
 package com.app.portfolio.controller;
 
+import com.app.portfolio.beans.Job;
+import com.app.portfolio.dto.asset.AssetBatchOperation;
+import com.app.portfolio.dto.asset.AssetFilter;
+import com.app.portfolio.dto.asset.AssetPage;
 import com.app.portfolio.dto.asset.AssetRequest;
 import com.app.portfolio.dto.asset.AssetResponse;
+import com.app.portfolio.dto.asset.AssetSort;
+import com.app.portfolio.dto.asset.ImportReport;
+import com.app.portfolio.dto.asset.MoverDirection;
+import com.app.portfolio.dto.asset.MoversResponse;
 import com.app.portfolio.dto.asset.PnlResponse;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.exceptions.ResourceNotFoundException;
+import com.app.portfolio.exceptions.TooManyRequestsException;
 import com.app.portfolio.security.UserPrincipal;
+import com.app.portfolio.service.asset.AssetBatchService;
 import com.app.portfolio.service.asset.AssetService;
+import com.app.portfolio.service.idempotency.BodyFingerprint;
+import com.app.portfolio.service.idempotency.IdempotencyService;
+import com.app.portfolio.service.idempotency.UploadFingerprint;
+import com.app.portfolio.service.importer.AssetImportService;
+import com.app.portfolio.service.job.JobService;
+import com.app.portfolio.service.movers.MoversService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -24,16 +48,51 @@ import java.util.Map;
 public class AssetController {
 
     private final AssetService assetService;
+    private final AssetBatchService assetBatchService;
+    private final MoversService moversService;
+    private final AssetImportService importService;
+    private final JobService jobService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${import.async-threshold-bytes:1048576}")
+    private long asyncThresholdBytes;
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @GetMapping("/clients/{clientId}/assets")
     public ResponseEntity<List<AssetResponse>> getAssetsByClientId(@PathVariable Long clientId,
+                                                                    @RequestParam(required = false) Integer limit,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) String sort,
+                                                                    @RequestParam(required = false) String category,
+                                                                    @RequestParam(required = false) String currency,
+                                                                    @RequestParam(required = false) Boolean sold,
                                                                     @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        return ResponseEntity.ok(assetService.getAssetsByClientId(clientId, userPrincipal.getId()));
+        return page(assetService.getAssets(userPrincipal.getId(), clientId, AssetFilter.of(category, currency, sold),
+                AssetSort.from(sort), limit, cursor));
     }
 
     @GetMapping("/assets")
-    public ResponseEntity<List<AssetResponse>> getAllAssets(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        return ResponseEntity.ok(assetService.getAllAssets(userPrincipal.getId()));
+    public ResponseEntity<List<AssetResponse>> getAllAssets(@RequestParam(required = false) Integer limit,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) String sort,
+                                                            @RequestParam(required = false) String category,
+                                                            @RequestParam(required = false) String currency,
+                                                            @RequestParam(required = false) Boolean sold,
+                                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return page(assetService.getAssets(userPrincipal.getId(), null, AssetFilter.of(category, currency, sold),
+                AssetSort.from(sort), limit, cursor));
+    }
+
+    @GetMapping("/assets/movers")
+    public ResponseEntity<MoversResponse> getMovers(@RequestParam(defaultValue = "10") int k,
+                                                    @RequestParam(required = false) String direction,
+                                                    @RequestParam(required = false) Long clientId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(moversService.getMovers(userPrincipal.getId(), clientId,
+                MoverDirection.from(direction), k, cursor));
     }
 
     @GetMapping("/assets/{id}")
@@ -50,19 +109,57 @@ public class AssetController {
     }
 
     @PostMapping("/assets/import")
-    public ResponseEntity<Map<String, Object>> importAssets(@RequestBody List<Map<String, Object>> assets,
-                                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        int count = assetService.importAssets(assets, userPrincipal.getId());
-        return ResponseEntity.ok(Map.of("count", count, "message", "Assets imported successfully"));
+    public ResponseEntity<?> importAssets(@RequestBody List<Map<String, Object>> assets,
+                                          @RequestParam(defaultValue = "false") boolean async,
+                                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                          @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        Long userId = userPrincipal.getId();
+        String request = BodyFingerprint.of("POST /api/assets/import?async=" + async, assets, objectMapper);
+        return idempotencyService.execute(userId, idempotencyKey, request, () -> {
+            if (async) {
+                return ResponseEntity.accepted().body(jobService.submit(userId, Job.JobType.JSON_IMPORT, null,
+                        job -> job.setResult(Map.of("count", assetService.importAssets(assets, userId)))));
+            }
+            int count = assetService.importAssets(assets, userId);
+            return ResponseEntity.ok(Map.of("count", count, "message", "Assets imported successfully"));
+        });
     }
 
     @GetMapping("/assets/export")
-    public ResponseEntity<String> exportAssets(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        String csv = assetService.exportAssetsAsCSV(userPrincipal.getId());
-        return ResponseEntity.ok()
+    public ResponseEntity<?> exportAssets(
+            @RequestParam(defaultValue = "false") boolean includeValuation,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        Long userId = userPrincipal.getId();
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        log.debug("GET /api/assets/export - userId: {}, includeValuation: {}, gzip: {}", userId, includeValuation, gzip);
+        if (async) {
+            return ResponseEntity.accepted().body(jobService.submit(userId, Job.JobType.CSV_EXPORT, null, job -> {
+                try (OutputStream out = job.openResult("portfolio_export.csv", "text/csv")) {
+                    assetService.exportAssetsAsCSV(userId, includeValuation, out);
+                }
+            }));
+        }
+
+        // Written after the handler returns, straight to the response
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                assetService.exportAssetsAsCSV(userId, includeValuation, compressed);
+                compressed.finish();
+            } else {
+                assetService.exportAssetsAsCSV(userId, includeValuation, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .header("Content-Type", "text/csv")
                 .header("Content-Disposition", "attachment; filename=\"portfolio_export.csv\"")
-                .body(csv);
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @PutMapping("/assets/{id}")
@@ -72,6 +169,16 @@ public class AssetController {
         return ResponseEntity.ok(assetService.updateAsset(id, request, userPrincipal.getId()));
     }
 
+    @PostMapping("/assets/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody List<AssetBatchOperation> operations,
+                                        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                        @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        Long userId = userPrincipal.getId();
+        String request = BodyFingerprint.of("POST /api/assets/batch", operations, objectMapper);
+        return idempotencyService.execute(userId, idempotencyKey, request,
+                () -> ResponseEntity.ok(assetBatchService.apply(operations, userId)));
+    }
+
     @DeleteMapping("/assets/{id}")
     public ResponseEntity<?> deleteAsset(@PathVariable Long id,
                                           @AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -86,13 +193,20 @@ public class AssetController {
     }
 
     @PostMapping("/clients/{clientId}/assets/import-csv")
-    public ResponseEntity<Map<String, Object>> importAssetsFromCSV(
+    public ResponseEntity<?> importAssetsFromCSV(
             @PathVariable Long clientId,
             @RequestParam("file") MultipartFile file,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @RequestParam(required = false) Boolean async,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
         log.debug("POST /api/clients/{}/assets/import-csv - userId: {}, fileSize: {}", 
                 clientId, userPrincipal.getId(), file.getSize());
-        
+        Long userId = userPrincipal.getId();
+        String request = UploadFingerprint.of("POST /api/clients/" + clientId + "/assets/import-csv", file);
+        return idempotencyService.execute(userId, idempotencyKey, request, () -> importCsv(clientId, file, async, userId));
+    }
+
+    private ResponseEntity<?> importCsv(Long clientId, MultipartFile file, Boolean async, Long userId) {
         try {
             if (file.isEmpty()) {
                 log.warn("CSV file is empty");
@@ -107,13 +221,25 @@ public class AssetController {
             }
 
             log.debug("Processing CSV file: {}", file.getOriginalFilename());
-            int count = assetService.importAssetsFromCSV(file.getInputStream(), clientId, userPrincipal.getId());
-            log.info("Successfully imported {} assets for clientId: {}", count, clientId);
-            
+            // Without an explicit choice, only files too large to import within a request go to a job
+            if (async != null ? async : file.getSize() > asyncThresholdBytes) {
+                return ResponseEntity.accepted().body(importService.importCsvAsync(file, clientId, userId));
+            }
+            ImportReport report = importService.importCsv(file, clientId, userId);
+            log.info("Imported {} assets for clientId: {} ({} rows failed, {} duplicates skipped)",
+                    report.getImported(), clientId, report.getFailed(), report.getSkipped());
+
             return ResponseEntity.ok(Map.of(
-                    "count", count,
-                    "message", "Assets imported successfully"
+                    "count", report.getImported(),
+                    "failed", report.getFailed(),
+                    "skipped", report.getSkipped(),
+                    "errors", report.getErrors(),
+                    "message", report.getFailed() == 0
+                            ? "Assets imported successfully"
+                            : "Imported " + report.getImported() + " assets, " + report.getFailed() + " rows failed"
             ));
+        } catch (ResourceNotFoundException | BadRequestException | TooManyRequestsException e) {
+            throw e;
         } catch (IOException e) {
             log.error("IO error importing CSV for clientId: {}", clientId, e);
             return ResponseEntity.status(500)
@@ -124,4 +250,13 @@ public class AssetController {
                     .body(Map.of("error", "Error importing CSV: " + e.getMessage()));
         }
     }
+
+    // The body stays a plain array for existing callers; the cursor for the next page goes in a header
+    private ResponseEntity<List<AssetResponse>> page(AssetPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 }
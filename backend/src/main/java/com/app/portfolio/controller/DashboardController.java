@@ -1,16 +1,23 @@
 package com.app.portfolio.controller;
 
+import com.app.portfolio.dto.dashboard.DashboardSection;
 import com.app.portfolio.dto.dashboard.DashboardSummaryResponse;
 import com.app.portfolio.security.UserPrincipal;
 import com.app.portfolio.service.dashboard.DashboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -22,12 +29,19 @@ public class DashboardController {
 
     @GetMapping("/dashboard/summary")
     public ResponseEntity<DashboardSummaryResponse> getDashboardSummary(
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.debug("GET /api/dashboard/summary - userId: {}", userPrincipal.getId());
+            @RequestParam(required = false) String fields,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            WebRequest webRequest) {
+        log.debug("GET /api/dashboard/summary - userId: {}, fields: {}", userPrincipal.getId(), fields);
         try {
-            DashboardSummaryResponse response = dashboardService.getDashboardSummary(userPrincipal.getId());
+            Set<DashboardSection> sections = DashboardSection.parse(fields);
+            String etag = dashboardService.getDashboardETag(userPrincipal.getId(), null, sections);
+            if (webRequest.checkNotModified(etag)) {
+                return notModified(etag);
+            }
+            DashboardSummaryResponse response = dashboardService.getDashboardSummary(userPrincipal.getId(), sections);
             log.debug("Dashboard summary retrieved successfully for userId: {}", userPrincipal.getId());
-            return ResponseEntity.ok(response);
+            return ok(etag, response);
         } catch (Exception e) {
             log.error("Error getting dashboard summary for userId: {}", userPrincipal.getId(), e);
             throw e;
@@ -37,15 +51,37 @@ public class DashboardController {
     @GetMapping("/clients/{clientId}/dashboard/summary")
     public ResponseEntity<DashboardSummaryResponse> getClientDashboardSummary(
             @PathVariable Long clientId,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.debug("GET /api/clients/{}/dashboard/summary - userId: {}", clientId, userPrincipal.getId());
+            @RequestParam(required = false) String fields,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            WebRequest webRequest) {
+        log.debug("GET /api/clients/{}/dashboard/summary - userId: {}, fields: {}", clientId, userPrincipal.getId(), fields);
         try {
-            DashboardSummaryResponse response = dashboardService.getClientDashboardSummary(clientId, userPrincipal.getId());
+            Set<DashboardSection> sections = DashboardSection.parse(fields);
+            String etag = dashboardService.getDashboardETag(userPrincipal.getId(), clientId, sections);
+            if (webRequest.checkNotModified(etag)) {
+                return notModified(etag);
+            }
+            DashboardSummaryResponse response = dashboardService.getClientDashboardSummary(clientId, userPrincipal.getId(), sections);
             log.debug("Client dashboard summary retrieved successfully for clientId: {}, userId: {}", clientId, userPrincipal.getId());
-            return ResponseEntity.ok(response);
+            return ok(etag, response);
         } catch (Exception e) {
             log.error("Error getting client dashboard summary for clientId: {}, userId: {}", clientId, userPrincipal.getId(), e);
             throw e;
         }
     }
+
+    // no-cache lets the browser keep the summary but revalidate it with If-None-Match every time
+    private ResponseEntity<DashboardSummaryResponse> ok(String etag, DashboardSummaryResponse response) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(response);
+    }
+
+    private ResponseEntity<DashboardSummaryResponse> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+    }
 }
@@ -1,7 +1,10 @@
 package com.app.portfolio.controller;
 
+import com.app.portfolio.beans.Job;
+import com.app.portfolio.exceptions.BadRequestException;
 import com.app.portfolio.security.UserPrincipal;
 import com.app.portfolio.service.excel.ExcelService;
+import com.app.portfolio.service.job.JobService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -9,8 +12,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 @RestController
 @RequestMapping("/api/excel")
@@ -18,20 +23,41 @@ import java.io.IOException;
 public class ExcelController {
 
     private final ExcelService excelService;
+    private final JobService jobService;
+
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
 
     @PostMapping("/import")
     public ResponseEntity<?> importExcel(@RequestParam("file") MultipartFile file,
+                                          @RequestParam(defaultValue = "false") boolean async,
                                           @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
-        excelService.importFromExcel(file, userPrincipal.getId());
+        Long userId = userPrincipal.getId();
+        if (async) {
+            if (file.isEmpty()) {
+                throw new BadRequestException("Excel file is empty");
+            }
+            return ResponseEntity.accepted().body(jobService.submit(userId, Job.JobType.EXCEL_IMPORT, file,
+                    job -> job.setResult(java.util.Map.of("count", excelService.importFromExcel(job.getInput(), userId)))));
+        }
+        excelService.importFromExcel(file, userId);
         return ResponseEntity.ok().body(java.util.Map.of("message", "Excel imported successfully"));
     }
 
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportExcel(@AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
-        byte[] excelBytes = excelService.exportToExcel(userPrincipal.getId());
+    public ResponseEntity<?> exportExcel(@RequestParam(defaultValue = "false") boolean async,
+                                         @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        Long userId = userPrincipal.getId();
+        if (async) {
+            return ResponseEntity.accepted().body(jobService.submit(userId, Job.JobType.EXCEL_EXPORT, null, job -> {
+                try (OutputStream out = job.openResult("portfolio_export.xlsx", XLSX_CONTENT_TYPE)) {
+                    excelService.exportToExcel(userId, out);
+                }
+            }));
+        }
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
         headers.setContentDispositionFormData("attachment", "portfolio_export.xlsx");
-        return ResponseEntity.ok().headers(headers).body(excelBytes);
+        StreamingResponseBody body = out -> excelService.exportToExcel(userId, out);
+        return ResponseEntity.ok().headers(headers).body(body);
     }
 }
@@ -0,0 +1,56 @@
+package com.app.portfolio.controller;
+
+import com.app.portfolio.dto.job.JobResponse;
+import com.app.portfolio.security.UserPrincipal;
+import com.app.portfolio.service.job.JobResult;
+import com.app.portfolio.service.job.JobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobService jobService;
+
+    @GetMapping
+    public ResponseEntity<List<JobResponse>> getJobs(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(jobService.getJobs(userPrincipal.getId()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobResponse> getJob(@PathVariable String id,
+                                              @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        log.debug("GET /api/jobs/{} - userId: {}", id, userPrincipal.getId());
+        return ResponseEntity.ok(jobService.getJob(id, userPrincipal.getId()));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<JobResponse> cancelJob(@PathVariable String id,
+                                                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(jobService.cancel(id, userPrincipal.getId()));
+    }
+
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Resource> downloadResult(@PathVariable String id,
+                                                   @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        JobResult result = jobService.getResult(id, userPrincipal.getId());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(result.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(result.fileName()).build().toString())
+                .body(new FileSystemResource(result.file()));
+    }
+}
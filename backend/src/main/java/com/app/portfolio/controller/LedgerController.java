@@ -0,0 +1,52 @@
+package com.app.portfolio.controller;
+
+import com.app.portfolio.dto.ledger.PositionResponse;
+import com.app.portfolio.dto.ledger.TransactionRequest;
+import com.app.portfolio.dto.ledger.TransactionResponse;
+import com.app.portfolio.security.UserPrincipal;
+import com.app.portfolio.service.ledger.LedgerService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/clients/{clientId}")
+@RequiredArgsConstructor
+public class LedgerController {
+
+    private final LedgerService ledgerService;
+
+    @PostMapping("/transactions")
+    public ResponseEntity<TransactionResponse> recordTransaction(@PathVariable Long clientId,
+                                                                 @Valid @RequestBody TransactionRequest request,
+                                                                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(ledgerService.recordTransaction(clientId, request, userPrincipal.getId()));
+    }
+
+    @GetMapping("/transactions")
+    public ResponseEntity<List<TransactionResponse>> getTransactions(@PathVariable Long clientId,
+                                                                     @RequestParam(required = false) String symbol,
+                                                                     @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(ledgerService.getTransactions(clientId, symbol, userPrincipal.getId()));
+    }
+
+    /**
+     * Current positions, or with {@code date} the positions of the latest snapshot on or before it
+     */
+    @GetMapping("/positions")
+    public ResponseEntity<List<PositionResponse>> getPositions(@PathVariable Long clientId,
+                                                               @RequestParam(required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                               @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Long userId = userPrincipal.getId();
+        return ResponseEntity.ok(date == null
+                ? ledgerService.getPositions(clientId, userId)
+                : ledgerService.getPositions(clientId, date, userId));
+    }
+}
@@ -0,0 +1,42 @@
+package com.app.portfolio.controller;
+
+import com.app.portfolio.dto.snapshot.PortfolioSnapshotResponse;
+import com.app.portfolio.security.UserPrincipal;
+import com.app.portfolio.service.snapshot.PortfolioSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/clients/{clientId}/portfolio-snapshots")
+@RequiredArgsConstructor
+public class PortfolioSnapshotController {
+
+    private final PortfolioSnapshotService portfolioSnapshotService;
+
+    /**
+     * Daily summaries between {@code from} and {@code to}, by default the last
+     * {@code portfolio.snapshot.trend-days} days
+     */
+    @GetMapping
+    public ResponseEntity<List<PortfolioSnapshotResponse>> getSnapshots(@PathVariable Long clientId,
+                                                                        @RequestParam(required = false)
+                                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                        @RequestParam(required = false)
+                                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(portfolioSnapshotService.getSnapshots(clientId, from, to, userPrincipal.getId()));
+    }
+
+    @GetMapping("/{date}")
+    public ResponseEntity<PortfolioSnapshotResponse> getSnapshot(@PathVariable Long clientId,
+                                                                 @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(portfolioSnapshotService.getSnapshot(clientId, date, userPrincipal.getId()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.app.portfolio.controller;
+
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import com.app.portfolio.dto.upload.PortfolioUploadResponse;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.security.UserPrincipal;
+import com.app.portfolio.service.idempotency.IdempotencyService;
+import com.app.portfolio.service.idempotency.UploadFingerprint;
+import com.app.portfolio.service.upload.PortfolioUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/clients/{clientId}/portfolio-uploads")
+@RequiredArgsConstructor
+public class PortfolioUploadController {
+
+    private final PortfolioUploadService portfolioUploadService;
+    private final IdempotencyService idempotencyService;
+
+    @Value("${import.async-threshold-bytes:1048576}")
+    private long asyncThresholdBytes;
+
+    @PostMapping
+    public ResponseEntity<?> upload(@PathVariable Long clientId,
+                                    @RequestParam("file") MultipartFile file,
+                                    @RequestParam PeriodType periodType,
+                                    @RequestParam String periodLabel,
+                                    @RequestParam(required = false) Boolean async,
+                                    @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                    @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        log.debug("POST /api/clients/{}/portfolio-uploads - userId: {}, fileSize: {}",
+                clientId, userPrincipal.getId(), file.getSize());
+        if (file.isEmpty()) {
+            throw new BadRequestException("Holdings file is empty");
+        }
+        Long userId = userPrincipal.getId();
+        String request = UploadFingerprint.of("POST /api/clients/" + clientId + "/portfolio-uploads?periodType="
+                + periodType + "&periodLabel=" + periodLabel, file);
+        return idempotencyService.execute(userId, idempotencyKey, request,
+                () -> {
+                    // Without an explicit choice, only files too large to ingest within a request go to a job
+                    if (async != null ? async : file.getSize() > asyncThresholdBytes) {
+                        return ResponseEntity.accepted().body(
+                                portfolioUploadService.uploadAsync(file, clientId, periodType, periodLabel, userId));
+                    }
+                    return ResponseEntity.ok(portfolioUploadService.upload(file, clientId, periodType, periodLabel, userId));
+                });
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PortfolioUploadResponse>> getUploads(@PathVariable Long clientId,
+                                                                    @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(portfolioUploadService.getUploads(clientId, userPrincipal.getId()));
+    }
+}
@@ -1,7 +1,9 @@
 package com.app.portfolio.controller;
 
+import com.app.portfolio.beans.Job;
 import com.app.portfolio.dto.statement.StatementRequest;
 import com.app.portfolio.security.UserPrincipal;
+import com.app.portfolio.service.job.JobService;
 import com.app.portfolio.service.statement.StatementService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,19 +12,29 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/statements")
 @RequiredArgsConstructor
 public class StatementController {
 
     private final StatementService statementService;
+    private final JobService jobService;
 
     @PostMapping("/generate")
     public ResponseEntity<?> generateStatement(@Valid @RequestBody StatementRequest request,
-                                                @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        statementService.generateAndSendStatement(request, userPrincipal.getId());
+                                                @RequestParam(defaultValue = "false") boolean async,
+                                                @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        Long userId = userPrincipal.getId();
+        if (async) {
+            return ResponseEntity.accepted().body(jobService.submit(userId, Job.JobType.STATEMENT, null,
+                    job -> statementService.generateAndSendStatement(request, userId)));
+        }
+        statementService.generateAndSendStatement(request, userId);
         return ResponseEntity.ok().body(java.util.Map.of("message", "Statement generated and sent successfully"));
     }
 }
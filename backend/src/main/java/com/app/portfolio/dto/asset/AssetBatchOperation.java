@@ -0,0 +1,26 @@
+package com.app.portfolio.dto.asset;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of {@code POST /api/assets/batch}. Creates need {@code clientId} and {@code asset},
+ * updates {@code id} and {@code asset}, deletes only {@code id}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetBatchOperation {
+
+    private Type op;
+    private Long id;
+    private Long clientId;
+    private AssetRequest asset;
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+}
@@ -0,0 +1,39 @@
+package com.app.portfolio.dto.asset;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of an asset batch, one result per operation in request order. Operations that fail
+ * validation or name an asset or client the user doesn't own are reported and skipped; the
+ * others are applied together.
+ */
+@Data
+@Builder
+public class AssetBatchResponse {
+
+    private int applied;
+    private int failed;
+    private List<Result> results;
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private int index;
+        private AssetBatchOperation.Type op;
+        private Long id;
+        private Status status;
+        private String error;
+        private AssetResponse asset; // Valued asset after a create or update
+    }
+}
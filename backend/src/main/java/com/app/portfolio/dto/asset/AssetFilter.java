@@ -0,0 +1,36 @@
+package com.app.portfolio.dto.asset;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.exceptions.BadRequestException;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Server-side filters for asset listings; null fields don't filter
+ */
+@Data
+@Builder
+public class AssetFilter {
+
+    public static final AssetFilter NONE = AssetFilter.builder().build();
+
+    private Asset.AssetCategory category;
+    private String currency;
+    private Boolean sold;
+
+    public static AssetFilter of(String category, String currency, Boolean sold) {
+        Asset.AssetCategory parsedCategory = null;
+        if (category != null && !category.isBlank()) {
+            try {
+                parsedCategory = Asset.AssetCategory.valueOf(category.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid category: " + category);
+            }
+        }
+        return AssetFilter.builder()
+                .category(parsedCategory)
+                .currency(currency != null && !currency.isBlank() ? currency.trim().toUpperCase() : null)
+                .sold(sold)
+                .build();
+    }
+}
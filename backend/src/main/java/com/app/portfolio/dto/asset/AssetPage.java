@@ -0,0 +1,14 @@
+package com.app.portfolio.dto.asset;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class AssetPage {
+
+    private List<AssetResponse> items;
+    private String nextCursor; // Pass back as cursor for the next page, null on the last page
+}
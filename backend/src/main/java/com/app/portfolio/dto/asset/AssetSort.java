@@ -0,0 +1,25 @@
+package com.app.portfolio.dto.asset;
+
+import com.app.portfolio.exceptions.BadRequestException;
+
+/**
+ * Order of asset listings. All orders are descending, ties broken by asset id.
+ */
+public enum AssetSort {
+
+    DATE,  // newest purchase first; paged in the database
+    VALUE, // highest current value first
+    PNL;   // highest P&L first
+
+    public static AssetSort from(String value) {
+        if (value == null || value.isBlank()) {
+            return DATE;
+        }
+        return switch (value.trim().toLowerCase()) {
+            case "date", "purchasedate" -> DATE;
+            case "value", "currentvalue" -> VALUE;
+            case "pnl", "profitloss" -> PNL;
+            default -> throw new BadRequestException("Invalid sort: " + value + " (expected date, value or pnl)");
+        };
+    }
+}
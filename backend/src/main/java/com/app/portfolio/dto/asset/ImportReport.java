@@ -0,0 +1,39 @@
+package com.app.portfolio.dto.asset;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outcome of an asset import. Rows that fail validation or whose chunk fails to insert are
+ * reported with their line number; the other rows are still imported.
+ */
+@Data
+@Builder(toBuilder = true)
+public class ImportReport {
+
+    private Status status;
+    private int rowsRead;
+    private int imported;
+    private int failed;
+    private int skipped; // Rows already imported for the client, or repeated in the file
+    private List<RowError> errors; // Capped at import.max-reported-errors; failed has the full count
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.app.portfolio.dto.asset;
+
+import com.app.portfolio.exceptions.BadRequestException;
+
+/**
+ * Which end of the returns ranking {@code /api/assets/movers} lists
+ */
+public enum MoverDirection {
+
+    GAINERS, // highest returns first
+    LOSERS;  // lowest returns first
+
+    public static MoverDirection from(String value) {
+        if (value == null || value.isBlank()) {
+            return GAINERS;
+        }
+        return switch (value.trim().toLowerCase()) {
+            case "gainers", "top", "up" -> GAINERS;
+            case "losers", "worst", "down" -> LOSERS;
+            default -> throw new BadRequestException("Invalid direction: " + value + " (expected gainers or losers)");
+        };
+    }
+}
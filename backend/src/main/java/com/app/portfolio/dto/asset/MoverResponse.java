@@ -0,0 +1,20 @@
+package com.app.portfolio.dto.asset;
+
+import com.app.portfolio.beans.Asset;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class MoverResponse {
+
+    private Long assetId;
+    private Long clientId;
+    private String name;
+    private String symbol;
+    private Asset.AssetCategory category;
+    private BigDecimal currentValue; // In the response currency
+    private BigDecimal returns;      // Percentage
+}
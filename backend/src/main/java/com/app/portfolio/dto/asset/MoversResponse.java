@@ -0,0 +1,16 @@
+package com.app.portfolio.dto.asset;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class MoversResponse {
+
+    private MoverDirection direction;
+    private String currency;
+    private List<MoverResponse> items;
+    private String nextCursor; // Pass back as cursor for the next page, null on the last page
+}
@@ -5,15 +5,18 @@ import lombok.Data;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
 public class PnlResponse {
 
     private Long clientId;
+    private String currency;
     private BigDecimal totalInvested;
     private BigDecimal totalCurrentValue;
     private BigDecimal totalProfitLoss;
     private BigDecimal totalProfitLossPercent;
+    private Map<String, BigDecimal> unconvertedValue; // Currency -> current value left out of the totals, no FX rate
     private List<AssetResponse> assets;
 }
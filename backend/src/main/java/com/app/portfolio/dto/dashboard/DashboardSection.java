@@ -0,0 +1,63 @@
+package com.app.portfolio.dto.dashboard;
+
+import com.app.portfolio.exceptions.BadRequestException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Independently computed parts of {@link DashboardSummaryResponse}. Each section has its own
+ * timeout, overridable with {@code dashboard.section.<key>.timeout-ms}. Clients can ask for a
+ * subset with {@code fields=<key>,<key>}; sections that aren't asked for are not computed.
+ */
+public enum DashboardSection {
+
+    TOTALS("totals", 5000),                 // invested, current value and P&L
+    ALLOCATION("allocation", 5000),         // allocation and category breakdown
+    RECENT_CLIENTS("recentClients", 5000),
+    MOVERS("movers", 5000),                 // top and worst assets
+    TODAYS_PL("todaysPL", 3000),
+    PERFORMANCE("performance", 5000);
+
+    private final String key;
+    private final long defaultTimeoutMs;
+
+    DashboardSection(String key, long defaultTimeoutMs) {
+        this.key = key;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getDefaultTimeoutMs() {
+        return defaultTimeoutMs;
+    }
+
+    /**
+     * Sections named in a comma-separated {@code fields} parameter; all of them when it is blank
+     */
+    public static Set<DashboardSection> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(DashboardSection.class);
+        }
+        Set<DashboardSection> sections = EnumSet.noneOf(DashboardSection.class);
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                sections.add(fromKey(field.trim()));
+            }
+        }
+        return sections;
+    }
+
+    private static DashboardSection fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(section -> section.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Invalid field: " + key + " (expected one of "
+                        + Arrays.stream(values()).map(DashboardSection::getKey).collect(Collectors.joining(", ")) + ")"));
+    }
+}
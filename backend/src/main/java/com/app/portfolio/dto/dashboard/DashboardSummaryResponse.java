@@ -14,10 +14,12 @@ public class DashboardSummaryResponse {
 
     private Long totalClients;
     private Long totalAssets;
+    private String currency; // Currency all amounts are reported in
     private BigDecimal totalInvested;
     private BigDecimal totalCurrentValue;
     private BigDecimal totalProfitLoss;
     private BigDecimal totalProfitLossPercent;
+    private Map<String, BigDecimal> unconvertedValue; // Currency -> current value left out of the totals, no FX rate
     private List<ClientSummaryDto> recentClients;
     private Integer assetCategoryCount;
     private BigDecimal todaysPL;
@@ -30,6 +32,13 @@ public class DashboardSummaryResponse {
     private List<TopAssetDto> worstAssets; // Worst performing assets
     private Map<String, BigDecimal> assetCategoryBreakdown; // Category -> Value
 
+    // OK, or TIMEOUT / FAILED for sections left null in this response
+    private Map<DashboardSection, SectionStatus> sectionStatus;
+
+    public enum SectionStatus {
+        OK, TIMEOUT, FAILED
+    }
+
     @Data
     @Builder
     public static class ClientSummaryDto {
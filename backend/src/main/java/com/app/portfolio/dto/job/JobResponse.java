@@ -0,0 +1,29 @@
+package com.app.portfolio.dto.job;
+
+import com.app.portfolio.beans.Job;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobResponse {
+
+    private String id;
+    private Job.JobType type;
+    private Job.JobStatus status;
+    private long processed;
+    private Long total; // Null while the size of the work is unknown
+    private String message;
+    private JsonNode result; // Summary written by the job, e.g. an import report
+    private String resultUrl; // Set once a completed job has a file to download
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
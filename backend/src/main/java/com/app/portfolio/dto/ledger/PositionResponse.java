@@ -0,0 +1,30 @@
+package com.app.portfolio.dto.ledger;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A position from the ledger. Market value and unrealized P&L are null when the symbol has no
+ * price; {@code asOf} is set when the position was read from a snapshot.
+ */
+@Data
+@Builder
+public class PositionResponse {
+
+    private Long clientId;
+    private String symbol;
+    private String currency;
+    private BigDecimal quantity;
+    private BigDecimal costBasis;
+    private BigDecimal averageCost;
+    private BigDecimal realizedPnl;
+    private BigDecimal currentPrice;
+    private BigDecimal marketValue;
+    private BigDecimal unrealizedPnl;
+    private LocalDate asOf;
+    private Instant updatedAt;
+}
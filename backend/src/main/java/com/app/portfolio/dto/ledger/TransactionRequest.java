@@ -0,0 +1,40 @@
+package com.app.portfolio.dto.ledger;
+
+import com.app.portfolio.beans.AssetTransaction;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A buy or sell needs {@code quantity} and {@code price}; a split needs {@code splitRatio}.
+ */
+@Data
+public class TransactionRequest {
+
+    @NotNull(message = "Type is required")
+    private AssetTransaction.TransactionType type;
+
+    @NotBlank(message = "Symbol is required")
+    @Size(max = 50)
+    private String symbol;
+
+    @DecimalMin(value = "0.0001", message = "Quantity must be positive")
+    private BigDecimal quantity;
+
+    @DecimalMin(value = "0", message = "Price must be non-negative")
+    private BigDecimal price;
+
+    @DecimalMin(value = "0.000001", message = "Split ratio must be positive")
+    private BigDecimal splitRatio;
+
+    @Size(max = 3)
+    private String currency;
+
+    @NotNull(message = "Trade date is required")
+    private Instant tradeDateTime;
+}
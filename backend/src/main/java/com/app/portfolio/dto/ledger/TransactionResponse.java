@@ -0,0 +1,25 @@
+package com.app.portfolio.dto.ledger;
+
+import com.app.portfolio.beans.AssetTransaction;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder(toBuilder = true)
+public class TransactionResponse {
+
+    private Long id;
+    private Long clientId;
+    private String symbol;
+    private AssetTransaction.TransactionType type;
+    private BigDecimal quantity;
+    private BigDecimal price;
+    private BigDecimal splitRatio;
+    private String currency;
+    private Instant tradeDateTime;
+    private Instant createdAt;
+    private PositionResponse position; // The symbol's position after the transaction; only set when recording
+}
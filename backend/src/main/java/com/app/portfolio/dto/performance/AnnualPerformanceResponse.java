@@ -0,0 +1,33 @@
+package com.app.portfolio.dto.performance;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A client's rolled-up financial year. Amounts are in {@code currency}; {@code closed} is false
+ * for the current year, which is recomputed nightly.
+ */
+@Data
+@Builder
+public class AnnualPerformanceResponse {
+
+    private Long clientId;
+    private Integer financialYear;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String currency;
+    private LocalDate openingDate;
+    private BigDecimal openingValue;
+    private LocalDate closingDate;
+    private BigDecimal closingValue;
+    private BigDecimal totalInvestedDuringYear;
+    private BigDecimal totalProfitLoss;
+    private String bestPerformingAsset;
+    private String worstPerformingAsset;
+    private boolean closed;
+    private Instant updatedAt;
+}
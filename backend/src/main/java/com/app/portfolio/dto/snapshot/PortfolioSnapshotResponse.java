@@ -0,0 +1,45 @@
+package com.app.portfolio.dto.snapshot;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One client's row of the nightly portfolio snapshot. Totals are in the summary's currency;
+ * each holding is in its own.
+ */
+@Data
+@Builder
+public class PortfolioSnapshotResponse {
+
+    private Long clientId;
+    private LocalDate date;
+    private String currency;
+    private BigDecimal totalInvested;
+    private BigDecimal totalCurrentValue;
+    private BigDecimal totalProfitLoss;
+    private Integer numberOfAssets;
+    private Integer numberOfProfitableAssets;
+    private Integer numberOfLossAssets;
+    // Only set when a single day is requested
+    private List<Holding> holdings;
+
+    @Data
+    @Builder
+            public static class Holding {
+
+        private String ticker;
+        private String currency;
+        private BigDecimal quantity;
+        private BigDecimal buyPrice;
+        private BigDecimal currentPrice;
+        private BigDecimal investedValue;
+        private BigDecimal currentValue;
+        private BigDecimal profitLoss;
+        private LocalDate investmentStartDate;
+        private LocalDate investmentEndDate;
+    }
+}
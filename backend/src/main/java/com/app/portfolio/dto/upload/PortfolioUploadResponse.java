@@ -0,0 +1,36 @@
+package com.app.portfolio.dto.upload;
+
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import com.app.portfolio.dto.asset.ImportReport.RowError;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An ingested holdings upload with the summary computed while it was read. Totals are in the
+ * client's currency. Row counts and errors are only set on the upload response itself.
+ */
+@Data
+@Builder(toBuilder = true)
+public class PortfolioUploadResponse {
+
+    private Long uploadId;
+    private Long clientId;
+    private PeriodType periodType;
+    private String periodLabel;
+    private String fileName;
+    private Instant uploadDate;
+    private String currency;
+    private BigDecimal totalInvested;
+    private BigDecimal totalCurrentValue;
+    private BigDecimal totalProfitLoss;
+    private Integer numberOfAssets;
+    private Integer numberOfProfitableAssets;
+    private Integer numberOfLossAssets;
+    private Integer rowsRead;
+    private Integer failed; // Rows skipped as invalid
+    private List<RowError> errors; // Capped at import.max-reported-errors
+}
@@ -0,0 +1,33 @@
+package com.app.portfolio.events;
+
+import com.app.portfolio.beans.Asset;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after assets of a user change. Single-asset changes carry the asset id and its
+ * new state (null when deleted); bulk imports carry neither, and {@code clientId} is null
+ * when an import touched several clients.
+ */
+@Getter
+@AllArgsConstructor
+public class AssetChangedEvent {
+
+    private final Long userId;
+    private final Long clientId;
+    private final ChangeType type;
+    private final Long assetId;
+    private final AssetState state;
+
+    public AssetChangedEvent(Long userId, Long clientId, ChangeType type) {
+        this(userId, clientId, type, null, null);
+    }
+
+    public static AssetChangedEvent saved(Long userId, Asset asset, ChangeType type) {
+        return new AssetChangedEvent(userId, asset.getClient().getId(), type, asset.getId(), AssetState.of(asset));
+    }
+
+    public static AssetChangedEvent deleted(Long userId, Long clientId, Long assetId) {
+        return new AssetChangedEvent(userId, clientId, ChangeType.DELETED, assetId, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.app.portfolio.events;
+
+import com.app.portfolio.beans.Asset;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable copy of the fields of an asset that affect valuation, taken when the change
+ * is published so listeners never touch the managed entity.
+ */
+@Getter
+@AllArgsConstructor
+public class AssetState {
+
+    private final Long assetId;
+    private final Long clientId;
+    private final String symbol;
+    private final String currency;
+    private final Asset.AssetCategory category;
+    private final BigDecimal quantity;
+    private final BigDecimal buyingRate;
+    private final boolean sold;
+    private final BigDecimal sellingRate;
+
+    public static AssetState of(Asset asset) {
+        String symbol = asset.getSymbol() != null && !asset.getSymbol().isEmpty() ? asset.getSymbol().toUpperCase() : null;
+        return new AssetState(asset.getId(), asset.getClient().getId(), symbol, asset.getCurrency(), asset.getCategory(),
+                asset.getQuantity(), asset.getBuyingRate(), asset.isSold(), asset.getSellingRate());
+    }
+}
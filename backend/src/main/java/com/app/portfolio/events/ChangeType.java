@@ -0,0 +1,8 @@
+package com.app.portfolio.events;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    IMPORTED // bulk change, may touch many records
+}
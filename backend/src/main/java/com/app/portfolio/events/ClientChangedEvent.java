@@ -0,0 +1,13 @@
+package com.app.portfolio.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ClientChangedEvent {
+
+    private final Long userId;
+    private final Long clientId;
+    private final ChangeType type;
+}
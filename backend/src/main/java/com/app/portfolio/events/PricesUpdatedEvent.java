@@ -0,0 +1,16 @@
+package com.app.portfolio.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Published after a price refresh stored new prices (or FX rates) for the given feed symbols
+ */
+@Getter
+@RequiredArgsConstructor
+public class PricesUpdatedEvent {
+
+    private final Set<String> symbols;
+}
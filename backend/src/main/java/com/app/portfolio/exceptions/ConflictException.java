@@ -0,0 +1,8 @@
+package com.app.portfolio.exceptions;
+
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
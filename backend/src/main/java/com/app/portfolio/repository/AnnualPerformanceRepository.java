@@ -0,0 +1,25 @@
+package com.app.portfolio.repository;
+
+import com.app.portfolio.beans.AnnualPerformance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AnnualPerformanceRepository extends JpaRepository<AnnualPerformance, Long> {
+
+    List<AnnualPerformance> findByClientIdOrderByFinancialYearDesc(Long clientId);
+
+    @Query("SELECT p FROM AnnualPerformance p WHERE p.client.id IN :clientIds AND p.financialYear IN :years")
+    List<AnnualPerformance> findByClientIdInAndFinancialYearIn(@Param("clientIds") Collection<Long> clientIds,
+                                                               @Param("years") Collection<Integer> years);
+
+    @Modifying
+    @Query("DELETE FROM AnnualPerformance p WHERE p.client.id = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +28,15 @@ public interface AssetPriceRepository extends JpaRepository<AssetPrice, Long> {
     @Query("UPDATE AssetPrice ap SET ap.symbol = :symbol WHERE ap.asset.id = :assetId AND ap.symbol IS NULL")
     int updateSymbolByAssetId(@Param("assetId") Long assetId, @Param("symbol") String symbol);
 
+    // Price history is shared by symbol, so deleting assets only unlinks their prices
+    @Modifying
+    @Query("UPDATE AssetPrice ap SET ap.asset = null WHERE ap.asset.id IN :assetIds")
+    int detachFromAssets(@Param("assetIds") Collection<Long> assetIds);
+
+    @Modifying
+    @Query("UPDATE AssetPrice ap SET ap.asset = null WHERE ap.asset.id IN (SELECT a.id FROM Asset a WHERE a.client.id = :clientId)")
+    int detachFromClientAssets(@Param("clientId") Long clientId);
+
     // Migration helper: Get all asset prices that need symbol population
     @Query("SELECT ap FROM AssetPrice ap WHERE ap.symbol IS NULL AND ap.asset IS NOT NULL")
     List<AssetPrice> findAllWithoutSymbol();
@@ -43,6 +53,23 @@ public interface AssetPriceRepository extends JpaRepository<AssetPrice, Long> {
                                                       @Param("startDate") Instant startDate, 
                                                       @Param("endDate") Instant endDate);
     
+    // Latest stored price of each symbol, in one query
+    @Query("SELECT ap FROM AssetPrice ap WHERE ap.symbol IN :symbols AND ap.priceDate = " +
+           "(SELECT MAX(p.priceDate) FROM AssetPrice p WHERE p.symbol = ap.symbol)")
+    List<AssetPrice> findLatestBySymbols(@Param("symbols") Collection<String> symbols);
+
+    // Latest stored price of each symbol strictly before an instant (previous close)
+    @Query("SELECT ap FROM AssetPrice ap WHERE ap.symbol IN :symbols AND ap.priceDate = " +
+           "(SELECT MAX(p.priceDate) FROM AssetPrice p WHERE p.symbol = ap.symbol AND p.priceDate < :before)")
+    List<AssetPrice> findLatestBySymbolsBefore(@Param("symbols") Collection<String> symbols,
+                                               @Param("before") Instant before);
+
+    // All sources, for charts built from stored prices
+    @Query("SELECT ap FROM AssetPrice ap WHERE ap.symbol IN :symbols AND ap.priceDate >= :startDate AND ap.priceDate < :endDate ORDER BY ap.priceDate ASC")
+    List<AssetPrice> findBySymbolsAndDateRange(@Param("symbols") Collection<String> symbols,
+                                               @Param("startDate") Instant startDate,
+                                               @Param("endDate") Instant endDate);
+
     @Query("SELECT DISTINCT ap.symbol FROM AssetPrice ap WHERE ap.symbol IN :symbols")
     List<String> findDistinctSymbolsInList(@Param("symbols") List<String> symbols);
 }
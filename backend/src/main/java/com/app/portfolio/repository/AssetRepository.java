@@ -1,10 +1,20 @@
 package com.app.portfolio.repository;
 
 import com.app.portfolio.beans.Asset;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, Long> {
@@ -12,4 +22,73 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
     List<Asset> findByClientIdOrderByPurchaseDateTimeDesc(Long clientId);
 
     boolean existsByIdAndClientUserId(Long assetId, Long userId);
+
+    long countByClientId(Long clientId);
+
+    long countByClientUserId(Long userId);
+
+    // Whole book for a user in one query, with each asset's client already loaded
+    @Query("SELECT a FROM Asset a JOIN FETCH a.client c WHERE c.user.id = :userId ORDER BY c.id, a.purchaseDateTime DESC")
+    List<Asset> findAllByUserIdWithClient(@Param("userId") Long userId);
+
+    /**
+     * Filtered assets of a user, or of one client when {@code clientId} is set, newest purchase
+     * first. Keyset paging: pass the last row's purchase date and id to continue after it.
+     */
+    @Query("SELECT a FROM Asset a JOIN FETCH a.client c WHERE c.user.id = :userId " +
+           "AND (:clientId IS NULL OR c.id = :clientId) " +
+           "AND (:category IS NULL OR a.category = :category) " +
+           "AND (:currency IS NULL OR UPPER(a.currency) = :currency) " +
+           "AND (:sold IS NULL OR a.sold = :sold) " +
+           "AND (:afterDate IS NULL OR a.purchaseDateTime < :afterDate " +
+           "     OR (a.purchaseDateTime = :afterDate AND a.id < :afterId)) " +
+           "ORDER BY a.purchaseDateTime DESC, a.id DESC")
+    List<Asset> findPage(@Param("userId") Long userId,
+                         @Param("clientId") Long clientId,
+                         @Param("category") Asset.AssetCategory category,
+                         @Param("currency") String currency,
+                         @Param("sold") Boolean sold,
+                         @Param("afterDate") Instant afterDate,
+                         @Param("afterId") Long afterId,
+                         Limit limit);
+
+    // Row hashes of a client's imported assets, read from the unique (client_id, row_hash) index
+    @Query("SELECT a.rowHash FROM Asset a WHERE a.client.id = :clientId AND a.rowHash IS NOT NULL")
+    List<String> findRowHashesByClientId(@Param("clientId") Long clientId);
+
+    /**
+     * Forward-only read of a user's assets for exports, grouped by client. Consume it inside a transaction and
+     * detach rows once written; on MySQL the fetch size only applies with {@code useCursorFetch=true}.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Asset a WHERE a.client.user.id = :userId ORDER BY a.client.id, a.purchaseDateTime DESC, a.id DESC")
+    Stream<Asset> streamByUserId(@Param("userId") Long userId);
+
+    // Assets of a chunk of clients, grouped by client, for the nightly portfolio snapshot
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM Asset a WHERE a.client.id IN :clientIds ORDER BY a.client.id, a.id")
+    List<Asset> findAllByClientIdIn(@Param("clientIds") Collection<Long> clientIds);
+
+    // Every symbol a run of the nightly snapshot has to price
+    @Query("SELECT DISTINCT UPPER(a.symbol) FROM Asset a WHERE a.sold = false AND a.symbol IS NOT NULL AND a.symbol <> ''")
+    List<String> findDistinctUnsoldSymbols();
+
+    @Query("SELECT DISTINCT a.currency FROM Asset a WHERE a.currency IS NOT NULL")
+    List<String> findDistinctCurrencies();
+
+    // The given assets that belong to the user, with their client loaded; ownership check for batches
+    @Query("SELECT a FROM Asset a JOIN FETCH a.client c WHERE a.id IN :ids AND c.user.id = :userId")
+    List<Asset> findAllByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // One statement instead of a load and remove per asset; detach their prices first
+    @Modifying
+    @Query("DELETE FROM Asset a WHERE a.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Asset a WHERE a.client.id = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
 }
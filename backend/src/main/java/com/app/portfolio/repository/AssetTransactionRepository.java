@@ -0,0 +1,25 @@
+package com.app.portfolio.repository;
+
+import com.app.portfolio.beans.AssetTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AssetTransactionRepository extends JpaRepository<AssetTransaction, Long> {
+
+    // Trade order, the order the lot engine applies them in
+    List<AssetTransaction> findByClientIdAndSymbolOrderByTradeDateTimeAscIdAsc(Long clientId, String symbol);
+
+    List<AssetTransaction> findByClientIdOrderByTradeDateTimeDescIdDesc(Long clientId);
+
+    List<AssetTransaction> findByClientIdAndSymbolOrderByTradeDateTimeDescIdDesc(Long clientId, String symbol);
+
+    @Modifying
+    @Query("DELETE FROM AssetTransaction t WHERE t.client.id = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
+}
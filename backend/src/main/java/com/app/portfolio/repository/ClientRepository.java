@@ -2,8 +2,12 @@ package com.app.portfolio.repository;
 
 import com.app.portfolio.beans.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,18 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     List<Client> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT c FROM Client c WHERE c.id IN :ids AND c.user.id = :userId")
+    List<Client> findAllByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Delete the client's assets first
+    @Modifying
+    @Query("DELETE FROM Client c WHERE c.id = :id")
+    int deleteClientById(@Param("id") Long id);
+
+    @Query("SELECT c.id FROM Client c ORDER BY c.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT DISTINCT c.currency FROM Client c WHERE c.currency IS NOT NULL")
+    List<String> findDistinctCurrencies();
 }
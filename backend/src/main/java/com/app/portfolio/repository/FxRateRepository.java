@@ -0,0 +1,25 @@
+package com.app.portfolio.repository;
+
+import com.app.portfolio.beans.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, Long> {
+
+    Optional<FxRate> findByCurrencyAndRateDate(String currency, LocalDate rateDate);
+
+    // Latest known rate per currency on or before the given date
+    @Query("SELECT r FROM FxRate r WHERE r.rateDate = (SELECT MAX(r2.rateDate) FROM FxRate r2 " +
+           "WHERE r2.currency = r.currency AND r2.rateDate <= :date)")
+    List<FxRate> findLatestOnOrBefore(@Param("date") LocalDate date);
+
+    @Query("SELECT r FROM FxRate r WHERE r.rateDate > :startDate AND r.rateDate <= :endDate ORDER BY r.rateDate ASC")
+    List<FxRate> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,31 @@
+package com.app.portfolio.repository;
+
+import com.app.portfolio.beans.Job;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, String> {
+
+    Optional<Job> findByIdAndUserId(String id, Long userId);
+
+    List<Job> findTop50ByUserIdOrderByCreatedAtDesc(Long userId);
+
+    List<Job> findByFinishedAtBefore(Instant cutoff);
+
+    // Settles jobs left queued or running by a previous run of the server
+    @Modifying
+    @Transactional
+    @Query("UPDATE Job j SET j.status = :status, j.message = :message, j.finishedAt = :now WHERE j.status IN :statuses")
+    int finishAll(@Param("statuses") Collection<Job.JobStatus> statuses, @Param("status") Job.JobStatus status,
+                  @Param("message") String message, @Param("now") Instant now);
+}
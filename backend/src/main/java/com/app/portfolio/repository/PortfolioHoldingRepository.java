@@ -0,0 +1,36 @@
+package com.app.portfolio.repository;
+
+import com.app.portfolio.beans.PortfolioHolding;
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PortfolioHoldingRepository extends JpaRepository<PortfolioHolding, Long> {
+
+    @Query("SELECT h FROM PortfolioHolding h WHERE h.portfolioUpload.id = :uploadId ORDER BY h.ticker, h.id")
+    List<PortfolioHolding> findByUploadId(@Param("uploadId") Long uploadId);
+
+    @Query("SELECT h FROM PortfolioHolding h WHERE h.portfolioUpload.id IN :uploadIds")
+    List<PortfolioHolding> findByUploadIdIn(@Param("uploadIds") Collection<Long> uploadIds);
+
+    // Holdings of every client's upload for the period, e.g. one day of the nightly snapshot
+    @Modifying
+    @Query("DELETE FROM PortfolioHolding h WHERE h.portfolioUpload.id IN (SELECT u.id FROM PortfolioUpload u " +
+           "WHERE u.client IS NOT NULL AND u.periodType = :type AND u.periodLabel = :label)")
+    int deleteClientPeriod(@Param("type") PeriodType type, @Param("label") String label);
+
+    @Modifying
+    @Query("DELETE FROM PortfolioHolding h WHERE h.portfolioUpload.id IN :uploadIds")
+    int deleteAllByUploadIdIn(@Param("uploadIds") Collection<Long> uploadIds);
+
+    @Modifying
+    @Query("DELETE FROM PortfolioHolding h WHERE h.client.id = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
+}
@@ -0,0 +1,68 @@
+package com.app.portfolio.repository;
+
+import com.app.portfolio.beans.PortfolioSummary;
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PortfolioSummaryRepository extends JpaRepository<PortfolioSummary, Long> {
+
+    // Labels of DAILY uploads are ISO dates, so they compare in date order
+    @Query("SELECT s FROM PortfolioSummary s JOIN FETCH s.portfolioUpload u WHERE s.client.id = :clientId " +
+           "AND u.periodType = :type AND u.periodLabel BETWEEN :from AND :to ORDER BY u.periodLabel")
+    List<PortfolioSummary> findByClientIdAndPeriodBetween(@Param("clientId") Long clientId,
+                                                           @Param("type") PeriodType type,
+                                                           @Param("from") String from,
+                                                           @Param("to") String to);
+
+    @Query("SELECT s FROM PortfolioSummary s JOIN FETCH s.portfolioUpload u WHERE s.client.id = :clientId " +
+           "AND u.periodType = :type AND u.periodLabel = :label")
+    Optional<PortfolioSummary> findByClientIdAndPeriod(@Param("clientId") Long clientId,
+                                                       @Param("type") PeriodType type,
+                                                       @Param("label") String label);
+
+    // A client's summaries of every upload but one period type, newest first
+    @Query("SELECT s FROM PortfolioSummary s JOIN FETCH s.portfolioUpload u WHERE s.client.id = :clientId " +
+           "AND u.periodType <> :excluded ORDER BY u.uploadDate DESC, u.id DESC")
+    List<PortfolioSummary> findByClientIdAndPeriodTypeNot(@Param("clientId") Long clientId,
+                                                          @Param("excluded") PeriodType excluded);
+
+    // Per client, the summary of its latest upload labelled between from and to
+    @Query("SELECT s FROM PortfolioSummary s JOIN FETCH s.portfolioUpload u WHERE s.client.id IN :clientIds " +
+           "AND u.periodType = :type AND u.periodLabel = (SELECT MAX(u2.periodLabel) FROM PortfolioUpload u2 " +
+           "WHERE u2.client = u.client AND u2.periodType = :type AND u2.periodLabel BETWEEN :from AND :to)")
+    List<PortfolioSummary> findLatestByClientIdIn(@Param("clientIds") Collection<Long> clientIds,
+                                                  @Param("type") PeriodType type,
+                                                  @Param("from") String from,
+                                                  @Param("to") String to);
+
+    // Per client, the summary of its earliest upload labelled between from and to
+    @Query("SELECT s FROM PortfolioSummary s JOIN FETCH s.portfolioUpload u WHERE s.client.id IN :clientIds " +
+           "AND u.periodType = :type AND u.periodLabel = (SELECT MIN(u2.periodLabel) FROM PortfolioUpload u2 " +
+           "WHERE u2.client = u.client AND u2.periodType = :type AND u2.periodLabel BETWEEN :from AND :to)")
+    List<PortfolioSummary> findEarliestByClientIdIn(@Param("clientIds") Collection<Long> clientIds,
+                                                    @Param("type") PeriodType type,
+                                                    @Param("from") String from,
+                                                    @Param("to") String to);
+
+    @Modifying
+    @Query("DELETE FROM PortfolioSummary s WHERE s.portfolioUpload.id IN (SELECT u.id FROM PortfolioUpload u " +
+           "WHERE u.client IS NOT NULL AND u.periodType = :type AND u.periodLabel = :label)")
+    int deleteClientPeriod(@Param("type") PeriodType type, @Param("label") String label);
+
+    @Modifying
+    @Query("DELETE FROM PortfolioSummary s WHERE s.portfolioUpload.id IN :uploadIds")
+    int deleteAllByUploadIdIn(@Param("uploadIds") Collection<Long> uploadIds);
+
+    @Modifying
+    @Query("DELETE FROM PortfolioSummary s WHERE s.client.id = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
+}
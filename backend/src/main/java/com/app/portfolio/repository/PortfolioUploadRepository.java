@@ -0,0 +1,35 @@
+package com.app.portfolio.repository;
+
+import com.app.portfolio.beans.PortfolioUpload;
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PortfolioUploadRepository extends JpaRepository<PortfolioUpload, Long> {
+
+    @Query("SELECT u.id FROM PortfolioUpload u WHERE u.client.id = :clientId AND u.periodType = :type AND u.periodLabel = :label")
+    List<Long> findIdsByClientIdAndPeriod(@Param("clientId") Long clientId,
+                                          @Param("type") PeriodType type,
+                                          @Param("label") String label);
+
+    // Delete the uploads' holdings and summaries first
+    @Modifying
+    @Query("DELETE FROM PortfolioUpload u WHERE u.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Delete the period's holdings and summaries first
+    @Modifying
+    @Query("DELETE FROM PortfolioUpload u WHERE u.client IS NOT NULL AND u.periodType = :type AND u.periodLabel = :label")
+    int deleteClientPeriod(@Param("type") PeriodType type, @Param("label") String label);
+
+    @Modifying
+    @Query("DELETE FROM PortfolioUpload u WHERE u.client.id = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
+}
@@ -0,0 +1,16 @@
+package com.app.portfolio.repository;
+
+import com.app.portfolio.beans.PositionLot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PositionLotRepository extends JpaRepository<PositionLot, Long> {
+
+    @Modifying
+    @Query("DELETE FROM PositionLot l WHERE l.position.id IN (SELECT p.id FROM Position p WHERE p.client.id = :clientId)")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
+}
@@ -0,0 +1,32 @@
+package com.app.portfolio.repository;
+
+import com.app.portfolio.beans.Position;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PositionRepository extends JpaRepository<Position, Long> {
+
+    // Locks the position row so concurrent transactions on the same symbol are applied one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Position p WHERE p.client.id = :clientId AND p.symbol = :symbol")
+    Optional<Position> findForUpdate(@Param("clientId") Long clientId, @Param("symbol") String symbol);
+
+    List<Position> findByClientIdOrderBySymbolAsc(Long clientId);
+
+    // Keyset pages over every position, for the nightly snapshot
+    List<Position> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Position p WHERE p.client.id = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
+}
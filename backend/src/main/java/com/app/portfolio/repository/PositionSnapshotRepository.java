@@ -0,0 +1,30 @@
+package com.app.portfolio.repository;
+
+import com.app.portfolio.beans.PositionSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PositionSnapshotRepository extends JpaRepository<PositionSnapshot, Long> {
+
+    // A client's positions as of the latest snapshot taken on or before the date
+    @Query("SELECT s FROM PositionSnapshot s WHERE s.client.id = :clientId AND s.snapshotDate = " +
+           "(SELECT MAX(s2.snapshotDate) FROM PositionSnapshot s2 WHERE s2.client.id = :clientId AND s2.snapshotDate <= :date) " +
+           "ORDER BY s.symbol")
+    List<PositionSnapshot> findLatestByClientId(@Param("clientId") Long clientId, @Param("date") LocalDate date);
+
+    // Makes a rerun of the same day's snapshot replace it
+    @Modifying
+    @Query("DELETE FROM PositionSnapshot s WHERE s.snapshotDate = :date")
+    int deleteBySnapshotDate(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query("DELETE FROM PositionSnapshot s WHERE s.client.id = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
+}
@@ -0,0 +1,57 @@
+package com.app.portfolio.service.aggregate;
+
+import com.app.portfolio.events.AssetState;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running totals for one client or one user, maintained by adding and removing asset
+ * contributions. Not thread-safe; {@link PositionAggregateServiceImpl} guards access.
+ */
+class PositionAggregate {
+
+    private int assetCount;
+    private final Map<String, BigDecimal> invested = new HashMap<>();
+    private final Map<String, BigDecimal> currentValue = new HashMap<>();
+    private final Map<String, Map<String, BigDecimal>> allocation = new HashMap<>();
+    private final Map<String, Integer> unsoldPerCategory = new HashMap<>();
+
+    /**
+     * Adds ({@code sign} 1) or removes ({@code sign} -1) an asset valued at {@code price}
+     */
+    void apply(AssetState state, String currency, BigDecimal price, int sign) {
+        assetCount += sign;
+        invested.merge(currency, signed(state.getBuyingRate().multiply(state.getQuantity()), sign), BigDecimal::add);
+
+        if (state.isSold()) {
+            // A sale without a recorded rate is valued at cost, as in PriceSnapshot.priceOf
+            BigDecimal sellingRate = state.getSellingRate() != null ? state.getSellingRate() : state.getBuyingRate();
+            currentValue.merge(currency, signed(sellingRate.multiply(state.getQuantity()), sign), BigDecimal::add);
+            return;
+        }
+        String category = state.getCategory().name();
+        unsoldPerCategory.merge(category, sign, Integer::sum);
+        adjustValue(currency, category, signed(price.multiply(state.getQuantity()), sign));
+    }
+
+    void adjustValue(String currency, String category, BigDecimal delta) {
+        currentValue.merge(currency, delta, BigDecimal::add);
+        allocation.computeIfAbsent(category, c -> new HashMap<>()).merge(currency, delta, BigDecimal::add);
+    }
+
+    PositionTotals snapshot() {
+        Map<String, Map<String, BigDecimal>> allocationCopy = new HashMap<>();
+        allocation.forEach((category, amounts) -> {
+            if (unsoldPerCategory.getOrDefault(category, 0) > 0) {
+                allocationCopy.put(category, Map.copyOf(amounts));
+            }
+        });
+        return new PositionTotals(assetCount, Map.copyOf(invested), Map.copyOf(currentValue), allocationCopy);
+    }
+
+    private static BigDecimal signed(BigDecimal amount, int sign) {
+        return sign < 0 ? amount.negate() : amount;
+    }
+}
@@ -0,0 +1,14 @@
+package com.app.portfolio.service.aggregate;
+
+public interface PositionAggregateService {
+
+    /**
+     * Invested amount, current value and allocation across all of a user's assets
+     */
+    PositionTotals getUserTotals(Long userId);
+
+    /**
+     * Same as {@link #getUserTotals(Long)} for one client; empty when the client has no assets
+     */
+    PositionTotals getClientTotals(Long userId, Long clientId);
+}
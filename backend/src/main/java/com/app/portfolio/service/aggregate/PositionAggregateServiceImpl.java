@@ -0,0 +1,285 @@
+package com.app.portfolio.service.aggregate;
+
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.events.AssetState;
+import com.app.portfolio.events.ChangeType;
+import com.app.portfolio.events.ClientChangedEvent;
+import com.app.portfolio.events.PricesUpdatedEvent;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.pricing.PricingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Keeps per-client and per-user totals in memory so summaries don't re-walk every asset.
+ *
+ * A user's book is built from the database on first use, then maintained by deltas: asset
+ * changes replace that asset's stored state (removing its old contribution and adding the
+ * new one, so a replayed event is harmless), and price updates move the value of every
+ * holding of the updated symbols by {@code quantity * (new - old)}.
+ *
+ * All books are valued at the same per-symbol price, kept in {@link #prices}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PositionAggregateServiceImpl implements PositionAggregateService {
+
+    private final AssetRepository assetRepository;
+    private final PricingService pricingService;
+    private final FxRateService fxRateService;
+
+    private final Object lock = new Object();
+
+    // All guarded by lock
+    private final Map<Long, Book> books = new HashMap<>();
+    private final Map<Long, Long> generations = new HashMap<>();
+    private final Map<String, BigDecimal> prices = new HashMap<>();
+    private final Map<String, Set<Long>> holders = new HashMap<>();
+
+    @Override
+    public PositionTotals getUserTotals(Long userId) {
+        Book book = book(userId);
+        synchronized (lock) {
+            return book.total.snapshot();
+        }
+    }
+
+    @Override
+    public PositionTotals getClientTotals(Long userId, Long clientId) {
+        Book book = book(userId);
+        synchronized (lock) {
+            PositionAggregate client = book.clients.get(clientId);
+            return client != null ? client.snapshot() : PositionTotals.EMPTY;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        if (event.getAssetId() == null) {
+            // Bulk import, rebuild on next read
+            invalidate(event.getUserId());
+            return;
+        }
+        AssetState state = event.getState();
+        BigDecimal fetchedPrice = state != null && state.getSymbol() != null && !hasPrice(state.getSymbol())
+                ? pricingService.getCurrentPriceBySymbolAsBigDecimal(state.getSymbol())
+                : null;
+
+        boolean unpriced;
+        synchronized (lock) {
+            generations.merge(event.getUserId(), 1L, Long::sum);
+            Book book = books.get(event.getUserId());
+            if (book == null) {
+                return;
+            }
+            if (fetchedPrice != null) {
+                prices.putIfAbsent(state.getSymbol(), fetchedPrice);
+            }
+            book.remove(event.getAssetId());
+            // The symbol was released after the price check; it's valued at zero until repriced below
+            unpriced = state != null && state.getSymbol() != null && !prices.containsKey(state.getSymbol());
+            if (state != null) {
+                book.put(state);
+            }
+        }
+        if (unpriced) {
+            reprice(List.of(state.getSymbol()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            invalidate(event.getUserId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricesUpdated(PricesUpdatedEvent event) {
+        reprice(event.getSymbols());
+    }
+
+    /**
+     * Moves held symbols to their latest stored price. Prices are fetched without holding the lock.
+     */
+    private void reprice(Collection<String> symbols) {
+        List<String> held;
+        synchronized (lock) {
+            held = symbols.stream().filter(holders::containsKey).toList();
+        }
+        if (held.isEmpty()) {
+            return;
+        }
+
+        Map<String, BigDecimal> latest = new HashMap<>(pricingService.getLatestPrices(held));
+        held.forEach(symbol -> latest.putIfAbsent(symbol, BigDecimal.ZERO));
+
+        synchronized (lock) {
+            latest.forEach((symbol, price) -> {
+                Set<Long> userIds = holders.get(symbol);
+                if (userIds == null) {
+                    return;
+                }
+                BigDecimal previous = prices.put(symbol, price);
+                for (Long userId : userIds) {
+                    books.get(userId).reprice(symbol, price.subtract(previous));
+                }
+            });
+        }
+        log.debug("Repriced aggregates for {} symbols", latest.size());
+    }
+
+    private Book book(Long userId) {
+        long generation;
+        Set<String> pricedSymbols;
+        synchronized (lock) {
+            Book book = books.get(userId);
+            if (book != null) {
+                return book;
+            }
+            generation = generations.getOrDefault(userId, 0L);
+            pricedSymbols = new HashSet<>(prices.keySet());
+        }
+
+        List<AssetState> states = assetRepository.findAllByUserIdWithClient(userId).stream()
+                .map(AssetState::of)
+                .toList();
+        Set<String> unpriced = new HashSet<>();
+        for (AssetState state : states) {
+            if (state.getSymbol() != null && !pricedSymbols.contains(state.getSymbol())) {
+                unpriced.add(state.getSymbol());
+            }
+        }
+        Map<String, BigDecimal> loadedPrices = new HashMap<>(pricingService.getLatestPrices(unpriced));
+        unpriced.forEach(symbol -> loadedPrices.putIfAbsent(symbol, BigDecimal.ZERO));
+
+        synchronized (lock) {
+            Book book = books.get(userId);
+            if (book != null) {
+                return book;
+            }
+            loadedPrices.forEach(prices::putIfAbsent);
+            book = new Book(userId);
+            for (AssetState state : states) {
+                book.put(state);
+            }
+            // An asset changed while loading: serve this copy once, but don't keep it
+            if (generations.getOrDefault(userId, 0L) == generation) {
+                books.put(userId, book);
+            } else {
+                book.unregister();
+            }
+            log.debug("Built position aggregates for userId: {} ({} assets)", userId, states.size());
+            return book;
+        }
+    }
+
+    private boolean hasPrice(String symbol) {
+        synchronized (lock) {
+            return prices.containsKey(symbol);
+        }
+    }
+
+    private void invalidate(Long userId) {
+        synchronized (lock) {
+            generations.merge(userId, 1L, Long::sum);
+            Book book = books.remove(userId);
+            if (book != null) {
+                book.unregister();
+            }
+        }
+    }
+
+    /**
+     * One user's positions and aggregates. Only used while holding {@link #lock}.
+     */
+    private final class Book {
+
+        private final Long userId;
+        private final PositionAggregate total = new PositionAggregate();
+        private final Map<Long, PositionAggregate> clients = new HashMap<>();
+        private final Map<Long, AssetState> positions = new HashMap<>();
+        private final Map<String, Set<Long>> assetIdsBySymbol = new HashMap<>();
+
+        private Book(Long userId) {
+            this.userId = userId;
+        }
+
+        void put(AssetState state) {
+            positions.put(state.getAssetId(), state);
+            apply(state, 1);
+            if (state.getSymbol() != null) {
+                assetIdsBySymbol.computeIfAbsent(state.getSymbol(), s -> new HashSet<>()).add(state.getAssetId());
+                holders.computeIfAbsent(state.getSymbol(), s -> new HashSet<>()).add(userId);
+            }
+        }
+
+        void remove(Long assetId) {
+            AssetState state = positions.remove(assetId);
+            if (state == null) {
+                return;
+            }
+            apply(state, -1);
+            if (state.getSymbol() != null) {
+                Set<Long> assetIds = assetIdsBySymbol.get(state.getSymbol());
+                assetIds.remove(assetId);
+                if (assetIds.isEmpty()) {
+                    assetIdsBySymbol.remove(state.getSymbol());
+                    releaseSymbol(state.getSymbol());
+                }
+            }
+        }
+
+        void reprice(String symbol, BigDecimal change) {
+            if (change.signum() == 0) {
+                return;
+            }
+            for (Long assetId : assetIdsBySymbol.getOrDefault(symbol, Set.of())) {
+                AssetState state = positions.get(assetId);
+                if (state.isSold()) {
+                    continue;
+                }
+                BigDecimal delta = change.multiply(state.getQuantity());
+                String currency = currency(state);
+                total.adjustValue(currency, state.getCategory().name(), delta);
+                clients.get(state.getClientId()).adjustValue(currency, state.getCategory().name(), delta);
+            }
+        }
+
+        void unregister() {
+            assetIdsBySymbol.keySet().forEach(this::releaseSymbol);
+        }
+
+        private void apply(AssetState state, int sign) {
+            // Assets without a symbol are valued at their buying rate. Prices are fetched before
+            // taking the lock; a symbol released in the meantime starts at zero and is repriced
+            // once the lock is released, never fetched while holding it.
+            BigDecimal price = state.getSymbol() != null
+                    ? prices.computeIfAbsent(state.getSymbol(), symbol -> BigDecimal.ZERO)
+                    : state.getBuyingRate();
+            String currency = currency(state);
+            total.apply(state, currency, price, sign);
+            clients.computeIfAbsent(state.getClientId(), id -> new PositionAggregate()).apply(state, currency, price, sign);
+        }
+
+        private void releaseSymbol(String symbol) {
+            Set<Long> userIds = holders.get(symbol);
+            if (userIds != null && userIds.remove(userId) && userIds.isEmpty()) {
+                holders.remove(symbol);
+                // Nobody holds it any more; the next holder starts from a fresh price
+                prices.remove(symbol);
+            }
+        }
+
+        private String currency(AssetState state) {
+            return fxRateService.getMatrix().normalize(state.getCurrency());
+        }
+    }
+}
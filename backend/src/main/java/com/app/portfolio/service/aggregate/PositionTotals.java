@@ -0,0 +1,46 @@
+package com.app.portfolio.service.aggregate;
+
+import com.app.portfolio.service.fx.FxRateMatrix;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of a client's or user's aggregates, amounts kept per currency
+ */
+@Getter
+@AllArgsConstructor
+public class PositionTotals {
+
+    public static final PositionTotals EMPTY = new PositionTotals(0, Map.of(), Map.of(), Map.of());
+
+    private final int assetCount;
+    private final Map<String, BigDecimal> investedByCurrency;
+    private final Map<String, BigDecimal> currentValueByCurrency;
+    // Category -> currency -> current value of unsold assets
+    private final Map<String, Map<String, BigDecimal>> allocationByCategory;
+
+    public BigDecimal getInvested(FxRateMatrix fx, String currency) {
+        return fx.convertAll(investedByCurrency, currency);
+    }
+
+    public BigDecimal getCurrentValue(FxRateMatrix fx, String currency) {
+        return fx.convertAll(currentValueByCurrency, currency);
+    }
+
+    /**
+     * Current value left out of the totals in {@code currency} for lack of an FX rate
+     */
+    public Map<String, BigDecimal> getUnconvertedValue(FxRateMatrix fx, String currency) {
+        return fx.unconverted(currentValueByCurrency, currency);
+    }
+
+    public Map<String, BigDecimal> getAllocation(FxRateMatrix fx, String currency) {
+        Map<String, BigDecimal> allocation = new HashMap<>();
+        allocationByCategory.forEach((category, amounts) -> allocation.put(category, fx.convertAll(amounts, currency)));
+        return allocation;
+    }
+}
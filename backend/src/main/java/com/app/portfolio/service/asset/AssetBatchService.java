@@ -0,0 +1,16 @@
+package com.app.portfolio.service.asset;
+
+import com.app.portfolio.dto.asset.AssetBatchOperation;
+import com.app.portfolio.dto.asset.AssetBatchResponse;
+
+import java.util.List;
+
+public interface AssetBatchService {
+
+    /**
+     * Creates, updates and deletes assets of the user in one transaction. Ownership of every
+     * asset and client named is checked up front; operations that fail it or validation are
+     * reported and skipped, the rest are applied in JDBC batches.
+     */
+    AssetBatchResponse apply(List<AssetBatchOperation> operations, Long userId);
+}
@@ -0,0 +1,213 @@
+package com.app.portfolio.service.asset;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.dto.asset.AssetBatchOperation;
+import com.app.portfolio.dto.asset.AssetBatchOperation.Type;
+import com.app.portfolio.dto.asset.AssetBatchResponse;
+import com.app.portfolio.dto.asset.AssetBatchResponse.Result;
+import com.app.portfolio.dto.asset.AssetBatchResponse.Status;
+import com.app.portfolio.dto.asset.AssetRequest;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.events.ChangeType;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.mapper.AssetMapper;
+import com.app.portfolio.repository.AssetPriceRepository;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.service.importer.AssetBatchWriter;
+import com.app.portfolio.service.valuation.AssetValuation;
+import com.app.portfolio.service.valuation.ValuationService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a list of asset changes with a fixed number of statements: one query for the assets
+ * and one for the clients the operations name, scoped to the user, then one JDBC batch of
+ * inserts, the updates flushed in batches of {@code assets.batch.jdbc-batch-size}, and one bulk
+ * delete after detaching the assets' prices. The changed assets are priced together for the response.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AssetBatchServiceImpl implements AssetBatchService {
+
+    private final AssetRepository assetRepository;
+    private final ClientRepository clientRepository;
+    private final AssetPriceRepository assetPriceRepository;
+    private final AssetBatchWriter batchWriter;
+    private final AssetMapper assetMapper;
+    private final ValuationService valuationService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${assets.batch.max-operations:1000}")
+    private int maxOperations;
+
+    @Value("${assets.batch.jdbc-batch-size:100}")
+    private int jdbcBatchSize;
+
+    @Override
+    @Transactional
+    public AssetBatchResponse apply(List<AssetBatchOperation> operations, Long userId) {
+        if (operations == null || operations.isEmpty()) {
+            throw new BadRequestException("At least one operation is required");
+        }
+        if (operations.size() > maxOperations) {
+            throw new BadRequestException("A batch can have at most " + maxOperations + " operations");
+        }
+
+        Set<Long> assetIds = new HashSet<>();
+        Set<Long> clientIds = new HashSet<>();
+        for (AssetBatchOperation operation : operations) {
+            if (operation == null || operation.getOp() == null) {
+                continue;
+            }
+            if (operation.getOp() == Type.CREATE) {
+                clientIds.add(operation.getClientId());
+            } else {
+                assetIds.add(operation.getId());
+            }
+        }
+        assetIds.remove(null);
+        clientIds.remove(null);
+        Map<Long, Asset> owned = assetIds.isEmpty() ? Map.of()
+                : assetRepository.findAllByIdInAndUserId(assetIds, userId).stream()
+                        .collect(Collectors.toMap(Asset::getId, Function.identity()));
+        Map<Long, Client> clients = clientIds.isEmpty() ? Map.of()
+                : clientRepository.findAllByIdInAndUserId(clientIds, userId).stream()
+                        .collect(Collectors.toMap(Client::getId, Function.identity()));
+
+        Result[] results = new Result[operations.size()];
+        List<Asset> creates = new ArrayList<>();
+        List<Asset> saved = new ArrayList<>();
+        List<Integer> savedIndexes = new ArrayList<>();
+        List<Asset> deletes = new ArrayList<>();
+        Set<Long> changed = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            AssetBatchOperation operation = operations.get(i);
+            String invalid = validate(operation);
+            if (invalid != null) {
+                results[i] = failure(i, operation, Status.INVALID, invalid);
+            } else if (operation.getOp() == Type.CREATE) {
+                Client client = clients.get(operation.getClientId());
+                if (client == null) {
+                    results[i] = failure(i, operation, Status.NOT_FOUND,
+                            "Client not found with id: " + operation.getClientId());
+                } else {
+                    Asset asset = assetMapper.toEntity(operation.getAsset(), null);
+                    asset.setClient(client);
+                    creates.add(asset);
+                    saved.add(asset);
+                    savedIndexes.add(i);
+                }
+            } else {
+                Asset asset = owned.get(operation.getId());
+                if (asset == null) {
+                    results[i] = failure(i, operation, Status.NOT_FOUND, "Asset not found with id: " + operation.getId());
+                } else if (!changed.add(asset.getId())) {
+                    results[i] = failure(i, operation, Status.INVALID,
+                            "Asset " + asset.getId() + " is already changed by an earlier operation");
+                } else if (operation.getOp() == Type.UPDATE) {
+                    assetMapper.toEntity(operation.getAsset(), asset);
+                    saved.add(asset);
+                    savedIndexes.add(i);
+                } else {
+                    deletes.add(asset);
+                    results[i] = new Result(i, Type.DELETE, asset.getId(), Status.DELETED, null, null);
+                }
+            }
+        }
+
+        // Hibernate can't batch IDENTITY inserts, so creates go through the JDBC writer; the
+        // updated assets are managed and flushed as JDBC batches
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        if (!creates.isEmpty()) {
+            batchWriter.insertReturningIds(creates);
+        }
+        entityManager.flush();
+        if (!deletes.isEmpty()) {
+            List<Long> ids = deletes.stream().map(Asset::getId).toList();
+            deletes.forEach(entityManager::detach);
+            assetPriceRepository.detachFromAssets(ids);
+            assetRepository.deleteAllByIdIn(ids);
+        }
+
+        List<AssetValuation> valuations = saved.isEmpty() ? List.of() : valuationService.value(saved).getAssets();
+        for (int i = 0; i < valuations.size(); i++) {
+            AssetValuation valuation = valuations.get(i);
+            int index = savedIndexes.get(i);
+            Type op = operations.get(index).getOp();
+            results[index] = new Result(index, op, valuation.getAsset().getId(),
+                    op == Type.CREATE ? Status.CREATED : Status.UPDATED, null,
+                    assetMapper.toResponse(valuation.getAsset(), valuation.getPrice(),
+                            valuation.getProfitLoss(), valuation.getProfitLossPercent()));
+            eventPublisher.publishEvent(AssetChangedEvent.saved(userId, valuation.getAsset(),
+                    op == Type.CREATE ? ChangeType.CREATED : ChangeType.UPDATED));
+        }
+        for (Asset asset : deletes) {
+            eventPublisher.publishEvent(AssetChangedEvent.deleted(userId, asset.getClient().getId(), asset.getId()));
+        }
+
+        int applied = saved.size() + deletes.size();
+        log.info("Applied {}/{} batch operations for userId: {} ({} created, {} updated, {} deleted)",
+                applied, operations.size(), userId, creates.size(), saved.size() - creates.size(), deletes.size());
+        return AssetBatchResponse.builder()
+                .applied(applied)
+                .failed(operations.size() - applied)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Why the operation can't be applied, or null if it is well-formed
+     */
+    private String validate(AssetBatchOperation operation) {
+        if (operation == null || operation.getOp() == null) {
+            return "op must be one of CREATE, UPDATE, DELETE";
+        }
+        if (operation.getOp() == Type.CREATE && operation.getClientId() == null) {
+            return "clientId is required";
+        }
+        if (operation.getOp() != Type.CREATE && operation.getId() == null) {
+            return "id is required";
+        }
+        if (operation.getOp() == Type.DELETE) {
+            return null;
+        }
+        if (operation.getAsset() == null) {
+            return "asset is required";
+        }
+        Set<ConstraintViolation<AssetRequest>> violations = validator.validate(operation.getAsset());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static Result failure(int index, AssetBatchOperation operation, Status status, String error) {
+        return new Result(index, operation != null ? operation.getOp() : null,
+                operation != null ? operation.getId() : null, status, error, null);
+    }
+}
@@ -1,9 +1,14 @@
 package com.app.portfolio.service.asset;
 
+import com.app.portfolio.dto.asset.AssetFilter;
+import com.app.portfolio.dto.asset.AssetPage;
 import com.app.portfolio.dto.asset.AssetRequest;
 import com.app.portfolio.dto.asset.AssetResponse;
+import com.app.portfolio.dto.asset.AssetSort;
 import com.app.portfolio.dto.asset.PnlResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -13,6 +18,13 @@ public interface AssetService {
 
     List<AssetResponse> getAllAssets(Long userId);
 
+    /**
+     * One page of a user's assets, or one client's when {@code clientId} is set. Every asset
+     * matching the filter is returned when {@code limit} is null; otherwise pass the previous
+     * page's {@code nextCursor} to continue.
+     */
+    AssetPage getAssets(Long userId, Long clientId, AssetFilter filter, AssetSort sort, Integer limit, String cursor);
+
     AssetResponse getAssetById(Long id, Long userId);
 
     AssetResponse createAsset(Long clientId, AssetRequest request, Long userId);
@@ -24,15 +36,11 @@ public interface AssetService {
     PnlResponse calculatePnL(Long clientId, Long userId);
 
     int importAssets(List<Map<String, Object>> assets, Long userId);
-    
+
     /**
-     * Import assets from CSV file for a specific client
-     * @param file CSV file containing asset data
-     * @param clientId Client ID to import assets for
-     * @param userId User ID for authorization
-     * @return Number of assets imported
+     * Writes the user's assets as CSV, reading them through a database cursor. With
+     * {@code includeValuation}, price, value and P&L columns are added, priced a batch at a time.
+     * The stream is flushed but not closed.
      */
-    int importAssetsFromCSV(java.io.InputStream csvInputStream, Long clientId, Long userId) throws java.io.IOException;
-
-    String exportAssetsAsCSV(Long userId);
+    void exportAssetsAsCSV(Long userId, boolean includeValuation, OutputStream out) throws IOException;
 }
@@ -3,34 +3,59 @@ package com.app.portfolio.service.asset;
 import com.app.portfolio.beans.Asset;
 import com.app.portfolio.beans.Client;
 import com.app.portfolio.beans.User;
+import com.app.portfolio.dto.asset.AssetFilter;
+import com.app.portfolio.dto.asset.AssetPage;
 import com.app.portfolio.dto.asset.AssetRequest;
 import com.app.portfolio.dto.asset.AssetResponse;
+import com.app.portfolio.dto.asset.AssetSort;
 import com.app.portfolio.dto.asset.PnlResponse;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.events.ChangeType;
+import com.app.portfolio.exceptions.BadRequestException;
 import com.app.portfolio.exceptions.ResourceNotFoundException;
 import com.app.portfolio.mapper.AssetMapper;
+import com.app.portfolio.repository.AssetPriceRepository;
 import com.app.portfolio.repository.AssetRepository;
 import com.app.portfolio.repository.ClientRepository;
 import com.app.portfolio.repository.UserRepository;
-import com.app.portfolio.service.pricing.PricingService;
+import com.app.portfolio.service.aggregate.PositionAggregateService;
+import com.app.portfolio.service.aggregate.PositionTotals;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.importer.AssetRowHash;
+import com.app.portfolio.service.movers.TopK;
+import com.app.portfolio.service.valuation.AssetValuation;
+import com.app.portfolio.service.valuation.PriceSnapshot;
+import com.app.portfolio.service.valuation.ValuationKernel;
+import com.app.portfolio.service.valuation.ValuationService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -38,50 +63,133 @@ import java.util.stream.Collectors;
 public class AssetServiceImpl implements AssetService {
 
     private final AssetRepository assetRepository;
+    private final AssetPriceRepository assetPriceRepository;
     private final ClientRepository clientRepository;
     private final UserRepository userRepository;
     private final AssetMapper assetMapper;
-    private final PricingService pricingService;
+    private final ValuationService valuationService;
+    private final FxRateService fxRateService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PositionAggregateService positionAggregateService;
+    private final EntityManager entityManager;
+
+    private static final String EXPORT_HEADER =
+            "symbol,quantity,buyingRate,assetType,purchaseDateTime,currency,sellingRate,sellingDateTime,sold";
+    private static final String EXPORT_VALUATION_HEADER = ",currentPrice,currentValue,profitLoss,profitLossPercent";
+
+    @Value("${assets.export.batch-size:500}")
+    private int exportBatchSize;
+
+    @Value("${assets.page.default-limit:50}")
+    private int defaultPageLimit;
+
+    @Value("${assets.page.max-limit:500}")
+    private int maxPageLimit;
 
     @Override
     @Transactional(readOnly = true)
     public List<AssetResponse> getAssetsByClientId(Long clientId, Long userId) {
-        if (!clientRepository.existsByIdAndUserId(clientId, userId)) {
-            throw new ResourceNotFoundException("Client", clientId);
-        }
-        return assetRepository.findByClientIdOrderByPurchaseDateTimeDesc(clientId)
-                .stream()
-                .map(asset -> {
-                    // Use symbol-based pricing if available, fallback to asset ID
-                    BigDecimal currentPrice = (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                            ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                            : pricingService.getCurrentPrice(asset.getId());
-                    BigDecimal profitLoss = calculateProfitLoss(asset, currentPrice);
-                    BigDecimal profitLossPercent = calculateProfitLossPercent(asset, currentPrice);
-                    return assetMapper.toResponse(asset, currentPrice, profitLoss, profitLossPercent);
-                })
-                .collect(Collectors.toList());
+        return getAssets(userId, clientId, AssetFilter.NONE, AssetSort.DATE, null, null).getItems();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<AssetResponse> getAllAssets(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
-        
-        List<Client> clients = user.getClients();
-        return clients.stream()
-                .flatMap(client -> assetRepository.findByClientIdOrderByPurchaseDateTimeDesc(client.getId()).stream())
-                .map(asset -> {
-                    // Use symbol-based pricing if available, fallback to asset ID
-                    BigDecimal currentPrice = (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                            ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                            : pricingService.getCurrentPrice(asset.getId());
-                    BigDecimal profitLoss = calculateProfitLoss(asset, currentPrice);
-                    BigDecimal profitLossPercent = calculateProfitLossPercent(asset, currentPrice);
-                    return assetMapper.toResponse(asset, currentPrice, profitLoss, profitLossPercent);
-                })
-                .collect(Collectors.toList());
+        return getAssets(userId, null, AssetFilter.NONE, AssetSort.DATE, null, null).getItems();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AssetPage getAssets(Long userId, Long clientId, AssetFilter filter, AssetSort sort, Integer limit, String cursor) {
+        if (clientId != null && !clientRepository.existsByIdAndUserId(clientId, userId)) {
+            throw new ResourceNotFoundException("Client", clientId);
+        }
+        if (clientId == null && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", userId);
+        }
+        if (limit == null && cursor != null && !cursor.isBlank()) {
+            limit = defaultPageLimit;
+        }
+        if (limit != null && (limit < 1 || limit > maxPageLimit)) {
+            throw new BadRequestException("limit must be between 1 and " + maxPageLimit);
+        }
+        PageCursor after = PageCursor.parse(cursor, sort);
+
+        AssetPage page = sort == AssetSort.DATE
+                ? datePage(userId, clientId, filter, limit, after)
+                : rankedPage(userId, clientId, filter, sort, limit, after);
+        log.debug("Listed {} assets for userId: {}, clientId: {}, sort: {}", page.getItems().size(), userId, clientId, sort);
+        return page;
+    }
+
+    /**
+     * Newest first, paged by the database on (purchase date, id); only the page is priced
+     */
+    private AssetPage datePage(Long userId, Long clientId, AssetFilter filter, Integer limit, PageCursor after) {
+        List<Asset> assets = assetRepository.findPage(userId, clientId, filter.getCategory(), filter.getCurrency(),
+                filter.getSold(), after != null ? Instant.parse(after.key()) : null, after != null ? after.id() : null,
+                limit != null ? Limit.of(limit + 1) : Limit.unlimited());
+        // One extra row tells whether there is a next page
+        boolean hasMore = limit != null && assets.size() > limit;
+        List<Asset> page = hasMore ? assets.subList(0, limit) : assets;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Asset last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(AssetSort.DATE, last.getPurchaseDateTime().toString(), last.getId()).toString();
+        }
+        return AssetPage.builder()
+                .items(toResponses(page, valuationService.snapshot(page)))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Highest value or P&L first. Every matching asset has to be priced to rank them, but only
+     * the page is kept, in a bounded heap, and turned into responses.
+     */
+    private AssetPage rankedPage(Long userId, Long clientId, AssetFilter filter, AssetSort sort, Integer limit,
+                                 PageCursor after) {
+        List<Asset> assets = assetRepository.findPage(userId, clientId, filter.getCategory(), filter.getCurrency(),
+                filter.getSold(), null, null, Limit.unlimited());
+        PriceSnapshot snapshot = valuationService.snapshot(assets);
+
+        // Scores are in the base currency so assets held in different currencies compare
+        FxRateMatrix fx = fxRateService.getMatrix();
+        String baseCurrency = fxRateService.getBaseCurrency();
+        Map<String, Double> rates = new HashMap<>();
+        double afterScore = after != null ? PageCursor.score(after) : 0;
+        TopK<Asset> heap = new TopK<>(limit != null ? limit + 1 : assets.size());
+        for (Asset asset : assets) {
+            double rate = rates.computeIfAbsent(fx.normalize(asset.getCurrency()),
+                    currency -> fx.rate(currency, baseCurrency).doubleValue());
+            double score = score(asset, snapshot.priceOf(asset), sort) * rate;
+            long id = asset.getId();
+            if (after == null || Double.compare(score, afterScore) < 0
+                    || (Double.compare(score, afterScore) == 0 && id > after.id())) {
+                heap.offer(score, id, asset);
+            }
+        }
+
+        List<Asset> ranked = heap.drain();
+        boolean hasMore = limit != null && ranked.size() > limit;
+        List<Asset> page = hasMore ? ranked.subList(0, limit) : ranked;
+        String nextCursor = null;
+        if (hasMore) {
+            Asset last = page.get(page.size() - 1);
+            double lastScore = score(last, snapshot.priceOf(last), sort) * rates.get(fx.normalize(last.getCurrency()));
+            nextCursor = new PageCursor(sort, Double.toString(lastScore), last.getId()).toString();
+        }
+        return AssetPage.builder()
+                .items(toResponses(page, snapshot))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static double score(Asset asset, BigDecimal price, AssetSort sort) {
+        double quantity = asset.getQuantity().doubleValue();
+        double value = quantity * price.doubleValue();
+        return sort == AssetSort.VALUE ? value : value - quantity * asset.getBuyingRate().doubleValue();
     }
 
     @Override
@@ -92,13 +200,7 @@ public class AssetServiceImpl implements AssetService {
         if (!assetRepository.existsByIdAndClientUserId(id, userId)) {
             throw new ResourceNotFoundException("Asset", id);
         }
-        // Use symbol-based pricing if available, fallback to asset ID
-        BigDecimal currentPrice = (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                : pricingService.getCurrentPrice(asset.getId());
-        BigDecimal profitLoss = calculateProfitLoss(asset, currentPrice);
-        BigDecimal profitLossPercent = calculateProfitLossPercent(asset, currentPrice);
-        return assetMapper.toResponse(asset, currentPrice, profitLoss, profitLossPercent);
+        return toResponse(valuationService.value(List.of(asset)).getAssets().get(0));
     }
 
     @Override
@@ -113,6 +215,7 @@ public class AssetServiceImpl implements AssetService {
         Asset asset = assetMapper.toEntity(request, null);
         asset.setClient(client);
         asset = assetRepository.save(asset);
+        eventPublisher.publishEvent(AssetChangedEvent.saved(userId, asset, ChangeType.CREATED));
         return assetMapper.toResponse(asset);
     }
 
@@ -126,10 +229,8 @@ public class AssetServiceImpl implements AssetService {
         }
         asset = assetMapper.toEntity(request, asset);
         asset = assetRepository.save(asset);
-        BigDecimal currentPrice = pricingService.getCurrentPrice(asset.getId());
-        BigDecimal profitLoss = calculateProfitLoss(asset, currentPrice);
-        BigDecimal profitLossPercent = calculateProfitLossPercent(asset, currentPrice);
-        return assetMapper.toResponse(asset, currentPrice, profitLoss, profitLossPercent);
+        eventPublisher.publishEvent(AssetChangedEvent.saved(userId, asset, ChangeType.UPDATED));
+        return toResponse(valuationService.value(List.of(asset)).getAssets().get(0));
     }
 
     @Override
@@ -138,7 +239,10 @@ public class AssetServiceImpl implements AssetService {
         if (!assetRepository.existsByIdAndClientUserId(id, userId)) {
             throw new ResourceNotFoundException("Asset", id);
         }
-        assetRepository.deleteById(id);
+        Long clientId = assetRepository.findById(id).map(asset -> asset.getClient().getId()).orElse(null);
+        assetPriceRepository.detachFromAssets(List.of(id));
+        assetRepository.deleteAllByIdIn(List.of(id));
+        eventPublisher.publishEvent(AssetChangedEvent.deleted(userId, clientId, id));
     }
 
     @Override
@@ -151,62 +255,39 @@ public class AssetServiceImpl implements AssetService {
         }
 
         List<Asset> assets = assetRepository.findByClientIdOrderByPurchaseDateTimeDesc(clientId);
-        BigDecimal totalInvested = BigDecimal.ZERO;
-        BigDecimal totalCurrentValue = BigDecimal.ZERO;
-
-        List<AssetResponse> assetResponses = assets.stream()
-                .map(asset -> {
-                    // Use symbol-based pricing if available, fallback to asset ID
-                    BigDecimal currentPrice = (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                            ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                            : pricingService.getCurrentPrice(asset.getId());
-                    BigDecimal profitLoss = calculateProfitLoss(asset, currentPrice);
-                    BigDecimal profitLossPercent = calculateProfitLossPercent(asset, currentPrice);
-                    return assetMapper.toResponse(asset, currentPrice, profitLoss, profitLossPercent);
-                })
-                .collect(Collectors.toList());
+        FxRateMatrix fx = fxRateService.getMatrix();
+        String currency = fx.normalize(client.getCurrency());
 
-        for (Asset asset : assets) {
-            BigDecimal invested = asset.getBuyingRate().multiply(asset.getQuantity());
-            BigDecimal currentPrice = pricingService.getCurrentPrice(asset.getId());
-            BigDecimal currentValue = currentPrice.multiply(asset.getQuantity());
-            totalInvested = totalInvested.add(invested);
-            totalCurrentValue = totalCurrentValue.add(currentValue);
-        }
+        List<AssetResponse> assetResponses = toResponses(assets, valuationService.snapshot(assets));
 
+        // Totals come from the maintained client aggregate instead of a second pass over the assets
+        PositionTotals positions = positionAggregateService.getClientTotals(userId, clientId);
+        BigDecimal totalInvested = positions.getInvested(fx, currency);
+        BigDecimal totalCurrentValue = positions.getCurrentValue(fx, currency);
         BigDecimal totalProfitLoss = totalCurrentValue.subtract(totalInvested);
-        BigDecimal totalProfitLossPercent = totalInvested.compareTo(BigDecimal.ZERO) > 0
-                ? totalProfitLoss.divide(totalInvested, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                : BigDecimal.ZERO;
+        BigDecimal totalProfitLossPercent = ValuationKernel.percent(totalProfitLoss, totalInvested);
 
         return PnlResponse.builder()
                 .clientId(clientId)
+                .currency(currency)
                 .totalInvested(totalInvested)
                 .totalCurrentValue(totalCurrentValue)
                 .totalProfitLoss(totalProfitLoss)
                 .totalProfitLossPercent(totalProfitLossPercent)
+                .unconvertedValue(positions.getUnconvertedValue(fx, currency))
                 .assets(assetResponses)
                 .build();
     }
 
-    private BigDecimal calculateProfitLoss(Asset asset, BigDecimal currentPrice) {
-        if (currentPrice == null) {
-            return BigDecimal.ZERO;
-        }
-        BigDecimal invested = asset.getBuyingRate().multiply(asset.getQuantity());
-        BigDecimal currentValue = currentPrice.multiply(asset.getQuantity());
-        return currentValue.subtract(invested);
+    private List<AssetResponse> toResponses(List<Asset> assets, PriceSnapshot snapshot) {
+        return valuationService.value(assets, snapshot).getAssets().stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
     }
 
-    private BigDecimal calculateProfitLossPercent(Asset asset, BigDecimal currentPrice) {
-        if (currentPrice == null || asset.getBuyingRate().compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
-        BigDecimal profitLoss = calculateProfitLoss(asset, currentPrice);
-        BigDecimal invested = asset.getBuyingRate().multiply(asset.getQuantity());
-        return invested.compareTo(BigDecimal.ZERO) > 0
-                ? profitLoss.divide(invested, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                : BigDecimal.ZERO;
+    private AssetResponse toResponse(AssetValuation valuation) {
+        return assetMapper.toResponse(valuation.getAsset(), valuation.getPrice(),
+                valuation.getProfitLoss(), valuation.getProfitLossPercent());
     }
 
     @Override
@@ -228,7 +309,10 @@ public class AssetServiceImpl implements AssetService {
                     return clientRepository.save(newClient);
                 });
 
+        // One query for the client's row hashes; an asset already imported, or repeated in the request, is skipped
+        Set<String> rowHashes = new HashSet<>(assetRepository.findRowHashesByClientId(defaultClient.getId()));
         int importedCount = 0;
+        int skipped = 0;
         for (Map<String, Object> assetData : assets) {
             try {
                 String categoryStr = assetData.getOrDefault("assetType", "STOCK").toString().toUpperCase();
@@ -258,6 +342,11 @@ public class AssetServiceImpl implements AssetService {
                         .sold(sold)
                         .createdAt(Instant.now())
                         .build();
+                asset.setRowHash(AssetRowHash.of(asset));
+                if (!rowHashes.add(asset.getRowHash())) {
+                    skipped++;
+                    continue;
+                }
                 assetRepository.save(asset);
                 importedCount++;
             } catch (Exception e) {
@@ -266,172 +355,98 @@ public class AssetServiceImpl implements AssetService {
             }
         }
 
+        if (skipped > 0) {
+            log.info("Skipped {} already imported assets for clientId: {}", skipped, defaultClient.getId());
+        }
+        if (importedCount > 0) {
+            eventPublisher.publishEvent(new AssetChangedEvent(userId, defaultClient.getId(), ChangeType.IMPORTED));
+        }
         return importedCount;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public String exportAssetsAsCSV(Long userId) {
-        List<AssetResponse> assets = getAllAssets(userId);
-        
-        StringBuilder csv = new StringBuilder();
-        csv.append("symbol,quantity,buyingRate,assetType,purchaseDateTime,currency,sellingRate,sellingDateTime,sold\n");
-
-        for (AssetResponse asset : assets) {
-            csv.append(String.format("%s,%s,%s,%s,%s,%s,%s,%s,%s\n",
-                    asset.getSymbol(),
-                    asset.getQuantity(),
-                    asset.getBuyingRate(),
-                    asset.getCategory(),
-                    asset.getPurchaseDateTime(),
-                    asset.getCurrency() != null ? asset.getCurrency() : "USD",
-                    asset.getSellingRate(),
-                    asset.getSellingDateTime(),
-                    asset.isSold()
-            ));
+    public void exportAssetsAsCSV(Long userId, boolean includeValuation, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(EXPORT_HEADER);
+        writer.write(includeValuation ? EXPORT_VALUATION_HEADER + "\n" : "\n");
+
+        // Rows are written and detached a batch at a time, so memory stays flat however large the book
+        List<Asset> batch = new ArrayList<>(exportBatchSize);
+        long rows = 0;
+        try (Stream<Asset> assets = assetRepository.streamByUserId(userId)) {
+            Iterator<Asset> iterator = assets.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == exportBatchSize || !iterator.hasNext()) {
+                    rows += batch.size();
+                    writeExportBatch(writer, batch, includeValuation);
+                }
+            }
         }
-
-        return csv.toString();
+        writer.flush();
+        log.debug("Exported {} assets for userId: {}", rows, userId);
     }
 
-    @Override
-    @Transactional
-    public int importAssetsFromCSV(InputStream csvInputStream, Long clientId, Long userId) throws IOException {
-        log.debug("Importing CSV assets for clientId: {}, userId: {}", clientId, userId);
-        
-        try {
-            // Verify client belongs to user
-            if (!clientRepository.existsByIdAndUserId(clientId, userId)) {
-                log.warn("Client {} does not belong to user {}", clientId, userId);
-                throw new ResourceNotFoundException("Client", clientId);
+    private void writeExportBatch(Writer writer, List<Asset> batch, boolean includeValuation) throws IOException {
+        if (includeValuation) {
+            for (AssetValuation valuation : valuationService.value(batch).getAssets()) {
+                writeExportRow(writer, valuation.getAsset());
+                writer.write(',');
+                writeCsvField(writer, valuation.getPrice());
+                writer.write(',');
+                writeCsvField(writer, valuation.getCurrentValue());
+                writer.write(',');
+                writeCsvField(writer, valuation.getProfitLoss());
+                writer.write(',');
+                writeCsvField(writer, valuation.getProfitLossPercent());
+                writer.write('\n');
             }
-
-            Client client = clientRepository.findById(clientId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Client", clientId));
-            log.debug("Client found: {}", client.getName());
-
-            // Parse CSV file
-            List<Map<String, Object>> assets = new ArrayList<>();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(csvInputStream))) {
-                String line = reader.readLine();
-                if (line == null) {
-                    log.warn("CSV file is empty");
-                    return 0;
-                }
-
-                // Parse header using the same logic as data rows for consistency
-                String[] headers = parseCSVLine(line);
-                for (int i = 0; i < headers.length; i++) {
-                    headers[i] = headers[i].trim().toLowerCase();
-                }
-                log.debug("CSV headers: {}", String.join(", ", headers));
-
-                // ... header validation ...
-
-                // Parse data rows
-                int lineNumber = 1;
-                while ((line = reader.readLine()) != null) {
-                    lineNumber++;
-                    if (line.trim().isEmpty()) {
-                        continue;
-                    }
-
-                    try {
-                        String[] values = parseCSVLine(line);
-                        if (values.length < headers.length) {
-                            log.warn("Line {} has fewer values than headers, skipping", lineNumber);
-                            continue;
-                        }
-
-                        Map<String, Object> assetData = new HashMap<>();
-                        for (int i = 0; i < headers.length && i < values.length; i++) {
-                            String value = values[i].trim();
-                            if (!value.isEmpty()) {
-                                assetData.put(headers[i], value);
-                            }
-                        }
-                        
-                        assets.add(assetData);
-
-                    } catch (Exception e) {
-                        log.warn("Error parsing line {}: {}", lineNumber, e.getMessage());
-                        continue;
-                    }
-                }
+        } else {
+            for (Asset asset : batch) {
+                writeExportRow(writer, asset);
+                writer.write('\n');
             }
+        }
+        batch.forEach(entityManager::detach);
+        batch.clear();
+    }
 
-            log.debug("Parsed {} assets from CSV", assets.size());
-
-            // Import assets using existing logic
-            int importedCount = 0;
-            for (Map<String, Object> assetData : assets) {
-                try {
-                    String categoryStr = assetData.getOrDefault("category", "STOCK").toString().toUpperCase();
-                    Asset.AssetCategory category;
-                    try {
-                        category = Asset.AssetCategory.valueOf(categoryStr);
-                    } catch (IllegalArgumentException e) {
-                        log.warn("Invalid category '{}', defaulting to STOCK", categoryStr);
-                        category = Asset.AssetCategory.STOCK;
-                    }
-                    
-                    // Handle variations in purchase date column name ('purchasedatetime' or 'purchasedate')
-                    Object purchaseDateObj = assetData.get("purchasedatetime");
-                    if (purchaseDateObj == null) {
-                        purchaseDateObj = assetData.get("purchasedate");
-                    }
-                                        Instant purchaseDateTime = parseInstant(purchaseDateObj);
-                                        Object sellingDateObj = assetData.get("sellingdatetime");
-                                        if (sellingDateObj == null) {
-                                            sellingDateObj = assetData.get("sellingdate");
-                                        }
-                                        Instant sellingDateTime = parseInstant(sellingDateObj);
-                    
-                                        String currency = assetData.containsKey("currency")
-                                            ? assetData.get("currency").toString().toUpperCase().substring(0, Math.min(3, assetData.get("currency").toString().length()))
-                                            : "USD";
-                                        
-                                        BigDecimal quantity = new BigDecimal(assetData.getOrDefault("quantity", "0").toString());
-                                        BigDecimal buyingRate = new BigDecimal(assetData.getOrDefault("buyingrate", "0").toString());
-                                        Object sellingRateObj = assetData.get("sellingrate");
-                                        BigDecimal sellingRate = sellingRateObj != null && !sellingRateObj.toString().isEmpty()
-                                                ? new BigDecimal(sellingRateObj.toString())
-                                                : null;
-                                        boolean sold = Boolean.parseBoolean(assetData.getOrDefault("sold", "false").toString());
-                    
-                                        
-                                        Asset asset = Asset.builder()
-                                                .symbol(assetData.get("symbol").toString().toUpperCase())
-                                                .quantity(quantity)
-                                                .buyingRate(buyingRate)
-                                                .category(category)
-                                                .name(assetData.getOrDefault("name", assetData.get("symbol")).toString())
-                                                .purchaseDateTime(purchaseDateTime)
-                                                .currency(currency)
-                                                .client(client)
-                                                .sellingRate(sellingRate)
-                                                .sellingDateTime(sellingDateTime)                            .sold(sold)
-                            .createdAt(Instant.now())
-                            .build();
-                    assetRepository.save(asset);
-                    importedCount++;
-                    log.debug("Imported asset: {}", asset.getSymbol());
-                } catch (Exception e) {
-                    log.error("Error importing asset from CSV data: {}", assetData, e);
-                    // Re-throw as a runtime exception to ensure the transaction is rolled back
-                    throw new com.app.portfolio.exceptions.BadRequestException(
-                            "Failed to import asset from CSV row. Data: " + assetData.toString() + ". Error: " + e.getMessage());
-                }
-            }
+    private static void writeExportRow(Writer writer, Asset asset) throws IOException {
+        writeCsvField(writer, asset.getSymbol());
+        writer.write(',');
+        writeCsvField(writer, asset.getQuantity());
+        writer.write(',');
+        writeCsvField(writer, asset.getBuyingRate());
+        writer.write(',');
+        writeCsvField(writer, asset.getCategory());
+        writer.write(',');
+        writeCsvField(writer, asset.getPurchaseDateTime());
+        writer.write(',');
+        writeCsvField(writer, asset.getCurrency() != null ? asset.getCurrency() : "USD");
+        writer.write(',');
+        writeCsvField(writer, asset.getSellingRate());
+        writer.write(',');
+        writeCsvField(writer, asset.getSellingDateTime());
+        writer.write(',');
+        writer.write(asset.isSold() ? "true" : "false");
+    }
 
-            log.info("Successfully imported {}/{} assets for clientId: {}", importedCount, assets.size(), clientId);
-            return importedCount;
-        } catch (Exception e) {
-            log.error("Error importing CSV for clientId: {}, userId: {}", clientId, userId, e);
-            throw e;
+    // Empty for null; quoted per RFC 4180 when the value holds a delimiter, quote or line break
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal amount ? amount.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
         }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
     }
-    
+
     private Instant parseInstant(Object obj) {
         if (obj == null) return null;
         String dateStr = obj.toString();
@@ -447,25 +462,43 @@ public class AssetServiceImpl implements AssetService {
     }
 
     /**
-     * Parse a CSV line handling quoted values
+     * {@code "<sort>:<key>:<id>"}, where the key is the last row's purchase date or score
      */
-    private String[] parseCSVLine(String line) {
-        List<String> values = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                values.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
+    private record PageCursor(AssetSort sort, String key, long id) {
+
+        static PageCursor parse(String value, AssetSort sort) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            int first = value.indexOf(':');
+            int last = value.lastIndexOf(':');
+            try {
+                PageCursor cursor = new PageCursor(AssetSort.valueOf(value.substring(0, first).toUpperCase()),
+                        value.substring(first + 1, last), Long.parseLong(value.substring(last + 1)));
+                if (cursor.sort() != sort) {
+                    throw new BadRequestException("Cursor was issued for sort " + cursor.sort().name().toLowerCase());
+                }
+                // Validates the key
+                if (sort == AssetSort.DATE) {
+                    Instant.parse(cursor.key());
+                } else {
+                    score(cursor);
+                }
+                return cursor;
+            } catch (BadRequestException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor: " + value);
             }
         }
-        values.add(current.toString());
-        return values.toArray(new String[0]);
+
+        static double score(PageCursor cursor) {
+            return Double.parseDouble(cursor.key());
+        }
+
+        @Override
+        public String toString() {
+            return sort.name().toLowerCase() + ":" + key + ":" + id;
+        }
     }
 }
@@ -4,11 +4,19 @@ import com.app.portfolio.beans.Client;
 import com.app.portfolio.beans.User;
 import com.app.portfolio.dto.client.ClientRequest;
 import com.app.portfolio.dto.client.ClientResponse;
+import com.app.portfolio.events.ChangeType;
+import com.app.portfolio.events.ClientChangedEvent;
 import com.app.portfolio.exceptions.ResourceNotFoundException;
 import com.app.portfolio.mapper.ClientMapper;
+import com.app.portfolio.repository.AssetPriceRepository;
+import com.app.portfolio.repository.AssetRepository;
 import com.app.portfolio.repository.ClientRepository;
 import com.app.portfolio.repository.UserRepository;
+import com.app.portfolio.service.ledger.LedgerService;
+import com.app.portfolio.service.performance.AnnualPerformanceService;
+import com.app.portfolio.service.snapshot.PortfolioSnapshotService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,8 +28,14 @@ import java.util.stream.Collectors;
 public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
+    private final AssetRepository assetRepository;
+    private final AssetPriceRepository assetPriceRepository;
+    private final LedgerService ledgerService;
+    private final PortfolioSnapshotService portfolioSnapshotService;
+    private final AnnualPerformanceService annualPerformanceService;
     private final UserRepository userRepository;
     private final ClientMapper clientMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -52,6 +66,7 @@ public class ClientServiceImpl implements ClientService {
         Client client = clientMapper.toEntity(request, null);
         client.setUser(user);
         client = clientRepository.save(client);
+        eventPublisher.publishEvent(new ClientChangedEvent(userId, client.getId(), ChangeType.CREATED));
         return clientMapper.toResponse(client);
     }
 
@@ -65,6 +80,7 @@ public class ClientServiceImpl implements ClientService {
         }
         client = clientMapper.toEntity(request, client);
         client = clientRepository.save(client);
+        eventPublisher.publishEvent(new ClientChangedEvent(userId, id, ChangeType.UPDATED));
         return clientMapper.toResponse(client);
     }
 
@@ -74,6 +90,14 @@ public class ClientServiceImpl implements ClientService {
         if (!clientRepository.existsByIdAndUserId(id, userId)) {
             throw new ResourceNotFoundException("Client", id);
         }
-        clientRepository.deleteById(id);
+        // Bulk statements in foreign key order rather than a cascade that loads and deletes every
+        // asset; the assets' price history is kept and only unlinked
+        ledgerService.deleteClientLedger(id);
+        portfolioSnapshotService.deleteClientSnapshots(id);
+        annualPerformanceService.deleteClientPerformance(id);
+        assetPriceRepository.detachFromClientAssets(id);
+        assetRepository.deleteAllByClientId(id);
+        clientRepository.deleteClientById(id);
+        eventPublisher.publishEvent(new ClientChangedEvent(userId, id, ChangeType.DELETED));
     }
 }
@@ -0,0 +1,144 @@
+package com.app.portfolio.service.dashboard;
+
+import com.app.portfolio.dto.dashboard.DashboardSection;
+import com.app.portfolio.dto.dashboard.DashboardSummaryResponse;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.events.ClientChangedEvent;
+import com.app.portfolio.events.PricesUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches built dashboard summaries per user and client. An entry is valid while the data
+ * version it was built at is current: the user's version moves on every asset or client
+ * change of that user, the price version on every stored price refresh. Summaries limited to
+ * some sections are cached separately from full ones.
+ *
+ * Versions are bumped after commit, so a summary is never cached against data that was
+ * rolled back.
+ */
+@Component
+@Slf4j
+public class DashboardCache {
+
+    // Distinguishes versions across restarts, so an ETag from a previous run never matches
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private static final Set<DashboardSection> ALL_SECTIONS = EnumSet.allOf(DashboardSection.class);
+
+    private final Map<Long, AtomicLong> userVersions = new ConcurrentHashMap<>();
+    private final AtomicLong priceVersion = new AtomicLong();
+    // Access-ordered, so the least recently used summary is evicted at maxEntries; guarded by itself
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    @Value("${dashboard.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dashboard.cache.max-entries:10000}")
+    private int maxEntries;
+
+    /**
+     * Current data version for a user's dashboards
+     */
+    public String version(Long userId) {
+        return epoch + "." + userVersions.computeIfAbsent(userId, id -> new AtomicLong()).get() + "." + priceVersion.get();
+    }
+
+    /**
+     * Weak ETag for a user's dashboard, or one client's dashboard when {@code clientId} is set
+     */
+    public String etag(Long userId, Long clientId) {
+        return etag(userId, clientId, ALL_SECTIONS);
+    }
+
+    public String etag(Long userId, Long clientId, Set<DashboardSection> sections) {
+        return "W/\"" + userId + "-" + (clientId != null ? clientId : "all") + fieldsTag(sections) + "-"
+                + version(userId) + "\"";
+    }
+
+    public DashboardSummaryResponse get(Long userId, Long clientId, String version) {
+        return get(userId, clientId, ALL_SECTIONS, version);
+    }
+
+    public DashboardSummaryResponse get(Long userId, Long clientId, Set<DashboardSection> sections, String version) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(new Key(userId, clientId, sections));
+        }
+        return entry != null && entry.version().equals(version) ? entry.response() : null;
+    }
+
+    public void put(Long userId, Long clientId, String version, DashboardSummaryResponse response) {
+        put(userId, clientId, ALL_SECTIONS, version, response);
+    }
+
+    public void put(Long userId, Long clientId, Set<DashboardSection> sections, String version,
+                    DashboardSummaryResponse response) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(new Key(userId, clientId, Set.copyOf(sections)), new Entry(version, response));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        invalidateUser(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        invalidateUser(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricesUpdated(PricesUpdatedEvent event) {
+        priceVersion.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+        log.debug("Dashboard cache cleared after price update for {} symbols", event.getSymbols().size());
+    }
+
+    private void invalidateUser(Long userId) {
+        userVersions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.userId().equals(userId));
+        }
+    }
+
+    private static String fieldsTag(Set<DashboardSection> sections) {
+        if (sections.containsAll(ALL_SECTIONS)) {
+            return "";
+        }
+        StringBuilder tag = new StringBuilder("-");
+        for (DashboardSection section : DashboardSection.values()) {
+            tag.append(sections.contains(section) ? '1' : '0');
+        }
+        return tag.toString();
+    }
+
+    private record Key(Long userId, Long clientId, Set<DashboardSection> sections) {
+    }
+
+    private record Entry(String version, DashboardSummaryResponse response) {
+    }
+}
@@ -1,10 +1,28 @@
 package com.app.portfolio.service.dashboard;
 
+import com.app.portfolio.dto.dashboard.DashboardSection;
 import com.app.portfolio.dto.dashboard.DashboardSummaryResponse;
 
+import java.util.Set;
+
 public interface DashboardService {
 
     DashboardSummaryResponse getDashboardSummary(Long userId);
+
+    /**
+     * Summary with only the given sections computed; the others are left null
+     */
+    DashboardSummaryResponse getDashboardSummary(Long userId, Set<DashboardSection> sections);
     
     DashboardSummaryResponse getClientDashboardSummary(Long clientId, Long userId);
+
+    DashboardSummaryResponse getClientDashboardSummary(Long clientId, Long userId, Set<DashboardSection> sections);
+
+    /**
+     * ETag of the current dashboard data for a user, or for one of their clients when
+     * {@code clientId} is set. Changes whenever the summary would change.
+     */
+    String getDashboardETag(Long userId, Long clientId);
+
+    String getDashboardETag(Long userId, Long clientId, Set<DashboardSection> sections);
 }
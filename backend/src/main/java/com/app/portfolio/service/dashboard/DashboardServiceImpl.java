@@ -2,21 +2,45 @@ package com.app.portfolio.service.dashboard;
 
 import com.app.portfolio.beans.Asset;
 import com.app.portfolio.beans.Client;
+import com.app.portfolio.dto.dashboard.DashboardSection;
 import com.app.portfolio.dto.dashboard.DashboardSummaryResponse;
+import com.app.portfolio.dto.dashboard.DashboardSummaryResponse.SectionStatus;
+import com.app.portfolio.dto.pricing.PortfolioChartDataPoint;
+import com.app.portfolio.dto.pricing.PortfolioChartResponse;
 import com.app.portfolio.exceptions.ResourceNotFoundException;
 import com.app.portfolio.repository.AssetRepository;
 import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.service.aggregate.PositionAggregateService;
+import com.app.portfolio.service.aggregate.PositionTotals;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.movers.MoversService;
 import com.app.portfolio.service.pricing.PricingService;
+import com.app.portfolio.service.valuation.PriceSnapshot;
+import com.app.portfolio.service.valuation.ValuationKernel;
+import com.app.portfolio.service.valuation.ValuationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Builds dashboard summaries. Clients and assets are loaded once on the calling thread in a short
+ * read-only transaction; the sections are then computed concurrently on {@code dashboardExecutor},
+ * each bounded by its own timeout. The fan-out runs outside that transaction so the calling thread
+ * doesn't hold a pooled connection while it waits on sections that borrow their own.
+ * A section that is slow or fails is left null and flagged in {@code sectionStatus} instead
+ * of failing the whole response, and a slow one is interrupted once the response is assembled.
+ * Sections that weren't requested are neither computed nor reported, and assets are only
+ * loaded when a requested section needs them.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -25,198 +49,46 @@ public class DashboardServiceImpl implements DashboardService {
     private final ClientRepository clientRepository;
     private final AssetRepository assetRepository;
     private final PricingService pricingService;
+    private final FxRateService fxRateService;
+    private final ExecutorService dashboardExecutor;
+    private final Environment environment;
+    private final DashboardCache dashboardCache;
+    private final PositionAggregateService positionAggregateService;
+    private final MoversService moversService;
+    private final ValuationService valuationService;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final Set<DashboardSection> ASSET_SECTIONS =
+            EnumSet.of(DashboardSection.MOVERS, DashboardSection.TODAYS_PL, DashboardSection.PERFORMANCE);
 
     @Override
-    @Transactional(readOnly = true)
     public DashboardSummaryResponse getDashboardSummary(Long userId) {
-        log.debug("Getting dashboard summary for userId: {}", userId);
+        return getDashboardSummary(userId, EnumSet.allOf(DashboardSection.class));
+    }
+
+    @Override
+    public DashboardSummaryResponse getDashboardSummary(Long userId, Set<DashboardSection> sections) {
+        log.debug("Getting dashboard summary for userId: {}, sections: {}", userId, sections);
         try {
-            List<Client> clients = clientRepository.findByUserIdOrderByCreatedAtDesc(userId);
-            log.debug("Found {} clients for userId: {}", clients.size(), userId);
-            
-            List<Asset> allAssets = clients.stream()
-                    .flatMap(client -> assetRepository.findByClientIdOrderByPurchaseDateTimeDesc(client.getId()).stream())
-                    .collect(Collectors.toList());
-            log.debug("Found {} total assets across all clients", allAssets.size());
-
-            List<Asset> unsoldAssets = allAssets.stream().filter(a -> !a.isSold()).collect(Collectors.toList());
-
-            BigDecimal totalInvested = BigDecimal.ZERO;
-            BigDecimal totalCurrentValue = BigDecimal.ZERO;
-            Map<String, BigDecimal> assetAllocation = new HashMap<>();
-            Map<String, BigDecimal> categoryBreakdown = new HashMap<>();
-
-            for (Asset asset : allAssets) {
-                BigDecimal invested = asset.getBuyingRate().multiply(asset.getQuantity());
-                totalInvested = totalInvested.add(invested);
-                
-                if (asset.isSold()) {
-                    if(asset.getSellingRate() != null) {
-                        totalCurrentValue = totalCurrentValue.add(asset.getSellingRate().multiply(asset.getQuantity()));
-                    }
-                } else {
-                    // Use symbol-based pricing if available, fallback to asset ID
-                    BigDecimal currentPrice = (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                            ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                            : pricingService.getCurrentPrice(asset.getId());
-                    if (currentPrice == null) {
-                        currentPrice = asset.getBuyingRate(); // Fallback to buying rate
-                    }
-                    BigDecimal currentValue = currentPrice.multiply(asset.getQuantity());
-                    totalCurrentValue = totalCurrentValue.add(currentValue);
-
-                    // Asset allocation for unsold assets
-                    String category = asset.getCategory().name();
-                    assetAllocation.put(category, assetAllocation.getOrDefault(category, BigDecimal.ZERO).add(currentValue));
-                    categoryBreakdown.put(category, categoryBreakdown.getOrDefault(category, BigDecimal.ZERO).add(currentValue));
-                }
+            String version = dashboardCache.version(userId);
+            DashboardSummaryResponse cached = dashboardCache.get(userId, null, sections, version);
+            if (cached != null) {
+                log.debug("Returning cached dashboard summary for userId: {}", userId);
+                return cached;
             }
 
-            Integer assetCategoryCount = assetAllocation.keySet().size();
-            
-            BigDecimal totalProfitLoss = totalCurrentValue.subtract(totalInvested);
-            BigDecimal totalProfitLossPercent = totalInvested.compareTo(BigDecimal.ZERO) > 0
-                    ? totalProfitLoss.divide(totalInvested, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                    : BigDecimal.ZERO;
-
-            List<DashboardSummaryResponse.ClientSummaryDto> recentClients = clients.stream()
-                    .limit(5)
-                    .map(client -> {
-                        List<Asset> clientAssets = assetRepository.findByClientIdOrderByPurchaseDateTimeDesc(client.getId());
-                        BigDecimal clientPnL = BigDecimal.ZERO;
-                        for (Asset asset : clientAssets) {
-                            BigDecimal invested = asset.getBuyingRate().multiply(asset.getQuantity());
-                            // Use symbol-based pricing if available, fallback to asset ID
-                            BigDecimal finalPrice = asset.isSold() ? asset.getSellingRate() 
-                                    : (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                                    ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                                    : pricingService.getCurrentPrice(asset.getId());
-                            if (finalPrice == null) {
-                                finalPrice = asset.getBuyingRate();
-                            }
-                            BigDecimal finalValue = finalPrice.multiply(asset.getQuantity());
-                            clientPnL = clientPnL.add(finalValue.subtract(invested));
-                        }
-                        return DashboardSummaryResponse.ClientSummaryDto.builder()
-                                .id(client.getId())
-                                .name(client.getName())
-                                .email(client.getEmail())
-                                .assetCount((long) clientAssets.size())
-                                .profitLoss(clientPnL)
-                                .build();
-                    })
-                    .collect(Collectors.toList());
-
-            List<DashboardSummaryResponse.TopAssetDto> allAssetsWithReturns = unsoldAssets.stream()
-                .map(asset -> {
-                    BigDecimal invested = asset.getBuyingRate().multiply(asset.getQuantity());
-                    // Use symbol-based pricing if available, fallback to asset ID
-                    BigDecimal currentPrice = (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                            ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                            : pricingService.getCurrentPrice(asset.getId());
-                    if (currentPrice == null) {
-                        currentPrice = asset.getBuyingRate();
-                    }
-                    BigDecimal currentValue = currentPrice.multiply(asset.getQuantity());
-                    BigDecimal returns = invested.compareTo(BigDecimal.ZERO) > 0
-                            ? currentValue.subtract(invested).divide(invested, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                            : BigDecimal.ZERO;
-                    return DashboardSummaryResponse.TopAssetDto.builder()
-                            .name(asset.getName())
-                            .category(asset.getCategory().name())
-                            .currentValue(currentValue)
-                            .returns(returns)
-                            .build();
-                })
-                .collect(Collectors.toList());
-
-            List<DashboardSummaryResponse.TopAssetDto> topAssets = allAssetsWithReturns.stream()
-                .sorted((a, b) -> b.getReturns().compareTo(a.getReturns()))
-                .limit(5)
-                .collect(Collectors.toList());
-
-            List<DashboardSummaryResponse.TopAssetDto> worstAssets = allAssetsWithReturns.stream()
-                .sorted(Comparator.comparing(DashboardSummaryResponse.TopAssetDto::getReturns))
-                .limit(5)
-                .collect(Collectors.toList());
-
-            // Portfolio performance for unsold assets
-            Map<String, Double> portfolioMap = unsoldAssets.stream()
-                .filter(asset -> asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                .collect(Collectors.toMap(
-                    Asset::getSymbol,
-                    asset -> asset.getQuantity().doubleValue(),
-                    Double::sum
-                ));
-                
-            com.app.portfolio.dto.pricing.PortfolioChartResponse todaysPerformance = pricingService.getPortfolioChart(portfolioMap, "1d", "1d");
-            BigDecimal todaysPL = BigDecimal.ZERO;
-            BigDecimal todaysPLPercentage = BigDecimal.ZERO;
-
-            if (todaysPerformance != null && todaysPerformance.getData() != null && todaysPerformance.getData().size() > 1) {
-                var startValue = todaysPerformance.getData().get(0).getValue();
-                var endValue = todaysPerformance.getData().get(todaysPerformance.getData().size() - 1).getValue();
-                if(startValue != null && endValue != null) {
-                    todaysPL = BigDecimal.valueOf(endValue - startValue);
-                    if (startValue != 0) {
-                        todaysPLPercentage = todaysPL.divide(BigDecimal.valueOf(startValue), 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
-                    }
-                }
-            }
+            Loaded loaded = readOnly(() -> new Loaded(clientRepository.findByUserIdOrderByCreatedAtDesc(userId),
+                    needsAssets(sections) ? assetRepository.findAllByUserIdWithClient(userId) : null));
+            List<Client> clients = loaded.clients();
+            List<Asset> allAssets = loaded.assets();
+            log.debug("Found {} clients for userId: {}", clients.size(), userId);
+            log.debug("Found {} total assets across all clients", allAssets != null ? allAssets.size() : "(not loaded)");
 
+            DashboardSummaryResponse response = buildSummary(userId, null, sections, allAssets,
+                    clients.stream().limit(5).toList(), fxRateService.getBaseCurrency());
+            response.setTotalClients((long) clients.size());
+            cacheIfComplete(userId, null, sections, version, response);
 
-            List<String> labels;
-            List<BigDecimal> performanceData;
-
-            if (!portfolioMap.isEmpty()) {
-                // Use database historical data for 6 months display
-                log.debug("Fetching portfolio chart for {} symbols: {}", portfolioMap.size(), portfolioMap.keySet());
-                com.app.portfolio.dto.pricing.PortfolioChartResponse portfolioChart =
-                    pricingService.getPortfolioChartFromDatabase(portfolioMap, "6mo", "1wk");
-
-                if (portfolioChart != null && portfolioChart.getData() != null && !portfolioChart.getData().isEmpty()) {
-                    log.debug("Portfolio chart returned {} data points", portfolioChart.getData().size());
-                    labels = portfolioChart.getData().stream()
-                                    .map(com.app.portfolio.dto.pricing.PortfolioChartDataPoint::getTime)
-                                    .collect(Collectors.toList());
-                    performanceData = portfolioChart.getData().stream()
-                                    .map(p -> BigDecimal.valueOf(p.getValue()))
-                                    .collect(Collectors.toList());
-                    log.debug("Processed {} labels and {} performance data points", labels.size(), performanceData.size());
-                } else {
-                    log.warn("Portfolio chart returned empty data. portfolioChart={}, data={}", 
-                            portfolioChart, portfolioChart != null ? portfolioChart.getData() : "null");
-                    // Fallback to simplified data
-                    labels = Arrays.asList("Today");
-                    performanceData = Arrays.asList(totalCurrentValue);
-                }
-            } else {
-                log.debug("Portfolio map is empty, no chart data");
-                labels = Collections.emptyList();
-                performanceData = Collections.emptyList();
-            }
-        
-            DashboardSummaryResponse response = DashboardSummaryResponse.builder()
-                    .totalClients((long) clients.size())
-                    .totalAssets((long) allAssets.size())
-                    .totalInvested(totalInvested)
-                    .totalCurrentValue(totalCurrentValue)
-                    .totalProfitLoss(totalProfitLoss)
-                    .totalProfitLossPercent(totalProfitLossPercent)
-                    .recentClients(recentClients)
-                    .assetAllocation(assetAllocation)
-                    .portfolioPerformance(DashboardSummaryResponse.PortfolioPerformanceData.builder()
-                            .labels(labels)
-                            .data(performanceData)
-                            .build())
-                    .topAssets(topAssets)
-                    .worstAssets(worstAssets)
-                    .assetCategoryCount(assetCategoryCount)
-                    .todaysPL(todaysPL)
-                    .todaysPLPercentage(todaysPLPercentage)
-                    .assetCategoryBreakdown(categoryBreakdown)
-                    .build();
-            
             log.debug("Dashboard summary built successfully for userId: {}", userId);
             return response;
         } catch (Exception e) {
@@ -226,9 +98,13 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public DashboardSummaryResponse getClientDashboardSummary(Long clientId, Long userId) {
-        log.debug("Getting client dashboard summary for clientId: {}, userId: {}", clientId, userId);
+        return getClientDashboardSummary(clientId, userId, EnumSet.allOf(DashboardSection.class));
+    }
+
+    @Override
+    public DashboardSummaryResponse getClientDashboardSummary(Long clientId, Long userId, Set<DashboardSection> sections) {
+        log.debug("Getting client dashboard summary for clientId: {}, userId: {}, sections: {}", clientId, userId, sections);
         try {
             // Verify client belongs to user
             if (!clientRepository.existsByIdAndUserId(clientId, userId)) {
@@ -236,161 +112,355 @@ public class DashboardServiceImpl implements DashboardService {
                 throw new ResourceNotFoundException("Client", clientId);
             }
 
-            Client client = clientRepository.findById(clientId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Client", clientId));
-            
-            List<Asset> assets = assetRepository.findByClientIdOrderByPurchaseDateTimeDesc(clientId);
-            log.debug("Found {} assets for clientId: {}", assets.size(), clientId);
-
-            List<Asset> unsoldAssets = assets.stream().filter(a -> !a.isSold()).collect(Collectors.toList());
-
-            BigDecimal totalInvested = BigDecimal.ZERO;
-            BigDecimal totalCurrentValue = BigDecimal.ZERO;
-            Map<String, BigDecimal> assetAllocation = new HashMap<>();
-            Map<String, BigDecimal> categoryBreakdown = new HashMap<>();
-
-            for (Asset asset : assets) {
-                BigDecimal invested = asset.getBuyingRate().multiply(asset.getQuantity());
-                totalInvested = totalInvested.add(invested);
-
-                if(asset.isSold()){
-                    if(asset.getSellingRate() != null){
-                        totalCurrentValue = totalCurrentValue.add(asset.getSellingRate().multiply(asset.getQuantity()));
-                    }
-                } else {
-                    // Use symbol-based pricing if available, fallback to asset ID
-                    BigDecimal currentPrice = (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                            ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                            : pricingService.getCurrentPrice(asset.getId());
-                    if (currentPrice == null) {
-                        currentPrice = asset.getBuyingRate(); // Fallback to buying rate
-                    }
-                    BigDecimal currentValue = currentPrice.multiply(asset.getQuantity());
-                    totalCurrentValue = totalCurrentValue.add(currentValue);
-                    
-                    // Asset allocation by category
-                    String category = asset.getCategory().name();
-                    assetAllocation.put(category, assetAllocation.getOrDefault(category, BigDecimal.ZERO).add(currentValue));
-                    categoryBreakdown.put(category, categoryBreakdown.getOrDefault(category, BigDecimal.ZERO).add(currentValue));
-                }
+            String version = dashboardCache.version(userId);
+            DashboardSummaryResponse cached = dashboardCache.get(userId, clientId, sections, version);
+            if (cached != null) {
+                log.debug("Returning cached client dashboard summary for clientId: {}", clientId);
+                return cached;
             }
 
-            Integer assetCategoryCount = assetAllocation.keySet().size();
-
-            BigDecimal totalProfitLoss = totalCurrentValue.subtract(totalInvested);
-            BigDecimal totalProfitLossPercent = totalInvested.compareTo(BigDecimal.ZERO) > 0
-                    ? totalProfitLoss.divide(totalInvested, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                    : BigDecimal.ZERO;
-
-            List<DashboardSummaryResponse.TopAssetDto> allAssetsWithReturns = unsoldAssets.stream()
-                .map(asset -> {
-                    BigDecimal invested = asset.getBuyingRate().multiply(asset.getQuantity());
-                    // Use symbol-based pricing if available, fallback to asset ID
-                    BigDecimal currentPrice = (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                            ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                            : pricingService.getCurrentPrice(asset.getId());
-                    if (currentPrice == null) {
-                        currentPrice = asset.getBuyingRate();
-                    }
-                    BigDecimal currentValue = currentPrice.multiply(asset.getQuantity());
-                    BigDecimal returns = invested.compareTo(BigDecimal.ZERO) > 0
-                            ? currentValue.subtract(invested).divide(invested, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                            : BigDecimal.ZERO;
-                    return DashboardSummaryResponse.TopAssetDto.builder()
-                            .name(asset.getName())
-                            .category(asset.getCategory().name())
-                            .currentValue(currentValue)
-                            .returns(returns)
+            Loaded loaded = readOnly(() -> new Loaded(
+                    List.of(clientRepository.findById(clientId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Client", clientId))),
+                    needsAssets(sections) ? assetRepository.findByClientIdOrderByPurchaseDateTimeDesc(clientId) : null));
+            Client client = loaded.clients().get(0);
+            List<Asset> assets = loaded.assets();
+            log.debug("Found {} assets for clientId: {}", assets != null ? assets.size() : "(not loaded)", clientId);
+
+            String currency = client.getCurrency() != null && !client.getCurrency().isBlank()
+                    ? client.getCurrency().toUpperCase()
+                    : fxRateService.getBaseCurrency();
+            DashboardSummaryResponse response = buildSummary(userId, clientId, sections, assets, Collections.emptyList(), currency);
+            response.setTotalClients(1L);
+            cacheIfComplete(userId, clientId, sections, version, response);
+
+            log.debug("Client dashboard summary built successfully for clientId: {}, userId: {}", clientId, userId);
+            return response;
+        } catch (Exception e) {
+            log.error("Error building client dashboard summary for clientId: {}, userId: {}", clientId, userId, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getDashboardETag(Long userId, Long clientId) {
+        return getDashboardETag(userId, clientId, EnumSet.allOf(DashboardSection.class));
+    }
+
+    @Override
+    public String getDashboardETag(Long userId, Long clientId, Set<DashboardSection> sections) {
+        if (clientId != null && !clientRepository.existsByIdAndUserId(clientId, userId)) {
+            throw new ResourceNotFoundException("Client", clientId);
+        }
+        return dashboardCache.etag(userId, clientId, sections);
+    }
+
+    /**
+     * Runs the initial loads in their own read-only transaction, released before the sections start
+     */
+    private <T> T readOnly(Supplier<T> load) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        template.setReadOnly(true);
+        return template.execute(status -> load.get());
+    }
+
+    private static boolean needsAssets(Set<DashboardSection> sections) {
+        return sections.stream().anyMatch(ASSET_SECTIONS::contains);
+    }
+
+    /**
+     * Partial responses are not cached, so the next request retries the missing sections
+     */
+    private void cacheIfComplete(Long userId, Long clientId, Set<DashboardSection> sections, String version,
+                                 DashboardSummaryResponse response) {
+        if (response.getSectionStatus().values().stream().allMatch(status -> status == SectionStatus.OK)) {
+            dashboardCache.put(userId, clientId, sections, version, response);
+        }
+    }
+
+    private DashboardSummaryResponse buildSummary(Long userId, Long clientId, Set<DashboardSection> sections,
+                                                  List<Asset> assets, List<Client> recentClients, String currency) {
+        long startNanos = System.nanoTime();
+        SectionTasks tasks = new SectionTasks();
+        FxRateMatrix fx = fxRateService.getMatrix();
+        List<Asset> unsoldAssets = assets != null
+                ? assets.stream().filter(a -> !a.isSold()).collect(Collectors.toList())
+                : Collections.emptyList();
+
+        // Portfolio performance for unsold assets
+        Map<String, Double> portfolioMap = unsoldAssets.stream()
+            .filter(asset -> asset.getSymbol() != null && !asset.getSymbol().isEmpty())
+            .collect(Collectors.toMap(
+                asset -> asset.getSymbol().toUpperCase(),
+                asset -> asset.getQuantity().doubleValue(),
+                Double::sum
+            ));
+
+        // Totals, allocation and recent clients come from the maintained aggregates; movers need per-asset prices
+        boolean positionsNeeded = sections.contains(DashboardSection.TOTALS) || sections.contains(DashboardSection.ALLOCATION);
+        boolean pricesNeeded = sections.contains(DashboardSection.MOVERS) || sections.contains(DashboardSection.TODAYS_PL);
+        CompletableFuture<PositionTotals> positionsFuture = !positionsNeeded ? null : CompletableFuture.supplyAsync(() -> clientId == null
+                ? positionAggregateService.getUserTotals(userId)
+                : positionAggregateService.getClientTotals(userId, clientId), tasks);
+        CompletableFuture<Totals> totalsFuture = positionsFuture == null || !sections.contains(DashboardSection.TOTALS)
+                ? null
+                : positionsFuture.thenApply(positions -> computeTotals(positions, fx, currency));
+        CompletableFuture<Map<String, BigDecimal>> allocationFuture = positionsFuture == null || !sections.contains(DashboardSection.ALLOCATION)
+                ? null
+                : positionsFuture.thenApply(positions -> positions.getAllocation(fx, currency));
+        CompletableFuture<List<DashboardSummaryResponse.ClientSummaryDto>> recentClientsFuture =
+                !sections.contains(DashboardSection.RECENT_CLIENTS) ? null
+                : recentClients.isEmpty() ? CompletableFuture.completedFuture(Collections.emptyList())
+                : CompletableFuture.supplyAsync(() -> computeRecentClients(userId, recentClients, fx, currency), tasks);
+        CompletableFuture<PriceSnapshot> prices = !pricesNeeded ? null
+                : CompletableFuture.supplyAsync(() -> valuationService.snapshot(unsoldAssets), tasks);
+        CompletableFuture<Movers> moversFuture = !sections.contains(DashboardSection.MOVERS) ? null
+                : prices.thenApplyAsync(p -> computeMovers(unsoldAssets, p, fx, currency), tasks);
+        CompletableFuture<TodaysPL> todaysPLFuture = !sections.contains(DashboardSection.TODAYS_PL) ? null
+                : portfolioMap.isEmpty() ? CompletableFuture.completedFuture(new TodaysPL(BigDecimal.ZERO, BigDecimal.ZERO))
+                : prices.thenCombineAsync(
+                        CompletableFuture.supplyAsync(() -> pricingService.getPreviousCloses(portfolioMap.keySet()), tasks),
+                        (p, closes) -> computeTodaysPL(unsoldAssets, p, closes, fx, currency), tasks);
+        CompletableFuture<PortfolioChartResponse> performanceFuture = !sections.contains(DashboardSection.PERFORMANCE) ? null
+                : portfolioMap.isEmpty() ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.supplyAsync(() -> {
+                    // Use database historical data for 6 months display
+                    log.debug("Fetching portfolio chart for {} symbols: {}", portfolioMap.size(), portfolioMap.keySet());
+                    return pricingService.getPortfolioChartFromDatabase(portfolioMap, symbolCurrencies(unsoldAssets, fx),
+                            currency, "6mo", "1wk");
+                }, tasks);
+
+        Map<DashboardSection, SectionStatus> sectionStatus = new EnumMap<>(DashboardSection.class);
+        Totals totals = await(DashboardSection.TOTALS, totalsFuture, startNanos, sectionStatus);
+        Map<String, BigDecimal> allocation = await(DashboardSection.ALLOCATION, allocationFuture, startNanos, sectionStatus);
+        List<DashboardSummaryResponse.ClientSummaryDto> recent =
+                await(DashboardSection.RECENT_CLIENTS, recentClientsFuture, startNanos, sectionStatus);
+        Movers movers = await(DashboardSection.MOVERS, moversFuture, startNanos, sectionStatus);
+        TodaysPL todaysPL = await(DashboardSection.TODAYS_PL, todaysPLFuture, startNanos, sectionStatus);
+        PortfolioChartResponse portfolioChart = await(DashboardSection.PERFORMANCE, performanceFuture, startNanos, sectionStatus);
+        // Whatever still runs belongs to a section that timed out; stop it rather than let it hold a thread and connection
+        tasks.cancelRemaining();
+
+        long totalAssets = assets != null ? assets.size()
+                : clientId != null ? assetRepository.countByClientId(clientId)
+                : assetRepository.countByClientUserId(userId);
+        DashboardSummaryResponse.DashboardSummaryResponseBuilder response = DashboardSummaryResponse.builder()
+                .totalAssets(totalAssets)
+                .currency(currency)
+                .recentClients(recent)
+                .sectionStatus(sectionStatus);
+
+        if (totals != null) {
+            response.totalInvested(totals.invested())
+                    .totalCurrentValue(totals.currentValue())
+                    .totalProfitLoss(totals.profitLoss())
+                    .totalProfitLossPercent(totals.profitLossPercent())
+                    .unconvertedValue(totals.unconvertedValue());
+        }
+        if (allocation != null) {
+            response.assetAllocation(allocation)
+                    .assetCategoryBreakdown(new HashMap<>(allocation))
+                    .assetCategoryCount(allocation.size());
+        }
+        if (movers != null) {
+            response.topAssets(movers.top()).worstAssets(movers.worst());
+        }
+        if (todaysPL != null) {
+            response.todaysPL(todaysPL.profitLoss()).todaysPLPercentage(todaysPL.percent());
+        }
+        if (sectionStatus.get(DashboardSection.PERFORMANCE) == SectionStatus.OK) {
+            response.portfolioPerformance(toPerformanceData(portfolioMap, portfolioChart, totals));
+        }
+        return response.build();
+    }
+
+    /**
+     * Waits for a section until its deadline, measured from the start of the request. A null
+     * future is a section that wasn't requested.
+     */
+    private <T> T await(DashboardSection section, CompletableFuture<T> future, long startNanos,
+                        Map<DashboardSection, SectionStatus> sectionStatus) {
+        if (future == null) {
+            return null;
+        }
+        long timeoutMs = environment.getProperty("dashboard.section." + section.getKey() + ".timeout-ms",
+                Long.class, section.getDefaultTimeoutMs());
+        long remainingMs = timeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        try {
+            T result = future.get(Math.max(remainingMs, 0), TimeUnit.MILLISECONDS);
+            sectionStatus.put(section, SectionStatus.OK);
+            return result;
+        } catch (TimeoutException e) {
+            log.warn("Dashboard section {} timed out after {} ms", section, timeoutMs);
+            // Only marks the stage cancelled; the running task is interrupted through SectionTasks
+            future.cancel(true);
+            sectionStatus.put(section, SectionStatus.TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sectionStatus.put(section, SectionStatus.FAILED);
+        } catch (ExecutionException e) {
+            log.error("Dashboard section {} failed: {}", section, e.getCause().getMessage(), e.getCause());
+            sectionStatus.put(section, SectionStatus.FAILED);
+        }
+        return null;
+    }
+
+    private Totals computeTotals(PositionTotals positions, FxRateMatrix fx, String currency) {
+        // Amounts are kept per currency; converting costs one multiply per currency held
+        BigDecimal totalInvested = positions.getInvested(fx, currency);
+        BigDecimal totalCurrentValue = positions.getCurrentValue(fx, currency);
+
+        BigDecimal totalProfitLoss = totalCurrentValue.subtract(totalInvested);
+        BigDecimal totalProfitLossPercent = ValuationKernel.percent(totalProfitLoss, totalInvested);
+        return new Totals(totalInvested, totalCurrentValue, totalProfitLoss, totalProfitLossPercent,
+                positions.getUnconvertedValue(fx, currency));
+    }
+
+    private List<DashboardSummaryResponse.ClientSummaryDto> computeRecentClients(Long userId, List<Client> clients,
+                                                                                FxRateMatrix fx, String currency) {
+        return clients.stream()
+                .map(client -> {
+                    PositionTotals positions = positionAggregateService.getClientTotals(userId, client.getId());
+                    return DashboardSummaryResponse.ClientSummaryDto.builder()
+                            .id(client.getId())
+                            .name(client.getName())
+                            .email(client.getEmail())
+                            .assetCount((long) positions.getAssetCount())
+                            .profitLoss(positions.getCurrentValue(fx, currency).subtract(positions.getInvested(fx, currency)))
                             .build();
                 })
                 .collect(Collectors.toList());
+    }
 
-            List<DashboardSummaryResponse.TopAssetDto> topAssets = allAssetsWithReturns.stream()
-                .sorted((a, b) -> b.getReturns().compareTo(a.getReturns()))
-                .limit(5)
-                .collect(Collectors.toList());
-            
-            List<DashboardSummaryResponse.TopAssetDto> worstAssets = allAssetsWithReturns.stream()
-                .sorted(Comparator.comparing(DashboardSummaryResponse.TopAssetDto::getReturns))
-                .limit(5)
-                .collect(Collectors.toList());
+    private Movers computeMovers(List<Asset> unsoldAssets, PriceSnapshot snapshot, FxRateMatrix fx, String currency) {
+        // Bounded heaps, so only the selected assets are turned into DTOs
+        MoversService.RankedMovers ranked = moversService.selectMovers(unsoldAssets, snapshot, 5);
+        return new Movers(toTopAssets(ranked.gainers(), snapshot, fx, currency),
+                toTopAssets(ranked.losers(), snapshot, fx, currency));
+    }
 
-            // Portfolio performance
-            Map<String, Double> portfolioMap = unsoldAssets.stream()
-                .filter(asset -> asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                .collect(Collectors.toMap(
-                    Asset::getSymbol,
-                    asset -> asset.getQuantity().doubleValue(),
-                    Double::sum
-                ));
-            
-            com.app.portfolio.dto.pricing.PortfolioChartResponse todaysPerformance = pricingService.getPortfolioChart(portfolioMap, "1d", "1d");
-            BigDecimal todaysPL = BigDecimal.ZERO;
-            BigDecimal todaysPLPercentage = BigDecimal.ZERO;
-            
-            if (todaysPerformance != null && todaysPerformance.getData() != null && todaysPerformance.getData().size() > 1) {
-                var startValue = todaysPerformance.getData().get(0).getValue();
-                var endValue = todaysPerformance.getData().get(todaysPerformance.getData().size() - 1).getValue();
-                if(startValue != null && endValue != null) {
-                    todaysPL = BigDecimal.valueOf(endValue - startValue);
-                    if (startValue != 0) {
-                        todaysPLPercentage = todaysPL.divide(BigDecimal.valueOf(startValue), 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
-                    }
-                }
+    private List<DashboardSummaryResponse.TopAssetDto> toTopAssets(List<Asset> assets, PriceSnapshot snapshot,
+                                                                   FxRateMatrix fx, String currency) {
+        return valuationService.value(assets, snapshot).getAssets().stream()
+            .map(valuation -> {
+                Asset asset = valuation.getAsset();
+                return DashboardSummaryResponse.TopAssetDto.builder()
+                        .name(asset.getName())
+                        .category(asset.getCategory().name())
+                        .currentValue(fx.convert(valuation.getCurrentValue(), asset.getCurrency(), currency))
+                        .returns(valuation.getProfitLossPercent())
+                        .build();
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Change since the previous close, from stored prices. Symbols without a current price or
+     * an earlier close are left out of both the change and the base.
+     */
+    private TodaysPL computeTodaysPL(List<Asset> unsoldAssets, PriceSnapshot snapshot,
+                                     Map<String, BigDecimal> previousCloses, FxRateMatrix fx, String currency) {
+        // Summed per currency in fixed point, converted once per currency at the end
+        Map<String, ValuationKernel.Sum> previousValueByCurrency = new HashMap<>();
+        Map<String, ValuationKernel.Sum> changeByCurrency = new HashMap<>();
+        for (Asset asset : unsoldAssets) {
+            if (asset.getSymbol() == null || asset.getSymbol().isEmpty()) {
+                continue;
+            }
+            String symbol = asset.getSymbol().toUpperCase();
+            BigDecimal price = snapshot.get(symbol);
+            BigDecimal previousClose = previousCloses.get(symbol);
+            if (price == null || price.signum() <= 0 || previousClose == null) {
+                continue;
             }
+            String assetCurrency = fx.normalize(asset.getCurrency());
+            previousValueByCurrency.computeIfAbsent(assetCurrency, c -> new ValuationKernel.Sum())
+                    .addValue(asset.getQuantity(), previousClose);
+            changeByCurrency.computeIfAbsent(assetCurrency, c -> new ValuationKernel.Sum())
+                    .addChange(asset.getQuantity(), previousClose, price);
+        }
 
+        BigDecimal previousValue = fx.convertAll(ValuationKernel.Sum.totals(previousValueByCurrency), currency);
+        BigDecimal todaysPL = fx.convertAll(ValuationKernel.Sum.totals(changeByCurrency), currency);
+        return new TodaysPL(todaysPL, ValuationKernel.percent(todaysPL, previousValue));
+    }
 
-            List<String> labels;
-            List<BigDecimal> performanceData;
-            
-            if (!portfolioMap.isEmpty()) {
-                // Use database historical data for 6 months display
-                com.app.portfolio.dto.pricing.PortfolioChartResponse portfolioChart = 
-                    pricingService.getPortfolioChartFromDatabase(portfolioMap, "6mo", "1wk");
-
-                if (portfolioChart != null && portfolioChart.getData() != null && !portfolioChart.getData().isEmpty()) {
-                    labels = portfolioChart.getData().stream()
-                                    .map(com.app.portfolio.dto.pricing.PortfolioChartDataPoint::getTime)
-                                    .collect(Collectors.toList());
-                    performanceData = portfolioChart.getData().stream()
-                                    .map(p -> BigDecimal.valueOf(p.getValue()))
-                                    .collect(Collectors.toList());
-                } else {
-                    // Fallback to simplified data
-                    labels = Arrays.asList("Today");
-                    performanceData = Arrays.asList(totalCurrentValue);
-                }
-            } else {
-                labels = Collections.emptyList();
-                performanceData = Collections.emptyList();
+    private DashboardSummaryResponse.PortfolioPerformanceData toPerformanceData(Map<String, Double> portfolioMap,
+                                                                                PortfolioChartResponse portfolioChart,
+                                                                                Totals totals) {
+        List<String> labels;
+        List<BigDecimal> performanceData;
+
+        if (portfolioMap.isEmpty()) {
+            log.debug("Portfolio map is empty, no chart data");
+            labels = Collections.emptyList();
+            performanceData = Collections.emptyList();
+        } else if (portfolioChart != null && portfolioChart.getData() != null && !portfolioChart.getData().isEmpty()) {
+            log.debug("Portfolio chart returned {} data points", portfolioChart.getData().size());
+            labels = portfolioChart.getData().stream()
+                            .map(PortfolioChartDataPoint::getTime)
+                            .collect(Collectors.toList());
+            performanceData = portfolioChart.getData().stream()
+                            .map(p -> BigDecimal.valueOf(p.getValue()))
+                            .collect(Collectors.toList());
+        } else {
+            log.warn("Portfolio chart returned empty data. portfolioChart={}", portfolioChart);
+            // Fallback to simplified data
+            labels = totals != null ? List.of("Today") : Collections.emptyList();
+            performanceData = totals != null ? List.of(totals.currentValue()) : Collections.emptyList();
+        }
+        return DashboardSummaryResponse.PortfolioPerformanceData.builder()
+                .labels(labels)
+                .data(performanceData)
+                .build();
+    }
+
+    private Map<String, String> symbolCurrencies(List<Asset> assets, FxRateMatrix fx) {
+        Map<String, String> currencies = new HashMap<>();
+        for (Asset asset : assets) {
+            if (asset.getSymbol() != null && !asset.getSymbol().isEmpty()) {
+                currencies.putIfAbsent(asset.getSymbol().toUpperCase(), fx.normalize(asset.getCurrency()));
             }
+        }
+        return currencies;
+    }
 
-            DashboardSummaryResponse response = DashboardSummaryResponse.builder()
-                    .totalClients(1L)
-                    .totalAssets((long) assets.size())
-                    .totalInvested(totalInvested)
-                    .totalCurrentValue(totalCurrentValue)
-                    .totalProfitLoss(totalProfitLoss)
-                    .totalProfitLossPercent(totalProfitLossPercent)
-                    .recentClients(Collections.emptyList())
-                    .assetAllocation(assetAllocation)
-                    .portfolioPerformance(DashboardSummaryResponse.PortfolioPerformanceData.builder()
-                            .labels(labels)
-                            .data(performanceData)
-                            .build())
-                    .topAssets(topAssets)
-                    .worstAssets(worstAssets)
-                    .assetCategoryCount(assetCategoryCount)
-                    .todaysPL(todaysPL)
-                    .todaysPLPercentage(todaysPLPercentage)
-                    .assetCategoryBreakdown(categoryBreakdown)
-                    .build();
-            
-            log.debug("Client dashboard summary built successfully for clientId: {}, userId: {}", clientId, userId);
-            return response;
-        } catch (Exception e) {
-            log.error("Error building client dashboard summary for clientId: {}, userId: {}", clientId, userId, e);
-            throw e;
+    /**
+     * Runs a request's section stages on {@code dashboardExecutor} and keeps their
+     * {@link Future}s, since cancelling a {@link CompletableFuture} doesn't interrupt the task
+     * computing it. Once the response is assembled the leftovers are cancelled, which interrupts
+     * a task blocked on a lock, a pool or the network; stages scheduled after that are rejected.
+     */
+    private final class SectionTasks implements Executor {
+
+        private final Queue<Future<?>> futures = new ConcurrentLinkedQueue<>();
+        private volatile boolean closed;
+
+        @Override
+        public void execute(Runnable task) {
+            if (closed) {
+                throw new RejectedExecutionException("Dashboard request already completed");
+            }
+            futures.add(dashboardExecutor.submit(task));
         }
+
+        void cancelRemaining() {
+            closed = true;
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private record Loaded(List<Client> clients, List<Asset> assets) {
+    }
+
+    private record Totals(BigDecimal invested, BigDecimal currentValue, BigDecimal profitLoss,
+                          BigDecimal profitLossPercent, Map<String, BigDecimal> unconvertedValue) {
+    }
+
+    private record Movers(List<DashboardSummaryResponse.TopAssetDto> top,
+                          List<DashboardSummaryResponse.TopAssetDto> worst) {
+    }
+
+    private record TodaysPL(BigDecimal profitLoss, BigDecimal percent) {
     }
 }
@@ -3,10 +3,21 @@ package com.app.portfolio.service.excel;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 
 public interface ExcelService {
 
-    void importFromExcel(MultipartFile file, Long userId) throws IOException;
+    /**
+     * Imports the first sheet of the workbook and returns the number of assets imported
+     */
+    int importFromExcel(MultipartFile file, Long userId) throws IOException;
 
-    byte[] exportToExcel(Long userId) throws IOException;
+    int importFromExcel(Path file, Long userId) throws IOException;
+
+    /**
+     * Writes the user's assets as an .xlsx workbook, with current price, value and P&L columns.
+     * The stream is flushed but not closed.
+     */
+    void exportToExcel(Long userId, OutputStream out) throws IOException;
 }
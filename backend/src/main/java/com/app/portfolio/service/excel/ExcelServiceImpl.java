@@ -3,206 +3,389 @@ package com.app.portfolio.service.excel;
 import com.app.portfolio.beans.Asset;
 import com.app.portfolio.beans.Client;
 import com.app.portfolio.beans.User;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.events.ChangeType;
 import com.app.portfolio.exceptions.BadRequestException;
 import com.app.portfolio.exceptions.ResourceNotFoundException;
 import com.app.portfolio.repository.AssetRepository;
 import com.app.portfolio.repository.ClientRepository;
 import com.app.portfolio.repository.UserRepository;
+import com.app.portfolio.service.importer.AssetBatchWriter;
+import com.app.portfolio.service.importer.AssetRowHash;
+import com.app.portfolio.service.valuation.AssetValuation;
+import com.app.portfolio.service.valuation.ValuationService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
-import java.io.ByteArrayOutputStream;
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ExcelServiceImpl implements ExcelService {
 
     private final UserRepository userRepository;
     private final ClientRepository clientRepository;
     private final AssetRepository assetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AssetBatchWriter batchWriter;
+    private final ValuationService valuationService;
+    private final EntityManager entityManager;
+
+    @Value("${import.chunk-size:1000}")
+    private int batchSize;
+
+    @Value("${assets.export.batch-size:500}")
+    private int exportBatchSize;
+
+    private static final int WINDOW_ROWS = 100;
+    private static final String[] EXPORT_HEADERS = {"Client Name", "Asset Name", "Category", "Symbol", "Quantity",
+            "Buying Rate", "PurchaseDateTime", "Currency", "Selling Rate", "Selling Date Time", "Sold",
+            "Current Price", "Current Value", "Profit/Loss", "Profit/Loss %"};
 
     @Override
     @Transactional
-    public void importFromExcel(MultipartFile file, Long userId) throws IOException {
+    public int importFromExcel(MultipartFile file, Long userId) throws IOException {
         if (file.isEmpty()) {
             throw new BadRequestException("Excel file is empty");
         }
 
+        // Opening the package from a file reads parts on demand instead of unzipping the upload into memory
+        Path copy = Files.createTempFile("excel-import-", ".xlsx");
+        try {
+            file.transferTo(copy);
+            return importFromExcel(copy, userId);
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int importFromExcel(Path file, Long userId) throws IOException {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", userId));
 
-        Workbook workbook = new XSSFWorkbook(file.getInputStream());
-        Sheet sheet = workbook.getSheetAt(0);
-
-        // Skip header row
-        Map<String, Client> clientMap = new HashMap<>();
-
-        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
-
-            String clientName = getCellValueAsString(row.getCell(0));
-            String assetName = getCellValueAsString(row.getCell(1));
-            String categoryStr = getCellValueAsString(row.getCell(2));
-            String symbol = getCellValueAsString(row.getCell(3));
-            BigDecimal quantity = getCellValueAsBigDecimal(row.getCell(4));
-            BigDecimal buyingRate = getCellValueAsBigDecimal(row.getCell(5));
-            java.time.Instant purchaseDateTime = getCellValueAsDate(row.getCell(6)).atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-            String currency = getCellValueAsString(row.getCell(7));
-            BigDecimal sellingRate = getCellValueAsBigDecimal(row.getCell(8));
-            java.time.Instant sellingDateTime = row.getCell(9) != null ? getCellValueAsDate(row.getCell(9)).atStartOfDay().toInstant(java.time.ZoneOffset.UTC) : null;
-            boolean sold = row.getCell(10) != null && row.getCell(10).getBooleanCellValue();
-
-
-            if (clientName == null || assetName == null) continue;
-
-            // Get or create client
-            Client client = clientMap.get(clientName);
-            if (client == null) {
-                client = clientRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
-                        .filter(c -> c.getName().equalsIgnoreCase(clientName))
-                        .findFirst()
-                        .orElse(null);
-
-                if (client == null) {
-                    client = new Client();
-                    client.setUser(user);
-                    client.setName(clientName);
-                    client.setEmail(clientName.toLowerCase().replaceAll("\\s+", "") + "@client.com");
-                    client.setCurrency(currency != null ? currency : "USD");
-                    client = clientRepository.save(client);
+        RowImporter importer = new RowImporter(user);
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), strings, importer,
+                    new RawValueFormatter(), false));
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    parser.parse(new InputSource(sheet));
                 }
-                clientMap.put(clientName, client);
             }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new BadRequestException("Invalid Excel file: " + e.getMessage());
+        }
+        importer.flush();
+        log.info("Imported {} assets from Excel for userId: {} ({} duplicates skipped)",
+                importer.imported, userId, importer.skipped);
+
+        eventPublisher.publishEvent(new AssetChangedEvent(userId, null, ChangeType.IMPORTED));
+        return importer.imported;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportToExcel(Long userId, OutputStream out) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", userId);
+        }
+        Map<Long, String> clientNames = new HashMap<>();
+        for (Client client : clientRepository.findByUserIdOrderByCreatedAtDesc(userId)) {
+            clientNames.put(client.getId(), client.getName());
+        }
+
+        // Only the last WINDOW_ROWS rows stay in memory; older rows are flushed to a temp file
+        SXSSFWorkbook workbook = new SXSSFWorkbook(WINDOW_ROWS);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet("Portfolio Data");
+            ExportStyles styles = new ExportStyles(workbook);
+
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < EXPORT_HEADERS.length; i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(EXPORT_HEADERS[i]);
+                cell.setCellStyle(styles.header);
+            }
+
+            int rowNum = 1;
+            List<Asset> batch = new ArrayList<>(exportBatchSize);
+            try (Stream<Asset> assets = assetRepository.streamByUserId(userId)) {
+                Iterator<Asset> iterator = assets.iterator();
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == exportBatchSize || !iterator.hasNext()) {
+                        for (AssetValuation valuation : valuationService.value(batch).getAssets()) {
+                            writeRow(sheet.createRow(rowNum++), valuation, clientNames, styles);
+                        }
+                        batch.forEach(entityManager::detach);
+                        batch.clear();
+                    }
+                }
+            }
+
+            workbook.write(out);
+            out.flush();
+            log.debug("Exported {} assets to Excel for userId: {}", rowNum - 1, userId);
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+
+    private static void writeRow(Row row, AssetValuation valuation, Map<Long, String> clientNames, ExportStyles styles) {
+        Asset asset = valuation.getAsset();
+        // The client is a lazy proxy; reading its id doesn't load it
+        row.createCell(0).setCellValue(clientNames.get(asset.getClient().getId()));
+        row.createCell(1).setCellValue(asset.getName());
+        row.createCell(2).setCellValue(asset.getCategory().name());
+        row.createCell(3).setCellValue(asset.getSymbol() != null ? asset.getSymbol() : "");
+        row.createCell(4).setCellValue(asset.getQuantity().doubleValue());
+        row.createCell(5).setCellValue(asset.getBuyingRate().doubleValue());
+        setDate(row.createCell(6), asset.getPurchaseDateTime(), styles);
+        row.createCell(7).setCellValue(asset.getCurrency());
+        if (asset.getSellingRate() != null) {
+            row.createCell(8).setCellValue(asset.getSellingRate().doubleValue());
+        }
+        if (asset.getSellingDateTime() != null) {
+            setDate(row.createCell(9), asset.getSellingDateTime(), styles);
+        }
+        row.createCell(10).setCellValue(asset.isSold());
+        setAmount(row.createCell(11), valuation.getPrice(), styles.amount);
+        setAmount(row.createCell(12), valuation.getCurrentValue(), styles.amount);
+        setAmount(row.createCell(13), valuation.getProfitLoss(), styles.amount);
+        setAmount(row.createCell(14), valuation.getProfitLossPercent(), styles.percent);
+    }
+
+    private static void setDate(Cell cell, Instant instant, ExportStyles styles) {
+        cell.setCellValue(LocalDateTime.ofInstant(instant, ZoneOffset.UTC));
+        cell.setCellStyle(styles.date);
+    }
+
+    private static void setAmount(Cell cell, BigDecimal amount, CellStyle style) {
+        if (amount != null) {
+            cell.setCellValue(amount.doubleValue());
+            cell.setCellStyle(style);
+        }
+    }
+
+    /**
+     * Cell styles of the export, created once per workbook: a workbook holds at most 64k styles
+     * and each one is written to the file
+     */
+    private static final class ExportStyles {
+
+        private final CellStyle header;
+        private final CellStyle date;
+        private final CellStyle amount;
+        private final CellStyle percent;
+
+        ExportStyles(Workbook workbook) {
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            header = workbook.createCellStyle();
+            header.setFont(bold);
+
+            DataFormat format = workbook.createDataFormat();
+            date = workbook.createCellStyle();
+            date.setDataFormat(format.getFormat("yyyy-mm-dd"));
+            amount = workbook.createCellStyle();
+            amount.setDataFormat(format.getFormat("#,##0.00"));
+            percent = workbook.createCellStyle();
+            percent.setDataFormat(format.getFormat("0.00"));
+        }
+    }
+
+    /**
+     * Receives the first sheet's rows from the SAX parser and inserts them in batches. Clients
+     * are matched by name, case-insensitively, against an index loaded once.
+     */
+    private final class RowImporter implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private static final int COLUMNS = 11;
+
+        private final User user;
+        private final Map<String, Client> clientsByName = new HashMap<>();
+        // Row hashes per client, loaded the first time a client appears
+        private final Map<Long, Set<String>> rowHashes = new HashMap<>();
+        private final String[] values = new String[COLUMNS];
+        private final List<Asset> batch = new ArrayList<>();
+        private int nextColumn;
+        private int imported;
+        private int skipped;
+
+        RowImporter(User user) {
+            this.user = user;
+            // Newest first, so the newest client wins when names repeat
+            for (Client client : clientRepository.findByUserIdOrderByCreatedAtDesc(user.getId())) {
+                clientsByName.putIfAbsent(key(client.getName()), client);
+            }
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(values, null);
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (column < COLUMNS && formattedValue != null && !formattedValue.isBlank()) {
+                values[column] = formattedValue.trim();
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // Skip header row
+            if (rowNum == 0 || values[0] == null || values[1] == null) {
+                return;
+            }
+            String currency = values[7];
 
-            // Create asset
             Asset.AssetCategory category;
             try {
-                category = Asset.AssetCategory.valueOf(categoryStr.toUpperCase());
+                category = Asset.AssetCategory.valueOf(values[2].toUpperCase());
             } catch (Exception e) {
                 category = Asset.AssetCategory.STOCK;
             }
 
             Asset asset = new Asset();
-            asset.setClient(client);
-            asset.setName(assetName);
+            asset.setClient(client(values[0], currency));
+            asset.setName(values[1]);
             asset.setCategory(category);
-            asset.setSymbol(symbol != null ? symbol : "");
-            asset.setQuantity(quantity);
-            asset.setBuyingRate(buyingRate);
-            asset.setPurchaseDateTime(purchaseDateTime);
+            asset.setSymbol(values[3] != null ? values[3] : "");
+            asset.setQuantity(decimal(values[4], BigDecimal.ZERO));
+            asset.setBuyingRate(decimal(values[5], BigDecimal.ZERO));
+            asset.setPurchaseDateTime(date(values[6]).atStartOfDay().toInstant(ZoneOffset.UTC));
             asset.setCurrency(currency);
-            asset.setSellingRate(sellingRate);
-            asset.setSellingDateTime(sellingDateTime);
-            asset.setSold(sold);
-            assetRepository.save(asset);
+            asset.setSellingRate(decimal(values[8], null));
+            asset.setSellingDateTime(values[9] != null ? date(values[9]).atStartOfDay().toInstant(ZoneOffset.UTC) : null);
+            asset.setSold(Boolean.parseBoolean(values[10]));
+            asset.setRowHash(AssetRowHash.of(asset));
+            Set<String> clientHashes = rowHashes.computeIfAbsent(asset.getClient().getId(),
+                    clientId -> new HashSet<>(assetRepository.findRowHashesByClientId(clientId)));
+            if (!clientHashes.add(asset.getRowHash())) {
+                skipped++;
+                return;
+            }
+            batch.add(asset);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
         }
 
-        workbook.close();
-    }
+        void flush() {
+            if (!batch.isEmpty()) {
+                batchWriter.insert(batch);
+                imported += batch.size();
+                batch.clear();
+            }
+        }
 
-    @Override
-    @Transactional(readOnly = true)
-    public byte[] exportToExcel(Long userId) throws IOException {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+        private Client client(String name, String currency) {
+            return clientsByName.computeIfAbsent(key(name), key -> {
+                Client client = new Client();
+                client.setUser(user);
+                client.setName(name);
+                client.setEmail(name.toLowerCase().replaceAll("\\s+", "") + "@client.com");
+                client.setCurrency(currency != null ? currency : "USD");
+                Client saved = clientRepository.save(client);
+                rowHashes.put(saved.getId(), new HashSet<>());
+                return saved;
+            });
+        }
 
-        List<Client> clients = clientRepository.findByUserIdOrderByCreatedAtDesc(userId);
-
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Portfolio Data");
-
-        // Header row
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {"Client Name", "Asset Name", "Category", "Symbol", "Quantity", "Buying Rate", "PurchaseDateTime", "Currency", "Selling Rate", "Selling Date Time", "Sold"};
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            CellStyle style = workbook.createCellStyle();
-            Font font = workbook.createFont();
-            font.setBold(true);
-            style.setFont(font);
-            cell.setCellStyle(style);
+        private static String key(String name) {
+            return name.toLowerCase(Locale.ROOT);
         }
 
-        int rowNum = 1;
-        for (Client client : clients) {
-            List<Asset> assets = assetRepository.findByClientIdOrderByPurchaseDateTimeDesc(client.getId());
-            for (Asset asset : assets) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(client.getName());
-                row.createCell(1).setCellValue(asset.getName());
-                row.createCell(2).setCellValue(asset.getCategory().name());
-                row.createCell(3).setCellValue(asset.getSymbol() != null ? asset.getSymbol() : "");
-                row.createCell(4).setCellValue(asset.getQuantity().doubleValue());
-                row.createCell(5).setCellValue(asset.getBuyingRate().doubleValue());
-                row.createCell(6).setCellValue(asset.getPurchaseDateTime().toString());
-                row.createCell(7).setCellValue(asset.getCurrency());
-                if (asset.getSellingRate() != null) {
-                    row.createCell(8).setCellValue(asset.getSellingRate().doubleValue());
-                }
-                if (asset.getSellingDateTime() != null) {
-                    row.createCell(9).setCellValue(asset.getSellingDateTime().toString());
-                }
-                row.createCell(10).setCellValue(asset.isSold());
+        private static BigDecimal decimal(String value, BigDecimal missing) {
+            if (value == null) {
+                return missing;
+            }
+            try {
+                return new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                return BigDecimal.ZERO;
             }
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
-        return baos.toByteArray();
-    }
-
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return null;
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue().toString();
-                }
-                return String.valueOf((long) cell.getNumericCellValue());
-            default:
-                return null;
+        private static LocalDate date(String value) {
+            if (value == null) {
+                return LocalDate.now();
+            }
+            try {
+                return LocalDate.parse(value, DateTimeFormatter.ISO_DATE);
+            } catch (Exception e) {
+                return LocalDate.now();
+            }
         }
     }
 
-    private BigDecimal getCellValueAsBigDecimal(Cell cell) {
-        if (cell == null) return BigDecimal.ZERO;
-        if (cell.getCellType() == CellType.NUMERIC) {
-            return BigDecimal.valueOf(cell.getNumericCellValue());
-        }
-        try {
-            return new BigDecimal(cell.getStringCellValue());
-        } catch (Exception e) {
-            return BigDecimal.ZERO;
-        }
-    }
+    /**
+     * Hands the import plain values: ISO dates for date-formatted cells and Excel's own text
+     * for other numbers, instead of the cell's display format
+     */
+    static final class RawValueFormatter extends DataFormatter {
 
-    private LocalDate getCellValueAsDate(Cell cell) {
-        if (cell == null) return LocalDate.now();
-        if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
-            return cell.getDateCellValue().toInstant()
-                    .atZone(java.time.ZoneId.systemDefault())
-                    .toLocalDate();
-        }
-        try {
-            return LocalDate.parse(cell.getStringCellValue(), DateTimeFormatter.ISO_DATE);
-        } catch (Exception e) {
-            return LocalDate.now();
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return NumberToTextConverter.toText(value);
         }
     }
 }
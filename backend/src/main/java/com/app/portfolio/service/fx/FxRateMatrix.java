@@ -0,0 +1,145 @@
+package com.app.portfolio.service.fx;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable snapshot of FX rates for one day with every cross rate precomputed, so a
+ * conversion is two index lookups and a multiply. A single amount in a currency without a
+ * known rate converts one-to-one; {@link #supports(String)} tells callers whether a rate
+ * exists. Totals built with {@link #convertAll} leave such amounts out instead, and
+ * {@link #unconverted} reports what was left out.
+ */
+public final class FxRateMatrix {
+
+    private static final MathContext CROSS_RATE_PRECISION = MathContext.DECIMAL64;
+    private static final int MIN_CONVERTED_SCALE = 4;
+
+    private final LocalDate date;
+    private final String defaultCurrency;
+    private final Map<String, BigDecimal> usdRates;
+    private final Map<String, Integer> index;
+    private final BigDecimal[][] crossRates;
+
+    private FxRateMatrix(LocalDate date, String defaultCurrency, Map<String, BigDecimal> usdRates) {
+        this.date = date;
+        this.defaultCurrency = defaultCurrency;
+        this.usdRates = Collections.unmodifiableMap(usdRates);
+        this.index = new HashMap<>();
+        List<String> currencies = new ArrayList<>(usdRates.keySet());
+        for (int i = 0; i < currencies.size(); i++) {
+            index.put(currencies.get(i), i);
+        }
+        int n = currencies.size();
+        crossRates = new BigDecimal[n][n];
+        for (int from = 0; from < n; from++) {
+            BigDecimal fromUsd = usdRates.get(currencies.get(from));
+            for (int to = 0; to < n; to++) {
+                crossRates[from][to] = from == to
+                        ? BigDecimal.ONE
+                        : fromUsd.divide(usdRates.get(currencies.get(to)), CROSS_RATE_PRECISION);
+            }
+        }
+    }
+
+    /**
+     * @param usdRates value of one unit of each currency in USD; USD itself is always 1
+     */
+    public static FxRateMatrix of(LocalDate date, String defaultCurrency, Map<String, BigDecimal> usdRates) {
+        Map<String, BigDecimal> rates = new TreeMap<>();
+        usdRates.forEach((currency, rate) -> {
+            if (currency != null && rate != null && rate.signum() > 0) {
+                rates.put(currency.toUpperCase(), rate);
+            }
+        });
+        rates.put("USD", BigDecimal.ONE);
+        return new FxRateMatrix(date, defaultCurrency.toUpperCase(), rates);
+    }
+
+    /**
+     * Copy of this matrix with the given rates added or replaced
+     */
+    public FxRateMatrix withRates(LocalDate date, Map<String, BigDecimal> usdRates) {
+        Map<String, BigDecimal> merged = new HashMap<>(this.usdRates);
+        merged.putAll(usdRates);
+        return of(date, defaultCurrency, merged);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Map<String, BigDecimal> getUsdRates() {
+        return usdRates;
+    }
+
+    public boolean supports(String currency) {
+        return index.containsKey(normalize(currency));
+    }
+
+    /**
+     * Units of {@code to} per unit of {@code from}
+     */
+    public BigDecimal rate(String from, String to) {
+        Integer i = index.get(normalize(from));
+        Integer j = index.get(normalize(to));
+        if (i == null || j == null) {
+            return BigDecimal.ONE;
+        }
+        return crossRates[i][j];
+    }
+
+    public BigDecimal convert(BigDecimal amount, String from, String to) {
+        if (amount == null) {
+            return null;
+        }
+        String source = normalize(from);
+        String target = normalize(to);
+        if (source.equals(target) || amount.signum() == 0) {
+            return amount;
+        }
+        return amount.multiply(rate(source, target))
+                .setScale(Math.max(amount.scale(), MIN_CONVERTED_SCALE), RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Sum of per-currency amounts expressed in {@code to}: one conversion per currency,
+     * however many positions contributed to each amount. Amounts that can't be converted are
+     * left out rather than added as raw numbers; see {@link #unconverted}.
+     */
+    public BigDecimal convertAll(Map<String, BigDecimal> amountsByCurrency, String to) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<String, BigDecimal> entry : amountsByCurrency.entrySet()) {
+            if (canConvert(entry.getKey(), to)) {
+                total = total.add(convert(entry.getValue(), entry.getKey(), to));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * The non-zero amounts {@link #convertAll} leaves out of a total in {@code to}, per currency
+     */
+    public Map<String, BigDecimal> unconverted(Map<String, BigDecimal> amountsByCurrency, String to) {
+        Map<String, BigDecimal> unconverted = new TreeMap<>();
+        amountsByCurrency.forEach((currency, amount) -> {
+            if (amount != null && amount.signum() != 0 && !canConvert(currency, to)) {
+                unconverted.merge(normalize(currency), amount, BigDecimal::add);
+            }
+        });
+        return unconverted;
+    }
+
+    private boolean canConvert(String from, String to) {
+        String source = normalize(from);
+        String target = normalize(to);
+        return source.equals(target) || index.containsKey(source) && index.containsKey(target);
+    }
+
+    public String normalize(String currency) {
+        return currency == null || currency.isBlank() ? defaultCurrency : currency.trim().toUpperCase();
+    }
+}
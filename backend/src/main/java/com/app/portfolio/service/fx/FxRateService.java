@@ -0,0 +1,30 @@
+package com.app.portfolio.service.fx;
+
+import java.time.LocalDate;
+import java.util.NavigableMap;
+
+public interface FxRateService {
+
+    /**
+     * Currency consolidated totals are reported in when no client currency applies
+     */
+    String getBaseCurrency();
+
+    /**
+     * Latest live rates
+     */
+    FxRateMatrix getMatrix();
+
+    /**
+     * Rates in effect at the end of the given day (latest known rate on or before it)
+     */
+    FxRateMatrix getMatrix(LocalDate date);
+
+    /**
+     * One matrix per calendar day from {@code from} to {@code to} inclusive, for converting
+     * historical chart points at the rate of their own day. Today maps to the live matrix.
+     */
+    NavigableMap<LocalDate, FxRateMatrix> getMatrices(LocalDate from, LocalDate to);
+
+    void refreshRates();
+}
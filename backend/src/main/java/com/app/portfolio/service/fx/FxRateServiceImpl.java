@@ -0,0 +1,233 @@
+package com.app.portfolio.service.fx;
+
+import com.app.portfolio.beans.FxRate;
+import com.app.portfolio.dto.pricing.PriceResponse;
+import com.app.portfolio.events.PricesUpdatedEvent;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.repository.FxRateRepository;
+import com.app.portfolio.service.pricing.feed.PriceFeed;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the live {@link FxRateMatrix} in memory and persists one rate per currency per day
+ * to fx_rates. Live rates come from the configured {@link PriceFeed} using Yahoo-style
+ * {@code XXXUSD=X} symbols; closed days are cached since their rates no longer change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FxRateServiceImpl implements FxRateService {
+
+    private static final String USD = "USD";
+
+    private final FxRateRepository fxRateRepository;
+    private final AssetRepository assetRepository;
+    private final ClientRepository clientRepository;
+    private final PriceFeed priceFeed;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${fx.base-currency:USD}")
+    private String baseCurrency;
+
+    // Currency assumed for assets and clients without one
+    @Value("${fx.default-currency:USD}")
+    private String defaultCurrency;
+
+    @Value("${fx.refresh.enabled:true}")
+    private boolean refreshEnabled;
+
+    // Fallback USD rates as CUR=rate,CUR=rate, for currencies with nothing stored in fx_rates
+    @Value("${fx.static-rates:}")
+    private String staticRatesProperty;
+
+    private Map<String, BigDecimal> staticRates = Map.of();
+
+    private final AtomicReference<FxRateMatrix> liveMatrix = new AtomicReference<>();
+    private final Map<LocalDate, FxRateMatrix> closedDays = new ConcurrentHashMap<>();
+    private final Set<String> missingCurrencies = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void loadRates() {
+        staticRates = parseStaticRates(staticRatesProperty);
+        try {
+            LocalDate today = LocalDate.now();
+            liveMatrix.set(FxRateMatrix.of(today, defaultCurrency, startingRates(fxRateRepository.findLatestOnOrBefore(today))));
+            log.info("Loaded FX rates for {} currencies", liveMatrix.get().getUsdRates().size());
+            if (!refreshEnabled) {
+                // Nothing will fetch the missing rates later, so say which holdings totals will leave out
+                Set<String> missing = new TreeSet<>();
+                assetRepository.findDistinctCurrencies().forEach(c -> missing.add(c.toUpperCase()));
+                clientRepository.findDistinctCurrencies().forEach(c -> missing.add(c.toUpperCase()));
+                missing.removeIf(liveMatrix.get()::supports);
+                if (!missing.isEmpty()) {
+                    log.warn("FX refresh is disabled and no rate is stored or configured in fx.static-rates for {}; "
+                            + "amounts in these currencies are left out of consolidated totals", missing);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error loading FX rates: {}", e.getMessage(), e);
+            liveMatrix.set(FxRateMatrix.of(LocalDate.now(), defaultCurrency, staticRates));
+        }
+    }
+
+    @Override
+    public String getBaseCurrency() {
+        return baseCurrency.toUpperCase();
+    }
+
+    @Override
+    public FxRateMatrix getMatrix() {
+        return liveMatrix.get();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FxRateMatrix getMatrix(LocalDate date) {
+        if (!date.isBefore(LocalDate.now())) {
+            return getMatrix();
+        }
+        return closedDays.computeIfAbsent(date, d ->
+                FxRateMatrix.of(d, defaultCurrency, startingRates(fxRateRepository.findLatestOnOrBefore(d))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NavigableMap<LocalDate, FxRateMatrix> getMatrices(LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        NavigableMap<LocalDate, FxRateMatrix> matrices = new TreeMap<>();
+
+        LocalDate lastClosed = to.isBefore(today) ? to : today.minusDays(1);
+        if (!from.isAfter(lastClosed) && !allCached(from, lastClosed)) {
+            // One query for the starting rates and one for every change in the range
+            FxRateMatrix current = FxRateMatrix.of(from, defaultCurrency,
+                    startingRates(fxRateRepository.findLatestOnOrBefore(from)));
+            Map<LocalDate, List<FxRate>> changes = new TreeMap<>();
+            for (FxRate rate : fxRateRepository.findByDateRange(from, lastClosed)) {
+                changes.computeIfAbsent(rate.getRateDate(), d -> new ArrayList<>()).add(rate);
+            }
+            for (LocalDate day = from; !day.isAfter(lastClosed); day = day.plusDays(1)) {
+                List<FxRate> dayChanges = changes.get(day);
+                if (dayChanges != null) {
+                    current = current.withRates(day, toUsdRates(dayChanges));
+                }
+                closedDays.put(day, current);
+            }
+        }
+
+        for (LocalDate day = from; !day.isAfter(lastClosed); day = day.plusDays(1)) {
+            matrices.put(day, closedDays.get(day));
+        }
+        if (!to.isBefore(today)) {
+            matrices.put(today, getMatrix());
+        }
+        return matrices;
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${fx.refresh.initial-delay-ms:45000}", fixedRateString = "${fx.refresh.interval-ms:300000}")
+    @Transactional
+    public void refreshRates() {
+        if (!refreshEnabled) {
+            return;
+        }
+        try {
+            Set<String> currencies = new TreeSet<>();
+            assetRepository.findDistinctCurrencies().forEach(c -> currencies.add(c.toUpperCase()));
+            clientRepository.findDistinctCurrencies().forEach(c -> currencies.add(c.toUpperCase()));
+            currencies.add(getBaseCurrency());
+            currencies.remove(USD);
+            if (currencies.isEmpty() || !priceFeed.isAvailable()) {
+                return;
+            }
+
+            List<String> symbols = currencies.stream().map(c -> c + USD + "=X").toList();
+            Map<String, PriceResponse> quotes = priceFeed.getPrices(symbols);
+
+            LocalDate today = LocalDate.now();
+            Map<String, BigDecimal> fetched = new HashMap<>();
+            for (String currency : currencies) {
+                PriceResponse quote = quotes.get(currency + USD + "=X");
+                if (quote == null || quote.getPrice() == null || quote.getPrice() <= 0) {
+                    if (!liveMatrix.get().supports(currency) && missingCurrencies.add(currency)) {
+                        log.warn("No FX rate available for {}; amounts in {} are left out of consolidated totals", currency, currency);
+                    }
+                    continue;
+                }
+                BigDecimal usdRate = BigDecimal.valueOf(quote.getPrice());
+                FxRate row = fxRateRepository.findByCurrencyAndRateDate(currency, today)
+                        .orElseGet(() -> FxRate.builder().currency(currency).rateDate(today).build());
+                row.setUsdRate(usdRate);
+                row.setSource(priceFeed.getSource());
+                fxRateRepository.save(row);
+                fetched.put(currency, usdRate);
+                missingCurrencies.remove(currency);
+            }
+
+            if (!fetched.isEmpty()) {
+                liveMatrix.set(liveMatrix.get().withRates(today, fetched));
+                eventPublisher.publishEvent(new PricesUpdatedEvent(
+                        fetched.keySet().stream().map(c -> c + USD + "=X").collect(Collectors.toSet())));
+                log.debug("Refreshed FX rates for {} currencies", fetched.size());
+            }
+        } catch (Exception e) {
+            log.error("Error refreshing FX rates: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean allCached(LocalDate from, LocalDate to) {
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (!closedDays.containsKey(day)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stored rates on top of the static fallbacks
+     */
+    private Map<String, BigDecimal> startingRates(List<FxRate> rates) {
+        Map<String, BigDecimal> usdRates = new HashMap<>(staticRates);
+        usdRates.putAll(toUsdRates(rates));
+        return usdRates;
+    }
+
+    private static Map<String, BigDecimal> parseStaticRates(String property) {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (String entry : property.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=", 2);
+            try {
+                rates.put(parts[0].trim().toUpperCase(), new BigDecimal(parts[1].trim()));
+            } catch (RuntimeException e) {
+                log.warn("Ignoring invalid fx.static-rates entry: {}", entry.trim());
+            }
+        }
+        return rates;
+    }
+
+    private Map<String, BigDecimal> toUsdRates(List<FxRate> rates) {
+        Map<String, BigDecimal> usdRates = new HashMap<>();
+        for (FxRate rate : rates) {
+            usdRates.put(rate.getCurrency(), rate.getUsdRate());
+        }
+        return usdRates;
+    }
+}
@@ -0,0 +1,30 @@
+package com.app.portfolio.service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Request recorded with an idempotency key for a JSON body: the method, path and query plus the
+ * SHA-256 of the body as re-serialized by {@code objectMapper}. Like {@link UploadFingerprint}
+ * for files, reusing a key with a different body then fails instead of replaying the first
+ * body's response.
+ */
+public final class BodyFingerprint {
+
+    private BodyFingerprint() {
+    }
+
+    public static String of(String request, Object body, ObjectMapper objectMapper) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return request + " (sha256 " + HexFormat.of().formatHex(digest) + ")";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
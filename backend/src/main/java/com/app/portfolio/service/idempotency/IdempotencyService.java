@@ -0,0 +1,19 @@
+package com.app.portfolio.service.idempotency;
+
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+
+public interface IdempotencyService {
+
+    String HEADER = "Idempotency-Key";
+
+    /**
+     * Handles the request once per key and user. A repeat of a completed request gets the
+     * recorded response back; a repeat while the first is still running gets a
+     * {@link com.app.portfolio.exceptions.ConflictException}. Only successful responses are
+     * recorded, so a failed request can be retried with the same key. Without a key the request
+     * is simply handled.
+     */
+    ResponseEntity<?> execute(Long userId, String key, String request, IdempotentRequest handler) throws IOException;
+}
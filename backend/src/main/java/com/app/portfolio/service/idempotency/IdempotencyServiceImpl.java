@@ -0,0 +1,95 @@
+package com.app.portfolio.service.idempotency;
+
+import com.app.portfolio.beans.IdempotencyKey;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.exceptions.ConflictException;
+import com.app.portfolio.repository.IdempotencyKeyRepository;
+import com.app.portfolio.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    @Override
+    public ResponseEntity<?> execute(Long userId, String key, String request, IdempotentRequest handler) throws IOException {
+        if (key == null || key.isBlank()) {
+            return handler.handle();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        IdempotencyKey record;
+        try {
+            record = idempotencyKeyRepository.save(IdempotencyKey.builder()
+                    .user(userRepository.getReferenceById(userId))
+                    .key(key)
+                    .request(request)
+                    .createdAt(Instant.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            return replay(userId, key, request);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = handler.handle();
+        } catch (IOException | RuntimeException e) {
+            idempotencyKeyRepository.delete(record);
+            throw e;
+        }
+        if (response.getStatusCode().is2xxSuccessful()) {
+            record.setResponseStatus(response.getStatusCode().value());
+            record.setResponseBody(objectMapper.writeValueAsString(response.getBody()));
+            idempotencyKeyRepository.save(record);
+        } else {
+            idempotencyKeyRepository.delete(record);
+        }
+        return response;
+    }
+
+    @Scheduled(initialDelayString = "${idempotency.cleanup-interval-ms:3600000}", fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void removeExpired() {
+        int removed = idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(Duration.ofHours(retentionHours)));
+        if (removed > 0) {
+            log.info("Removed {} idempotency keys older than {} hours", removed, retentionHours);
+        }
+    }
+
+    private ResponseEntity<?> replay(Long userId, String key, String request) throws IOException {
+        IdempotencyKey recorded = idempotencyKeyRepository.findByUserIdAndKey(userId, key)
+                .orElseThrow(() -> new ConflictException("A request with this " + HEADER + " just failed, retry it"));
+        if (!recorded.getRequest().equals(request)) {
+            throw new BadRequestException(HEADER + " " + key + " was already used for " + recorded.getRequest());
+        }
+        if (recorded.getResponseStatus() == null) {
+            throw new ConflictException("A request with this " + HEADER + " is still being processed");
+        }
+        log.info("Replaying the response to {} for {} {}", request, HEADER, key);
+        return ResponseEntity.status(recorded.getResponseStatus())
+                .header("Idempotent-Replayed", "true")
+                .body(objectMapper.readTree(recorded.getResponseBody()));
+    }
+}
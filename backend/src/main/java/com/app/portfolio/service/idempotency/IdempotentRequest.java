@@ -0,0 +1,11 @@
+package com.app.portfolio.service.idempotency;
+
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface IdempotentRequest {
+
+    ResponseEntity<?> handle() throws IOException;
+}
@@ -0,0 +1,36 @@
+package com.app.portfolio.service.idempotency;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Request recorded with an idempotency key for an upload: the method and path plus the file's
+ * size and SHA-256. Reusing a key with a different file then fails like a different path does,
+ * instead of replaying the response to the first file.
+ */
+public final class UploadFingerprint {
+
+    private UploadFingerprint() {
+    }
+
+    public static String of(String request, MultipartFile file) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        // Streamed, so large files aren't read into memory just to be hashed
+        try (InputStream in = new DigestInputStream(file.getInputStream(), sha256)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return request + " (" + file.getSize() + " bytes, sha256 " + HexFormat.of().formatHex(sha256.digest()) + ")";
+    }
+}
@@ -0,0 +1,111 @@
+package com.app.portfolio.service.importer;
+
+import com.app.portfolio.beans.Asset;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Inserts assets with one JDBC batch per call. Hibernate can't batch inserts of IDENTITY
+ * entities because it needs each generated id back; imported rows don't, so they bypass the
+ * persistence context. With {@code rewriteBatchedStatements=true} MySQL turns the batch into
+ * multi-row inserts.
+ */
+@Component
+@RequiredArgsConstructor
+public class AssetBatchWriter {
+
+    private static final String INSERT = "INSERT INTO assets (client_id, name, category, symbol, quantity, buying_rate, "
+            + "purchase_date, currency, selling_rate, selling_date_time, sold, row_hash, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Instants are stored as UTC timestamps, as Hibernate writes them
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the assets; must run inside the caller's transaction
+     */
+    public void insert(List<Asset> assets) {
+        Instant now = Instant.now();
+        jdbcTemplate.batchUpdate(INSERT, assets, assets.size(), (ps, asset) -> bind(ps, asset, now));
+    }
+
+    /**
+     * Inserts the assets in one batch like {@link #insert}, and sets their generated ids and
+     * timestamps for callers that report them back
+     */
+    public void insertReturningIds(List<Asset> assets) {
+        Instant now = Instant.now();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, assets.get(i), now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return assets.size();
+                    }
+                }, keys);
+
+        // One row of keys per inserted asset, in order; the column name differs between drivers
+        List<Map<String, Object>> rows = keys.getKeyList();
+        for (int i = 0; i < assets.size(); i++) {
+            Asset asset = assets.get(i);
+            asset.setId(((Number) rows.get(i).values().iterator().next()).longValue());
+            asset.setCreatedAt(now);
+            asset.setUpdatedAt(now);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Asset asset, Instant now) throws SQLException {
+        ps.setLong(1, asset.getClient().getId());
+        ps.setString(2, asset.getName());
+        ps.setInt(3, asset.getCategory().ordinal());
+        ps.setString(4, asset.getSymbol());
+        ps.setBigDecimal(5, asset.getQuantity());
+        ps.setBigDecimal(6, asset.getBuyingRate());
+        setInstant(ps, 7, asset.getPurchaseDateTime());
+        ps.setString(8, asset.getCurrency());
+        setDecimal(ps, 9, asset.getSellingRate());
+        setInstant(ps, 10, asset.getSellingDateTime());
+        ps.setBoolean(11, asset.isSold());
+        ps.setString(12, asset.getRowHash());
+        setInstant(ps, 13, now);
+        setInstant(ps, 14, now);
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant instant) throws SQLException {
+        if (instant == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.from(instant), (Calendar) UTC.clone());
+        }
+    }
+
+    private static void setDecimal(PreparedStatement ps, int index, BigDecimal value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DECIMAL);
+        } else {
+            ps.setBigDecimal(index, value);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.app.portfolio.service.importer;
+
+import com.app.portfolio.dto.asset.ImportReport;
+import com.app.portfolio.dto.job.JobResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface AssetImportService {
+
+    /**
+     * Import assets from a CSV file for a specific client, committing every
+     * {@code import.chunk-size} rows. Invalid rows are reported and skipped.
+     */
+    ImportReport importCsv(InputStream csvInputStream, Long clientId, Long userId) throws IOException;
+
+    ImportReport importCsv(MultipartFile file, Long clientId, Long userId) throws IOException;
+
+    /**
+     * Import an uploaded CSV file in a background job. The job reports rows read as progress
+     * and the {@link ImportReport} as its result; cancelling it keeps the chunks already
+     * committed.
+     */
+    JobResponse importCsvAsync(MultipartFile file, Long clientId, Long userId) throws IOException;
+}
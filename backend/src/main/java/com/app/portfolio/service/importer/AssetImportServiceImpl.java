@@ -0,0 +1,293 @@
+package com.app.portfolio.service.importer;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.beans.Job;
+import com.app.portfolio.dto.asset.ImportReport;
+import com.app.portfolio.dto.asset.ImportReport.RowError;
+import com.app.portfolio.dto.asset.ImportReport.Status;
+import com.app.portfolio.dto.job.JobResponse;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.events.ChangeType;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.exceptions.ResourceNotFoundException;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.service.job.JobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Streams CSV rows straight into JDBC batches: each row is parsed and validated as it is read,
+ * and every {@code import.chunk-size} valid rows are inserted and committed in their own
+ * transaction, so memory and connection time stay bounded by one chunk. A chunk the database
+ * rejects is retried row by row to find the offending rows. Rows whose content hash matches an
+ * asset already imported for the client are skipped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AssetImportServiceImpl implements AssetImportService {
+
+    private final ClientRepository clientRepository;
+    private final AssetRepository assetRepository;
+    private final AssetBatchWriter batchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JobService jobService;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Override
+    public ImportReport importCsv(InputStream csvInputStream, Long clientId, Long userId) throws IOException {
+        return run(csvInputStream, client(clientId, userId), userId, report -> {
+        });
+    }
+
+    @Override
+    public ImportReport importCsv(MultipartFile file, Long clientId, Long userId) throws IOException {
+        return importCsv(file.getInputStream(), clientId, userId);
+    }
+
+    @Override
+    public JobResponse importCsvAsync(MultipartFile file, Long clientId, Long userId) throws IOException {
+        Client client = client(clientId, userId);
+        log.info("Queueing import of {} bytes for clientId: {}", file.getSize(), clientId);
+        return jobService.submit(userId, Job.JobType.CSV_IMPORT, file, job -> {
+            try (InputStream in = Files.newInputStream(job.getInput())) {
+                job.setResult(run(in, client, userId, report -> {
+                    job.setResult(report);
+                    job.progress(report.getRowsRead(), null);
+                }));
+            }
+        });
+    }
+
+    private Client client(Long clientId, Long userId) {
+        if (!clientRepository.existsByIdAndUserId(clientId, userId)) {
+            log.warn("Client {} does not belong to user {}", clientId, userId);
+            throw new ResourceNotFoundException("Client", clientId);
+        }
+        return clientRepository.findById(clientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client", clientId));
+    }
+
+    private ImportReport run(InputStream csvInputStream, Client client, Long userId,
+                             Consumer<ImportReport> progress) throws IOException {
+        log.debug("Importing CSV assets for clientId: {}, userId: {}", client.getId(), userId);
+        Progress run = new Progress();
+        // One query for the client's row hashes; a row already imported, or repeated in this file, is skipped
+        Set<String> rowHashes = new HashSet<>(assetRepository.findRowHashesByClientId(client.getId()));
+        try (CsvReader csv = new CsvReader(new InputStreamReader(csvInputStream, StandardCharsets.UTF_8))) {
+            CsvReader.Header header = csv.readHeader();
+            if (header == null) {
+                log.warn("CSV file is empty");
+            }
+            Columns columns = header != null ? Columns.of(header) : null;
+
+            List<Asset> chunk = new ArrayList<>(chunkSize);
+            List<Long> chunkLines = new ArrayList<>(chunkSize);
+            while (columns != null && csv.next()) {
+                run.rowsRead++;
+                try {
+                    Asset asset = toAsset(csv, columns, client);
+                    asset.setRowHash(AssetRowHash.of(asset));
+                    if (rowHashes.add(asset.getRowHash())) {
+                        chunk.add(asset);
+                        chunkLines.add(csv.getLineNumber());
+                    } else {
+                        run.skipped++;
+                    }
+                } catch (IllegalArgumentException e) {
+                    run.error(csv.getLineNumber(), e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    insert(chunk, chunkLines, run);
+                    progress.accept(run.report(Status.RUNNING));
+                }
+            }
+            insert(chunk, chunkLines, run);
+        } finally {
+            // Committed chunks stay even if the import stops early, e.g. when its job is cancelled
+            if (run.imported > 0) {
+                eventPublisher.publishEvent(new AssetChangedEvent(userId, client.getId(), ChangeType.IMPORTED));
+            }
+        }
+
+        ImportReport report = run.report(Status.COMPLETED);
+        progress.accept(report);
+        log.info("Imported {}/{} CSV rows for clientId: {} ({} failed, {} duplicates skipped)",
+                report.getImported(), report.getRowsRead(), client.getId(), report.getFailed(), report.getSkipped());
+        return report;
+    }
+
+    private void insert(List<Asset> chunk, List<Long> lines, Progress run) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> batchWriter.insert(chunk));
+            run.imported += chunk.size();
+        } catch (DataAccessException e) {
+            log.warn("Chunk of {} rows ending at line {} was rejected, retrying row by row: {}",
+                    chunk.size(), lines.get(lines.size() - 1), e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                List<Asset> row = List.of(chunk.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> batchWriter.insert(row));
+                    run.imported++;
+                } catch (DataAccessException rowError) {
+                    run.error(lines.get(i), "Rejected by the database: "
+                            + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    /**
+     * Builds the asset for the current row, or throws {@link IllegalArgumentException} with the
+     * reason it is invalid
+     */
+    private static Asset toAsset(CsvReader csv, Columns columns, Client client) {
+        String symbol = csv.get(columns.symbol());
+        if (symbol == null) {
+            throw new IllegalArgumentException("symbol is required");
+        }
+        symbol = symbol.toUpperCase();
+        if (symbol.length() > 50) {
+            throw new IllegalArgumentException("symbol is longer than 50 characters");
+        }
+
+        Asset.AssetCategory category = Asset.AssetCategory.STOCK;
+        String categoryValue = csv.get(columns.category());
+        if (categoryValue != null) {
+            try {
+                category = Asset.AssetCategory.valueOf(categoryValue.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("invalid category '" + categoryValue + "'");
+            }
+        }
+
+        Instant purchaseDateTime = instant(csv, columns.purchaseDate(), "purchaseDate");
+        if (purchaseDateTime == null) {
+            throw new IllegalArgumentException("purchaseDate is required");
+        }
+        String currency = csv.get(columns.currency());
+        String name = csv.get(columns.name());
+        BigDecimal quantity = amount(csv, columns.quantity(), "quantity");
+        BigDecimal buyingRate = amount(csv, columns.buyingRate(), "buyingRate");
+
+        return Asset.builder()
+                .client(client)
+                .symbol(symbol)
+                .name(name != null ? name : symbol)
+                .category(category)
+                .quantity(quantity != null ? quantity : BigDecimal.ZERO)
+                .buyingRate(buyingRate != null ? buyingRate : BigDecimal.ZERO)
+                .purchaseDateTime(purchaseDateTime)
+                .currency(currency != null ? currency.toUpperCase().substring(0, Math.min(3, currency.length())) : "USD")
+                .sellingRate(amount(csv, columns.sellingRate(), "sellingRate"))
+                .sellingDateTime(instant(csv, columns.sellingDate(), "sellingDate"))
+                .sold(Boolean.parseBoolean(csv.get(columns.sold())))
+                .build();
+    }
+
+    private static BigDecimal amount(CsvReader csv, int column, String name) {
+        try {
+            BigDecimal amount = csv.getBigDecimal(column);
+            if (amount == null || amount.signum() >= 0) {
+                return amount;
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be a non-negative number, got '" + csv.get(column) + "'");
+    }
+
+    private static Instant instant(CsvReader csv, int column, String name) {
+        try {
+            return csv.getInstant(column, ZoneId.systemDefault());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " must be an ISO date or timestamp, got '" + csv.get(column) + "'");
+        }
+    }
+
+    /**
+     * Column indexes of the asset fields, -1 for the ones the file doesn't have
+     */
+    private record Columns(int symbol, int name, int category, int quantity, int buyingRate, int purchaseDate,
+                           int currency, int sellingRate, int sellingDate, int sold) {
+
+        static Columns of(CsvReader.Header header) {
+            int symbol = header.indexOf("symbol");
+            if (symbol < 0) {
+                throw new BadRequestException("CSV file has no symbol column");
+            }
+            return new Columns(symbol, header.indexOf("name"), header.indexOf("category", "assettype"),
+                    header.indexOf("quantity"), header.indexOf("buyingrate"),
+                    header.indexOf("purchasedatetime", "purchasedate"), header.indexOf("currency"),
+                    header.indexOf("sellingrate"), header.indexOf("sellingdatetime", "sellingdate"),
+                    header.indexOf("sold"));
+        }
+    }
+
+    /**
+     * Counters of one import run. Only touched by the thread running it.
+     */
+    private final class Progress {
+
+        private final Instant startedAt = Instant.now();
+        private final List<RowError> errors = new ArrayList<>();
+        private int rowsRead;
+        private int imported;
+        private int failed;
+        private int skipped;
+
+        void error(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+
+        ImportReport report(Status status) {
+            return ImportReport.builder()
+                    .status(status)
+                    .rowsRead(rowsRead)
+                    .imported(imported)
+                    .failed(failed)
+                    .skipped(skipped)
+                    .errors(List.copyOf(errors))
+                    .startedAt(startedAt)
+                    .finishedAt(status == Status.RUNNING ? null : Instant.now())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.app.portfolio.service.importer;
+
+import com.app.portfolio.beans.Asset;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 of an imported asset's content, used to skip rows already imported for the client.
+ * The client itself isn't part of the hash: hashes are compared per client. Amounts are
+ * compared by value, so {@code 10} and {@code 10.00} hash alike.
+ */
+public final class AssetRowHash {
+
+    private static final char SEPARATOR = '\u001F';
+
+    private AssetRowHash() {
+    }
+
+    public static String of(Asset asset) {
+        StringBuilder row = new StringBuilder(128);
+        append(row, asset.getName());
+        append(row, asset.getCategory() != null ? asset.getCategory().name() : null);
+        append(row, asset.getSymbol());
+        append(row, asset.getQuantity());
+        append(row, asset.getBuyingRate());
+        append(row, asset.getPurchaseDateTime());
+        append(row, asset.getCurrency());
+        append(row, asset.getSellingRate());
+        append(row, asset.getSellingDateTime());
+        append(row, asset.isSold());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(row.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void append(StringBuilder row, Object value) {
+        if (value instanceof BigDecimal amount) {
+            value = amount.signum() == 0 ? "0" : amount.stripTrailingZeros().toPlainString();
+        }
+        if (value != null) {
+            row.append(value);
+        }
+        row.append(SEPARATOR);
+    }
+}
@@ -0,0 +1,355 @@
+package com.app.portfolio.service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RFC 4180 reader that parses records in place in one reusable char buffer.
+ *
+ * Fields are kept as offsets into the buffer rather than Strings: quoted fields are unescaped
+ * where they lie, and the typed getters decode straight from the buffer, so a row read with
+ * {@link #getBigDecimal} or {@link #getDate} allocates only the values themselves. Quoted
+ * fields may contain commas, doubled quotes and line breaks. The buffer grows to fit the
+ * longest record.
+ *
+ * Values are only valid until the next call to {@link #next}.
+ */
+public final class CsvReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private char[] buf;
+    private int pos;
+    private int limit;
+
+    // Current record, as [starts[i], ends[i]) ranges of buf
+    private int recordStart;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int size;
+    private long lineNumber;
+    private long nextLine = 1;
+
+    // Field being parsed; kept in fields so refilling the buffer can move them
+    private int fieldStart;
+    private int write;
+
+    public CsvReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvReader(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buf = new char[Math.max(bufferSize, 16)];
+    }
+
+    /**
+     * Reads the first record as column names, or returns null if the input is empty
+     */
+    public Header readHeader() throws IOException {
+        if (!next()) {
+            return null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String name = get(i);
+            if (name != null) {
+                columns.putIfAbsent(name.replace("\uFEFF", "").trim().toLowerCase(), i);
+            }
+        }
+        return new Header(columns);
+    }
+
+    /**
+     * Moves to the next record, skipping blank lines. Returns false at the end of the input.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            recordStart = pos;
+            if (!ensure()) {
+                return false;
+            }
+            size = 0;
+            lineNumber = nextLine;
+            while (!readField()) {
+                // next field of the same record
+            }
+            if (size > 1 || !isBlank(0)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Line the current record starts on, counting from 1
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Number of fields in the current record
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * True if the column is missing from this record or holds only whitespace
+     */
+    public boolean isBlank(int column) {
+        if (column < 0 || column >= size) {
+            return true;
+        }
+        for (int i = starts[column]; i < ends[column]; i++) {
+            if (buf[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Trimmed value of the column, or null if it is blank or missing
+     */
+    public String get(int column) {
+        if (isBlank(column)) {
+            return null;
+        }
+        int start = trimStart(column);
+        return new String(buf, start, trimEnd(column) - start);
+    }
+
+    public BigDecimal getBigDecimal(int column) {
+        if (isBlank(column)) {
+            return null;
+        }
+        int start = trimStart(column);
+        try {
+            return new BigDecimal(buf, start, trimEnd(column) - start);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + get(column) + "' is not a number");
+        }
+    }
+
+    /**
+     * ISO date ({@code 2024-01-31})
+     */
+    public LocalDate getDate(int column) {
+        if (isBlank(column)) {
+            return null;
+        }
+        int start = trimStart(column);
+        int length = trimEnd(column) - start;
+        try {
+            if (length == 10 && buf[start + 4] == '-' && buf[start + 7] == '-') {
+                int year = digits(start, 4);
+                int month = digits(start + 5, 2);
+                int day = digits(start + 8, 2);
+                if (year >= 0 && month >= 0 && day >= 0) {
+                    return LocalDate.of(year, month, day);
+                }
+            }
+            return LocalDate.parse(CharBuffer.wrap(buf, start, length));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("'" + get(column) + "' is not an ISO date");
+        }
+    }
+
+    /**
+     * ISO instant ({@code 2024-01-31T09:30:00Z}), or an ISO date taken as the start of that
+     * day in {@code zone}
+     */
+    public Instant getInstant(int column, ZoneId zone) {
+        if (isBlank(column)) {
+            return null;
+        }
+        int start = trimStart(column);
+        int length = trimEnd(column) - start;
+        if (length == 10) {
+            return getDate(column).atStartOfDay(zone).toInstant();
+        }
+        try {
+            return Instant.parse(CharBuffer.wrap(buf, start, length));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("'" + get(column) + "' is not an ISO date or timestamp");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Parses one field starting at {@link #pos}; returns true if it was the last of its record
+     */
+    private boolean readField() throws IOException {
+        fieldStart = pos;
+        if (ensure() && buf[pos] == '"') {
+            pos++;
+            fieldStart = pos;
+            write = pos;
+            while (ensure()) {
+                char c = buf[pos++];
+                if (c == '"') {
+                    if (ensure() && buf[pos] == '"') {
+                        buf[write++] = '"';
+                        pos++;
+                        continue;
+                    }
+                    // Closing quote; anything before the delimiter is dropped
+                    addField(fieldStart, write);
+                    while (ensure()) {
+                        char d = buf[pos++];
+                        if (d == ',') {
+                            return false;
+                        }
+                        if (d == '\n' || d == '\r') {
+                            endLine(d);
+                            return true;
+                        }
+                    }
+                    return true;
+                }
+                if (c == '\n') {
+                    nextLine++;
+                }
+                buf[write++] = c;
+            }
+            // Unterminated quote: the rest of the input is the field
+            addField(fieldStart, write);
+            return true;
+        }
+        while (ensure()) {
+            char c = buf[pos];
+            if (c == ',') {
+                addField(fieldStart, pos++);
+                return false;
+            }
+            if (c == '\n' || c == '\r') {
+                addField(fieldStart, pos++);
+                endLine(c);
+                return true;
+            }
+            pos++;
+        }
+        addField(fieldStart, pos);
+        return true;
+    }
+
+    private void endLine(char c) throws IOException {
+        if (c == '\r' && ensure() && buf[pos] == '\n') {
+            pos++;
+        }
+        nextLine++;
+    }
+
+    private void addField(int start, int end) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    private boolean ensure() throws IOException {
+        return pos < limit || fill();
+    }
+
+    /**
+     * Moves the current record to the front of the buffer, growing it if the record fills it,
+     * and reads more input. Returns false at the end of the input.
+     */
+    private boolean fill() throws IOException {
+        if (recordStart > 0) {
+            int shift = recordStart;
+            System.arraycopy(buf, shift, buf, 0, limit - shift);
+            limit -= shift;
+            pos -= shift;
+            fieldStart -= shift;
+            write -= shift;
+            for (int i = 0; i < size; i++) {
+                starts[i] -= shift;
+                ends[i] -= shift;
+            }
+            recordStart = 0;
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        int read = reader.read(buf, limit, buf.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    private int trimStart(int column) {
+        int start = starts[column];
+        while (buf[start] <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimEnd(int column) {
+        int end = ends[column];
+        while (buf[end - 1] <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    // Value of count decimal digits at offset, or -1 if any is not a digit
+    private int digits(int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Column indexes by lower-cased name, resolved once per file
+     */
+    public static final class Header {
+
+        private final Map<String, Integer> columns;
+
+        private Header(Map<String, Integer> columns) {
+            this.columns = columns;
+        }
+
+        /**
+         * Index of the first of {@code names} present, or -1. Names are matched case-insensitively.
+         */
+        public int indexOf(String... names) {
+            for (String name : names) {
+                Integer index = columns.get(name.toLowerCase());
+                if (index != null) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.app.portfolio.service.job;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * What a running job sees of itself. Only the worker thread running the job may use it.
+ */
+public interface JobContext {
+
+    /**
+     * Copy of the file uploaded with the job, or null if there was none. It is deleted when the
+     * job finishes.
+     */
+    Path getInput();
+
+    /**
+     * Records progress, written to the job row at most every {@code jobs.progress-interval-ms}.
+     * Throws {@link java.util.concurrent.CancellationException} once the job has been
+     * cancelled, so tasks stop at their next progress report.
+     */
+    void progress(long processed, Long total);
+
+    /**
+     * Sets the summary returned with the job, serialized as JSON
+     */
+    void setResult(Object summary);
+
+    /**
+     * Opens the file offered for download once the job completes. The caller closes it.
+     */
+    OutputStream openResult(String fileName, String contentType) throws IOException;
+}
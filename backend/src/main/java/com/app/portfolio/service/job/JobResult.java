@@ -0,0 +1,9 @@
+package com.app.portfolio.service.job;
+
+import java.nio.file.Path;
+
+/**
+ * Downloadable output of a completed job
+ */
+public record JobResult(Path file, String fileName, String contentType) {
+}
@@ -0,0 +1,33 @@
+package com.app.portfolio.service.job;
+
+import com.app.portfolio.beans.Job;
+import com.app.portfolio.dto.job.JobResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface JobService {
+
+    /**
+     * Queues a task for the user. The upload, if any, is copied first since the request's copy
+     * is deleted when the request completes. Fails with
+     * {@link com.app.portfolio.exceptions.TooManyRequestsException} when the user already has
+     * {@code jobs.max-per-user} jobs queued or running, or the queue is full.
+     */
+    JobResponse submit(Long userId, Job.JobType type, MultipartFile input, JobTask task) throws IOException;
+
+    JobResponse getJob(String jobId, Long userId);
+
+    /**
+     * The user's most recent jobs, newest first
+     */
+    List<JobResponse> getJobs(Long userId);
+
+    /**
+     * Cancels a queued job at once; a running job stops at its next progress report
+     */
+    JobResponse cancel(String jobId, Long userId);
+
+    JobResult getResult(String jobId, Long userId);
+}
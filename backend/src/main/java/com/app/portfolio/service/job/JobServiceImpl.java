@@ -0,0 +1,355 @@
+package com.app.portfolio.service.job;
+
+import com.app.portfolio.beans.Job;
+import com.app.portfolio.beans.Job.JobStatus;
+import com.app.portfolio.dto.job.JobResponse;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.exceptions.ResourceNotFoundException;
+import com.app.portfolio.exceptions.TooManyRequestsException;
+import com.app.portfolio.repository.JobRepository;
+import com.app.portfolio.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs jobs on the bounded {@code jobExecutor} and keeps their state in the {@code jobs} table.
+ * Each job's row is written only by the thread that owns it: the worker once the job has
+ * started, or the cancelling request while it is still queued. Jobs run in the server that
+ * accepted them, so the per-user limit and cancellation are tracked in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobServiceImpl implements JobService {
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService jobExecutor;
+
+    @Value("${jobs.max-per-user:2}")
+    private int maxPerUser;
+
+    @Value("${jobs.progress-interval-ms:1000}")
+    private long progressIntervalMs;
+
+    @Value("${jobs.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    @Value("${jobs.result-dir:${java.io.tmpdir}/capitalx-jobs}")
+    private String resultDir;
+
+    // Jobs queued or running in this server, by id
+    private final Map<String, ActiveJob> activeJobs = new ConcurrentHashMap<>();
+    // Number of queued or running jobs per user
+    private final Map<Long, Integer> activeByUser = new ConcurrentHashMap<>();
+
+    private Path directory;
+
+    @PostConstruct
+    void init() throws IOException {
+        directory = Files.createDirectories(Path.of(resultDir));
+        int interrupted = jobRepository.finishAll(List.of(JobStatus.QUEUED, JobStatus.RUNNING), JobStatus.FAILED,
+                "Interrupted by a server restart", Instant.now());
+        if (interrupted > 0) {
+            log.warn("Marked {} jobs interrupted by the last shutdown as failed", interrupted);
+        }
+    }
+
+    @Override
+    public JobResponse submit(Long userId, Job.JobType type, MultipartFile input, JobTask task) throws IOException {
+        if (activeByUser.merge(userId, 1, Integer::sum) > maxPerUser) {
+            release(userId);
+            throw new TooManyRequestsException("You already have " + maxPerUser
+                    + " jobs queued or running, wait for one to finish");
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        Path staged = null;
+        try {
+            if (input != null) {
+                staged = directory.resolve(jobId + ".input");
+                input.transferTo(staged);
+            }
+            Job job = Job.builder()
+                    .id(jobId)
+                    .user(userRepository.getReferenceById(userId))
+                    .type(type)
+                    .status(JobStatus.QUEUED)
+                    .createdAt(Instant.now())
+                    .build();
+            jobRepository.save(job);
+
+            // Built before the worker can pick the job up and change it
+            JobResponse queued = toResponse(job);
+            ActiveJob active = new ActiveJob(job, userId, task, staged);
+            activeJobs.put(jobId, active);
+            try {
+                jobExecutor.execute(active);
+            } catch (RejectedExecutionException e) {
+                activeJobs.remove(jobId);
+                job.setStatus(JobStatus.FAILED);
+                job.setMessage("Rejected, the job queue is full");
+                job.setFinishedAt(Instant.now());
+                jobRepository.save(job);
+                throw new TooManyRequestsException("Too many jobs are queued, try again later");
+            }
+            log.info("Queued {} job {} for userId: {}", type, jobId, userId);
+            return queued;
+        } catch (IOException | RuntimeException e) {
+            release(userId);
+            deleteQuietly(staged);
+            throw e;
+        }
+    }
+
+    @Override
+    public JobResponse getJob(String jobId, Long userId) {
+        return toResponse(find(jobId, userId));
+    }
+
+    @Override
+    public List<JobResponse> getJobs(Long userId) {
+        return jobRepository.findTop50ByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    public JobResponse cancel(String jobId, Long userId) {
+        Job job = find(jobId, userId);
+        ActiveJob active = activeJobs.get(jobId);
+        if (active == null || job.getStatus().isFinished()) {
+            throw new BadRequestException("Job " + jobId + " has already finished");
+        }
+        if (active.cancelQueued()) {
+            log.info("Cancelled queued job {} for userId: {}", jobId, userId);
+            return toResponse(active.job);
+        }
+        active.cancelRequested = true;
+        log.info("Requested cancellation of running job {} for userId: {}", jobId, userId);
+        JobResponse response = toResponse(job);
+        response.setMessage("Cancellation requested");
+        return response;
+    }
+
+    @Override
+    public JobResult getResult(String jobId, Long userId) {
+        Job job = find(jobId, userId);
+        if (job.getStatus() != JobStatus.COMPLETED || job.getResultName() == null) {
+            throw new BadRequestException("Job " + jobId + " has no result to download");
+        }
+        Path file = resultFile(jobId);
+        if (!Files.exists(file)) {
+            throw new ResourceNotFoundException("Result of job " + jobId + " has expired");
+        }
+        return new JobResult(file, job.getResultName(), job.getResultContentType());
+    }
+
+    @Scheduled(initialDelayString = "${jobs.cleanup-interval-ms:3600000}", fixedDelayString = "${jobs.cleanup-interval-ms:3600000}")
+    public void removeExpired() {
+        List<Job> expired = jobRepository.findByFinishedAtBefore(Instant.now().minus(Duration.ofMinutes(retentionMinutes)));
+        if (expired.isEmpty()) {
+            return;
+        }
+        expired.forEach(job -> deleteQuietly(resultFile(job.getId())));
+        jobRepository.deleteAllInBatch(expired);
+        log.info("Removed {} jobs finished more than {} minutes ago", expired.size(), retentionMinutes);
+    }
+
+    private Job find(String jobId, Long userId) {
+        return jobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found with id: " + jobId));
+    }
+
+    private JobResponse toResponse(Job job) {
+        JobResponse response = JobResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .processed(job.getProcessed())
+                .total(job.getTotal())
+                .message(job.getMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+        if (job.getResultJson() != null) {
+            try {
+                response.setResult(objectMapper.readTree(job.getResultJson()));
+            } catch (JsonProcessingException e) {
+                log.warn("Result of job {} is not valid JSON", job.getId(), e);
+            }
+        }
+        if (job.getStatus() == JobStatus.COMPLETED && job.getResultName() != null) {
+            response.setResultUrl("/api/jobs/" + job.getId() + "/result");
+        }
+        return response;
+    }
+
+    private void release(Long userId) {
+        activeByUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private Path resultFile(String jobId) {
+        return directory.resolve(jobId + ".result");
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete job file {}", file, e);
+        }
+    }
+
+    private static String messageOf(Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+
+    /**
+     * A job queued or running in this server; the queue entry and the worker's view of the job
+     */
+    private final class ActiveJob implements JobContext, Runnable {
+
+        private final Job job;
+        private final Long userId;
+        private final JobTask task;
+        private final Path input;
+        private final AtomicReference<JobStatus> state = new AtomicReference<>(JobStatus.QUEUED);
+        private volatile boolean cancelRequested;
+        private long lastSaved;
+
+        private ActiveJob(Job job, Long userId, JobTask task, Path input) {
+            this.job = job;
+            this.userId = userId;
+            this.task = task;
+            this.input = input;
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(JobStatus.QUEUED, JobStatus.RUNNING)) {
+                return; // cancelled while queued
+            }
+            JobStatus outcome = JobStatus.COMPLETED;
+            String message = null;
+            try {
+                job.setStatus(JobStatus.RUNNING);
+                job.setStartedAt(Instant.now());
+                save();
+                task.run(this);
+            } catch (CancellationException e) {
+                outcome = JobStatus.CANCELLED;
+                message = "Cancelled";
+            } catch (Exception e) {
+                log.error("{} job {} failed for userId: {}", job.getType(), job.getId(), userId, e);
+                outcome = JobStatus.FAILED;
+                message = messageOf(e);
+            }
+            finish(outcome, message);
+        }
+
+        boolean cancelQueued() {
+            if (!state.compareAndSet(JobStatus.QUEUED, JobStatus.CANCELLED)) {
+                return false;
+            }
+            finish(JobStatus.CANCELLED, "Cancelled before it started");
+            return true;
+        }
+
+        private void finish(JobStatus status, String message) {
+            // Free the user's slot before the row shows the job as finished
+            activeJobs.remove(job.getId());
+            release(userId);
+            deleteQuietly(input);
+            try {
+                if (status != JobStatus.COMPLETED) {
+                    deleteQuietly(resultFile(job.getId()));
+                    job.setResultName(null);
+                    job.setResultContentType(null);
+                }
+                job.setStatus(status);
+                job.setMessage(message);
+                job.setFinishedAt(Instant.now());
+                save();
+                log.info("{} job {} finished as {} for userId: {}", job.getType(), job.getId(), status, userId);
+            } catch (RuntimeException e) {
+                log.error("Could not record the outcome of job {}", job.getId(), e);
+            }
+        }
+
+        @Override
+        public Path getInput() {
+            return input;
+        }
+
+        @Override
+        public void progress(long processed, Long total) {
+            job.setProcessed(processed);
+            job.setTotal(total);
+            if (cancelRequested) {
+                throw new CancellationException("Job " + job.getId() + " was cancelled");
+            }
+            saveIfDue();
+        }
+
+        @Override
+        public void setResult(Object summary) {
+            try {
+                job.setResultJson(objectMapper.writeValueAsString(summary));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Job result can't be written as JSON", e);
+            }
+            saveIfDue();
+        }
+
+        @Override
+        public OutputStream openResult(String fileName, String contentType) throws IOException {
+            job.setResultName(fileName);
+            job.setResultContentType(contentType);
+            return new BufferedOutputStream(Files.newOutputStream(resultFile(job.getId())), 64 * 1024);
+        }
+
+        private void saveIfDue() {
+            if (System.nanoTime() - lastSaved >= TimeUnit.MILLISECONDS.toNanos(progressIntervalMs)) {
+                save();
+            }
+        }
+
+        private void save() {
+            jobRepository.save(job);
+            lastSaved = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.app.portfolio.service.job;
+
+/**
+ * Work run by a background job
+ */
+@FunctionalInterface
+public interface JobTask {
+
+    void run(JobContext job) throws Exception;
+}
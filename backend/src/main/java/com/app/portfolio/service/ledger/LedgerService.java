@@ -0,0 +1,43 @@
+package com.app.portfolio.service.ledger;
+
+import com.app.portfolio.dto.ledger.PositionResponse;
+import com.app.portfolio.dto.ledger.TransactionRequest;
+import com.app.portfolio.dto.ledger.TransactionResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LedgerService {
+
+    /**
+     * Records a buy, sell or split and applies it to the symbol's position. A transaction dated
+     * before the last one applied makes the position replay its ledger.
+     */
+    TransactionResponse recordTransaction(Long clientId, TransactionRequest request, Long userId);
+
+    /**
+     * A client's transactions, newest first, optionally for one symbol
+     */
+    List<TransactionResponse> getTransactions(Long clientId, String symbol, Long userId);
+
+    /**
+     * Current positions, read from the maintained position rows and valued at the latest prices
+     */
+    List<PositionResponse> getPositions(Long clientId, Long userId);
+
+    /**
+     * Positions as of the latest snapshot taken on or before {@code date}; empty if there is none
+     */
+    List<PositionResponse> getPositions(Long clientId, LocalDate date, Long userId);
+
+    /**
+     * Snapshots every position, valued at the latest prices, replacing any snapshot already
+     * taken for {@code date}. Returns the number of positions written.
+     */
+    int takeSnapshots(LocalDate date);
+
+    /**
+     * Deletes a client's ledger, positions and snapshots; part of deleting the client
+     */
+    void deleteClientLedger(Long clientId);
+}
@@ -0,0 +1,266 @@
+package com.app.portfolio.service.ledger;
+
+import com.app.portfolio.beans.AssetTransaction;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.beans.Position;
+import com.app.portfolio.beans.PositionSnapshot;
+import com.app.portfolio.dto.ledger.PositionResponse;
+import com.app.portfolio.dto.ledger.TransactionRequest;
+import com.app.portfolio.dto.ledger.TransactionResponse;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.exceptions.ResourceNotFoundException;
+import com.app.portfolio.repository.AssetTransactionRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.repository.PositionLotRepository;
+import com.app.portfolio.repository.PositionRepository;
+import com.app.portfolio.repository.PositionSnapshotRepository;
+import com.app.portfolio.service.pricing.PricingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LedgerServiceImpl implements LedgerService {
+
+    private final AssetTransactionRepository transactionRepository;
+    private final PositionRepository positionRepository;
+    private final PositionLotRepository lotRepository;
+    private final PositionSnapshotRepository snapshotRepository;
+    private final ClientRepository clientRepository;
+    private final PricingService pricingService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ledger.snapshot.batch-size:500}")
+    private int snapshotBatchSize;
+
+    @Override
+    @Transactional
+    public TransactionResponse recordTransaction(Long clientId, TransactionRequest request, Long userId) {
+        Client client = client(clientId, userId);
+        String symbol = request.getSymbol().trim().toUpperCase();
+        boolean split = request.getType() == AssetTransaction.TransactionType.SPLIT;
+        if (split && request.getSplitRatio() == null) {
+            throw new BadRequestException("splitRatio is required for a split");
+        }
+        if (!split && (request.getQuantity() == null || request.getPrice() == null)) {
+            throw new BadRequestException("quantity and price are required for a " + request.getType());
+        }
+
+        Position position = positionRepository.findForUpdate(clientId, symbol)
+                .orElseGet(() -> Position.builder().client(client).symbol(symbol).build());
+        String currency = request.getCurrency() != null ? request.getCurrency().toUpperCase() : null;
+        if (position.getCurrency() == null) {
+            position.setCurrency(currency != null ? currency : client.getCurrency() != null ? client.getCurrency() : "USD");
+        } else if (currency != null && !currency.equals(position.getCurrency())) {
+            throw new BadRequestException(symbol + " is held in " + position.getCurrency() + ", not " + currency);
+        }
+
+        AssetTransaction transaction = transactionRepository.save(AssetTransaction.builder()
+                .client(client)
+                .symbol(symbol)
+                .type(request.getType())
+                .quantity(split ? null : request.getQuantity())
+                .price(split ? null : request.getPrice())
+                .splitRatio(split ? request.getSplitRatio() : null)
+                .currency(position.getCurrency())
+                .tradeDateTime(request.getTradeDateTime())
+                .build());
+
+        // Throwing rolls the transaction back with whatever the engine had applied
+        try {
+            if (position.getLastTradeDateTime() != null
+                    && transaction.getTradeDateTime().isBefore(position.getLastTradeDateTime())) {
+                replay(position);
+            } else {
+                LotEngine.apply(position, transaction);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        position = positionRepository.save(position);
+        log.info("Recorded {} of {} for clientId: {}, position now {}", transaction.getType(), symbol, clientId,
+                position.getQuantity());
+
+        BigDecimal price = pricingService.getLatestPrices(Set.of(symbol)).get(symbol);
+        return toResponse(transaction).toBuilder().position(toResponse(position, price)).build();
+    }
+
+    /**
+     * Rebuilds the position from its whole ledger, for transactions recorded out of trade order
+     */
+    private void replay(Position position) {
+        List<AssetTransaction> ledger = transactionRepository.findByClientIdAndSymbolOrderByTradeDateTimeAscIdAsc(
+                position.getClient().getId(), position.getSymbol());
+        log.debug("Replaying {} transactions of {} for clientId: {}", ledger.size(), position.getSymbol(),
+                position.getClient().getId());
+        LotEngine.reset(position);
+        for (AssetTransaction transaction : ledger) {
+            LotEngine.apply(position, transaction);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getTransactions(Long clientId, String symbol, Long userId) {
+        client(clientId, userId);
+        List<AssetTransaction> transactions = symbol == null || symbol.isBlank()
+                ? transactionRepository.findByClientIdOrderByTradeDateTimeDescIdDesc(clientId)
+                : transactionRepository.findByClientIdAndSymbolOrderByTradeDateTimeDescIdDesc(clientId,
+                        symbol.trim().toUpperCase());
+        return transactions.stream().map(this::toResponse).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PositionResponse> getPositions(Long clientId, Long userId) {
+        client(clientId, userId);
+        List<Position> positions = positionRepository.findByClientIdOrderBySymbolAsc(clientId);
+        Map<String, BigDecimal> prices = pricingService.getLatestPrices(positions.stream()
+                .filter(position -> position.getQuantity().signum() > 0)
+                .map(Position::getSymbol)
+                .collect(Collectors.toSet()));
+        return positions.stream()
+                .map(position -> toResponse(position, prices.get(position.getSymbol())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PositionResponse> getPositions(Long clientId, LocalDate date, Long userId) {
+        client(clientId, userId);
+        return snapshotRepository.findLatestByClientId(clientId, date).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(cron = "${ledger.snapshot.cron:0 15 0 * * *}")
+    public void snapshotPositions() {
+        takeSnapshots(LocalDate.now());
+    }
+
+    @Override
+    public int takeSnapshots(LocalDate date) {
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> snapshotRepository.deleteBySnapshotDate(date));
+
+        // One transaction and one price lookup per page of positions
+        int written = 0;
+        long afterId = 0;
+        while (true) {
+            long pageAfter = afterId;
+            List<PositionSnapshot> page = transactionTemplate.execute(status -> {
+                List<Position> positions = positionRepository.findByIdGreaterThanOrderByIdAsc(pageAfter,
+                        Limit.of(snapshotBatchSize));
+                Map<String, BigDecimal> prices = pricingService.getLatestPrices(
+                        positions.stream().map(Position::getSymbol).collect(Collectors.toSet()));
+                Instant now = Instant.now();
+                return snapshotRepository.saveAll(positions.stream()
+                        .map(position -> PositionSnapshot.builder()
+                                .position(position)
+                                .client(position.getClient())
+                                .symbol(position.getSymbol())
+                                .currency(position.getCurrency())
+                                .snapshotDate(date)
+                                .quantity(position.getQuantity())
+                                .costBasis(position.getCostBasis())
+                                .realizedPnl(position.getRealizedPnl())
+                                .price(prices.get(position.getSymbol()))
+                                .lastTransactionId(position.getLastTransactionId())
+                                .createdAt(now)
+                                .build())
+                        .toList());
+            });
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            written += page.size();
+            afterId = page.get(page.size() - 1).getPosition().getId();
+        }
+        log.info("Snapshotted {} positions for {} in {} ms", written, date, System.currentTimeMillis() - start);
+        return written;
+    }
+
+    @Override
+    @Transactional
+    public void deleteClientLedger(Long clientId) {
+        // Children first: snapshots and lots reference positions, positions and transactions the client
+        snapshotRepository.deleteAllByClientId(clientId);
+        lotRepository.deleteAllByClientId(clientId);
+        positionRepository.deleteAllByClientId(clientId);
+        transactionRepository.deleteAllByClientId(clientId);
+    }
+
+    private Client client(Long clientId, Long userId) {
+        Client client = clientRepository.findById(clientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client", clientId));
+        if (!client.getUser().getId().equals(userId)) {
+            throw new ResourceNotFoundException("Client", clientId);
+        }
+        return client;
+    }
+
+    private TransactionResponse toResponse(AssetTransaction transaction) {
+        return TransactionResponse.builder()
+                .id(transaction.getId())
+                .clientId(transaction.getClient().getId())
+                .symbol(transaction.getSymbol())
+                .type(transaction.getType())
+                .quantity(transaction.getQuantity())
+                .price(transaction.getPrice())
+                .splitRatio(transaction.getSplitRatio())
+                .currency(transaction.getCurrency())
+                .tradeDateTime(transaction.getTradeDateTime())
+                .createdAt(transaction.getCreatedAt())
+                .build();
+    }
+
+    private PositionResponse toResponse(Position position, BigDecimal price) {
+        return valued(PositionResponse.builder()
+                .clientId(position.getClient().getId())
+                .symbol(position.getSymbol())
+                .currency(position.getCurrency())
+                .updatedAt(position.getUpdatedAt()), position.getQuantity(), position.getCostBasis(),
+                position.getRealizedPnl(), price);
+    }
+
+    private PositionResponse toResponse(PositionSnapshot snapshot) {
+        return valued(PositionResponse.builder()
+                .clientId(snapshot.getClient().getId())
+                .symbol(snapshot.getSymbol())
+                .currency(snapshot.getCurrency())
+                .asOf(snapshot.getSnapshotDate()), snapshot.getQuantity(), snapshot.getCostBasis(),
+                snapshot.getRealizedPnl(), snapshot.getPrice());
+    }
+
+    private static PositionResponse valued(PositionResponse.PositionResponseBuilder builder, BigDecimal quantity,
+                                           BigDecimal costBasis, BigDecimal realizedPnl, BigDecimal price) {
+        BigDecimal marketValue = price != null
+                ? quantity.multiply(price).setScale(LotEngine.MONEY_SCALE, RoundingMode.HALF_UP) : null;
+        return builder
+                .quantity(quantity)
+                .costBasis(costBasis)
+                .averageCost(quantity.signum() > 0
+                        ? costBasis.divide(quantity, LotEngine.MONEY_SCALE, RoundingMode.HALF_UP) : null)
+                .realizedPnl(realizedPnl)
+                .currentPrice(price)
+                .marketValue(marketValue)
+                .unrealizedPnl(marketValue != null ? marketValue.subtract(costBasis) : null)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.app.portfolio.service.ledger;
+
+import com.app.portfolio.beans.AssetTransaction;
+import com.app.portfolio.beans.Position;
+import com.app.portfolio.beans.PositionLot;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+
+/**
+ * Applies ledger transactions to a position one at a time, keeping its open lots in FIFO
+ * order:
+ * <ul>
+ *   <li>a buy appends a lot costing {@code quantity * price}</li>
+ *   <li>a sell consumes lots from the oldest, moving their cost out of the cost basis and
+ *       {@code proceeds - cost} into realized P&L; a lot sold in part keeps the rest of its
+ *       cost pro rata</li>
+ *   <li>a split scales every lot's quantity and leaves the costs alone</li>
+ * </ul>
+ * Each step only touches the lots it consumes, so recording a transaction costs the same however
+ * long the ledger is. Transactions must be applied in trade order; a backdated one means
+ * {@link #reset} and a replay.
+ */
+public final class LotEngine {
+
+    public static final int MONEY_SCALE = 4;
+    public static final int QUANTITY_SCALE = 8;
+
+    private LotEngine() {
+    }
+
+    /**
+     * Applies the transaction, or throws {@link IllegalArgumentException} without changing the
+     * position if it is malformed or sells more than is held
+     */
+    public static void apply(Position position, AssetTransaction transaction) {
+        switch (transaction.getType()) {
+            case BUY -> buy(position, transaction);
+            case SELL -> sell(position, transaction);
+            case SPLIT -> split(position, transaction);
+        }
+        position.setLastTransactionId(transaction.getId());
+        position.setLastTradeDateTime(transaction.getTradeDateTime());
+    }
+
+    /**
+     * Empties the position so the ledger can be replayed into it
+     */
+    public static void reset(Position position) {
+        position.getLots().clear();
+        position.setQuantity(BigDecimal.ZERO);
+        position.setCostBasis(BigDecimal.ZERO);
+        position.setRealizedPnl(BigDecimal.ZERO);
+        position.setLastTransactionId(null);
+        position.setLastTradeDateTime(null);
+    }
+
+    private static void buy(Position position, AssetTransaction transaction) {
+        BigDecimal quantity = positive(transaction.getQuantity(), "quantity");
+        BigDecimal cost = money(quantity.multiply(nonNegative(transaction.getPrice(), "price")));
+        position.getLots().add(PositionLot.builder()
+                .position(position)
+                .transactionId(transaction.getId())
+                .quantity(quantity)
+                .cost(cost)
+                .acquiredAt(transaction.getTradeDateTime())
+                .build());
+        position.setQuantity(position.getQuantity().add(quantity));
+        position.setCostBasis(position.getCostBasis().add(cost));
+    }
+
+    private static void sell(Position position, AssetTransaction transaction) {
+        BigDecimal quantity = positive(transaction.getQuantity(), "quantity");
+        BigDecimal price = nonNegative(transaction.getPrice(), "price");
+        if (quantity.compareTo(position.getQuantity()) > 0) {
+            throw new IllegalArgumentException("Cannot sell " + quantity.stripTrailingZeros().toPlainString() + " "
+                    + position.getSymbol() + ", only " + position.getQuantity().stripTrailingZeros().toPlainString()
+                    + " held");
+        }
+
+        BigDecimal remaining = quantity;
+        BigDecimal soldCost = BigDecimal.ZERO;
+        Iterator<PositionLot> lots = position.getLots().iterator();
+        while (remaining.signum() > 0) {
+            PositionLot lot = lots.next();
+            if (lot.getQuantity().compareTo(remaining) <= 0) {
+                remaining = remaining.subtract(lot.getQuantity());
+                soldCost = soldCost.add(lot.getCost());
+                lots.remove();
+            } else {
+                BigDecimal cost = lot.getCost().multiply(remaining).divide(lot.getQuantity(), MONEY_SCALE, RoundingMode.HALF_UP);
+                lot.setQuantity(lot.getQuantity().subtract(remaining));
+                lot.setCost(lot.getCost().subtract(cost));
+                soldCost = soldCost.add(cost);
+                remaining = BigDecimal.ZERO;
+            }
+        }
+
+        BigDecimal proceeds = money(quantity.multiply(price));
+        position.setQuantity(position.getQuantity().subtract(quantity));
+        position.setCostBasis(position.getCostBasis().subtract(soldCost));
+        position.setRealizedPnl(position.getRealizedPnl().add(proceeds).subtract(soldCost));
+    }
+
+    private static void split(Position position, AssetTransaction transaction) {
+        BigDecimal ratio = positive(transaction.getSplitRatio(), "splitRatio");
+        // The position's quantity is the sum of the rounded lots, so the two never drift apart
+        BigDecimal quantity = BigDecimal.ZERO;
+        for (PositionLot lot : position.getLots()) {
+            lot.setQuantity(lot.getQuantity().multiply(ratio).setScale(QUANTITY_SCALE, RoundingMode.HALF_UP));
+            quantity = quantity.add(lot.getQuantity());
+        }
+        position.setQuantity(quantity);
+    }
+
+    private static BigDecimal money(BigDecimal amount) {
+        return amount.setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal positive(BigDecimal value, String name) {
+        if (value == null || value.signum() <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    private static BigDecimal nonNegative(BigDecimal value, String name) {
+        if (value == null || value.signum() < 0) {
+            throw new IllegalArgumentException(name + " must be zero or more");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,26 @@
+package com.app.portfolio.service.movers;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.dto.asset.MoverDirection;
+import com.app.portfolio.dto.asset.MoversResponse;
+import com.app.portfolio.service.valuation.PriceSnapshot;
+
+import java.util.List;
+
+public interface MoversService {
+
+    /**
+     * One page of a user's (or one client's) unsold assets ranked by returns. {@code cursor}
+     * is the {@code nextCursor} of the previous page, or null for the first page.
+     */
+    MoversResponse getMovers(Long userId, Long clientId, MoverDirection direction, int k, String cursor);
+
+    /**
+     * The {@code k} best and worst unsold assets by returns, in one pass over {@code assets},
+     * priced at {@code snapshot}
+     */
+    RankedMovers selectMovers(List<Asset> assets, PriceSnapshot snapshot, int k);
+
+    record RankedMovers(List<Asset> gainers, List<Asset> losers) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.app.portfolio.service.movers;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.dto.asset.MoverDirection;
+import com.app.portfolio.dto.asset.MoverResponse;
+import com.app.portfolio.dto.asset.MoversResponse;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.exceptions.ResourceNotFoundException;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.valuation.AssetValuation;
+import com.app.portfolio.service.valuation.PriceSnapshot;
+import com.app.portfolio.service.valuation.ValuationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranks assets by returns with bounded heaps ({@link TopK}), so picking k movers out of n
+ * positions is O(n log k) and only the k survivors are turned into responses.
+ *
+ * Ranking uses {@code price / buyingRate - 1} as a double, which equals the P&L percentage
+ * without any per-asset allocation. Ties are broken by asset id, which makes the order total
+ * and lets {@code "<score>:<id>"} act as a keyset cursor for the next page.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MoversServiceImpl implements MoversService {
+
+    private final AssetRepository assetRepository;
+    private final ClientRepository clientRepository;
+    private final ValuationService valuationService;
+    private final FxRateService fxRateService;
+
+    @Value("${movers.max-k:100}")
+    private int maxK;
+
+    @Override
+    @Transactional(readOnly = true)
+    public MoversResponse getMovers(Long userId, Long clientId, MoverDirection direction, int k, String cursor) {
+        if (k < 1 || k > maxK) {
+            throw new BadRequestException("k must be between 1 and " + maxK);
+        }
+        Cursor after = Cursor.parse(cursor);
+
+        List<Asset> assets;
+        String currency;
+        if (clientId != null) {
+            Client client = clientRepository.findById(clientId)
+                    .filter(c -> c.getUser().getId().equals(userId))
+                    .orElseThrow(() -> new ResourceNotFoundException("Client", clientId));
+            assets = assetRepository.findByClientIdOrderByPurchaseDateTimeDesc(clientId);
+            currency = client.getCurrency() != null && !client.getCurrency().isBlank()
+                    ? client.getCurrency().toUpperCase()
+                    : fxRateService.getBaseCurrency();
+        } else {
+            assets = assetRepository.findAllByUserIdWithClient(userId);
+            currency = fxRateService.getBaseCurrency();
+        }
+
+        PriceSnapshot snapshot = valuationService.snapshot(assets);
+        int sign = direction == MoverDirection.GAINERS ? 1 : -1;
+
+        // One extra slot tells whether there is a next page
+        TopK<Asset> heap = new TopK<>(k + 1);
+        for (Asset asset : assets) {
+            if (asset.isSold()) {
+                continue;
+            }
+            double score = sign * score(asset, snapshot);
+            long id = id(asset);
+            if (after == null || after.precedes(sign * after.score(), score, id)) {
+                heap.offer(score, id, asset);
+            }
+        }
+
+        List<Asset> ranked = heap.drain();
+        boolean hasMore = ranked.size() > k;
+        List<Asset> page = hasMore ? ranked.subList(0, k) : ranked;
+
+        FxRateMatrix fx = fxRateService.getMatrix();
+        List<MoverResponse> items = new ArrayList<>(page.size());
+        for (AssetValuation valuation : valuationService.value(page, snapshot).getAssets()) {
+            items.add(toResponse(valuation, fx, currency));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Asset last = page.get(page.size() - 1);
+            nextCursor = new Cursor(score(last, snapshot), id(last)).toString();
+        }
+
+        log.debug("Selected {} {} out of {} assets for userId: {}", items.size(), direction, assets.size(), userId);
+        return MoversResponse.builder()
+                .direction(direction)
+                .currency(currency)
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public RankedMovers selectMovers(List<Asset> assets, PriceSnapshot snapshot, int k) {
+        TopK<Asset> gainers = new TopK<>(k);
+        TopK<Asset> losers = new TopK<>(k);
+        for (Asset asset : assets) {
+            if (asset.isSold()) {
+                continue;
+            }
+            double score = score(asset, snapshot);
+            long id = id(asset);
+            gainers.offer(score, id, asset);
+            losers.offer(-score, id, asset);
+        }
+        return new RankedMovers(gainers.drain(), losers.drain());
+    }
+
+    private MoverResponse toResponse(AssetValuation valuation, FxRateMatrix fx, String currency) {
+        Asset asset = valuation.getAsset();
+        return MoverResponse.builder()
+                .assetId(asset.getId())
+                .clientId(asset.getClient() != null ? asset.getClient().getId() : null)
+                .name(asset.getName())
+                .symbol(asset.getSymbol())
+                .category(asset.getCategory())
+                .currentValue(fx.convert(valuation.getCurrentValue(), asset.getCurrency(), currency))
+                .returns(valuation.getProfitLossPercent())
+                .build();
+    }
+
+    private static double score(Asset asset, PriceSnapshot snapshot) {
+        BigDecimal buyingRate = asset.getBuyingRate();
+        if (buyingRate == null || buyingRate.signum() <= 0 || asset.getQuantity() == null
+                || asset.getQuantity().signum() <= 0) {
+            return 0;
+        }
+        return snapshot.priceOf(asset).doubleValue() / buyingRate.doubleValue() - 1;
+    }
+
+    private static long id(Asset asset) {
+        return asset.getId() != null ? asset.getId() : 0L;
+    }
+
+    private record Cursor(double score, long id) {
+
+        static Cursor parse(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            int separator = value.lastIndexOf(':');
+            try {
+                return new Cursor(Double.parseDouble(value.substring(0, separator)),
+                        Long.parseLong(value.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor: " + value);
+            }
+        }
+
+        // True if (score, id) ranks after the cursor position (score is already signed)
+        boolean precedes(double cursorScore, double score, long id) {
+            int cmp = Double.compare(score, cursorScore);
+            return cmp < 0 || (cmp == 0 && id > this.id);
+        }
+
+        @Override
+        public String toString() {
+            return score + ":" + id;
+        }
+    }
+}
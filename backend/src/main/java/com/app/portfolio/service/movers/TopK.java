@@ -0,0 +1,114 @@
+package com.app.portfolio.service.movers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps the {@code k} best items offered, ranked by score (highest first) then id (lowest first).
+ *
+ * Backed by a fixed-size min-heap whose root is the worst item kept, so each offer is
+ * O(log k) and nothing is allocated per offer. To keep the lowest scores instead, offer the
+ * negated score.
+ */
+public final class TopK<T> {
+
+    private final int k;
+    private final double[] scores;
+    private final long[] ids;
+    private final Object[] items;
+    private int size;
+
+    public TopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        this.k = k;
+        this.scores = new double[k];
+        this.ids = new long[k];
+        this.items = new Object[k];
+    }
+
+    public void offer(double score, long id, T item) {
+        if (k == 0) {
+            return;
+        }
+        if (size < k) {
+            set(size, score, id, item);
+            siftUp(size++);
+        } else if (worse(0, score, id)) {
+            set(0, score, id, item);
+            siftDown(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes and returns the kept items, best first
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> drain() {
+        List<T> result = new ArrayList<>(size);
+        while (size > 0) {
+            result.add((T) items[0]);
+            set(0, scores[size - 1], ids[size - 1], items[size - 1]);
+            items[--size] = null;
+            siftDown(0);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(i, scores[parent], ids[parent])) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int worst = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && worse(left, scores[worst], ids[worst])) {
+                worst = left;
+            }
+            if (right < size && worse(right, scores[worst], ids[worst])) {
+                worst = right;
+            }
+            if (worst == i) {
+                return;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    // True if the entry at i ranks below (score, id)
+    private boolean worse(int i, double score, long id) {
+        int cmp = Double.compare(scores[i], score);
+        return cmp < 0 || (cmp == 0 && ids[i] > id);
+    }
+
+    private void set(int i, double score, long id, Object item) {
+        scores[i] = score;
+        ids[i] = id;
+        items[i] = item;
+    }
+
+    private void swap(int a, int b) {
+        double score = scores[a];
+        long id = ids[a];
+        Object item = items[a];
+        set(a, scores[b], ids[b], items[b]);
+        set(b, score, id, item);
+    }
+}
@@ -48,9 +48,7 @@ public class NewsServiceImpl implements NewsService {
         Set<String> keywords = new HashSet<>();
         
         // Get all assets for the user
-        List<Asset> assets = assetRepository.findAll().stream()
-                .filter(asset -> asset.getClient().getUser().getId().equals(userId))
-                .collect(Collectors.toList());
+        List<Asset> assets = assetRepository.findAllByUserIdWithClient(userId);
 
         for (Asset asset : assets) {
             if (asset.getSymbol() != null && !asset.getSymbol().isEmpty()) {
@@ -0,0 +1,25 @@
+package com.app.portfolio.service.performance;
+
+import com.app.portfolio.dto.performance.AnnualPerformanceResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnnualPerformanceService {
+
+    /**
+     * Rolls up every client's current financial year as of {@code date}, and closes the
+     * previous year for clients whose row for it isn't closed yet. Returns the rows written.
+     */
+    int rollUp(LocalDate date);
+
+    /**
+     * A client's stored rollups, latest year first
+     */
+    List<AnnualPerformanceResponse> getAnnualPerformance(Long clientId, Long userId);
+
+    /**
+     * Deletes a client's rollups; part of deleting the client
+     */
+    void deleteClientPerformance(Long clientId);
+}
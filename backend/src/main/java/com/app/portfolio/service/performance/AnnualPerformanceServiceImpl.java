@@ -0,0 +1,263 @@
+package com.app.portfolio.service.performance;
+
+import com.app.portfolio.beans.AnnualPerformance;
+import com.app.portfolio.beans.PortfolioHolding;
+import com.app.portfolio.beans.PortfolioSummary;
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import com.app.portfolio.dto.performance.AnnualPerformanceResponse;
+import com.app.portfolio.exceptions.ResourceNotFoundException;
+import com.app.portfolio.repository.AnnualPerformanceRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.repository.PortfolioHoldingRepository;
+import com.app.portfolio.repository.PortfolioSummaryRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Rolls the nightly portfolio snapshots up into one {@link AnnualPerformance} row per client
+ * and financial year.
+ *
+ * The snapshots already hold each day's holdings valued at that day's prices, so a year only
+ * needs two of them per client: the opening one (the last before the year starts, or the
+ * first in it) and the latest one in it. Both are found with one query per chunk of clients,
+ * and their holdings are read in one more and folded in a single pass into each asset's P&L
+ * for the year. Rows of ended years are closed and never recomputed, so only the current year
+ * is rolled up every night.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnnualPerformanceServiceImpl implements AnnualPerformanceService {
+
+    private static final PeriodType PERIOD = PeriodType.DAILY;
+    private static final String EARLIEST_LABEL = LocalDate.EPOCH.toString();
+
+    private final AnnualPerformanceRepository performanceRepository;
+    private final PortfolioSummaryRepository summaryRepository;
+    private final PortfolioHoldingRepository holdingRepository;
+    private final ClientRepository clientRepository;
+    private final FxRateService fxRateService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${performance.financial-year.start-month:4}")
+    private int startMonth;
+
+    @Value("${performance.rollup.chunk-size:500}")
+    private int chunkSize;
+
+    // After the nightly portfolio snapshot
+    @Scheduled(cron = "${performance.rollup.cron:0 45 0 * * *}")
+    public void rollUpPerformance() {
+        rollUp(LocalDate.now());
+    }
+
+    @Override
+    public int rollUp(LocalDate date) {
+        long start = System.currentTimeMillis();
+        FinancialYear current = FinancialYear.containing(date, startMonth);
+        FxRateMatrix fx = fxRateService.getMatrix();
+        List<Long> clientIds = clientRepository.findAllIds();
+
+        int written = 0;
+        for (int from = 0; from < clientIds.size(); from += chunkSize) {
+            List<Long> chunk = clientIds.subList(from, Math.min(from + chunkSize, clientIds.size()));
+            Integer rows = transactionTemplate.execute(status -> rollUpChunk(chunk, current, fx));
+            written += rows != null ? rows : 0;
+        }
+        log.info("Rolled up {} annual performance rows for {} clients, financial year {}, in {} ms", written,
+                clientIds.size(), current.year(), System.currentTimeMillis() - start);
+        return written;
+    }
+
+    private int rollUpChunk(List<Long> clientIds, FinancialYear current, FxRateMatrix fx) {
+        FinancialYear previous = current.previous();
+        Map<Long, Map<Integer, AnnualPerformance>> stored = new HashMap<>();
+        for (AnnualPerformance row : performanceRepository.findByClientIdInAndFinancialYearIn(clientIds,
+                List.of(previous.year(), current.year()))) {
+            stored.computeIfAbsent(row.getClient().getId(), id -> new HashMap<>()).put(row.getFinancialYear(), row);
+        }
+
+        // The previous year is closed once, the first run after it ends
+        List<Long> unclosed = clientIds.stream()
+                .filter(id -> {
+                    AnnualPerformance row = stored.getOrDefault(id, Map.of()).get(previous.year());
+                    return row == null || !row.isClosed();
+                })
+                .toList();
+        Instant now = Instant.now();
+        List<AnnualPerformance> rows = new ArrayList<>();
+        if (!unclosed.isEmpty()) {
+            rows.addAll(rollUp(unclosed, previous, true, stored, fx, now));
+        }
+        rows.addAll(rollUp(clientIds, current, false, stored, fx, now));
+        performanceRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private List<AnnualPerformance> rollUp(List<Long> clientIds, FinancialYear year, boolean closed,
+                                           Map<Long, Map<Integer, AnnualPerformance>> stored, FxRateMatrix fx,
+                                           Instant now) {
+        Map<Long, PortfolioSummary> closing = byClient(summaryRepository.findLatestByClientIdIn(clientIds, PERIOD,
+                year.start().toString(), year.end().toString()));
+        if (closing.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PortfolioSummary> opening = byClient(summaryRepository.findLatestByClientIdIn(closing.keySet(),
+                PERIOD, EARLIEST_LABEL, year.start().minusDays(1).toString()));
+        List<Long> noOpening = closing.keySet().stream().filter(id -> !opening.containsKey(id)).toList();
+        if (!noOpening.isEmpty()) {
+            // Snapshots started during the year: it opens at the first one
+            opening.putAll(byClient(summaryRepository.findEarliestByClientIdIn(noOpening, PERIOD,
+                    year.start().toString(), year.end().toString())));
+        }
+
+        Map<Long, Map<String, BigDecimal>> assetProfitLoss = assetProfitLoss(closing, opening, fx);
+        List<AnnualPerformance> rows = new ArrayList<>(closing.size());
+        closing.forEach((clientId, close) -> {
+            AnnualPerformance row = stored.computeIfAbsent(clientId, id -> new HashMap<>())
+                    .computeIfAbsent(year.year(), y -> AnnualPerformance.builder()
+                            .client(close.getClient())
+                            .financialYear(y)
+                            .build());
+            fill(row, opening.get(clientId), close, assetProfitLoss.getOrDefault(clientId, Map.of()), fx);
+            row.setClosed(closed);
+            row.setUpdatedAt(now);
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    /**
+     * Each asset's P&L over the year in the client's closing currency, by ticker: its P&L at the
+     * closing snapshot less its P&L at the opening one, read in one pass over both snapshots' holdings
+     */
+    private Map<Long, Map<String, BigDecimal>> assetProfitLoss(Map<Long, PortfolioSummary> closing,
+                                                               Map<Long, PortfolioSummary> opening, FxRateMatrix fx) {
+        Map<Long, Long> closingUploads = uploadIds(closing);
+        Map<Long, Long> openingUploads = uploadIds(opening);
+        Set<Long> uploadIds = new HashSet<>(closingUploads.values());
+        uploadIds.addAll(openingUploads.values());
+
+        Map<Long, Map<String, BigDecimal>> profitLoss = new HashMap<>();
+        for (PortfolioHolding holding : holdingRepository.findByUploadIdIn(uploadIds)) {
+            if (holding.getProfitLoss() == null) {
+                continue;
+            }
+            Long clientId = holding.getClient().getId();
+            Long uploadId = holding.getPortfolioUpload().getId();
+            BigDecimal amount = fx.convert(holding.getProfitLoss(), holding.getCurrency(),
+                    closing.get(clientId).getCurrency());
+            Map<String, BigDecimal> byTicker = profitLoss.computeIfAbsent(clientId, id -> new HashMap<>());
+            // A year with a single snapshot opens and closes on it, so every asset nets to zero
+            if (uploadId.equals(closingUploads.get(clientId))) {
+                byTicker.merge(holding.getTicker(), amount, BigDecimal::add);
+            }
+            if (uploadId.equals(openingUploads.get(clientId))) {
+                byTicker.merge(holding.getTicker(), amount.negate(), BigDecimal::add);
+            }
+        }
+        return profitLoss;
+    }
+
+    /**
+     * Sets the year's values, in the closing snapshot's currency. P&L is the change in value not
+     * explained by money invested during the year.
+     */
+    private static void fill(AnnualPerformance row, PortfolioSummary open, PortfolioSummary close,
+                             Map<String, BigDecimal> assetProfitLoss, FxRateMatrix fx) {
+        String currency = close.getCurrency();
+        BigDecimal openingValue = money(fx.convert(open.getTotalCurrentValue(), open.getCurrency(), currency));
+        BigDecimal openingInvested = money(fx.convert(open.getTotalInvestedValue(), open.getCurrency(), currency));
+        BigDecimal investedDuringYear = close.getTotalInvestedValue().subtract(openingInvested);
+
+        row.setCurrency(currency);
+        row.setOpeningDate(LocalDate.parse(open.getPortfolioUpload().getPeriodLabel()));
+        row.setClosingDate(LocalDate.parse(close.getPortfolioUpload().getPeriodLabel()));
+        row.setOpeningValue(openingValue);
+        row.setClosingValue(close.getTotalCurrentValue());
+        row.setTotalInvestedDuringYear(investedDuringYear);
+        row.setTotalProfitLoss(close.getTotalCurrentValue().subtract(openingValue).subtract(investedDuringYear));
+        // Assets whose P&L didn't move are neither best nor worst
+        List<Map.Entry<String, BigDecimal>> moved = assetProfitLoss.entrySet().stream()
+                .filter(entry -> entry.getValue().signum() != 0)
+                .toList();
+        row.setBestPerformingAsset(moved.stream()
+                .max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(null));
+        row.setWorstPerformingAsset(moved.stream()
+                .min(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(null));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AnnualPerformanceResponse> getAnnualPerformance(Long clientId, Long userId) {
+        if (!clientRepository.existsByIdAndUserId(clientId, userId)) {
+            throw new ResourceNotFoundException("Client", clientId);
+        }
+        return performanceRepository.findByClientIdOrderByFinancialYearDesc(clientId).stream()
+                .map(row -> toResponse(clientId, row))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void deleteClientPerformance(Long clientId) {
+        performanceRepository.deleteAllByClientId(clientId);
+    }
+
+    private AnnualPerformanceResponse toResponse(Long clientId, AnnualPerformance row) {
+        FinancialYear year = FinancialYear.of(row.getFinancialYear(), startMonth);
+        return AnnualPerformanceResponse.builder()
+                .clientId(clientId)
+                .financialYear(row.getFinancialYear())
+                .startDate(year.start())
+                .endDate(year.end())
+                .currency(row.getCurrency())
+                .openingDate(row.getOpeningDate())
+                .openingValue(row.getOpeningValue())
+                .closingDate(row.getClosingDate())
+                .closingValue(row.getClosingValue())
+                .totalInvestedDuringYear(row.getTotalInvestedDuringYear())
+                .totalProfitLoss(row.getTotalProfitLoss())
+                .bestPerformingAsset(row.getBestPerformingAsset())
+                .worstPerformingAsset(row.getWorstPerformingAsset())
+                .closed(row.isClosed())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private static Map<Long, PortfolioSummary> byClient(Collection<PortfolioSummary> summaries) {
+        return summaries.stream().collect(Collectors.toMap(summary -> summary.getClient().getId(),
+                Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    private static Map<Long, Long> uploadIds(Map<Long, PortfolioSummary> summaries) {
+        Map<Long, Long> uploadIds = new HashMap<>();
+        summaries.forEach((clientId, summary) -> uploadIds.put(clientId, summary.getPortfolioUpload().getId()));
+        return uploadIds;
+    }
+
+    private static BigDecimal money(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,26 @@
+package com.app.portfolio.service.performance;
+
+import java.time.LocalDate;
+
+/**
+ * A financial year, numbered by the calendar year it starts in. With a start month of 4,
+ * year 2025 runs from 2025-04-01 to 2026-03-31.
+ */
+public record FinancialYear(int year, LocalDate start, LocalDate end) {
+
+    public static FinancialYear of(int year, int startMonth) {
+        LocalDate start = LocalDate.of(year, startMonth, 1);
+        return new FinancialYear(year, start, start.plusYears(1).minusDays(1));
+    }
+
+    /**
+     * The financial year {@code date} falls in
+     */
+    public static FinancialYear containing(LocalDate date, int startMonth) {
+        return of(date.getMonthValue() >= startMonth ? date.getYear() : date.getYear() - 1, startMonth);
+    }
+
+    public FinancialYear previous() {
+        return of(year - 1, start.getMonthValue());
+    }
+}
@@ -2,6 +2,7 @@ package com.app.portfolio.service.pricing;
 
 import com.app.portfolio.dto.pricing.*;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -15,6 +16,18 @@ public interface PricingService {
      */
     BigDecimal getCurrentPriceBySymbolAsBigDecimal(String symbol);
 
+    /**
+     * Latest stored price per upper-case symbol, loaded in one query.
+     * Symbols with no stored price are left out.
+     */
+    Map<String, BigDecimal> getLatestPrices(Collection<String> symbols);
+
+    /**
+     * Last stored price before today (system zone) per upper-case symbol.
+     * Cached for the rest of the day; symbols with no earlier price are left out.
+     */
+    Map<String, BigDecimal> getPreviousCloses(Collection<String> symbols);
+
     void fetchAndUpdatePrices();
     
     // New methods for external pricing service
@@ -22,8 +35,15 @@ public interface PricingService {
     
     ChartResponse getChartData(String symbol, String period, String interval);
     
+    /**
+     * Portfolio value from the latest stored prices
+     */
     PortfolioValueResponse getPortfolioValue(Map<String, Double> portfolio);
-    
+
+    /**
+     * Portfolio value over time from stored prices of any source, one point per interval,
+     * carrying each symbol's last price forward
+     */
     PortfolioChartResponse getPortfolioChart(Map<String, Double> portfolio, String period, String interval);
     
     /**
@@ -32,6 +52,14 @@ public interface PricingService {
      * Only fetches live price for today's date
      */
     PortfolioChartResponse getPortfolioChartFromDatabase(Map<String, Double> portfolio, String period, String interval);
+
+    /**
+     * Same as {@link #getPortfolioChartFromDatabase(Map, String, String)}, but converts each
+     * symbol's value from its currency into {@code targetCurrency} at the FX rate of the point's day.
+     * Symbols missing from {@code symbolCurrencies} are taken as already in the target currency.
+     */
+    PortfolioChartResponse getPortfolioChartFromDatabase(Map<String, Double> portfolio, Map<String, String> symbolCurrencies,
+                                                         String targetCurrency, String period, String interval);
     
     /**
      * Get client portfolio chart from database using only MANUAL source data
@@ -3,29 +3,32 @@ package com.app.portfolio.service.pricing;
 import com.app.portfolio.beans.Asset;
 import com.app.portfolio.beans.AssetPrice;
 import com.app.portfolio.dto.pricing.*;
+import com.app.portfolio.events.PricesUpdatedEvent;
 import com.app.portfolio.repository.AssetPriceRepository;
 import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.pricing.feed.FeedPeriods;
+import com.app.portfolio.service.pricing.feed.PriceFeed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -36,11 +39,9 @@ public class PricingServiceImpl implements PricingService {
 
     private final AssetRepository assetRepository;
     private final AssetPriceRepository assetPriceRepository;
-    private final RestTemplate restTemplate;
-    private final Random random = new Random();
-
-    @Value("${pricing.service.url:http://localhost:8000}")
-    private String pricingServiceUrl;
+    private final PriceFeed priceFeed;
+    private final FxRateService fxRateService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${pricing.service.enabled:true}")
     private boolean pricingServiceEnabled;
@@ -49,12 +50,8 @@ public class PricingServiceImpl implements PricingService {
     private final Map<String, CachedPrice> priceCache = new ConcurrentHashMap<>();
     private static final long PRICE_CACHE_TTL = 60000; // 60 seconds
 
-    // Service availability tracking
-    private final AtomicBoolean serviceAvailable = new AtomicBoolean(true);
-    private final AtomicLong lastHealthCheckTime = new AtomicLong(0);
-    private static final long HEALTH_CHECK_INTERVAL = 300000; // 5 minutes
-    private static final int MAX_CONSECUTIVE_FAILURES = 3;
-    private final AtomicLong consecutiveFailures = new AtomicLong(0);
+    // Previous closes don't change during the day; replaced when the date rolls over
+    private volatile PreviousCloses previousCloses = new PreviousCloses(LocalDate.MIN, new ConcurrentHashMap<>());
 
     @Value("${pricing.migration.enabled:true}")
     private boolean migrationEnabled;
@@ -121,9 +118,10 @@ public class PricingServiceImpl implements PricingService {
                 return;
             }
 
-            // Check service availability before attempting update
-            if (!isServiceAvailable()) {
-                log.debug("Pricing service is unavailable, skipping scheduled update. Using cached/fake prices.");
+            // Move replay/synthetic feeds forward one tick, then check availability
+            priceFeed.advance();
+            if (!priceFeed.isAvailable()) {
+                log.debug("Price feed is unavailable, skipping scheduled update. Using cached prices.");
                 return;
             }
 
@@ -147,17 +145,10 @@ public class PricingServiceImpl implements PricingService {
             }
 
             // Use bulk fetch for better performance
-            Map<String, Object> bulkResults = bulkFetchPrices(symbols);
-            Map<String, Object> pricesData = (Map<String, Object>) bulkResults.get("data");
-            
-            if (pricesData == null) {
-                pricesData = new HashMap<>();
-            }
-
-            // Track if we got any successful prices
-            boolean hasSuccessfulPrices = false;
+            Map<String, PriceResponse> pricesData = priceFeed.getPrices(symbols);
 
             // Update prices for each asset
+            Set<String> updatedSymbols = new HashSet<>();
             for (Asset asset : assets) {
                 try {
                     String symbol = asset.getSymbol();
@@ -165,26 +156,16 @@ public class PricingServiceImpl implements PricingService {
                         continue;
                     }
 
-                    Object priceData = pricesData.get(symbol.toUpperCase());
-                    BigDecimal price = null;
-
-                    if (priceData instanceof Map) {
-                        Map<String, Object> priceMap = (Map<String, Object>) priceData;
-                        if (priceMap.containsKey("price") && !priceMap.containsKey("error")) {
-                            Object priceObj = priceMap.get("price");
-                            if (priceObj instanceof Number) {
-                                price = BigDecimal.valueOf(((Number) priceObj).doubleValue());
-                                hasSuccessfulPrices = true;
-                            }
-                        }
-                    }
+                    PriceResponse priceData = pricesData.get(symbol.toUpperCase());
+                    BigDecimal price = priceData != null && priceData.getPrice() != null
+                            ? BigDecimal.valueOf(priceData.getPrice())
+                            : null;
 
                     // Fallback to individual fetch if bulk failed
                     if (price == null) {
                         PriceResponse externalPrice = getCurrentPriceBySymbol(symbol);
                         if (externalPrice != null && externalPrice.getPrice() != null) {
                             price = BigDecimal.valueOf(externalPrice.getPrice());
-                            hasSuccessfulPrices = true;
                         }
                     }
 
@@ -212,9 +193,10 @@ public class PricingServiceImpl implements PricingService {
                                     .symbol(symbol.toUpperCase()) // Store symbol for symbol-based queries
                                     .currentPrice(price)
                                     .priceDate(Instant.now())
-                                    .source(AssetPrice.PriceSource.YFINANCE)
+                                    .source(priceFeed.getSource())
                                     .build();
                             assetPriceRepository.save(assetPrice);
+                            updatedSymbols.add(symbol.toUpperCase());
                             log.debug("Updated price for {}: {}", symbol, price);
                         }
                     }
@@ -223,17 +205,13 @@ public class PricingServiceImpl implements PricingService {
                 }
             }
 
-            // Reset failure counter if we got successful prices
-            if (hasSuccessfulPrices) {
-                consecutiveFailures.set(0);
-                serviceAvailable.set(true);
+            if (!updatedSymbols.isEmpty()) {
+                eventPublisher.publishEvent(new PricesUpdatedEvent(updatedSymbols));
             }
-
             clearExpiredCache();
             log.debug("Price update completed");
         } catch (Exception e) {
             log.error("Error in scheduled price update: {}", e.getMessage(), e);
-            recordServiceFailure();
         }
     }
 
@@ -248,31 +226,13 @@ public class PricingServiceImpl implements PricingService {
                 return cached.value;
             }
 
-            // Check service availability
-            if (!isServiceAvailable()) {
-                log.debug("Pricing service unavailable, returning null for {}", symbol);
-                return null;
-            }
-
-            String url = pricingServiceUrl + "/api/price/" + symbol;
-            PriceResponse response = restTemplate.getForObject(url, PriceResponse.class);
+            PriceResponse response = priceFeed.getPrice(symbol);
 
             if (response != null) {
                 priceCache.put(cacheKey, new CachedPrice(response, System.currentTimeMillis()));
-                consecutiveFailures.set(0);
-                serviceAvailable.set(true);
             }
 
             return response;
-        } catch (ResourceAccessException e) {
-            // Connection refused, service unavailable
-            handleConnectionError("Error fetching price for " + symbol, e);
-            return null;
-        } catch (RestClientException e) {
-            // Other REST client errors
-            log.warn("REST client error fetching price for {}: {}", symbol, e.getMessage());
-            recordServiceFailure();
-            return null;
         } catch (Exception e) {
             log.error("Unexpected error fetching price for {}: {}", symbol, e.getMessage());
             return null;
@@ -281,101 +241,149 @@ public class PricingServiceImpl implements PricingService {
 
     @Override
     public ChartResponse getChartData(String symbol, String period, String interval) {
-        try {
-            if (!isServiceAvailable()) {
-                log.debug("Pricing service unavailable, returning null for chart data {}", symbol);
-                return null;
-            }
+        return priceFeed.getChart(symbol, period, interval);
+    }
 
-            String url = String.format("%s/api/chart/%s?period=%s&interval=%s",
-                    pricingServiceUrl, symbol, period, interval);
-            ChartResponse response = restTemplate.getForObject(url, ChartResponse.class);
-            
-            if (response != null) {
-                consecutiveFailures.set(0);
-                serviceAvailable.set(true);
-            }
-            
-            return response;
-        } catch (ResourceAccessException e) {
-            handleConnectionError("Error fetching chart data for " + symbol, e);
-            return null;
-        } catch (RestClientException e) {
-            log.warn("REST client error fetching chart data for {}: {}", symbol, e.getMessage());
-            recordServiceFailure();
-            return null;
-        } catch (Exception e) {
-            log.error("Unexpected error fetching chart data for {}: {}", symbol, e.getMessage());
-            return null;
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getLatestPrices(Collection<String> symbols) {
+        Set<String> keys = upperCase(symbols);
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
         }
+        Map<String, BigDecimal> prices = new HashMap<>();
+        for (AssetPrice price : assetPriceRepository.findLatestBySymbols(keys)) {
+            prices.putIfAbsent(price.getSymbol(), price.getCurrentPrice());
+        }
+        return prices;
     }
 
     @Override
-    public PortfolioValueResponse getPortfolioValue(Map<String, Double> portfolio) {
-        try {
-            if (!isServiceAvailable()) {
-                log.debug("Pricing service unavailable, returning null for portfolio value");
-                return null;
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getPreviousCloses(Collection<String> symbols) {
+        LocalDate today = LocalDate.now();
+        if (!previousCloses.day().equals(today)) {
+            // New day: yesterday's closes are stale
+            previousCloses = new PreviousCloses(today, new ConcurrentHashMap<>());
+        }
+        PreviousCloses closes = previousCloses;
+
+        Set<String> keys = upperCase(symbols);
+        List<String> missing = keys.stream().filter(s -> !closes.prices().containsKey(s)).toList();
+        if (!missing.isEmpty()) {
+            Instant todayStart = today.atStartOfDay(ZoneId.systemDefault()).toInstant();
+            Map<String, BigDecimal> loaded = new HashMap<>();
+            for (AssetPrice price : assetPriceRepository.findLatestBySymbolsBefore(missing, todayStart)) {
+                loaded.putIfAbsent(price.getSymbol(), price.getCurrentPrice());
             }
+            // ZERO marks symbols without an earlier price so they aren't queried again today
+            for (String symbol : missing) {
+                closes.prices().putIfAbsent(symbol, loaded.getOrDefault(symbol, BigDecimal.ZERO));
+            }
+        }
 
-            String url = pricingServiceUrl + "/api/portfolio/value";
-            PortfolioValueResponse response = restTemplate.postForObject(url, portfolio, PortfolioValueResponse.class);
-            
-            if (response != null) {
-                consecutiveFailures.set(0);
-                serviceAvailable.set(true);
+        Map<String, BigDecimal> result = new HashMap<>();
+        for (String symbol : keys) {
+            BigDecimal close = closes.prices().get(symbol);
+            if (close != null && close.signum() > 0) {
+                result.put(symbol, close);
             }
-            
-            return response;
-        } catch (ResourceAccessException e) {
-            handleConnectionError("Error fetching portfolio value", e);
-            return null;
-        } catch (RestClientException e) {
-            log.warn("REST client error fetching portfolio value: {}", e.getMessage());
-            recordServiceFailure();
-            return null;
-        } catch (Exception e) {
-            log.error("Unexpected error fetching portfolio value: {}", e.getMessage());
-            return null;
         }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PortfolioValueResponse getPortfolioValue(Map<String, Double> portfolio) {
+        Map<String, BigDecimal> prices = getLatestPrices(portfolio.keySet());
+        Map<String, PortfolioValueBreakdown> breakdown = new HashMap<>();
+        double total = 0;
+        for (Map.Entry<String, Double> entry : portfolio.entrySet()) {
+            String symbol = entry.getKey().toUpperCase();
+            BigDecimal price = prices.get(symbol);
+            if (price == null) {
+                breakdown.put(symbol, new PortfolioValueBreakdown(null, entry.getValue(), null, "No stored price"));
+                continue;
+            }
+            double value = price.doubleValue() * entry.getValue();
+            total += value;
+            breakdown.put(symbol, new PortfolioValueBreakdown(price.doubleValue(), entry.getValue(), value, null));
+        }
+        return new PortfolioValueResponse(total, breakdown, Instant.now().toString());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PortfolioChartResponse getPortfolioChart(Map<String, Double> portfolio,
                                                      String period, String interval) {
-        try {
-            if (!isServiceAvailable()) {
-                log.debug("Pricing service unavailable, returning null for portfolio chart");
-                return null;
+        Map<String, Double> quantities = new HashMap<>();
+        portfolio.forEach((symbol, quantity) -> {
+            if (symbol != null && !symbol.isEmpty() && quantity != null) {
+                quantities.merge(symbol.toUpperCase(), quantity, Double::sum);
+            }
+        });
+        if (quantities.isEmpty()) {
+            return new PortfolioChartResponse(portfolio, period, interval, Collections.emptyList());
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate today = LocalDate.now(zone);
+        LocalDate startDate = FeedPeriods.startDate(period, today);
+        Instant start = startDate.equals(LocalDate.MIN) ? Instant.EPOCH : startDate.atStartOfDay(zone).toInstant();
+        List<AssetPrice> history = assetPriceRepository.findBySymbolsAndDateRange(quantities.keySet(), start, Instant.now());
+
+        // Last price of each symbol in each interval; rows arrive in time order
+        TreeMap<Instant, Map<String, Double>> buckets = new TreeMap<>();
+        for (AssetPrice price : history) {
+            buckets.computeIfAbsent(bucketStart(price.getPriceDate(), interval, zone), b -> new HashMap<>())
+                    .put(price.getSymbol(), price.getCurrentPrice().doubleValue());
+        }
+
+        Map<String, Double> lastPrices = new HashMap<>();
+        List<PortfolioChartDataPoint> data = new ArrayList<>(buckets.size());
+        for (Map.Entry<Instant, Map<String, Double>> bucket : buckets.entrySet()) {
+            lastPrices.putAll(bucket.getValue());
+            double total = 0;
+            for (Map.Entry<String, Double> last : lastPrices.entrySet()) {
+                total += last.getValue() * quantities.get(last.getKey());
             }
+            data.add(new PortfolioChartDataPoint(bucket.getKey().toString(), total));
+        }
+        return new PortfolioChartResponse(portfolio, period, interval, data);
+    }
 
-            String url = String.format("%s/api/portfolio/chart?period=%s&interval=%s",
-                    pricingServiceUrl, period, interval);
-            PortfolioChartResponse response = restTemplate.postForObject(url, portfolio, PortfolioChartResponse.class);
-            
-            if (response != null) {
-                consecutiveFailures.set(0);
-                serviceAvailable.set(true);
+    private Instant bucketStart(Instant time, String interval, ZoneId zone) {
+        ZonedDateTime zoned = time.atZone(zone);
+        String unit = interval != null ? interval.toLowerCase() : "1d";
+        return switch (unit) {
+            case "1h", "60m" -> zoned.truncatedTo(ChronoUnit.HOURS).toInstant();
+            case "1wk", "1w" -> zoned.toLocalDate().with(DayOfWeek.MONDAY).atStartOfDay(zone).toInstant();
+            case "1mo" -> zoned.toLocalDate().withDayOfMonth(1).atStartOfDay(zone).toInstant();
+            default -> zoned.toLocalDate().atStartOfDay(zone).toInstant();
+        };
+    }
+
+    private static Set<String> upperCase(Collection<String> symbols) {
+        Set<String> keys = new HashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isEmpty()) {
+                keys.add(symbol.toUpperCase());
             }
-            
-            return response;
-        } catch (ResourceAccessException e) {
-            handleConnectionError("Error fetching portfolio chart", e);
-            return null;
-        } catch (RestClientException e) {
-            log.warn("REST client error fetching portfolio chart: {}", e.getMessage());
-            recordServiceFailure();
-            return null;
-        } catch (Exception e) {
-            log.error("Unexpected error fetching portfolio chart: {}", e.getMessage());
-            return null;
         }
+        return keys;
     }
 
     @Override
     @Transactional(readOnly = true)
     public PortfolioChartResponse getPortfolioChartFromDatabase(Map<String, Double> portfolio,
                                                                  String period, String interval) {
+        return getPortfolioChartFromDatabase(portfolio, Collections.emptyMap(), null, period, interval);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PortfolioChartResponse getPortfolioChartFromDatabase(Map<String, Double> portfolio, Map<String, String> symbolCurrencies,
+                                                                 String targetCurrency, String period, String interval) {
         try {
             log.debug("Fetching portfolio chart from database for period: {}, interval: {}", period, interval);
             
@@ -425,6 +433,11 @@ public class PricingServiceImpl implements PricingService {
             
             // Map to store aggregated portfolio values by date
             Map<LocalDate, Double> portfolioValuesByDate = new TreeMap<>();
+
+            // Daily FX matrices for the whole range, loaded once; each point converts at its own day's rate
+            NavigableMap<LocalDate, FxRateMatrix> fxMatrices = symbolCurrencies.isEmpty() || targetCurrency == null
+                    ? Collections.emptyNavigableMap()
+                    : fxRateService.getMatrices(startLocalDate, today);
             
             // Fetch historical prices for each symbol from database
             log.debug("Processing portfolio with {} symbols", portfolio.size());
@@ -455,31 +468,27 @@ public class PricingServiceImpl implements PricingService {
                         continue;
                     }
                     
-                    double value = price.getCurrentPrice().doubleValue() * quantity;
+                    double value = price.getCurrentPrice().doubleValue() * quantity
+                            * fxRate(fxMatrices, priceDate, symbolCurrencies.get(symbol), targetCurrency);
                     portfolioValuesByDate.merge(priceDate, value, Double::sum);
                 }
             }
             
-            // Fetch live prices for today only
+            // Today's point uses the latest stored prices, kept fresh by the scheduled refresh
             Map<String, Double> todayPrices = new HashMap<>();
+            Map<String, BigDecimal> latestPrices = getLatestPrices(portfolio.keySet());
             for (String symbol : portfolio.keySet()) {
-                try {
-                    PriceResponse priceResponse = getCurrentPriceBySymbol(symbol);
-                    if (priceResponse != null && priceResponse.getPrice() != null) {
-                        BigDecimal livePrice = BigDecimal.valueOf(priceResponse.getPrice());
-                        if (livePrice.compareTo(BigDecimal.ZERO) > 0) {
-                            todayPrices.put(symbol, livePrice.doubleValue());
-                        }
-                    }
-                } catch (Exception e) {
-                    log.debug("Could not fetch live price for {}: {}", symbol, e.getMessage());
+                BigDecimal latestPrice = latestPrices.get(symbol.toUpperCase());
+                if (latestPrice != null && latestPrice.compareTo(BigDecimal.ZERO) > 0) {
+                    todayPrices.put(symbol, latestPrice.doubleValue());
                 }
             }
             
             // Add today's aggregated value
             if (!todayPrices.isEmpty()) {
                 double todayValue = todayPrices.entrySet().stream()
-                        .mapToDouble(e -> e.getValue() * portfolio.get(e.getKey()))
+                        .mapToDouble(e -> e.getValue() * portfolio.get(e.getKey())
+                                * fxRate(fxMatrices, today, symbolCurrencies.get(e.getKey().toUpperCase()), targetCurrency))
                         .sum();
                 portfolioValuesByDate.put(today, todayValue);
             }
@@ -553,6 +562,18 @@ public class PricingServiceImpl implements PricingService {
         }
     }
 
+    private double fxRate(NavigableMap<LocalDate, FxRateMatrix> fxMatrices, LocalDate date,
+                          String currency, String targetCurrency) {
+        if (currency == null || fxMatrices.isEmpty()) {
+            return 1.0;
+        }
+        Map.Entry<LocalDate, FxRateMatrix> matrix = fxMatrices.floorEntry(date);
+        if (matrix == null) {
+            matrix = fxMatrices.firstEntry();
+        }
+        return matrix.getValue().rate(currency, targetCurrency).doubleValue();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PortfolioChartResponse getClientPortfolioChartFromDatabase(Map<String, Double> portfolio, String period) {
@@ -748,59 +769,32 @@ public class PricingServiceImpl implements PricingService {
 
     @Override
     public Map<String, Object> getMultiplePrices(List<String> symbols) {
-        try {
-            if (!isServiceAvailable()) {
-                log.debug("Pricing service unavailable, returning empty map for multiple prices");
-                return new HashMap<>();
-            }
-
-            String url = pricingServiceUrl + "/api/prices";
-            Map<String, Object> response = restTemplate.postForObject(url, symbols, Map.class);
-            
-            if (response != null && !response.isEmpty()) {
-                consecutiveFailures.set(0);
-                serviceAvailable.set(true);
-            }
-            
-            return response != null ? response : new HashMap<>();
-        } catch (ResourceAccessException e) {
-            handleConnectionError("Error fetching multiple prices", e);
-            return new HashMap<>();
-        } catch (RestClientException e) {
-            log.warn("REST client error fetching multiple prices: {}", e.getMessage());
-            recordServiceFailure();
-            return new HashMap<>();
-        } catch (Exception e) {
-            log.error("Unexpected error fetching multiple prices: {}", e.getMessage());
-            return new HashMap<>();
-        }
+        return bulkFetchPrices(symbols);
     }
 
     @Override
     public Map<String, Object> bulkFetchPrices(List<String> symbols) {
         try {
-            if (!isServiceAvailable()) {
-                log.debug("Pricing service unavailable, returning empty map for bulk prices");
-                return new HashMap<>();
+            log.debug("Bulk fetching prices for {} symbols from {} feed", symbols.size(), priceFeed.getSource());
+            Map<String, PriceResponse> prices = priceFeed.getPrices(symbols);
+
+            Map<String, Object> data = new HashMap<>();
+            for (String symbol : symbols) {
+                String key = symbol.toUpperCase();
+                PriceResponse price = prices.get(key);
+                if (price != null && price.getPrice() != null) {
+                    Map<String, Object> entry = new HashMap<>();
+                    entry.put("price", price.getPrice());
+                    entry.put("timestamp", price.getTimestamp());
+                    data.put(key, entry);
+                } else {
+                    data.put(key, Map.of("error", "Failed to fetch"));
+                }
             }
 
-            String url = pricingServiceUrl + "/api/prices/bulk";
-            log.debug("Bulk fetching prices for {} symbols", symbols.size());
-            Map<String, Object> response = restTemplate.postForObject(url, symbols, Map.class);
-            
-            if (response != null && !response.isEmpty()) {
-                consecutiveFailures.set(0);
-                serviceAvailable.set(true);
-            }
-            
-            return response != null ? response : new HashMap<>();
-        } catch (ResourceAccessException e) {
-            handleConnectionError("Error bulk fetching prices", e);
-            return new HashMap<>();
-        } catch (RestClientException e) {
-            log.warn("REST client error bulk fetching prices: {}", e.getMessage());
-            recordServiceFailure();
-            return new HashMap<>();
+            Map<String, Object> response = new HashMap<>();
+            response.put("data", data);
+            return response;
         } catch (Exception e) {
             log.error("Unexpected error bulk fetching prices: {}", e.getMessage());
             return new HashMap<>();
@@ -812,95 +806,6 @@ public class PricingServiceImpl implements PricingService {
         priceCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
     }
 
-    /**
-     * Check if pricing service is available
-     * Performs health check if enough time has passed since last check
-     */
-    private boolean isServiceAvailable() {
-        long currentTime = System.currentTimeMillis();
-        long lastCheck = lastHealthCheckTime.get();
-        
-        // If service is marked as unavailable and enough time hasn't passed, skip check
-        if (!serviceAvailable.get() && (currentTime - lastCheck) < HEALTH_CHECK_INTERVAL) {
-            return false;
-        }
-        
-        // Perform health check if enough time has passed
-        if ((currentTime - lastCheck) >= HEALTH_CHECK_INTERVAL) {
-            boolean available = checkServiceHealth();
-            lastHealthCheckTime.set(currentTime);
-            serviceAvailable.set(available);
-            return available;
-        }
-        
-        return serviceAvailable.get();
-    }
-
-    /**
-     * Perform a health check on the pricing service
-     */
-    private boolean checkServiceHealth() {
-        try {
-            // Try the health endpoint first
-            String healthUrl = pricingServiceUrl + "/api/health";
-            restTemplate.getForObject(healthUrl, Map.class);
-            log.debug("Pricing service health check passed");
-            consecutiveFailures.set(0);
-            return true;
-        } catch (ResourceAccessException e) {
-            log.debug("Pricing service health check failed (connection error): {}", e.getMessage());
-            return false;
-        } catch (Exception e) {
-            // If /api/health endpoint doesn't exist or returns error, try a simple price endpoint
-            try {
-                String testUrl = pricingServiceUrl + "/api/price/AAPL";
-                restTemplate.getForObject(testUrl, Map.class);
-                log.debug("Pricing service health check passed (via test endpoint)");
-                consecutiveFailures.set(0);
-                return true;
-            } catch (ResourceAccessException ex) {
-                log.debug("Pricing service health check failed (connection error): {}", ex.getMessage());
-                return false;
-            } catch (Exception ex) {
-                log.debug("Pricing service health check failed: {}", ex.getMessage());
-                return false;
-            }
-        }
-    }
-
-    /**
-     * Handle connection errors (service unavailable)
-     */
-    private void handleConnectionError(String context, ResourceAccessException e) {
-        String errorMsg = e.getMessage();
-        boolean isConnectionRefused = errorMsg != null && 
-            (errorMsg.contains("Connection refused") || 
-             errorMsg.contains("connect") ||
-             errorMsg.contains("I/O error"));
-        
-        if (isConnectionRefused) {
-            // Use WARN level for connection refused (service unavailable) - less noisy than ERROR
-            log.warn("{} - Pricing service unavailable (connection refused). Service may be down. {}", 
-                    context, pricingServiceUrl);
-            recordServiceFailure();
-        } else {
-            log.error("{} - Connection error: {}", context, e.getMessage());
-            recordServiceFailure();
-        }
-    }
-
-    /**
-     * Record a service failure and update availability status
-     */
-    private void recordServiceFailure() {
-        long failures = consecutiveFailures.incrementAndGet();
-        if (failures >= MAX_CONSECUTIVE_FAILURES) {
-            serviceAvailable.set(false);
-            log.warn("Pricing service marked as unavailable after {} consecutive failures. " +
-                    "Will retry health check in {} minutes.", failures, HEALTH_CHECK_INTERVAL / 60000);
-        }
-    }
-
     /**
      * Migration method: Populate symbol column in existing asset_prices records
      * This should be called once after adding the symbol column to preserve existing price data
@@ -958,6 +863,10 @@ public class PricingServiceImpl implements PricingService {
         }
     }
 
+    // Previous closes loaded for one trading day, replaced when the day changes
+    private record PreviousCloses(LocalDate day, Map<String, BigDecimal> prices) {
+    }
+
     /**
      * Inner class for caching prices with TTL
      */
@@ -0,0 +1,30 @@
+package com.app.portfolio.service.pricing.feed;
+
+import java.time.LocalDate;
+
+/**
+ * Period strings accepted by the chart endpoints ("1d", "1mo", "6mo", ...) for feeds
+ * that build their charts locally.
+ */
+public final class FeedPeriods {
+
+    private FeedPeriods() {
+    }
+
+    public static LocalDate startDate(String period, LocalDate end) {
+        if (period == null) {
+            return end.minusMonths(6);
+        }
+        return switch (period.toLowerCase()) {
+            case "1d" -> end.minusDays(1);
+            case "5d", "1w" -> end.minusWeeks(1);
+            case "1mo", "1m" -> end.minusMonths(1);
+            case "3mo" -> end.minusMonths(3);
+            case "1y" -> end.minusYears(1);
+            case "2y" -> end.minusYears(2);
+            case "5y" -> end.minusYears(5);
+            case "max" -> LocalDate.MIN;
+            default -> end.minusMonths(6); // Default to 6 months
+        };
+    }
+}
@@ -0,0 +1,309 @@
+package com.app.portfolio.service.pricing.feed;
+
+import com.app.portfolio.beans.AssetPrice;
+import com.app.portfolio.dto.pricing.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Price feed backed by the Python pricing service (Stooq / yfinance).
+ * This is the default provider.
+ */
+@Component
+@ConditionalOnProperty(name = "pricing.feed.provider", havingValue = "http", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class HttpPriceFeed implements PriceFeed {
+
+    private final RestTemplate restTemplate;
+
+    @Value("${pricing.service.url:http://localhost:8000}")
+    private String pricingServiceUrl;
+
+    // Service availability tracking
+    private final AtomicBoolean serviceAvailable = new AtomicBoolean(true);
+    private final AtomicLong lastHealthCheckTime = new AtomicLong(0);
+    private static final long HEALTH_CHECK_INTERVAL = 300000; // 5 minutes
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+    private final AtomicLong consecutiveFailures = new AtomicLong(0);
+
+    @Override
+    public AssetPrice.PriceSource getSource() {
+        return AssetPrice.PriceSource.YFINANCE;
+    }
+
+    @Override
+    public PriceResponse getPrice(String symbol) {
+        try {
+            if (!isAvailable()) {
+                log.debug("Pricing service unavailable, returning null for {}", symbol);
+                return null;
+            }
+
+            String url = pricingServiceUrl + "/api/price/" + symbol;
+            PriceResponse response = restTemplate.getForObject(url, PriceResponse.class);
+
+            if (response != null) {
+                recordServiceSuccess();
+            }
+
+            return response;
+        } catch (ResourceAccessException e) {
+            // Connection refused, service unavailable
+            handleConnectionError("Error fetching price for " + symbol, e);
+            return null;
+        } catch (RestClientException e) {
+            // Other REST client errors
+            log.warn("REST client error fetching price for {}: {}", symbol, e.getMessage());
+            recordServiceFailure();
+            return null;
+        } catch (Exception e) {
+            log.error("Unexpected error fetching price for {}: {}", symbol, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, PriceResponse> getPrices(List<String> symbols) {
+        Map<String, PriceResponse> prices = new HashMap<>();
+        try {
+            if (!isAvailable()) {
+                log.debug("Pricing service unavailable, returning empty map for bulk prices");
+                return prices;
+            }
+
+            String url = pricingServiceUrl + "/api/prices/bulk";
+            log.debug("Bulk fetching prices for {} symbols", symbols.size());
+            Map<String, Object> response = restTemplate.postForObject(url, symbols, Map.class);
+            Object data = response != null ? response.get("data") : null;
+            if (!(data instanceof Map)) {
+                return prices;
+            }
+
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) data).entrySet()) {
+                if (!(entry.getValue() instanceof Map)) {
+                    continue;
+                }
+                Map<String, Object> priceMap = (Map<String, Object>) entry.getValue();
+                if (priceMap.containsKey("error") || !(priceMap.get("price") instanceof Number)) {
+                    continue;
+                }
+                String symbol = entry.getKey().toUpperCase();
+                Object timestamp = priceMap.get("timestamp");
+                prices.put(symbol, new PriceResponse(symbol, ((Number) priceMap.get("price")).doubleValue(),
+                        timestamp != null ? timestamp.toString() : null, null));
+            }
+
+            if (!prices.isEmpty()) {
+                recordServiceSuccess();
+            }
+            return prices;
+        } catch (ResourceAccessException e) {
+            handleConnectionError("Error bulk fetching prices", e);
+            return prices;
+        } catch (RestClientException e) {
+            log.warn("REST client error bulk fetching prices: {}", e.getMessage());
+            recordServiceFailure();
+            return prices;
+        } catch (Exception e) {
+            log.error("Unexpected error bulk fetching prices: {}", e.getMessage());
+            return prices;
+        }
+    }
+
+    @Override
+    public ChartResponse getChart(String symbol, String period, String interval) {
+        try {
+            if (!isAvailable()) {
+                log.debug("Pricing service unavailable, returning null for chart data {}", symbol);
+                return null;
+            }
+
+            String url = String.format("%s/api/chart/%s?period=%s&interval=%s",
+                    pricingServiceUrl, symbol, period, interval);
+            ChartResponse response = restTemplate.getForObject(url, ChartResponse.class);
+
+            if (response != null) {
+                recordServiceSuccess();
+            }
+
+            return response;
+        } catch (ResourceAccessException e) {
+            handleConnectionError("Error fetching chart data for " + symbol, e);
+            return null;
+        } catch (RestClientException e) {
+            log.warn("REST client error fetching chart data for {}: {}", symbol, e.getMessage());
+            recordServiceFailure();
+            return null;
+        } catch (Exception e) {
+            log.error("Unexpected error fetching chart data for {}: {}", symbol, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public PortfolioValueResponse getPortfolioValue(Map<String, Double> portfolio) {
+        try {
+            if (!isAvailable()) {
+                log.debug("Pricing service unavailable, returning null for portfolio value");
+                return null;
+            }
+
+            String url = pricingServiceUrl + "/api/portfolio/value";
+            PortfolioValueResponse response = restTemplate.postForObject(url, portfolio, PortfolioValueResponse.class);
+
+            if (response != null) {
+                recordServiceSuccess();
+            }
+
+            return response;
+        } catch (ResourceAccessException e) {
+            handleConnectionError("Error fetching portfolio value", e);
+            return null;
+        } catch (RestClientException e) {
+            log.warn("REST client error fetching portfolio value: {}", e.getMessage());
+            recordServiceFailure();
+            return null;
+        } catch (Exception e) {
+            log.error("Unexpected error fetching portfolio value: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public PortfolioChartResponse getPortfolioChart(Map<String, Double> portfolio, String period, String interval) {
+        try {
+            if (!isAvailable()) {
+                log.debug("Pricing service unavailable, returning null for portfolio chart");
+                return null;
+            }
+
+            String url = String.format("%s/api/portfolio/chart?period=%s&interval=%s",
+                    pricingServiceUrl, period, interval);
+            PortfolioChartResponse response = restTemplate.postForObject(url, portfolio, PortfolioChartResponse.class);
+
+            if (response != null) {
+                recordServiceSuccess();
+            }
+
+            return response;
+        } catch (ResourceAccessException e) {
+            handleConnectionError("Error fetching portfolio chart", e);
+            return null;
+        } catch (RestClientException e) {
+            log.warn("REST client error fetching portfolio chart: {}", e.getMessage());
+            recordServiceFailure();
+            return null;
+        } catch (Exception e) {
+            log.error("Unexpected error fetching portfolio chart: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Check if pricing service is available
+     * Performs health check if enough time has passed since last check
+     */
+    @Override
+    public boolean isAvailable() {
+        long currentTime = System.currentTimeMillis();
+        long lastCheck = lastHealthCheckTime.get();
+
+        // If service is marked as unavailable and enough time hasn't passed, skip check
+        if (!serviceAvailable.get() && (currentTime - lastCheck) < HEALTH_CHECK_INTERVAL) {
+            return false;
+        }
+
+        // Perform health check if enough time has passed
+        if ((currentTime - lastCheck) >= HEALTH_CHECK_INTERVAL) {
+            boolean available = checkServiceHealth();
+            lastHealthCheckTime.set(currentTime);
+            serviceAvailable.set(available);
+            return available;
+        }
+
+        return serviceAvailable.get();
+    }
+
+    /**
+     * Perform a health check on the pricing service
+     */
+    private boolean checkServiceHealth() {
+        try {
+            // Try the health endpoint first
+            String healthUrl = pricingServiceUrl + "/api/health";
+            restTemplate.getForObject(healthUrl, Map.class);
+            log.debug("Pricing service health check passed");
+            consecutiveFailures.set(0);
+            return true;
+        } catch (ResourceAccessException e) {
+            log.debug("Pricing service health check failed (connection error): {}", e.getMessage());
+            return false;
+        } catch (Exception e) {
+            // If /api/health endpoint doesn't exist or returns error, try a simple price endpoint
+            try {
+                String testUrl = pricingServiceUrl + "/api/price/AAPL";
+                restTemplate.getForObject(testUrl, Map.class);
+                log.debug("Pricing service health check passed (via test endpoint)");
+                consecutiveFailures.set(0);
+                return true;
+            } catch (ResourceAccessException ex) {
+                log.debug("Pricing service health check failed (connection error): {}", ex.getMessage());
+                return false;
+            } catch (Exception ex) {
+                log.debug("Pricing service health check failed: {}", ex.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private void recordServiceSuccess() {
+        consecutiveFailures.set(0);
+        serviceAvailable.set(true);
+    }
+
+    /**
+     * Handle connection errors (service unavailable)
+     */
+    private void handleConnectionError(String context, ResourceAccessException e) {
+        String errorMsg = e.getMessage();
+        boolean isConnectionRefused = errorMsg != null &&
+            (errorMsg.contains("Connection refused") ||
+             errorMsg.contains("connect") ||
+             errorMsg.contains("I/O error"));
+
+        if (isConnectionRefused) {
+            // Use WARN level for connection refused (service unavailable) - less noisy than ERROR
+            log.warn("{} - Pricing service unavailable (connection refused). Service may be down. {}",
+                    context, pricingServiceUrl);
+        } else {
+            log.error("{} - Connection error: {}", context, e.getMessage());
+        }
+        recordServiceFailure();
+    }
+
+    /**
+     * Record a service failure and update availability status
+     */
+    private void recordServiceFailure() {
+        long failures = consecutiveFailures.incrementAndGet();
+        if (failures >= MAX_CONSECUTIVE_FAILURES) {
+            serviceAvailable.set(false);
+            log.warn("Pricing service marked as unavailable after {} consecutive failures. " +
+                    "Will retry health check in {} minutes.", failures, HEALTH_CHECK_INTERVAL / 60000);
+        }
+    }
+}
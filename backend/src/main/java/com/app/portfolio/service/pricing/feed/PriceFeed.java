@@ -0,0 +1,103 @@
+package com.app.portfolio.service.pricing.feed;
+
+import com.app.portfolio.beans.AssetPrice;
+import com.app.portfolio.dto.pricing.*;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Source of market prices used by {@link com.app.portfolio.service.pricing.PricingServiceImpl}.
+ *
+ * Exactly one provider is active per application context, selected with
+ * {@code pricing.feed.provider} (http, replay or synthetic). The replay and synthetic
+ * providers let the backend run and be benchmarked without the Python pricing service.
+ */
+public interface PriceFeed {
+
+    /**
+     * Source recorded on asset_prices rows written from this feed
+     */
+    AssetPrice.PriceSource getSource();
+
+    boolean isAvailable();
+
+    /**
+     * Latest price for a symbol, or null if the feed cannot price it
+     */
+    PriceResponse getPrice(String symbol);
+
+    /**
+     * Latest prices keyed by upper-case symbol. Symbols the feed cannot price are left out.
+     */
+    Map<String, PriceResponse> getPrices(List<String> symbols);
+
+    ChartResponse getChart(String symbol, String period, String interval);
+
+    /**
+     * Move the feed forward by one tick. Called by the scheduled price refresh before
+     * prices are read; feeds backed by a live market ignore it.
+     */
+    default void advance() {
+    }
+
+    default PortfolioValueResponse getPortfolioValue(Map<String, Double> portfolio) {
+        Map<String, PriceResponse> prices = getPrices(new ArrayList<>(portfolio.keySet()));
+        Map<String, PortfolioValueBreakdown> breakdown = new HashMap<>();
+        double total = 0;
+        for (Map.Entry<String, Double> entry : portfolio.entrySet()) {
+            String symbol = entry.getKey().toUpperCase();
+            PriceResponse price = prices.get(symbol);
+            if (price == null || price.getPrice() == null) {
+                breakdown.put(symbol, new PortfolioValueBreakdown(null, entry.getValue(), null, "Failed to fetch"));
+                continue;
+            }
+            double value = price.getPrice() * entry.getValue();
+            total += value;
+            breakdown.put(symbol, new PortfolioValueBreakdown(price.getPrice(), entry.getValue(), value, null));
+        }
+        return new PortfolioValueResponse(total, breakdown, Instant.now().toString());
+    }
+
+    /**
+     * Combined portfolio value over time: each symbol's close multiplied by its quantity and
+     * summed per timestamp, carrying the last close forward where a symbol has no bar.
+     */
+    default PortfolioChartResponse getPortfolioChart(Map<String, Double> portfolio, String period, String interval) {
+        Map<String, Map<String, Double>> closesBySymbol = new HashMap<>();
+        TreeSet<String> times = new TreeSet<>();
+        for (String symbol : portfolio.keySet()) {
+            ChartResponse chart = getChart(symbol, period, interval);
+            if (chart == null || chart.getData() == null) {
+                continue;
+            }
+            Map<String, Double> closes = new HashMap<>();
+            for (ChartDataPoint point : chart.getData()) {
+                if (point.getClose() != null) {
+                    closes.put(point.getTime(), point.getClose());
+                    times.add(point.getTime());
+                }
+            }
+            closesBySymbol.put(symbol, closes);
+        }
+
+        Map<String, Double> lastClose = new HashMap<>();
+        List<PortfolioChartDataPoint> data = new ArrayList<>();
+        for (String time : times) {
+            double total = 0;
+            for (Map.Entry<String, Map<String, Double>> entry : closesBySymbol.entrySet()) {
+                Double close = entry.getValue().get(time);
+                if (close != null) {
+                    lastClose.put(entry.getKey(), close);
+                } else {
+                    close = lastClose.get(entry.getKey());
+                }
+                if (close != null) {
+                    total += close * portfolio.get(entry.getKey());
+                }
+            }
+            data.add(new PortfolioChartDataPoint(time, total));
+        }
+        return new PortfolioChartResponse(portfolio, period, interval, data);
+    }
+}
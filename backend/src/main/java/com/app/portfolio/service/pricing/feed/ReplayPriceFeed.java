@@ -0,0 +1,140 @@
+package com.app.portfolio.service.pricing.feed;
+
+import com.app.portfolio.beans.AssetPrice;
+import com.app.portfolio.dto.pricing.ChartDataPoint;
+import com.app.portfolio.dto.pricing.ChartResponse;
+import com.app.portfolio.dto.pricing.PriceResponse;
+import com.app.portfolio.service.importer.CsvReader;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays historical closes from a CSV extract (symbol,date,adjusted_close_price), such as
+ * extract-data-2026-02-04.csv. The replay clock starts on the first date in the file and
+ * moves forward one trading date per {@link #advance()}, so a run is fully deterministic.
+ */
+@Component
+@ConditionalOnProperty(name = "pricing.feed.provider", havingValue = "replay")
+@Slf4j
+public class ReplayPriceFeed implements PriceFeed {
+
+    private final Resource file;
+    private final boolean loop;
+
+    private final Map<String, NavigableMap<LocalDate, Double>> closesBySymbol = new HashMap<>();
+    private List<LocalDate> replayDates = List.of();
+    private final AtomicInteger cursor = new AtomicInteger(0);
+
+    public ReplayPriceFeed(@Value("${pricing.feed.replay.file:file:../extract-data-2026-02-04.csv}") Resource file,
+                           @Value("${pricing.feed.replay.loop:true}") boolean loop) {
+        this.file = file;
+        this.loop = loop;
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        int rows = 0;
+        try (CsvReader csv = new CsvReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            csv.readHeader();
+            while (csv.next()) {
+                String symbol = csv.get(0);
+                if (csv.size() < 3 || symbol == null) {
+                    continue;
+                }
+                try {
+                    LocalDate date = csv.getDate(1);
+                    double close = csv.getBigDecimal(2).doubleValue();
+                    closesBySymbol.computeIfAbsent(symbol.toUpperCase(), s -> new TreeMap<>()).put(date, close);
+                    dates.add(date);
+                    rows++;
+                } catch (RuntimeException e) {
+                    log.debug("Skipping replay row at line {}: {}", csv.getLineNumber(), e.getMessage());
+                }
+            }
+        }
+        replayDates = new ArrayList<>(dates);
+        log.info("Replay price feed loaded {} rows for {} symbols across {} dates from {}",
+                rows, closesBySymbol.size(), replayDates.size(), file.getDescription());
+    }
+
+    @Override
+    public AssetPrice.PriceSource getSource() {
+        return AssetPrice.PriceSource.FAKE;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return !replayDates.isEmpty();
+    }
+
+    @Override
+    public void advance() {
+        int size = replayDates.size();
+        if (size == 0) {
+            return;
+        }
+        cursor.updateAndGet(i -> i + 1 < size ? i + 1 : (loop ? 0 : i));
+    }
+
+    /**
+     * Date the replay clock currently points at
+     */
+    public LocalDate getReplayDate() {
+        return replayDates.isEmpty() ? null : replayDates.get(cursor.get());
+    }
+
+    @Override
+    public PriceResponse getPrice(String symbol) {
+        LocalDate replayDate = getReplayDate();
+        NavigableMap<LocalDate, Double> closes = symbol != null ? closesBySymbol.get(symbol.toUpperCase()) : null;
+        if (replayDate == null || closes == null) {
+            return null;
+        }
+        Map.Entry<LocalDate, Double> bar = closes.floorEntry(replayDate);
+        if (bar == null) {
+            return null;
+        }
+        return new PriceResponse(symbol.toUpperCase(), bar.getValue(),
+                bar.getKey().atStartOfDay(ZoneOffset.UTC).toInstant().toString(), null);
+    }
+
+    @Override
+    public Map<String, PriceResponse> getPrices(List<String> symbols) {
+        Map<String, PriceResponse> prices = new HashMap<>();
+        for (String symbol : symbols) {
+            PriceResponse price = getPrice(symbol);
+            if (price != null) {
+                prices.put(price.getSymbol(), price);
+            }
+        }
+        return prices;
+    }
+
+    @Override
+    public ChartResponse getChart(String symbol, String period, String interval) {
+        LocalDate replayDate = getReplayDate();
+        NavigableMap<LocalDate, Double> closes = symbol != null ? closesBySymbol.get(symbol.toUpperCase()) : null;
+        if (replayDate == null || closes == null) {
+            return null;
+        }
+        List<ChartDataPoint> data = new ArrayList<>();
+        for (Map.Entry<LocalDate, Double> bar : closes.subMap(FeedPeriods.startDate(period, replayDate), true, replayDate, true).entrySet()) {
+            double close = bar.getValue();
+            data.add(new ChartDataPoint(bar.getKey().toString(), close, close, close, close, 0L));
+        }
+        return new ChartResponse(symbol.toUpperCase(), period, interval, data);
+    }
+}
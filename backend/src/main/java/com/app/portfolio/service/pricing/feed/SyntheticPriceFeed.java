@@ -0,0 +1,184 @@
+package com.app.portfolio.service.pricing.feed;
+
+import com.app.portfolio.beans.AssetPrice;
+import com.app.portfolio.dto.pricing.ChartDataPoint;
+import com.app.portfolio.dto.pricing.ChartResponse;
+import com.app.portfolio.dto.pricing.PriceResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates prices as a seeded geometric random walk, one step per {@link #advance()}.
+ * Every symbol gets its own walk derived from the seed and the symbol, so the same seed
+ * produces the same prices no matter which symbols are asked for first.
+ *
+ * Latency and error rate are configurable to mimic a slow or flaky upstream during load tests.
+ */
+@Component
+@ConditionalOnProperty(name = "pricing.feed.provider", havingValue = "synthetic")
+@Slf4j
+public class SyntheticPriceFeed implements PriceFeed {
+
+    private static final int HISTORY_DAYS = 5 * 365;
+
+    private final long seed;
+    private final double volatility;
+    private final long latencyMillis;
+    private final double errorRate;
+    private final LocalDate startDate;
+
+    private final Map<String, Walk> walks = new ConcurrentHashMap<>();
+    private final AtomicInteger tick = new AtomicInteger(0);
+    private final Random errorRandom;
+
+    public SyntheticPriceFeed(@Value("${pricing.feed.synthetic.seed:42}") long seed,
+                              @Value("${pricing.feed.synthetic.volatility:0.02}") double volatility,
+                              @Value("${pricing.feed.synthetic.latency-ms:0}") long latencyMillis,
+                              @Value("${pricing.feed.synthetic.error-rate:0}") double errorRate) {
+        this.seed = seed;
+        this.volatility = volatility;
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.startDate = LocalDate.now(ZoneOffset.UTC);
+        this.errorRandom = new Random(seed);
+        log.info("Synthetic price feed active (seed={}, volatility={}, latency={}ms, errorRate={})",
+                seed, volatility, latencyMillis, errorRate);
+    }
+
+    @Override
+    public AssetPrice.PriceSource getSource() {
+        return AssetPrice.PriceSource.FAKE;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public void advance() {
+        tick.incrementAndGet();
+    }
+
+    @Override
+    public PriceResponse getPrice(String symbol) {
+        simulateLatency();
+        return quote(symbol);
+    }
+
+    @Override
+    public Map<String, PriceResponse> getPrices(List<String> symbols) {
+        simulateLatency();
+        Map<String, PriceResponse> prices = new HashMap<>();
+        for (String symbol : symbols) {
+            PriceResponse price = quote(symbol);
+            if (price != null) {
+                prices.put(price.getSymbol(), price);
+            }
+        }
+        return prices;
+    }
+
+    @Override
+    public ChartResponse getChart(String symbol, String period, String interval) {
+        simulateLatency();
+        if (symbol == null || symbol.isBlank() || failed()) {
+            return null;
+        }
+        String key = symbol.toUpperCase();
+        int now = tick.get();
+        LocalDate today = startDate.plusDays(now);
+        int days = (int) Math.min(ChronoUnit.DAYS.between(FeedPeriods.startDate(period, today), today), HISTORY_DAYS);
+        Walk walk = walks.computeIfAbsent(key, this::newWalk);
+
+        List<ChartDataPoint> data = new ArrayList<>(days + 1);
+        for (int t = now - days; t <= now; t++) {
+            double close = walk.priceAt(t);
+            data.add(new ChartDataPoint(startDate.plusDays(t).toString(), close, close, close, close, 0L));
+        }
+        return new ChartResponse(key, period, interval, data);
+    }
+
+    private PriceResponse quote(String symbol) {
+        if (symbol == null || symbol.isBlank() || failed()) {
+            return null;
+        }
+        String key = symbol.toUpperCase();
+        int now = tick.get();
+        double price = walks.computeIfAbsent(key, this::newWalk).priceAt(now);
+        return new PriceResponse(key, price,
+                startDate.plusDays(now).atStartOfDay(ZoneOffset.UTC).toInstant().toString(), null);
+    }
+
+    private Walk newWalk(String symbol) {
+        long symbolSeed = seed * 31 + symbol.hashCode();
+        double basePrice = 10 + Math.floorMod(symbolSeed, 49000) / 100.0;
+        return new Walk(new Random(symbolSeed), basePrice);
+    }
+
+    private boolean failed() {
+        if (errorRate <= 0) {
+            return false;
+        }
+        synchronized (errorRandom) {
+            return errorRandom.nextDouble() < errorRate;
+        }
+    }
+
+    private void simulateLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Random walk for one symbol. Tick 0 is the base price; negative ticks are pre-generated
+     * history so charts have data from the first request, positive ticks are generated lazily.
+     */
+    private final class Walk {
+        private final Random random;
+        private final double[] history = new double[HISTORY_DAYS + 1];
+        private final List<Double> future = new ArrayList<>();
+
+        private Walk(Random random, double basePrice) {
+            this.random = random;
+            history[HISTORY_DAYS] = basePrice;
+            for (int i = HISTORY_DAYS - 1; i >= 0; i--) {
+                history[i] = round(history[i + 1] / step());
+            }
+            future.add(basePrice);
+        }
+
+        private synchronized double priceAt(int t) {
+            if (t <= 0) {
+                return history[Math.max(0, HISTORY_DAYS + t)];
+            }
+            while (future.size() <= t) {
+                future.add(round(future.get(future.size() - 1) * step()));
+            }
+            return future.get(t);
+        }
+
+        private double step() {
+            return Math.exp(volatility * random.nextGaussian());
+        }
+
+        private double round(double price) {
+            return Math.max(0.01, Math.round(price * 10000) / 10000.0);
+        }
+    }
+}
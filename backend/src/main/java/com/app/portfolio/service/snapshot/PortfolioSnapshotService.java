@@ -0,0 +1,31 @@
+package com.app.portfolio.service.snapshot;
+
+import com.app.portfolio.dto.snapshot.PortfolioSnapshotResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PortfolioSnapshotService {
+
+    /**
+     * Writes every client's holdings and summary for {@code date}, replacing any snapshot
+     * already taken that day. Returns the number of clients written.
+     */
+    int takeSnapshots(LocalDate date);
+
+    /**
+     * A client's daily summaries between two dates, oldest first, without holdings
+     */
+    List<PortfolioSnapshotResponse> getSnapshots(Long clientId, LocalDate from, LocalDate to, Long userId);
+
+    /**
+     * A client's summary and holdings for one day
+     */
+    PortfolioSnapshotResponse getSnapshot(Long clientId, LocalDate date, Long userId);
+
+    /**
+     * Deletes all of a client's portfolio uploads, holdings and summaries, nightly or uploaded;
+     * part of deleting the client
+     */
+    void deleteClientSnapshots(Long clientId);
+}
@@ -0,0 +1,282 @@
+package com.app.portfolio.service.snapshot;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.beans.PortfolioHolding;
+import com.app.portfolio.beans.PortfolioSummary;
+import com.app.portfolio.beans.PortfolioUpload;
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import com.app.portfolio.dto.snapshot.PortfolioSnapshotResponse;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.exceptions.ResourceNotFoundException;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.repository.PortfolioHoldingRepository;
+import com.app.portfolio.repository.PortfolioSummaryRepository;
+import com.app.portfolio.repository.PortfolioUploadRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.valuation.AssetValuation;
+import com.app.portfolio.service.valuation.PortfolioValuation;
+import com.app.portfolio.service.valuation.PriceSnapshot;
+import com.app.portfolio.service.valuation.ValuationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputes each client's holdings and summary once a day, so reports and trend views read
+ * rows instead of valuing every asset on request.
+ *
+ * A run prices every held symbol in one query and reads one FX matrix, then splits the clients
+ * into chunks of {@code portfolio.snapshot.chunk-size} that are valued and inserted in parallel
+ * on {@code snapshotExecutor}, each in its own transaction. A chunk that fails is logged and
+ * the others are still written; rerunning the day replaces it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioSnapshotServiceImpl implements PortfolioSnapshotService {
+
+    private static final PeriodType PERIOD = PeriodType.DAILY;
+    private static final String FILE_NAME = "nightly-snapshot";
+
+    private final ClientRepository clientRepository;
+    private final AssetRepository assetRepository;
+    private final PortfolioUploadRepository uploadRepository;
+    private final PortfolioHoldingRepository holdingRepository;
+    private final PortfolioSummaryRepository summaryRepository;
+    private final PortfolioSnapshotWriter snapshotWriter;
+    private final ValuationService valuationService;
+    private final FxRateService fxRateService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService snapshotExecutor;
+
+    @Value("${portfolio.snapshot.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${portfolio.snapshot.trend-days:30}")
+    private int trendDays;
+
+    @Scheduled(cron = "${portfolio.snapshot.cron:0 30 0 * * *}")
+    public void snapshotPortfolios() {
+        takeSnapshots(LocalDate.now());
+    }
+
+    @Override
+    public int takeSnapshots(LocalDate date) {
+        long start = System.currentTimeMillis();
+        String label = date.toString();
+        transactionTemplate.executeWithoutResult(status -> {
+            holdingRepository.deleteClientPeriod(PERIOD, label);
+            summaryRepository.deleteClientPeriod(PERIOD, label);
+            uploadRepository.deleteClientPeriod(PERIOD, label);
+        });
+
+        List<Long> clientIds = clientRepository.findAllIds();
+        if (clientIds.isEmpty()) {
+            return 0;
+        }
+        // Shared by every chunk, so all clients are valued at the same prices and rates
+        PriceSnapshot prices = valuationService.snapshotOf(assetRepository.findDistinctUnsoldSymbols());
+        FxRateMatrix fx = fxRateService.getMatrix();
+
+        List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < clientIds.size(); from += chunkSize) {
+            List<Long> chunk = clientIds.subList(from, Math.min(from + chunkSize, clientIds.size()));
+            chunks.add(CompletableFuture
+                    .supplyAsync(() -> writeChunk(chunk, label, prices, fx), snapshotExecutor)
+                    .exceptionally(e -> {
+                        log.error("Portfolio snapshot of clients {}..{} for {} failed", chunk.get(0),
+                                chunk.get(chunk.size() - 1), label, e);
+                        return 0;
+                    }));
+        }
+        int written = chunks.stream().mapToInt(CompletableFuture::join).sum();
+        log.info("Snapshotted {}/{} client portfolios for {} in {} chunks, {} ms", written, clientIds.size(), label,
+                chunks.size(), System.currentTimeMillis() - start);
+        return written;
+    }
+
+    private int writeChunk(List<Long> clientIds, String label, PriceSnapshot prices, FxRateMatrix fx) {
+        Integer written = transactionTemplate.execute(status -> {
+            Map<Long, List<Asset>> assetsByClient = assetRepository.findAllByClientIdIn(clientIds).stream()
+                    .collect(Collectors.groupingBy(asset -> asset.getClient().getId(), LinkedHashMap::new,
+                            Collectors.toList()));
+            List<Client> clients = clientRepository.findAllById(clientIds);
+
+            List<PortfolioUpload> uploads = new ArrayList<>(clients.size());
+            List<PortfolioHolding> holdings = new ArrayList<>();
+            List<PortfolioSummary> summaries = new ArrayList<>(clients.size());
+            for (Client client : clients) {
+                PortfolioUpload upload = PortfolioUpload.builder()
+                        .client(client)
+                        .periodType(PERIOD)
+                        .periodLabel(label)
+                        .fileName(FILE_NAME)
+                        .build();
+                PortfolioValuation valuation = valuationService.value(
+                        assetsByClient.getOrDefault(client.getId(), List.of()), prices);
+                uploads.add(upload);
+                summaries.add(summary(upload, client, valuation, fx, holdings));
+            }
+            snapshotWriter.insert(uploads, holdings, summaries);
+            return clients.size();
+        });
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Adds the client's holdings and returns its summary, totalled in the client's currency
+     */
+    private static PortfolioSummary summary(PortfolioUpload upload, Client client, PortfolioValuation valuation,
+                                            FxRateMatrix fx, List<PortfolioHolding> holdings) {
+        int profitable = 0;
+        int losing = 0;
+        for (AssetValuation assetValuation : valuation.getAssets()) {
+            PortfolioHolding holding = holding(upload, client, assetValuation);
+            holdings.add(holding);
+            if (holding.getProfitLoss().signum() > 0) {
+                profitable++;
+            } else if (holding.getProfitLoss().signum() < 0) {
+                losing++;
+            }
+        }
+        String currency = fx.normalize(client.getCurrency());
+        BigDecimal invested = money(valuation.getInvested(fx, currency));
+        BigDecimal currentValue = money(valuation.getCurrentValue(fx, currency));
+        return PortfolioSummary.builder()
+                .portfolioUpload(upload)
+                .client(client)
+                .currency(currency)
+                .totalInvestedValue(invested)
+                .totalCurrentValue(currentValue)
+                .totalProfitLoss(currentValue.subtract(invested))
+                .numberOfAssets(valuation.getAssets().size())
+                .numberOfProfitableAssets(profitable)
+                .numberOfLossAssets(losing)
+                .build();
+    }
+
+    private static PortfolioHolding holding(PortfolioUpload upload, Client client, AssetValuation valuation) {
+        Asset asset = valuation.getAsset();
+        BigDecimal currentValue = money(valuation.getCurrentValue());
+        BigDecimal profitLoss = money(valuation.getProfitLoss());
+        // Assets without a symbol are listed under their name
+        String ticker = asset.getSymbol() != null && !asset.getSymbol().isEmpty() ? asset.getSymbol() : asset.getName();
+        return PortfolioHolding.builder()
+                .portfolioUpload(upload)
+                .client(client)
+                .ticker(ticker.length() > 50 ? ticker.substring(0, 50) : ticker)
+                .currency(asset.getCurrency())
+                .quantity(asset.getQuantity())
+                .buyPrice(asset.getBuyingRate())
+                .currentPrice(valuation.getPrice())
+                .investedValue(currentValue.subtract(profitLoss))
+                .currentValue(currentValue)
+                .profitLoss(profitLoss)
+                .investmentStartDate(date(asset.getPurchaseDateTime()))
+                .investmentEndDate(asset.isSold() ? date(asset.getSellingDateTime()) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PortfolioSnapshotResponse> getSnapshots(Long clientId, LocalDate from, LocalDate to, Long userId) {
+        checkClient(clientId, userId);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate begin = from != null ? from : end.minusDays(trendDays);
+        if (begin.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        return summaryRepository.findByClientIdAndPeriodBetween(clientId, PERIOD, begin.toString(), end.toString())
+                .stream()
+                .map(summary -> toResponse(clientId, summary, null))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PortfolioSnapshotResponse getSnapshot(Long clientId, LocalDate date, Long userId) {
+        checkClient(clientId, userId);
+        PortfolioSummary summary = summaryRepository.findByClientIdAndPeriod(clientId, PERIOD, date.toString())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No portfolio snapshot for client " + clientId + " on " + date));
+        List<PortfolioSnapshotResponse.Holding> holdings = holdingRepository
+                .findByUploadId(summary.getPortfolioUpload().getId()).stream()
+                .map(PortfolioSnapshotServiceImpl::toResponse)
+                .collect(Collectors.toList());
+        return toResponse(clientId, summary, holdings);
+    }
+
+    @Override
+    @Transactional
+    public void deleteClientSnapshots(Long clientId) {
+        // Children first: holdings and summaries reference the uploads
+        holdingRepository.deleteAllByClientId(clientId);
+        summaryRepository.deleteAllByClientId(clientId);
+        uploadRepository.deleteAllByClientId(clientId);
+    }
+
+    private void checkClient(Long clientId, Long userId) {
+        if (!clientRepository.existsByIdAndUserId(clientId, userId)) {
+            throw new ResourceNotFoundException("Client", clientId);
+        }
+    }
+
+    private static PortfolioSnapshotResponse toResponse(Long clientId, PortfolioSummary summary,
+                                                        List<PortfolioSnapshotResponse.Holding> holdings) {
+        return PortfolioSnapshotResponse.builder()
+                .clientId(clientId)
+                .date(LocalDate.parse(summary.getPortfolioUpload().getPeriodLabel()))
+                .currency(summary.getCurrency())
+                .totalInvested(summary.getTotalInvestedValue())
+                .totalCurrentValue(summary.getTotalCurrentValue())
+                .totalProfitLoss(summary.getTotalProfitLoss())
+                .numberOfAssets(summary.getNumberOfAssets())
+                .numberOfProfitableAssets(summary.getNumberOfProfitableAssets())
+                .numberOfLossAssets(summary.getNumberOfLossAssets())
+                .holdings(holdings)
+                .build();
+    }
+
+    private static PortfolioSnapshotResponse.Holding toResponse(PortfolioHolding holding) {
+        return PortfolioSnapshotResponse.Holding.builder()
+                .ticker(holding.getTicker())
+                .currency(holding.getCurrency())
+                .quantity(holding.getQuantity())
+                .buyPrice(holding.getBuyPrice())
+                .currentPrice(holding.getCurrentPrice())
+                .investedValue(holding.getInvestedValue())
+                .currentValue(holding.getCurrentValue())
+                .profitLoss(holding.getProfitLoss())
+                .investmentStartDate(holding.getInvestmentStartDate())
+                .investmentEndDate(holding.getInvestmentEndDate())
+                .build();
+    }
+
+    private static BigDecimal money(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static LocalDate date(Instant instant) {
+        return instant != null ? LocalDate.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+}
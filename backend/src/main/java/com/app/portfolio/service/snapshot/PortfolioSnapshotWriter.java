@@ -0,0 +1,150 @@
+package com.app.portfolio.service.snapshot;
+
+import com.app.portfolio.beans.PortfolioHolding;
+import com.app.portfolio.beans.PortfolioSummary;
+import com.app.portfolio.beans.PortfolioUpload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Inserts snapshot uploads, holdings and summaries in JDBC batches, like {@code AssetBatchWriter}:
+ * the rows are write-once, so they bypass the persistence context that can't batch IDENTITY
+ * inserts. Uploads go first and get their generated ids back for the rows that reference them.
+ */
+@Component
+@RequiredArgsConstructor
+public class PortfolioSnapshotWriter {
+
+    private static final String INSERT_UPLOAD = "INSERT INTO portfolio_uploads (client_id, period_type, period_label, "
+            + "upload_date, file_name) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_HOLDING = "INSERT INTO portfolio_holdings (upload_id, client_id, ticker, currency, "
+            + "quantity, buy_price, current_price, invested_value, current_value, profit_loss, investment_start_date, "
+            + "investment_end_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SUMMARY = "INSERT INTO portfolio_summary (upload_id, client_id, currency, "
+            + "total_invested_value, total_current_value, total_profit_loss, number_of_assets, "
+            + "number_of_profitable_assets, number_of_loss_assets) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Instants are stored as UTC timestamps, as Hibernate writes them
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${portfolio.snapshot.jdbc-batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Inserts the uploads, then the holdings and summaries that reference them; must run inside
+     * the caller's transaction
+     */
+    public void insert(List<PortfolioUpload> uploads, List<PortfolioHolding> holdings, List<PortfolioSummary> summaries) {
+        if (uploads.isEmpty()) {
+            return;
+        }
+        insertUploads(uploads);
+        insertHoldings(holdings);
+        insertSummaries(summaries);
+    }
+
+    /**
+     * Inserts the uploads in one batch and sets their generated ids and upload dates
+     */
+    public void insertUploads(List<PortfolioUpload> uploads) {
+        Instant now = Instant.now();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_UPLOAD, new String[] {"upload_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PortfolioUpload upload = uploads.get(i);
+                        ps.setLong(1, upload.getClient().getId());
+                        ps.setString(2, upload.getPeriodType().name());
+                        ps.setString(3, upload.getPeriodLabel());
+                        ps.setTimestamp(4, Timestamp.from(now), (Calendar) UTC.clone());
+                        ps.setString(5, upload.getFileName());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return uploads.size();
+                    }
+                }, keys);
+
+        // One row of keys per upload, in order; the column name differs between drivers
+        List<Map<String, Object>> rows = keys.getKeyList();
+        for (int i = 0; i < uploads.size(); i++) {
+            PortfolioUpload upload = uploads.get(i);
+            upload.setId(((Number) rows.get(i).values().iterator().next()).longValue());
+            upload.setUploadDate(now);
+        }
+    }
+
+    /**
+     * Inserts holdings of uploads already inserted, in batches of {@code portfolio.snapshot.jdbc-batch-size}
+     */
+    public void insertHoldings(List<PortfolioHolding> holdings) {
+        jdbcTemplate.batchUpdate(INSERT_HOLDING, holdings, batchSize, (ps, holding) -> {
+            ps.setLong(1, holding.getPortfolioUpload().getId());
+            ps.setLong(2, holding.getClient().getId());
+            ps.setString(3, holding.getTicker());
+            ps.setString(4, holding.getCurrency());
+            setDecimal(ps, 5, holding.getQuantity());
+            setDecimal(ps, 6, holding.getBuyPrice());
+            setDecimal(ps, 7, holding.getCurrentPrice());
+            setDecimal(ps, 8, holding.getInvestedValue());
+            setDecimal(ps, 9, holding.getCurrentValue());
+            setDecimal(ps, 10, holding.getProfitLoss());
+            setDate(ps, 11, holding.getInvestmentStartDate());
+            setDate(ps, 12, holding.getInvestmentEndDate());
+        });
+    }
+
+    public void insertSummaries(List<PortfolioSummary> summaries) {
+        jdbcTemplate.batchUpdate(INSERT_SUMMARY, summaries, batchSize, (ps, summary) -> {
+            ps.setLong(1, summary.getPortfolioUpload().getId());
+            ps.setLong(2, summary.getClient().getId());
+            ps.setString(3, summary.getCurrency());
+            setDecimal(ps, 4, summary.getTotalInvestedValue());
+            setDecimal(ps, 5, summary.getTotalCurrentValue());
+            setDecimal(ps, 6, summary.getTotalProfitLoss());
+            ps.setInt(7, summary.getNumberOfAssets());
+            ps.setInt(8, summary.getNumberOfProfitableAssets());
+            ps.setInt(9, summary.getNumberOfLossAssets());
+        });
+    }
+
+    private static void setDecimal(PreparedStatement ps, int index, BigDecimal value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DECIMAL);
+        } else {
+            ps.setBigDecimal(index, value);
+        }
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            ps.setNull(index, Types.DATE);
+        } else {
+            ps.setDate(index, Date.valueOf(date));
+        }
+    }
+}
@@ -8,7 +8,12 @@ import com.app.portfolio.repository.AssetRepository;
 import com.app.portfolio.repository.ClientRepository;
 import com.app.portfolio.service.asset.AssetService;
 import com.app.portfolio.service.email.EmailService;
-import com.app.portfolio.service.pricing.PricingService;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.valuation.AssetValuation;
+import com.app.portfolio.service.valuation.PortfolioValuation;
+import com.app.portfolio.service.valuation.ValuationKernel;
+import com.app.portfolio.service.valuation.ValuationService;
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfWriter;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +24,7 @@ import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -26,9 +32,10 @@ public class StatementServiceImpl implements StatementService {
 
     private final ClientRepository clientRepository;
     private final AssetRepository assetRepository;
-    private final PricingService pricingService;
     private final EmailService emailService;
     private final AssetService assetService;
+    private final FxRateService fxRateService;
+    private final ValuationService valuationService;
 
     @Override
     @Transactional(readOnly = true)
@@ -76,11 +83,13 @@ public class StatementServiceImpl implements StatementService {
             document.add(new Paragraph(" "));
 
             List<Asset> assets = assetRepository.findByClientIdOrderByPurchaseDateTimeDesc(client.getId());
+            // Every symbol priced once, from one query
+            PortfolioValuation valuation = valuationService.value(assets);
             
             if (statementType == StatementRequest.StatementType.BASIC_PNL) {
-                addBasicPnLContent(document, client, assets, headerFont, normalFont);
+                addBasicPnLContent(document, client, valuation, headerFont, normalFont);
             } else {
-                addDetailedContent(document, client, assets, headerFont, normalFont);
+                addDetailedContent(document, client, valuation, headerFont, normalFont);
             }
 
         } catch (Exception e) {
@@ -92,41 +101,31 @@ public class StatementServiceImpl implements StatementService {
         return baos.toByteArray();
     }
 
-    private void addBasicPnLContent(Document document, Client client, List<Asset> assets,
+    private void addBasicPnLContent(Document document, Client client, PortfolioValuation valuation,
                                      Font headerFont, Font normalFont) throws DocumentException {
         document.add(new Paragraph("Summary", headerFont));
         document.add(new Paragraph(" "));
 
-        BigDecimal totalInvested = BigDecimal.ZERO;
-        BigDecimal totalCurrentValue = BigDecimal.ZERO;
-
-        for (Asset asset : assets) {
-            BigDecimal invested = asset.getBuyingRate().multiply(asset.getQuantity());
-            // Use symbol-based pricing if available, fallback to asset ID
-            BigDecimal currentPrice = asset.isSold() ? asset.getSellingRate() 
-                    : (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                    ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                    : pricingService.getCurrentPrice(asset.getId());
-            if (currentPrice == null) {
-                currentPrice = asset.getBuyingRate();
-            }
-            BigDecimal currentValue = currentPrice.multiply(asset.getQuantity());
-            totalInvested = totalInvested.add(invested);
-            totalCurrentValue = totalCurrentValue.add(currentValue);
-        }
+        // Totals are reported in the client's currency
+        FxRateMatrix fx = fxRateService.getMatrix();
+        String currency = fx.normalize(client.getCurrency());
+        BigDecimal totalInvested = valuation.getInvested(fx, currency);
+        BigDecimal totalCurrentValue = valuation.getCurrentValue(fx, currency);
 
         BigDecimal totalPnL = totalCurrentValue.subtract(totalInvested);
-        BigDecimal totalPnLPercent = totalInvested.compareTo(BigDecimal.ZERO) > 0
-                ? totalPnL.divide(totalInvested, 4, java.math.RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100))
-                : BigDecimal.ZERO;
+        BigDecimal totalPnLPercent = ValuationKernel.percent(totalPnL, totalInvested);
 
-        String currencySymbol = getCurrencySymbol(client.getCurrency());
+        String currencySymbol = getCurrencySymbol(currency);
 
         document.add(new Paragraph("Total Invested: " + currencySymbol + totalInvested, normalFont));
         document.add(new Paragraph("Current Value: " + currencySymbol + totalCurrentValue, normalFont));
         document.add(new Paragraph("Profit/Loss: " + currencySymbol + totalPnL, normalFont));
         document.add(new Paragraph("Profit/Loss %: " + totalPnLPercent + "%", normalFont));
+        // Holdings in currencies without an FX rate are listed instead of being added in as raw numbers
+        for (Map.Entry<String, BigDecimal> unconverted : valuation.getUnconvertedValue(fx, currency).entrySet()) {
+            document.add(new Paragraph("Not included (no " + unconverted.getKey() + " exchange rate): "
+                    + getCurrencySymbol(unconverted.getKey()) + unconverted.getValue(), normalFont));
+        }
     }
 
     private String getCurrencySymbol(String currencyCode) {
@@ -147,7 +146,7 @@ public class StatementServiceImpl implements StatementService {
     }
 
 
-    private void addDetailedContent(Document document, Client client, List<Asset> assets,
+    private void addDetailedContent(Document document, Client client, PortfolioValuation valuation,
                                     Font headerFont, Font normalFont) throws DocumentException {
         document.add(new Paragraph("Asset Details", headerFont));
         document.add(new Paragraph(" "));
@@ -165,18 +164,10 @@ public class StatementServiceImpl implements StatementService {
         table.addCell(new com.lowagie.text.Cell(new Phrase("P&L", headerFont)));
         table.addCell(new com.lowagie.text.Cell(new Phrase("Purchase Date & Time", headerFont)));
 
-        for (Asset asset : assets) {
-            // Use symbol-based pricing if available, fallback to asset ID
-            BigDecimal finalPrice = asset.isSold() ? asset.getSellingRate() 
-                    : (asset.getSymbol() != null && !asset.getSymbol().isEmpty())
-                    ? pricingService.getCurrentPriceBySymbolAsBigDecimal(asset.getSymbol())
-                    : pricingService.getCurrentPrice(asset.getId());
-            if(finalPrice == null) {
-                finalPrice = asset.getBuyingRate();
-            }
-            BigDecimal invested = asset.getBuyingRate().multiply(asset.getQuantity());
-            BigDecimal finalValue = finalPrice.multiply(asset.getQuantity());
-            BigDecimal pnl = finalValue.subtract(invested);
+        for (AssetValuation assetValuation : valuation.getAssets()) {
+            Asset asset = assetValuation.getAsset();
+            BigDecimal finalPrice = assetValuation.getPrice();
+            BigDecimal pnl = assetValuation.getProfitLoss();
 
             String currencySymbol = getCurrencySymbol(asset.getCurrency());
 
@@ -0,0 +1,37 @@
+package com.app.portfolio.service.upload;
+
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import com.app.portfolio.dto.job.JobResponse;
+import com.app.portfolio.dto.upload.PortfolioUploadResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface PortfolioUploadService {
+
+    /**
+     * Ingests a CSV holdings file as the client's upload for a period, replacing any earlier
+     * upload of the same period once the new one is complete. Holdings are inserted every
+     * {@code portfolio.upload.chunk-size} rows and the summary is computed as they are read.
+     * Invalid rows are reported and skipped.
+     */
+    PortfolioUploadResponse upload(InputStream csvInputStream, String fileName, Long clientId, PeriodType periodType,
+                                   String periodLabel, Long userId) throws IOException;
+
+    PortfolioUploadResponse upload(MultipartFile file, Long clientId, PeriodType periodType, String periodLabel,
+                                   Long userId) throws IOException;
+
+    /**
+     * Ingests the file in a background job that reports rows read as progress and the
+     * {@link PortfolioUploadResponse} as its result. A cancelled or failed upload is removed.
+     */
+    JobResponse uploadAsync(MultipartFile file, Long clientId, PeriodType periodType, String periodLabel,
+                            Long userId) throws IOException;
+
+    /**
+     * A client's uploads with their summaries, newest first
+     */
+    List<PortfolioUploadResponse> getUploads(Long clientId, Long userId);
+}
@@ -0,0 +1,384 @@
+package com.app.portfolio.service.upload;
+
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.beans.Job;
+import com.app.portfolio.beans.PortfolioHolding;
+import com.app.portfolio.beans.PortfolioSummary;
+import com.app.portfolio.beans.PortfolioUpload;
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import com.app.portfolio.dto.asset.ImportReport.RowError;
+import com.app.portfolio.dto.job.JobResponse;
+import com.app.portfolio.dto.upload.PortfolioUploadResponse;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.exceptions.ResourceNotFoundException;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.repository.PortfolioHoldingRepository;
+import com.app.portfolio.repository.PortfolioSummaryRepository;
+import com.app.portfolio.repository.PortfolioUploadRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.importer.CsvReader;
+import com.app.portfolio.service.job.JobService;
+import com.app.portfolio.service.snapshot.PortfolioSnapshotWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a custodian holdings file into {@link PortfolioHolding} rows. Each row is parsed,
+ * valued and added to the running summary totals as it is read, and every
+ * {@code portfolio.upload.chunk-size} holdings are inserted as one JDBC batch in their own
+ * transaction, so the file is read once and memory stays bounded by one chunk. The summary is
+ * written after the last chunk, together with the removal of any earlier upload of the same
+ * period; an upload that stops before that is deleted again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioUploadServiceImpl implements PortfolioUploadService {
+
+    private final ClientRepository clientRepository;
+    private final PortfolioUploadRepository uploadRepository;
+    private final PortfolioHoldingRepository holdingRepository;
+    private final PortfolioSummaryRepository summaryRepository;
+    private final PortfolioSnapshotWriter writer;
+    private final FxRateService fxRateService;
+    private final TransactionTemplate transactionTemplate;
+    private final JobService jobService;
+
+    @Value("${portfolio.upload.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Override
+    public PortfolioUploadResponse upload(InputStream csvInputStream, String fileName, Long clientId,
+                                          PeriodType periodType, String periodLabel, Long userId) throws IOException {
+        return run(csvInputStream, fileName, client(clientId, userId), period(periodType, periodLabel), periodLabel,
+                response -> {
+                });
+    }
+
+    @Override
+    public PortfolioUploadResponse upload(MultipartFile file, Long clientId, PeriodType periodType, String periodLabel,
+                                          Long userId) throws IOException {
+        return upload(file.getInputStream(), file.getOriginalFilename(), clientId, periodType, periodLabel, userId);
+    }
+
+    @Override
+    public JobResponse uploadAsync(MultipartFile file, Long clientId, PeriodType periodType, String periodLabel,
+                                   Long userId) throws IOException {
+        Client client = client(clientId, userId);
+        PeriodType period = period(periodType, periodLabel);
+        String fileName = file.getOriginalFilename();
+        log.info("Queueing holdings upload of {} bytes for clientId: {}", file.getSize(), clientId);
+        return jobService.submit(userId, Job.JobType.PORTFOLIO_UPLOAD, file, job -> {
+            try (InputStream in = Files.newInputStream(job.getInput())) {
+                job.setResult(run(in, fileName, client, period, periodLabel, response -> {
+                    job.setResult(response);
+                    job.progress(response.getRowsRead(), null);
+                }));
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PortfolioUploadResponse> getUploads(Long clientId, Long userId) {
+        client(clientId, userId);
+        return summaryRepository.findByClientIdAndPeriodTypeNot(clientId, PeriodType.DAILY).stream()
+                .map(summary -> toResponse(summary.getPortfolioUpload(), clientId, summary))
+                .collect(Collectors.toList());
+    }
+
+    private Client client(Long clientId, Long userId) {
+        if (!clientRepository.existsByIdAndUserId(clientId, userId)) {
+            throw new ResourceNotFoundException("Client", clientId);
+        }
+        return clientRepository.findById(clientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client", clientId));
+    }
+
+    private static PeriodType period(PeriodType periodType, String periodLabel) {
+        if (periodType == null || periodType == PeriodType.DAILY) {
+            throw new BadRequestException("periodType must be QUARTERLY, ANNUAL or CUSTOM");
+        }
+        if (periodLabel == null || periodLabel.isBlank() || periodLabel.length() > 100) {
+            throw new BadRequestException("periodLabel is required and at most 100 characters");
+        }
+        return periodType;
+    }
+
+    private PortfolioUploadResponse run(InputStream csvInputStream, String fileName, Client client,
+                                        PeriodType periodType, String periodLabel,
+                                        Consumer<PortfolioUploadResponse> progress) throws IOException {
+        FxRateMatrix fx = fxRateService.getMatrix();
+        PortfolioUpload upload = PortfolioUpload.builder()
+                .client(client)
+                .periodType(periodType)
+                .periodLabel(periodLabel)
+                .fileName(fileName)
+                .build();
+        transactionTemplate.executeWithoutResult(status -> writer.insertUploads(List.of(upload)));
+        Totals totals = new Totals(fx.normalize(client.getCurrency()));
+
+        boolean complete = false;
+        try (CsvReader csv = new CsvReader(new InputStreamReader(csvInputStream, StandardCharsets.UTF_8))) {
+            CsvReader.Header header = csv.readHeader();
+            if (header == null) {
+                throw new BadRequestException("Holdings file is empty");
+            }
+            Columns columns = Columns.of(header);
+
+            List<PortfolioHolding> chunk = new ArrayList<>(chunkSize);
+            while (csv.next()) {
+                totals.rowsRead++;
+                try {
+                    PortfolioHolding holding = toHolding(csv, columns, upload, totals.currency);
+                    chunk.add(holding);
+                    totals.add(holding);
+                } catch (IllegalArgumentException e) {
+                    totals.error(csv.getLineNumber(), e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    insert(chunk);
+                    progress.accept(toResponse(upload, client.getId(), null).toBuilder()
+                            .rowsRead(totals.rowsRead)
+                            .build());
+                }
+            }
+            insert(chunk);
+
+            PortfolioSummary summary = totals.summary(upload, fx);
+            transactionTemplate.executeWithoutResult(status -> {
+                writer.insertSummaries(List.of(summary));
+                delete(uploadRepository.findIdsByClientIdAndPeriod(client.getId(), periodType, periodLabel).stream()
+                        .filter(id -> !id.equals(upload.getId()))
+                        .toList());
+            });
+            complete = true;
+
+            PortfolioUploadResponse response = toResponse(upload, client.getId(), summary).toBuilder()
+                    .rowsRead(totals.rowsRead)
+                    .failed(totals.failed)
+                    .errors(List.copyOf(totals.errors))
+                    .build();
+            progress.accept(response);
+            log.info("Uploaded {} holdings for clientId: {}, {} {} ({} rows failed)", summary.getNumberOfAssets(),
+                    client.getId(), periodType, periodLabel, totals.failed);
+            return response;
+        } finally {
+            if (!complete) {
+                log.warn("Holdings upload {} for clientId: {} did not complete, removing it", upload.getId(),
+                        client.getId());
+                transactionTemplate.executeWithoutResult(status -> delete(List.of(upload.getId())));
+            }
+        }
+    }
+
+    private void insert(List<PortfolioHolding> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> writer.insertHoldings(chunk));
+        chunk.clear();
+    }
+
+    private void delete(List<Long> uploadIds) {
+        if (uploadIds.isEmpty()) {
+            return;
+        }
+        holdingRepository.deleteAllByUploadIdIn(uploadIds);
+        summaryRepository.deleteAllByUploadIdIn(uploadIds);
+        uploadRepository.deleteAllByIdIn(uploadIds);
+    }
+
+    /**
+     * Builds the holding for the current row, valued at the file's current price, or throws
+     * {@link IllegalArgumentException} with the reason it is invalid
+     */
+    private static PortfolioHolding toHolding(CsvReader csv, Columns columns, PortfolioUpload upload,
+                                              String defaultCurrency) {
+        String ticker = csv.get(columns.ticker());
+        if (ticker == null) {
+            throw new IllegalArgumentException("ticker is required");
+        }
+        if (ticker.length() > 50) {
+            throw new IllegalArgumentException("ticker is longer than 50 characters");
+        }
+        String currency = csv.get(columns.currency());
+        if (currency != null && currency.length() > 10) {
+            throw new IllegalArgumentException("currency is longer than 10 characters");
+        }
+
+        // Rounded to the columns' scales first, so the stored values add up
+        BigDecimal quantity = amount(csv, columns.quantity(), "quantity", 4);
+        BigDecimal buyPrice = amount(csv, columns.buyPrice(), "buyPrice", 6);
+        BigDecimal currentPrice = amount(csv, columns.currentPrice(), "currentPrice", 6);
+        BigDecimal invested = money(quantity.multiply(buyPrice), "invested value");
+        BigDecimal currentValue = money(quantity.multiply(currentPrice), "current value");
+
+        return PortfolioHolding.builder()
+                .portfolioUpload(upload)
+                .client(upload.getClient())
+                .ticker(ticker.toUpperCase())
+                .currency(currency != null ? currency.toUpperCase() : defaultCurrency)
+                .quantity(quantity)
+                .buyPrice(buyPrice)
+                .currentPrice(currentPrice)
+                .investedValue(invested)
+                .currentValue(currentValue)
+                .profitLoss(currentValue.subtract(invested))
+                .investmentStartDate(date(csv, columns.startDate(), "investmentStartDate"))
+                .investmentEndDate(date(csv, columns.endDate(), "investmentEndDate"))
+                .build();
+    }
+
+    // A required non-negative amount that fits DECIMAL(18, scale)
+    private static BigDecimal amount(CsvReader csv, int column, String name, int scale) {
+        BigDecimal amount;
+        try {
+            amount = csv.getBigDecimal(column);
+        } catch (IllegalArgumentException e) {
+            amount = null;
+        }
+        if (amount == null || amount.signum() < 0) {
+            throw new IllegalArgumentException(name + " must be a non-negative number, got '" + csv.get(column) + "'");
+        }
+        amount = amount.setScale(scale, RoundingMode.HALF_UP);
+        if (amount.precision() > 18) {
+            throw new IllegalArgumentException(name + " is too large");
+        }
+        return amount;
+    }
+
+    private static BigDecimal money(BigDecimal amount, String name) {
+        BigDecimal money = amount.setScale(2, RoundingMode.HALF_UP);
+        if (money.precision() > 18) {
+            throw new IllegalArgumentException(name + " is too large");
+        }
+        return money;
+    }
+
+    private static LocalDate date(CsvReader csv, int column, String name) {
+        try {
+            return csv.getDate(column);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " must be an ISO date, got '" + csv.get(column) + "'");
+        }
+    }
+
+    private static PortfolioUploadResponse toResponse(PortfolioUpload upload, Long clientId, PortfolioSummary summary) {
+        PortfolioUploadResponse.PortfolioUploadResponseBuilder response = PortfolioUploadResponse.builder()
+                .uploadId(upload.getId())
+                .clientId(clientId)
+                .periodType(upload.getPeriodType())
+                .periodLabel(upload.getPeriodLabel())
+                .fileName(upload.getFileName())
+                .uploadDate(upload.getUploadDate());
+        if (summary != null) {
+            response.currency(summary.getCurrency())
+                    .totalInvested(summary.getTotalInvestedValue())
+                    .totalCurrentValue(summary.getTotalCurrentValue())
+                    .totalProfitLoss(summary.getTotalProfitLoss())
+                    .numberOfAssets(summary.getNumberOfAssets())
+                    .numberOfProfitableAssets(summary.getNumberOfProfitableAssets())
+                    .numberOfLossAssets(summary.getNumberOfLossAssets());
+        }
+        return response.build();
+    }
+
+    /**
+     * Column indexes of the holding fields, -1 for the optional ones the file doesn't have
+     */
+    private record Columns(int ticker, int currency, int quantity, int buyPrice, int currentPrice, int startDate,
+                           int endDate) {
+
+        static Columns of(CsvReader.Header header) {
+            Columns columns = new Columns(header.indexOf("ticker", "symbol"), header.indexOf("currency"),
+                    header.indexOf("quantity", "qty"), header.indexOf("buyprice", "buy_price", "buyingrate"),
+                    header.indexOf("currentprice", "current_price", "price"),
+                    header.indexOf("investmentstartdate", "investment_start_date", "startdate"),
+                    header.indexOf("investmentenddate", "investment_end_date", "enddate"));
+            if (columns.ticker() < 0 || columns.quantity() < 0 || columns.buyPrice() < 0 || columns.currentPrice() < 0) {
+                throw new BadRequestException("Holdings file needs ticker, quantity, buyPrice and currentPrice columns");
+            }
+            return columns;
+        }
+    }
+
+    /**
+     * Summary totals of one upload, kept per holding currency and converted once at the end.
+     * Only touched by the thread running the upload.
+     */
+    private final class Totals {
+
+        private final String currency;
+        private final Map<String, BigDecimal> investedByCurrency = new HashMap<>();
+        private final Map<String, BigDecimal> currentValueByCurrency = new HashMap<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private int rowsRead;
+        private int failed;
+        private int holdings;
+        private int profitable;
+        private int losing;
+
+        Totals(String currency) {
+            this.currency = currency;
+        }
+
+        void add(PortfolioHolding holding) {
+            investedByCurrency.merge(holding.getCurrency(), holding.getInvestedValue(), BigDecimal::add);
+            currentValueByCurrency.merge(holding.getCurrency(), holding.getCurrentValue(), BigDecimal::add);
+            holdings++;
+            if (holding.getProfitLoss().signum() > 0) {
+                profitable++;
+            } else if (holding.getProfitLoss().signum() < 0) {
+                losing++;
+            }
+        }
+
+        void error(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+
+        PortfolioSummary summary(PortfolioUpload upload, FxRateMatrix fx) {
+            BigDecimal invested = fx.convertAll(investedByCurrency, currency).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal currentValue = fx.convertAll(currentValueByCurrency, currency).setScale(2, RoundingMode.HALF_UP);
+            return PortfolioSummary.builder()
+                    .portfolioUpload(upload)
+                    .client(upload.getClient())
+                    .currency(currency)
+                    .totalInvestedValue(invested)
+                    .totalCurrentValue(currentValue)
+                    .totalProfitLoss(currentValue.subtract(invested))
+                    .numberOfAssets(holdings)
+                    .numberOfProfitableAssets(profitable)
+                    .numberOfLossAssets(losing)
+                    .build();
+        }
+    }
+}
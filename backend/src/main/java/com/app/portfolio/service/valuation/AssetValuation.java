@@ -0,0 +1,41 @@
+package com.app.portfolio.service.valuation;
+
+import com.app.portfolio.beans.Asset;
+
+import java.math.BigDecimal;
+
+/**
+ * One asset valued at a {@link PriceSnapshot}; amounts are in the asset's own currency
+ */
+public final class AssetValuation {
+
+    private final Asset asset;
+    private final BigDecimal price;
+    private final ValuationKernel.Valuation valuation;
+
+    AssetValuation(Asset asset, BigDecimal price) {
+        this.asset = asset;
+        this.price = price;
+        this.valuation = ValuationKernel.valuate(asset.getQuantity(), asset.getBuyingRate(), price);
+    }
+
+    public Asset getAsset() {
+        return asset;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public BigDecimal getCurrentValue() {
+        return valuation.getCurrentValue();
+    }
+
+    public BigDecimal getProfitLoss() {
+        return valuation.getProfitLoss();
+    }
+
+    public BigDecimal getProfitLossPercent() {
+        return valuation.getProfitLossPercent();
+    }
+}
@@ -0,0 +1,61 @@
+package com.app.portfolio.service.valuation;
+
+import com.app.portfolio.service.fx.FxRateMatrix;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Valuations of a list of assets against one {@link PriceSnapshot}, with totals kept per
+ * currency like {@code PositionTotals}
+ */
+public final class PortfolioValuation {
+
+    private final PriceSnapshot snapshot;
+    private final List<AssetValuation> assets;
+    private final Map<String, BigDecimal> investedByCurrency;
+    private final Map<String, BigDecimal> currentValueByCurrency;
+
+    PortfolioValuation(PriceSnapshot snapshot, List<AssetValuation> assets,
+                       Map<String, BigDecimal> investedByCurrency, Map<String, BigDecimal> currentValueByCurrency) {
+        this.snapshot = snapshot;
+        this.assets = assets;
+        this.investedByCurrency = investedByCurrency;
+        this.currentValueByCurrency = currentValueByCurrency;
+    }
+
+    public PriceSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Per-asset valuations, in the order the assets were given
+     */
+    public List<AssetValuation> getAssets() {
+        return assets;
+    }
+
+    public Map<String, BigDecimal> getInvestedByCurrency() {
+        return investedByCurrency;
+    }
+
+    public Map<String, BigDecimal> getCurrentValueByCurrency() {
+        return currentValueByCurrency;
+    }
+
+    public BigDecimal getInvested(FxRateMatrix fx, String currency) {
+        return fx.convertAll(investedByCurrency, currency);
+    }
+
+    public BigDecimal getCurrentValue(FxRateMatrix fx, String currency) {
+        return fx.convertAll(currentValueByCurrency, currency);
+    }
+
+    /**
+     * Current value left out of the totals in {@code currency} for lack of an FX rate
+     */
+    public Map<String, BigDecimal> getUnconvertedValue(FxRateMatrix fx, String currency) {
+        return fx.unconverted(currentValueByCurrency, currency);
+    }
+}
@@ -0,0 +1,73 @@
+package com.app.portfolio.service.valuation;
+
+import com.app.portfolio.beans.Asset;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Latest stored prices of a set of symbols, read in one query so every asset valued against
+ * it sees the same prices
+ */
+public final class PriceSnapshot {
+
+    public static final PriceSnapshot EMPTY = new PriceSnapshot(Instant.EPOCH, Map.of());
+
+    private final Instant takenAt;
+    private final Map<String, BigDecimal> prices;
+
+    PriceSnapshot(Instant takenAt, Map<String, BigDecimal> prices) {
+        this.takenAt = takenAt;
+        this.prices = Map.copyOf(prices);
+    }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    /**
+     * Upper-case symbol to price; symbols that were never priced map to zero
+     */
+    public Map<String, BigDecimal> getPrices() {
+        return prices;
+    }
+
+    /**
+     * Latest price of a symbol, or null if it isn't part of this snapshot
+     */
+    public BigDecimal get(String symbol) {
+        return symbol != null ? prices.get(symbol.toUpperCase()) : null;
+    }
+
+    /**
+     * Price an asset is valued at: its selling rate once sold, the symbol's latest price
+     * (zero if never priced), or its buying rate when it has no symbol or a sale has no rate
+     */
+    public BigDecimal priceOf(Asset asset) {
+        if (asset.isSold()) {
+            return asset.getSellingRate() != null ? asset.getSellingRate() : asset.getBuyingRate();
+        }
+        if (asset.getSymbol() == null || asset.getSymbol().isEmpty()) {
+            return asset.getBuyingRate();
+        }
+        BigDecimal price = get(asset.getSymbol());
+        return price != null ? price : BigDecimal.ZERO;
+    }
+
+    /**
+     * Distinct upper-case symbols of the unsold assets, the ones a snapshot has to cover
+     */
+    public static Set<String> symbols(Collection<Asset> assets) {
+        Set<String> symbols = new HashSet<>();
+        for (Asset asset : assets) {
+            if (!asset.isSold() && asset.getSymbol() != null && !asset.getSymbol().isEmpty()) {
+                symbols.add(asset.getSymbol().toUpperCase());
+            }
+        }
+        return symbols;
+    }
+}
@@ -0,0 +1,259 @@
+package com.app.portfolio.service.valuation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixed-point P&L arithmetic on scaled longs.
+ *
+ * Quantities, rates and prices are stored as DECIMAL(20,4), so they are handled as longs
+ * scaled by 10^4 and their products as longs scaled by 10^8. Results are exactly those of
+ * the BigDecimal expressions they replace:
+ * <ul>
+ *   <li>{@link #value}: {@code price.multiply(quantity)}</li>
+ *   <li>{@link #percent}: {@code profitLoss.divide(invested, 4, HALF_UP).multiply(100)},
+ *       or zero when nothing was invested</li>
+ * </ul>
+ * Inputs with more than four decimals, and results that would overflow a long, fall back to
+ * BigDecimal, so every input is still valued exactly.
+ *
+ * The gain comes from converting each input once and only building BigDecimals for the
+ * results a caller keeps; see {@code ValuationKernelBenchmark}.
+ */
+public final class ValuationKernel {
+
+    public static final int SCALE = 4;
+    public static final int VALUE_SCALE = 2 * SCALE;
+
+    // Marks an input or result that doesn't fit the fixed-point representation
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final long PERCENT_FACTOR = 10_000; // four decimals of the ratio
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private ValuationKernel() {
+    }
+
+    /**
+     * {@code amount * 10^4} as a long, or {@link #NONE} if it has more than four decimals or
+     * is out of range
+     */
+    public static long scaled(BigDecimal amount) {
+        return amount != null ? scaledTo(amount, SCALE) : NONE;
+    }
+
+    /**
+     * {@code quantity * price} at {@link #VALUE_SCALE}, or {@link #NONE} on overflow
+     */
+    public static long value(long quantity, long price) {
+        if (quantity == NONE || price == NONE) {
+            return NONE;
+        }
+        long high = Math.multiplyHigh(quantity, price);
+        long low = quantity * price;
+        // The product fits in a long only if the high word is the sign extension of the low word
+        if (high != (low >> 63) || low == NONE) {
+            return NONE;
+        }
+        return low;
+    }
+
+    /**
+     * {@code a + b} at the same scale, or {@link #NONE} on overflow
+     */
+    public static long add(long a, long b) {
+        if (a == NONE || b == NONE) {
+            return NONE;
+        }
+        long sum = a + b;
+        // Overflow iff both operands have the same sign and the sum's sign differs
+        return ((a ^ sum) & (b ^ sum)) < 0 || sum == NONE ? NONE : sum;
+    }
+
+    /**
+     * {@code a - b} at the same scale, or {@link #NONE} on overflow
+     */
+    public static long subtract(long a, long b) {
+        return b == NONE ? NONE : add(a, -b);
+    }
+
+    /**
+     * {@code profitLoss / invested} rounded HALF_UP to four decimals, times 100, as a long
+     * scaled by 10^4. Both arguments must have the same scale. Zero when {@code invested <= 0},
+     * {@link #NONE} on overflow.
+     */
+    public static long percent(long profitLoss, long invested) {
+        if (profitLoss == NONE || invested == NONE) {
+            return NONE;
+        }
+        if (invested <= 0) {
+            return 0;
+        }
+        long high = Math.multiplyHigh(profitLoss, PERCENT_FACTOR);
+        long numerator = profitLoss * PERCENT_FACTOR;
+        if (high != (numerator >> 63)) {
+            return NONE;
+        }
+        long quotient = numerator / invested;
+        long remainder = Math.abs(numerator % invested);
+        // HALF_UP: round away from zero when the remainder is at least half the divisor
+        if (remainder >= invested - remainder) {
+            quotient += numerator < 0 ? -1 : 1;
+        }
+        if (quotient > Long.MAX_VALUE / 100 || quotient < -(Long.MAX_VALUE / 100)) {
+            return NONE;
+        }
+        return quotient * 100;
+    }
+
+    public static BigDecimal toBigDecimal(long scaled, int scale) {
+        return BigDecimal.valueOf(scaled, scale);
+    }
+
+    /**
+     * P&L percentage of an invested amount: HALF_UP to four decimals of the ratio, times 100.
+     * Zero when nothing was invested.
+     */
+    public static BigDecimal percent(BigDecimal profitLoss, BigDecimal invested) {
+        if (invested.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        if (Math.max(profitLoss.scale(), invested.scale()) <= VALUE_SCALE) {
+            long percent = percent(scaledTo(profitLoss, VALUE_SCALE), scaledTo(invested, VALUE_SCALE));
+            if (percent != NONE) {
+                return toBigDecimal(percent, SCALE);
+            }
+        }
+        return profitLoss.divide(invested, SCALE, RoundingMode.HALF_UP).multiply(HUNDRED);
+    }
+
+    /**
+     * Current value, P&L and P&L percentage of a position held at {@code buyingRate} and
+     * now priced at {@code price}, converting each input once
+     */
+    public static Valuation valuate(BigDecimal quantity, BigDecimal buyingRate, BigDecimal price) {
+        long q = scaled(quantity);
+        long invested = value(q, scaled(buyingRate));
+        long currentValue = value(q, scaled(price));
+        long profitLoss = subtract(currentValue, invested);
+        long percent = percent(profitLoss, invested);
+        return percent != NONE
+                ? new Valuation(currentValue, profitLoss, percent, null)
+                : exactValuation(quantity, buyingRate, price);
+    }
+
+    // Kept out of valuate() so the common path stays small enough to inline
+    private static Valuation exactValuation(BigDecimal quantity, BigDecimal buyingRate, BigDecimal price) {
+        BigDecimal invested = buyingRate.multiply(quantity);
+        BigDecimal currentValue = price.multiply(quantity);
+        BigDecimal profitLoss = currentValue.subtract(invested);
+        return new Valuation(NONE, NONE, NONE, new BigDecimal[]{currentValue, profitLoss, percent(profitLoss, invested)});
+    }
+
+    private static long scaledTo(BigDecimal amount, int scale) {
+        if (amount.scale() == scale && amount.precision() <= 18) {
+            // Column values: moving the point keeps the compact long, so this stays small enough
+            // to inline and the temporary BigDecimal can be optimized away
+            return amount.movePointRight(scale).longValue();
+        }
+        try {
+            long scaled = amount.setScale(scale, RoundingMode.UNNECESSARY).movePointRight(scale).longValueExact();
+            return scaled == NONE ? NONE : scaled;
+        } catch (ArithmeticException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Result of {@link #valuate}. BigDecimals are only built for the getters that are called.
+     */
+    public static final class Valuation {
+
+        private final long currentValue;
+        private final long profitLoss;
+        private final long percent;
+        private final BigDecimal[] exact; // current value, P&L, percent; only when outside the fixed-point range
+
+        private Valuation(long currentValue, long profitLoss, long percent, BigDecimal[] exact) {
+            this.currentValue = currentValue;
+            this.profitLoss = profitLoss;
+            this.percent = percent;
+            this.exact = exact;
+        }
+
+        public BigDecimal getCurrentValue() {
+            return exact == null ? toBigDecimal(currentValue, VALUE_SCALE) : exact[0];
+        }
+
+        public BigDecimal getProfitLoss() {
+            return exact == null ? toBigDecimal(profitLoss, VALUE_SCALE) : exact[1];
+        }
+
+        public BigDecimal getProfitLossPercent() {
+            return exact == null ? toBigDecimal(percent, SCALE) : exact[2];
+        }
+    }
+
+    /**
+     * Running sum of position values at {@link #VALUE_SCALE}, kept in a long until it no
+     * longer fits
+     */
+    public static final class Sum {
+
+        private long scaled;
+        private BigDecimal exact;
+
+        /**
+         * Adds {@code quantity * price}
+         */
+        public void addValue(BigDecimal quantity, BigDecimal price) {
+            add(value(scaled(quantity), scaled(price)), quantity, price);
+        }
+
+        /**
+         * Adds {@code quantity * (price - base)}
+         */
+        public void addChange(BigDecimal quantity, BigDecimal base, BigDecimal price) {
+            long q = scaled(quantity);
+            long change = subtract(value(q, scaled(price)), value(q, scaled(base)));
+            if (exact == null && change != NONE) {
+                long sum = ValuationKernel.add(scaled, change);
+                if (sum != NONE) {
+                    scaled = sum;
+                    return;
+                }
+            }
+            addExact(price.multiply(quantity).subtract(base.multiply(quantity)));
+        }
+
+        public BigDecimal toBigDecimal() {
+            return exact != null ? exact : ValuationKernel.toBigDecimal(scaled, VALUE_SCALE);
+        }
+
+        public static <K> Map<K, BigDecimal> totals(Map<K, Sum> sums) {
+            Map<K, BigDecimal> totals = new HashMap<>();
+            sums.forEach((key, sum) -> totals.put(key, sum.toBigDecimal()));
+            return totals;
+        }
+
+        private void add(long value, BigDecimal quantity, BigDecimal price) {
+            if (exact == null && value != NONE) {
+                long sum = ValuationKernel.add(scaled, value);
+                if (sum != NONE) {
+                    scaled = sum;
+                    return;
+                }
+            }
+            addExact(price.multiply(quantity));
+        }
+
+        private void addExact(BigDecimal amount) {
+            if (exact == null) {
+                exact = ValuationKernel.toBigDecimal(scaled, VALUE_SCALE);
+            }
+            exact = exact.add(amount);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.portfolio.service.valuation;
+
+import com.app.portfolio.beans.Asset;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ValuationService {
+
+    /**
+     * Latest prices of every symbol the assets hold, in one query
+     */
+    PriceSnapshot snapshot(Collection<Asset> assets);
+
+    /**
+     * Latest prices of the given symbols in one query, for callers that value assets they
+     * haven't loaded yet
+     */
+    PriceSnapshot snapshotOf(Collection<String> symbols);
+
+    /**
+     * Values the assets against a fresh snapshot of their symbols
+     */
+    PortfolioValuation value(List<Asset> assets);
+
+    /**
+     * Values the assets against an existing snapshot, so several lists share the same prices.
+     * Symbols missing from the snapshot are worth zero.
+     */
+    PortfolioValuation value(List<Asset> assets, PriceSnapshot snapshot);
+}
@@ -0,0 +1,69 @@
+package com.app.portfolio.service.valuation;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.pricing.PricingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Values assets in batch: each distinct symbol is priced once, from a single
+ * {@code getLatestPrices} query, and positions are summed per currency in fixed point.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ValuationServiceImpl implements ValuationService {
+
+    private final PricingService pricingService;
+    private final FxRateService fxRateService;
+
+    @Override
+    public PriceSnapshot snapshot(Collection<Asset> assets) {
+        return snapshotOf(PriceSnapshot.symbols(assets));
+    }
+
+    @Override
+    public PriceSnapshot snapshotOf(Collection<String> symbols) {
+        if (symbols.isEmpty()) {
+            return PriceSnapshot.EMPTY;
+        }
+        Set<String> upper = new HashSet<>();
+        symbols.forEach(symbol -> upper.add(symbol.toUpperCase()));
+        // Symbols never priced are worth zero, as in the position aggregates
+        Map<String, BigDecimal> prices = new HashMap<>(pricingService.getLatestPrices(upper));
+        upper.forEach(symbol -> prices.putIfAbsent(symbol, BigDecimal.ZERO));
+        log.debug("Priced {} symbols", upper.size());
+        return new PriceSnapshot(Instant.now(), prices);
+    }
+
+    @Override
+    public PortfolioValuation value(List<Asset> assets) {
+        return value(assets, snapshot(assets));
+    }
+
+    @Override
+    public PortfolioValuation value(List<Asset> assets, PriceSnapshot snapshot) {
+        FxRateMatrix fx = fxRateService.getMatrix();
+        List<AssetValuation> valuations = new ArrayList<>(assets.size());
+        Map<String, ValuationKernel.Sum> investedByCurrency = new HashMap<>();
+        Map<String, ValuationKernel.Sum> currentValueByCurrency = new HashMap<>();
+        for (Asset asset : assets) {
+            BigDecimal price = snapshot.priceOf(asset);
+            valuations.add(new AssetValuation(asset, price));
+            String currency = fx.normalize(asset.getCurrency());
+            investedByCurrency.computeIfAbsent(currency, c -> new ValuationKernel.Sum())
+                    .addValue(asset.getQuantity(), asset.getBuyingRate());
+            currentValueByCurrency.computeIfAbsent(currency, c -> new ValuationKernel.Sum())
+                    .addValue(asset.getQuantity(), price);
+        }
+        return new PortfolioValuation(snapshot, valuations,
+                ValuationKernel.Sum.totals(investedByCurrency), ValuationKernel.Sum.totals(currentValueByCurrency));
+    }
+}
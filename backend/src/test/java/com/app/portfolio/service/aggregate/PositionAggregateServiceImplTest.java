@@ -0,0 +1,174 @@
+package com.app.portfolio.service.aggregate;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.events.ChangeType;
+import com.app.portfolio.events.PricesUpdatedEvent;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.pricing.PricingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Position Aggregate Service Tests")
+class PositionAggregateServiceImplTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @InjectMocks
+    private PositionAggregateServiceImpl aggregateService;
+
+    private final FxRateMatrix fx = FxRateMatrix.of(LocalDate.of(2026, 2, 4), "USD",
+            Map.of("INR", new BigDecimal("0.012")));
+
+    private Client client1;
+    private Client client2;
+    private List<Asset> book;
+    private final Map<String, BigDecimal> marketPrices = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        client1 = Client.builder().id(1L).name("Client 1").build();
+        client2 = Client.builder().id(2L).name("Client 2").build();
+        book = new ArrayList<>(List.of(
+                asset(10L, client1, "AAPL", "USD", "10", "150"),
+                asset(11L, client1, "RELIANCE.NS", "INR", "5", "2500"),
+                asset(12L, client2, "AAPL", "USD", "2", "100")));
+
+        lenient().when(fxRateService.getMatrix()).thenReturn(fx);
+        lenient().when(assetRepository.findAllByUserIdWithClient(1L)).thenAnswer(invocation -> new ArrayList<>(book));
+        marketPrices.put("AAPL", new BigDecimal("200"));
+        marketPrices.put("RELIANCE.NS", new BigDecimal("3000"));
+        lenient().when(pricingService.getLatestPrices(anyCollection())).thenAnswer(invocation -> {
+            Map<String, BigDecimal> prices = new HashMap<>();
+            for (String symbol : invocation.<Collection<String>>getArgument(0)) {
+                if (marketPrices.containsKey(symbol)) {
+                    prices.put(symbol, marketPrices.get(symbol));
+                }
+            }
+            return prices;
+        });
+    }
+
+    @Test
+    @DisplayName("Should build user and client totals per currency from the book")
+    void buildTotals() {
+        PositionTotals user = aggregateService.getUserTotals(1L);
+        PositionTotals client = aggregateService.getClientTotals(1L, 2L);
+
+        assertThat(user.getAssetCount()).isEqualTo(3);
+        assertThat(user.getInvestedByCurrency().get("USD")).isEqualByComparingTo("1700");
+        assertThat(user.getInvestedByCurrency().get("INR")).isEqualByComparingTo("12500");
+        assertThat(user.getCurrentValueByCurrency().get("USD")).isEqualByComparingTo("2400");
+        assertThat(user.getCurrentValue(fx, "USD")).isEqualByComparingTo("2580");
+        assertThat(user.getAllocation(fx, "USD").get("STOCK")).isEqualByComparingTo("2580");
+        assertThat(client.getAssetCount()).isEqualTo(1);
+        assertThat(client.getCurrentValue(fx, "USD")).isEqualByComparingTo("400");
+        assertThat(aggregateService.getClientTotals(1L, 99L)).isSameAs(PositionTotals.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Should apply asset changes as deltas without reloading the book")
+    void assetChanges() {
+        aggregateService.getUserTotals(1L);
+
+        Asset sold = asset(10L, client1, "AAPL", "USD", "10", "150");
+        sold.setSold(true);
+        sold.setSellingRate(new BigDecimal("180"));
+        aggregateService.onAssetChanged(AssetChangedEvent.saved(1L, sold, ChangeType.UPDATED));
+        aggregateService.onAssetChanged(AssetChangedEvent.deleted(1L, 2L, 12L));
+
+        PositionTotals user = aggregateService.getUserTotals(1L);
+        assertThat(user.getAssetCount()).isEqualTo(2);
+        assertThat(user.getInvestedByCurrency().get("USD")).isEqualByComparingTo("1500");
+        assertThat(user.getCurrentValueByCurrency().get("USD")).isEqualByComparingTo("1800");
+        assertThat(user.getAllocation(fx, "USD").get("STOCK")).isEqualByComparingTo("180");
+        assertThat(aggregateService.getClientTotals(1L, 2L).getAssetCount()).isZero();
+        verify(assetRepository, times(1)).findAllByUserIdWithClient(1L);
+    }
+
+    @Test
+    @DisplayName("Should reprice holdings of updated symbols only")
+    void priceTick() {
+        aggregateService.getUserTotals(1L);
+        marketPrices.put("AAPL", new BigDecimal("210"));
+
+        aggregateService.onPricesUpdated(new PricesUpdatedEvent(Set.of("AAPL", "MSFT")));
+
+        assertThat(aggregateService.getUserTotals(1L).getCurrentValueByCurrency().get("USD")).isEqualByComparingTo("2520");
+        assertThat(aggregateService.getClientTotals(1L, 2L).getCurrentValueByCurrency().get("USD")).isEqualByComparingTo("420");
+        verify(pricingService, never()).getLatestPrices(argThat(symbols -> symbols.contains("MSFT")));
+    }
+
+    @Test
+    @DisplayName("Should reprice a symbol released by the change itself after releasing the lock")
+    void assetChange_ReleasedSymbol() {
+        aggregateService.getUserTotals(1L);
+
+        // The only RELIANCE.NS holding: removing its old state drops the symbol's price
+        Asset resized = asset(11L, client1, "RELIANCE.NS", "INR", "6", "2500");
+        aggregateService.onAssetChanged(AssetChangedEvent.saved(1L, resized, ChangeType.UPDATED));
+
+        assertThat(aggregateService.getUserTotals(1L).getCurrentValueByCurrency().get("INR")).isEqualByComparingTo("18000");
+        verify(pricingService, never()).getCurrentPriceBySymbolAsBigDecimal(any());
+        verify(pricingService).getLatestPrices(List.of("RELIANCE.NS"));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the book after a bulk import")
+    void bulkImport() {
+        aggregateService.getUserTotals(1L);
+        book.add(asset(13L, client2, null, "USD", "1", "50"));
+
+        aggregateService.onAssetChanged(new AssetChangedEvent(1L, 2L, ChangeType.IMPORTED));
+
+        PositionTotals client = aggregateService.getClientTotals(1L, 2L);
+        assertThat(client.getAssetCount()).isEqualTo(2);
+        assertThat(client.getCurrentValueByCurrency().get("USD")).isEqualByComparingTo("450");
+        verify(assetRepository, times(2)).findAllByUserIdWithClient(1L);
+    }
+
+    private Asset asset(Long id, Client client, String symbol, String currency, String quantity, String buyingRate) {
+        return Asset.builder()
+                .id(id)
+                .client(client)
+                .name(symbol != null ? symbol : "Private holding")
+                .category(Asset.AssetCategory.STOCK)
+                .symbol(symbol)
+                .currency(currency)
+                .quantity(new BigDecimal(quantity))
+                .buyingRate(new BigDecimal(buyingRate))
+                .purchaseDateTime(Instant.now())
+                .build();
+    }
+}
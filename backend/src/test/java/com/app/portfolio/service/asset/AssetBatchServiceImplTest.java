@@ -0,0 +1,186 @@
+package com.app.portfolio.service.asset;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.dto.asset.AssetBatchOperation;
+import com.app.portfolio.dto.asset.AssetBatchOperation.Type;
+import com.app.portfolio.dto.asset.AssetBatchResponse;
+import com.app.portfolio.dto.asset.AssetBatchResponse.Status;
+import com.app.portfolio.dto.asset.AssetRequest;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.events.ChangeType;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.mapper.AssetMapper;
+import com.app.portfolio.repository.AssetPriceRepository;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.importer.AssetBatchWriter;
+import com.app.portfolio.service.pricing.PricingService;
+import com.app.portfolio.service.valuation.ValuationServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Asset Batch Service Tests")
+class AssetBatchServiceImplTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private AssetPriceRepository assetPriceRepository;
+
+    @Mock
+    private AssetBatchWriter batchWriter;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    private AssetBatchServiceImpl batchService;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new AssetBatchServiceImpl(assetRepository, clientRepository, assetPriceRepository, batchWriter,
+                new AssetMapper(), new ValuationServiceImpl(pricingService, fxRateService),
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher, entityManager);
+        ReflectionTestUtils.setField(batchService, "maxOperations", 6);
+        ReflectionTestUtils.setField(batchService, "jdbcBatchSize", 50);
+
+        client = Client.builder().id(10L).name("Client 10").build();
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
+        lenient().when(fxRateService.getBaseCurrency()).thenReturn("USD");
+        lenient().when(fxRateService.getMatrix()).thenReturn(FxRateMatrix.of(LocalDate.of(2026, 2, 4), "USD", Map.of()));
+        lenient().when(pricingService.getLatestPrices(anyCollection()))
+                .thenReturn(Map.of("AAPL", new BigDecimal("150"), "MSFT", new BigDecimal("400")));
+    }
+
+    @Test
+    @DisplayName("Should check ownership once, apply valid operations together and report the rest")
+    void apply_MixedOperations() {
+        Asset updated = asset(1L, "MSFT");
+        Asset deleted = asset(2L, "AAPL");
+        when(assetRepository.findAllByIdInAndUserId(Set.of(1L, 2L, 3L), 7L)).thenReturn(List.of(updated, deleted));
+        when(clientRepository.findAllByIdInAndUserId(Set.of(10L, 11L), 7L)).thenReturn(List.of(client));
+        doAnswer(invocation -> {
+            invocation.<List<Asset>>getArgument(0).get(0).setId(100L);
+            return null;
+        }).when(batchWriter).insertReturningIds(anyList());
+
+        AssetRequest invalid = request("AAPL", "1");
+        invalid.setQuantity(null);
+        AssetBatchResponse response = batchService.apply(List.of(
+                new AssetBatchOperation(Type.CREATE, null, 10L, request("AAPL", "2")),
+                new AssetBatchOperation(Type.UPDATE, 1L, null, request("MSFT", "3")),
+                new AssetBatchOperation(Type.DELETE, 2L, null, null),
+                new AssetBatchOperation(Type.UPDATE, 3L, null, request("MSFT", "1")),
+                new AssetBatchOperation(Type.CREATE, null, 11L, invalid),
+                new AssetBatchOperation(Type.DELETE, 1L, null, null)), 7L);
+
+        assertThat(response.getApplied()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(AssetBatchResponse.Result::getStatus).containsExactly(
+                Status.CREATED, Status.UPDATED, Status.DELETED, Status.NOT_FOUND, Status.INVALID, Status.INVALID);
+        assertThat(response.getResults().get(0).getId()).isEqualTo(100L);
+        assertThat(response.getResults().get(1).getAsset().getQuantity()).isEqualByComparingTo("3");
+        assertThat(response.getResults().get(1).getAsset().getCurrentPrice()).isEqualByComparingTo("400");
+        assertThat(response.getResults().get(4).getError()).contains("quantity");
+
+        verify(session).setJdbcBatchSize(50);
+        verify(entityManager).flush();
+        verify(assetPriceRepository).detachFromAssets(List.of(2L));
+        verify(assetRepository).deleteAllByIdIn(List.of(2L));
+        verify(pricingService, times(1)).getLatestPrices(anyCollection());
+        ArgumentCaptor<AssetChangedEvent> events = ArgumentCaptor.forClass(AssetChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(AssetChangedEvent::getType, AssetChangedEvent::getAssetId)
+                .containsExactly(tuple(ChangeType.CREATED, 100L),
+                        tuple(ChangeType.UPDATED, 1L),
+                        tuple(ChangeType.DELETED, 2L));
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches before touching the database")
+    void apply_BatchSize() {
+        assertThatThrownBy(() -> batchService.apply(List.of(), 7L)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> batchService.apply(
+                Collections.nCopies(7, new AssetBatchOperation(Type.DELETE, 1L, null, null)), 7L))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("at most 6");
+        verifyNoInteractions(assetRepository, clientRepository, batchWriter, eventPublisher);
+    }
+
+    private Asset asset(Long id, String symbol) {
+        return Asset.builder()
+                .id(id)
+                .client(client)
+                .name(symbol)
+                .category(Asset.AssetCategory.STOCK)
+                .symbol(symbol)
+                .quantity(BigDecimal.ONE)
+                .buyingRate(new BigDecimal("100"))
+                .purchaseDateTime(Instant.parse("2026-01-05T00:00:00Z"))
+                .currency("USD")
+                .build();
+    }
+
+    private static AssetRequest request(String symbol, String quantity) {
+        AssetRequest request = new AssetRequest();
+        request.setName(symbol);
+        request.setSymbol(symbol);
+        request.setCategory(Asset.AssetCategory.STOCK);
+        request.setQuantity(new BigDecimal(quantity));
+        request.setBuyingRate(new BigDecimal("100"));
+        request.setPurchaseDateTime(Instant.parse("2026-01-05T00:00:00Z"));
+        request.setCurrency("USD");
+        return request;
+    }
+}
@@ -0,0 +1,78 @@
+package com.app.portfolio.service.asset;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.events.ChangeType;
+import com.app.portfolio.exceptions.ResourceNotFoundException;
+import com.app.portfolio.repository.AssetPriceRepository;
+import com.app.portfolio.repository.AssetRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Asset Delete Tests")
+class AssetDeleteTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private AssetPriceRepository assetPriceRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AssetServiceImpl assetService;
+
+    @Test
+    @DisplayName("Should detach prices and delete the asset with bulk statements")
+    void deleteAsset() {
+        when(assetRepository.existsByIdAndClientUserId(1L, 1L)).thenReturn(true);
+        when(assetRepository.findById(1L)).thenReturn(Optional.of(
+                Asset.builder().id(1L).client(Client.builder().id(7L).build()).build()));
+
+        assetService.deleteAsset(1L, 1L);
+
+        verify(assetPriceRepository).detachFromAssets(List.of(1L));
+        verify(assetRepository).deleteAllByIdIn(List.of(1L));
+        verify(assetRepository, never()).delete(any(Asset.class));
+        ArgumentCaptor<AssetChangedEvent> event = ArgumentCaptor.forClass(AssetChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(ChangeType.DELETED);
+        assertThat(event.getValue().getClientId()).isEqualTo(7L);
+        assertThat(event.getValue().getAssetId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when the asset isn't the user's")
+    void deleteAsset_NotFound() {
+        when(assetRepository.existsByIdAndClientUserId(1L, 1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> assetService.deleteAsset(1L, 1L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Asset")
+                .hasMessageContaining("1");
+
+        verify(assetRepository, never()).deleteAllByIdIn(any());
+        verifyNoInteractions(assetPriceRepository, eventPublisher);
+    }
+}
@@ -0,0 +1,131 @@
+package com.app.portfolio.service.asset;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.mapper.AssetMapper;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.pricing.PricingService;
+import com.app.portfolio.service.valuation.ValuationServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Asset Export Tests")
+class AssetExportTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private AssetMapper assetMapper = new AssetMapper();
+
+    @InjectMocks
+    private AssetServiceImpl assetService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(assetService, "exportBatchSize", 2);
+        ReflectionTestUtils.setField(assetService, "valuationService", new ValuationServiceImpl(pricingService, fxRateService));
+        ReflectionTestUtils.setField(assetService, "entityManager", entityManager);
+    }
+
+    @Test
+    @DisplayName("Should stream rows without pricing and leave unset fields empty")
+    void exportAssetsAsCSV_Plain() throws Exception {
+        Asset sold = asset(1L, "AAPL", "Apple");
+        sold.setSold(true);
+        sold.setSellingRate(new BigDecimal("180.0000"));
+        sold.setSellingDateTime(Instant.parse("2024-03-01T00:00:00Z"));
+        Asset odd = asset(2L, "BRK,B", "Berkshire");
+        odd.setCurrency(null);
+        when(assetRepository.streamByUserId(1L)).thenReturn(List.of(sold, odd, asset(3L, "MSFT", "Microsoft")).stream());
+
+        String csv = export(false);
+
+        assertThat(csv.split("\n")).containsExactly(
+                "symbol,quantity,buyingRate,assetType,purchaseDateTime,currency,sellingRate,sellingDateTime,sold",
+                "AAPL,10.0000,150.0000,STOCK,2024-01-15T00:00:00Z,USD,180.0000,2024-03-01T00:00:00Z,true",
+                "\"BRK,B\",10.0000,150.0000,STOCK,2024-01-15T00:00:00Z,USD,,,false",
+                "MSFT,10.0000,150.0000,STOCK,2024-01-15T00:00:00Z,USD,,,false");
+        verify(entityManager, times(3)).detach(any(Asset.class));
+        verifyNoInteractions(pricingService);
+    }
+
+    @Test
+    @DisplayName("Should price each batch with one lookup when valuation is included")
+    void exportAssetsAsCSV_WithValuation() throws Exception {
+        List<Asset> assets = new ArrayList<>();
+        IntStream.rangeClosed(1, 5).forEach(i -> assets.add(asset(i, "S" + i, "Asset " + i)));
+        when(assetRepository.streamByUserId(1L)).thenReturn(assets.stream());
+        when(fxRateService.getMatrix()).thenReturn(FxRateMatrix.of(LocalDate.of(2024, 1, 15), "USD", Map.of()));
+        when(pricingService.getLatestPrices(anyCollection())).thenReturn(Map.of(
+                "S1", new BigDecimal("165.0000"), "S2", new BigDecimal("165.0000"), "S3", new BigDecimal("165.0000"),
+                "S4", new BigDecimal("165.0000"), "S5", new BigDecimal("165.0000")));
+
+        String[] lines = export(true).split("\n");
+
+        assertThat(lines).hasSize(6);
+        assertThat(lines[0]).endsWith(",sold,currentPrice,currentValue,profitLoss,profitLossPercent");
+        assertThat(lines[1]).isEqualTo("S1,10.0000,150.0000,STOCK,2024-01-15T00:00:00Z,USD,,,false,"
+                + "165.0000,1650.00000000,150.00000000,10.0000");
+        verify(pricingService).getLatestPrices(Set.of("S1", "S2"));
+        verify(pricingService).getLatestPrices(Set.of("S3", "S4"));
+        verify(pricingService).getLatestPrices(Set.of("S5"));
+    }
+
+    private String export(boolean includeValuation) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assetService.exportAssetsAsCSV(1L, includeValuation, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Asset asset(long id, String symbol, String name) {
+        return Asset.builder()
+                .id(id)
+                .symbol(symbol)
+                .name(name)
+                .category(Asset.AssetCategory.STOCK)
+                .quantity(new BigDecimal("10.0000"))
+                .buyingRate(new BigDecimal("150.0000"))
+                .purchaseDateTime(Instant.parse("2024-01-15T00:00:00Z"))
+                .currency("USD")
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.app.portfolio.service.asset;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.dto.asset.AssetFilter;
+import com.app.portfolio.dto.asset.AssetPage;
+import com.app.portfolio.dto.asset.AssetResponse;
+import com.app.portfolio.dto.asset.AssetSort;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.mapper.AssetMapper;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.repository.UserRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.pricing.PricingService;
+import com.app.portfolio.service.valuation.ValuationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Asset Paging Tests")
+class AssetPagingTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Spy
+    private AssetMapper assetMapper = new AssetMapper();
+
+    @InjectMocks
+    private AssetServiceImpl assetService;
+
+    private List<Asset> assets;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(assetService, "defaultPageLimit", 50);
+        ReflectionTestUtils.setField(assetService, "maxPageLimit", 500);
+        ReflectionTestUtils.setField(assetService, "valuationService", new ValuationServiceImpl(pricingService, fxRateService));
+        lenient().when(userRepository.existsById(1L)).thenReturn(true);
+        lenient().when(fxRateService.getBaseCurrency()).thenReturn("USD");
+        lenient().when(fxRateService.getMatrix()).thenReturn(FxRateMatrix.of(LocalDate.of(2026, 2, 4), "USD",
+                Map.of("EUR", new BigDecimal("1.10"))));
+
+        // Symbol Sn is priced at 10 * n; every third asset has no symbol and is valued at cost
+        Client client = Client.builder().id(1L).name("Client 1").build();
+        Random random = new Random(11);
+        assets = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            assets.add(Asset.builder()
+                    .id(id)
+                    .client(client)
+                    .name("Asset " + id)
+                    .category(Asset.AssetCategory.STOCK)
+                    .symbol(id % 3 == 0 ? null : "S" + (id % 5))
+                    .currency(id % 4 == 0 ? "EUR" : "USD")
+                    .quantity(BigDecimal.valueOf(1 + random.nextInt(20)))
+                    .buyingRate(BigDecimal.valueOf(5 + random.nextInt(4) * 10))
+                    .purchaseDateTime(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(3600 * (id / 2)))
+                    .build());
+        }
+        lenient().when(pricingService.getLatestPrices(anyCollection())).thenAnswer(invocation -> {
+            Map<String, BigDecimal> prices = new HashMap<>();
+            for (String symbol : invocation.<Collection<String>>getArgument(0)) {
+                prices.put(symbol, BigDecimal.valueOf(10L * Long.parseLong(symbol.substring(1))));
+            }
+            return prices;
+        });
+    }
+
+    @Test
+    @DisplayName("Should page by purchase date and price only the page")
+    void getAssets_DatePages() {
+        List<Asset> newestFirst = assets.stream()
+                .sorted(Comparator.comparing(Asset::getPurchaseDateTime).thenComparing(Asset::getId).reversed())
+                .toList();
+        when(assetRepository.findPage(eq(1L), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq(Limit.of(4))))
+                .thenReturn(newestFirst.subList(0, 4));
+
+        AssetPage page = assetService.getAssets(1L, null, AssetFilter.NONE, AssetSort.DATE, 3, null);
+
+        assertThat(page.getItems()).extracting(AssetResponse::getId)
+                .containsExactly(newestFirst.get(0).getId(), newestFirst.get(1).getId(), newestFirst.get(2).getId());
+        Asset last = newestFirst.get(2);
+        assertThat(page.getNextCursor()).isEqualTo("date:" + last.getPurchaseDateTime() + ":" + last.getId());
+        Set<String> pageSymbols = new HashSet<>();
+        newestFirst.subList(0, 3).stream().map(Asset::getSymbol).filter(Objects::nonNull).forEach(pageSymbols::add);
+        verify(pricingService).getLatestPrices(pageSymbols);
+
+        when(assetRepository.findPage(eq(1L), isNull(), isNull(), isNull(), isNull(),
+                eq(last.getPurchaseDateTime()), eq(last.getId()), eq(Limit.of(4))))
+                .thenReturn(newestFirst.subList(3, 5));
+        AssetPage next = assetService.getAssets(1L, null, AssetFilter.NONE, AssetSort.DATE, 3, page.getNextCursor());
+
+        assertThat(next.getItems()).hasSize(2);
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should page through value and P&L rankings without gaps or repeats")
+    void getAssets_RankedPages() {
+        when(assetRepository.findPage(eq(1L), isNull(), any(), any(), any(), isNull(), isNull(), eq(Limit.unlimited())))
+                .thenReturn(assets);
+
+        for (AssetSort sort : List.of(AssetSort.VALUE, AssetSort.PNL)) {
+            List<AssetResponse> all = assetService.getAssets(1L, null, AssetFilter.NONE, sort, null, null).getItems();
+            assertThat(all).hasSize(assets.size());
+
+            List<AssetResponse> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                AssetPage page = assetService.getAssets(1L, null, AssetFilter.NONE, sort, 7, cursor);
+                assertThat(page.getItems().size()).isLessThanOrEqualTo(7);
+                paged.addAll(page.getItems());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertThat(paged).extracting(AssetResponse::getId)
+                    .containsExactlyElementsOf(all.stream().map(AssetResponse::getId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid limits and cursors")
+    void getAssets_InvalidInput() {
+        assertThatThrownBy(() -> assetService.getAssets(1L, null, AssetFilter.NONE, AssetSort.DATE, 0, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> assetService.getAssets(1L, null, AssetFilter.NONE, AssetSort.VALUE, 10, "date:2026-01-01T00:00:00Z:4"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> assetService.getAssets(1L, null, AssetFilter.NONE, AssetSort.DATE, 10, "date:yesterday:4"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> AssetFilter.of("SHARES", null, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -7,6 +7,7 @@ import com.app.portfolio.dto.asset.AssetRequest;
 import com.app.portfolio.dto.asset.AssetResponse;
 import com.app.portfolio.exceptions.ResourceNotFoundException;
 import com.app.portfolio.mapper.AssetMapper;
+import com.app.portfolio.repository.AssetPriceRepository;
 import com.app.portfolio.repository.AssetRepository;
 import com.app.portfolio.repository.ClientRepository;
 import com.app.portfolio.repository.UserRepository;
@@ -20,8 +21,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -43,6 +42,9 @@ class AssetServiceTest {
     @Mock
     private AssetRepository assetRepository;
 
+    @Mock
+    private AssetPriceRepository assetPriceRepository;
+
     @Mock
     private ClientRepository clientRepository;
 
@@ -213,37 +215,6 @@ class AssetServiceTest {
         }
     }
 
-    @Nested
-    @DisplayName("Delete Asset Tests")
-    class DeleteAssetTests {
-
-        @Test
-        @DisplayName("Should delete asset when asset exists and belongs to user")
-        void shouldDeleteAssetWhenAssetExistsAndBelongsToUser() {
-            when(assetRepository.existsByIdAndClientUserId(1L, 1L)).thenReturn(true);
-            doNothing().when(assetRepository).deleteById(1L);
-
-            assetService.deleteAsset(1L, 1L);
-
-            verify(assetRepository).existsByIdAndClientUserId(1L, 1L);
-            verify(assetRepository).deleteById(1L);
-        }
-
-        @Test
-        @DisplayName("Should throw ResourceNotFoundException when asset does not exist")
-        void shouldThrowExceptionWhenAssetDoesNotExist() {
-            when(assetRepository.existsByIdAndClientUserId(1L, 1L)).thenReturn(false);
-
-            assertThatThrownBy(() -> assetService.deleteAsset(1L, 1L))
-                    .isInstanceOf(ResourceNotFoundException.class)
-                    .hasMessageContaining("Asset")
-                    .hasMessageContaining("1");
-
-            verify(assetRepository).existsByIdAndClientUserId(1L, 1L);
-            verify(assetRepository, never()).deleteById(anyLong());
-        }
-    }
-
     @Nested
     @DisplayName("Import Assets Tests")
     class ImportAssetsTests {
@@ -284,48 +255,4 @@ class AssetServiceTest {
             verifyNoInteractions(assetRepository);
         }
     }
-
-    @Nested
-    @DisplayName("CSV Import/Export Tests")
-    class CsvImportExportTests {
-
-        @Test
-        @DisplayName("Should import assets from CSV successfully")
-        void shouldImportAssetsFromCSVSuccessfully() throws IOException {
-            String csvContent = "symbol,quantity,buyingRate\nAAPL,100,150.00\nGOOGL,50,2500.00";
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(csvContent.getBytes());
-
-            when(clientRepository.existsByIdAndUserId(1L, 1L)).thenReturn(true);
-            when(clientRepository.findById(1L)).thenReturn(Optional.of(testClient));
-            when(assetRepository.save(any(Asset.class))).thenReturn(testAsset1);
-
-            int result = assetService.importAssetsFromCSV(inputStream, 1L, 1L);
-
-            assertThat(result).isEqualTo(2);
-            verify(clientRepository).existsByIdAndUserId(1L, 1L);
-            verify(clientRepository).findById(1L);
-            verify(assetRepository, times(2)).save(any(Asset.class));
-        }
-
-        @Test
-        @DisplayName("Should export assets to CSV successfully")
-        void shouldExportAssetsToCSVSuccessfully() {
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(assetRepository.findByClientIdOrderByPurchaseDateDesc(1L))
-                    .thenReturn(Arrays.asList(testAsset1, testAsset2));
-            when(pricingService.getCurrentPrice(1L)).thenReturn(new BigDecimal("155.00"));
-            when(pricingService.getCurrentPrice(2L)).thenReturn(new BigDecimal("2600.00"));
-            when(assetMapper.toResponse(any(Asset.class), any(BigDecimal.class), any(BigDecimal.class), any(BigDecimal.class)))
-                    .thenReturn(testAssetResponse);
-
-            String result = assetService.exportAssetsAsCSV(1L);
-
-            assertThat(result).isNotNull();
-            assertThat(result).contains("symbol,quantity,buyingRate");
-            verify(userRepository).findById(1L);
-            verify(assetRepository).findByClientIdOrderByPurchaseDateDesc(1L);
-            verify(pricingService, times(2)).getCurrentPrice(anyLong());
-            verify(assetMapper, times(2)).toResponse(any(Asset.class), any(BigDecimal.class), any(BigDecimal.class), any(BigDecimal.class));
-        }
-    }
 }
@@ -4,18 +4,26 @@ import com.app.portfolio.beans.Client;
 import com.app.portfolio.beans.User;
 import com.app.portfolio.dto.client.ClientRequest;
 import com.app.portfolio.dto.client.ClientResponse;
+import com.app.portfolio.events.ClientChangedEvent;
 import com.app.portfolio.exceptions.ResourceNotFoundException;
 import com.app.portfolio.mapper.ClientMapper;
+import com.app.portfolio.repository.AssetPriceRepository;
+import com.app.portfolio.repository.AssetRepository;
 import com.app.portfolio.repository.ClientRepository;
 import com.app.portfolio.repository.UserRepository;
+import com.app.portfolio.service.ledger.LedgerService;
+import com.app.portfolio.service.performance.AnnualPerformanceService;
+import com.app.portfolio.service.snapshot.PortfolioSnapshotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.util.Arrays;
@@ -37,9 +45,27 @@ class ClientServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private AssetPriceRepository assetPriceRepository;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private PortfolioSnapshotService portfolioSnapshotService;
+
+    @Mock
+    private AnnualPerformanceService annualPerformanceService;
+
     @Mock
     private ClientMapper clientMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ClientServiceImpl clientService;
 
@@ -109,6 +135,7 @@ class ClientServiceTest {
             verify(clientMapper).toEntity(clientRequest, null);
             verify(clientRepository).save(any(Client.class));
             verify(clientMapper).toResponse(testClient1);
+            verify(eventPublisher).publishEvent(any(ClientChangedEvent.class));
         }
 
         @Test
@@ -279,14 +306,22 @@ class ClientServiceTest {
     class DeleteClientTests {
 
         @Test
-        @DisplayName("Should delete client when it exists and belongs to user")
+        @DisplayName("Should delete client and its assets with bulk statements, keeping price history")
         void shouldDeleteClientWhenItExistsAndBelongsToUser() {
             when(clientRepository.existsByIdAndUserId(1L, 1L)).thenReturn(true);
 
             clientService.deleteClient(1L, 1L);
 
             verify(clientRepository).existsByIdAndUserId(1L, 1L);
-            verify(clientRepository).deleteById(1L);
+            InOrder order = inOrder(ledgerService, portfolioSnapshotService, annualPerformanceService, assetPriceRepository, assetRepository, clientRepository);
+            order.verify(ledgerService).deleteClientLedger(1L);
+            order.verify(portfolioSnapshotService).deleteClientSnapshots(1L);
+            order.verify(annualPerformanceService).deleteClientPerformance(1L);
+            order.verify(assetPriceRepository).detachFromClientAssets(1L);
+            order.verify(assetRepository).deleteAllByClientId(1L);
+            order.verify(clientRepository).deleteClientById(1L);
+            verify(clientRepository, never()).deleteById(anyLong());
+            verify(eventPublisher).publishEvent(any(ClientChangedEvent.class));
         }
 
         @Test
@@ -299,7 +334,9 @@ class ClientServiceTest {
                     .hasMessage("Client not found with id: 1");
 
             verify(clientRepository).existsByIdAndUserId(1L, 1L);
-            verify(clientRepository, never()).deleteById(anyLong());
+            verify(clientRepository, never()).deleteClientById(anyLong());
+            verifyNoInteractions(assetRepository, assetPriceRepository, ledgerService, portfolioSnapshotService,
+                    annualPerformanceService);
         }
     }
 }
@@ -0,0 +1,103 @@
+package com.app.portfolio.service.dashboard;
+
+import com.app.portfolio.dto.dashboard.DashboardSection;
+import com.app.portfolio.dto.dashboard.DashboardSummaryResponse;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.events.ChangeType;
+import com.app.portfolio.events.ClientChangedEvent;
+import com.app.portfolio.events.PricesUpdatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Dashboard Cache Tests")
+class DashboardCacheTest {
+
+    private DashboardCache cache;
+    private DashboardSummaryResponse response;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DashboardCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        response = DashboardSummaryResponse.builder().totalAssets(3L).build();
+    }
+
+    @Test
+    @DisplayName("Should serve a cached summary while the version is unchanged")
+    void get_SameVersion() {
+        String version = cache.version(1L);
+        cache.put(1L, null, version, response);
+
+        assertThat(cache.get(1L, null, cache.version(1L))).isSameAs(response);
+        assertThat(cache.etag(1L, null)).isEqualTo(cache.etag(1L, null));
+    }
+
+    @Test
+    @DisplayName("Should invalidate only the changed user's summaries on asset or client changes")
+    void invalidate_UserChange() {
+        cache.put(1L, null, cache.version(1L), response);
+        cache.put(1L, 7L, cache.version(1L), response);
+        cache.put(2L, null, cache.version(2L), response);
+        String etag = cache.etag(1L, 7L);
+        String otherUserEtag = cache.etag(2L, null);
+
+        cache.onAssetChanged(new AssetChangedEvent(1L, 7L, ChangeType.UPDATED));
+
+        assertThat(cache.get(1L, null, cache.version(1L))).isNull();
+        assertThat(cache.get(1L, 7L, cache.version(1L))).isNull();
+        assertThat(cache.etag(1L, 7L)).isNotEqualTo(etag);
+        assertThat(cache.get(2L, null, cache.version(2L))).isSameAs(response);
+        assertThat(cache.etag(2L, null)).isEqualTo(otherUserEtag);
+
+        cache.put(1L, null, cache.version(1L), response);
+        cache.onClientChanged(new ClientChangedEvent(1L, 7L, ChangeType.DELETED));
+        assertThat(cache.get(1L, null, cache.version(1L))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should invalidate every summary on a price update")
+    void invalidate_PriceUpdate() {
+        cache.put(1L, null, cache.version(1L), response);
+        String etag = cache.etag(2L, null);
+
+        cache.onPricesUpdated(new PricesUpdatedEvent(Set.of("AAPL")));
+
+        assertThat(cache.get(1L, null, cache.version(1L))).isNull();
+        assertThat(cache.etag(2L, null)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Should keep summaries limited to some sections apart from full ones")
+    void get_Sections() {
+        Set<DashboardSection> totalsOnly = EnumSet.of(DashboardSection.TOTALS);
+        cache.put(1L, null, totalsOnly, cache.version(1L), response);
+
+        assertThat(cache.get(1L, null, cache.version(1L))).isNull();
+        assertThat(cache.get(1L, null, Set.of(DashboardSection.TOTALS), cache.version(1L))).isSameAs(response);
+        assertThat(cache.etag(1L, null, totalsOnly)).isNotEqualTo(cache.etag(1L, null));
+        assertThat(cache.etag(1L, null, EnumSet.allOf(DashboardSection.class))).isEqualTo(cache.etag(1L, null));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used summary when full")
+    void put_EvictsLeastRecentlyUsed() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        cache.put(1L, null, cache.version(1L), response);
+        cache.put(2L, null, cache.version(2L), response);
+        cache.get(1L, null, cache.version(1L));
+
+        cache.put(3L, null, cache.version(3L), response);
+
+        assertThat(cache.get(1L, null, cache.version(1L))).isSameAs(response);
+        assertThat(cache.get(2L, null, cache.version(2L))).isNull();
+        assertThat(cache.get(3L, null, cache.version(3L))).isSameAs(response);
+    }
+}
@@ -0,0 +1,181 @@
+package com.app.portfolio.service.dashboard;
+
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.dto.dashboard.DashboardSection;
+import com.app.portfolio.dto.dashboard.DashboardSummaryResponse;
+import com.app.portfolio.dto.dashboard.DashboardSummaryResponse.SectionStatus;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.service.aggregate.PositionAggregateService;
+import com.app.portfolio.service.aggregate.PositionTotals;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.movers.MoversService;
+import com.app.portfolio.service.pricing.PricingService;
+import com.app.portfolio.service.valuation.ValuationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Dashboard Service Tests")
+class DashboardServiceImplTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Mock
+    private PositionAggregateService positionAggregateService;
+
+    @Mock
+    private MoversService moversService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MockEnvironment environment;
+    private ExecutorService executor;
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        dashboardService = new DashboardServiceImpl(clientRepository, assetRepository, pricingService, fxRateService,
+                executor, environment, new DashboardCache(), positionAggregateService, moversService,
+                new ValuationServiceImpl(pricingService, fxRateService), new TransactionTemplate(transactionManager));
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        lenient().when(fxRateService.getBaseCurrency()).thenReturn("USD");
+        lenient().when(fxRateService.getMatrix()).thenReturn(FxRateMatrix.of(LocalDate.of(2026, 2, 4), "USD", Map.of()));
+        lenient().when(clientRepository.findByUserIdOrderByCreatedAtDesc(1L))
+                .thenReturn(List.of(Client.builder().id(10L).name("Client 10").build()));
+        lenient().when(positionAggregateService.getUserTotals(1L)).thenReturn(new PositionTotals(3,
+                Map.of("USD", new BigDecimal("100")), Map.of("USD", new BigDecimal("150")),
+                Map.of("STOCK", Map.of("USD", new BigDecimal("150")))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should compute only the requested sections and skip loading assets and prices")
+    void getDashboardSummary_SparseFields() {
+        when(assetRepository.countByClientUserId(1L)).thenReturn(3L);
+
+        DashboardSummaryResponse response = dashboardService.getDashboardSummary(1L,
+                DashboardSection.parse("totals,allocation"));
+
+        assertThat(response.getTotalInvested()).isEqualByComparingTo("100");
+        assertThat(response.getTotalProfitLossPercent()).isEqualByComparingTo("50");
+        assertThat(response.getAssetAllocation()).containsOnlyKeys("STOCK");
+        assertThat(response.getTotalAssets()).isEqualTo(3L);
+        assertThat(response.getRecentClients()).isNull();
+        assertThat(response.getTopAssets()).isNull();
+        assertThat(response.getPortfolioPerformance()).isNull();
+        assertThat(response.getSectionStatus()).containsOnlyKeys(DashboardSection.TOTALS, DashboardSection.ALLOCATION)
+                .allSatisfy((section, status) -> assertThat(status).isEqualTo(SectionStatus.OK));
+        verify(assetRepository, never()).findAllByUserIdWithClient(anyLong());
+        verifyNoInteractions(pricingService, moversService);
+    }
+
+    @Test
+    @DisplayName("Should compute every section when no fields are given")
+    void getDashboardSummary_AllFields() {
+        when(assetRepository.findAllByUserIdWithClient(1L)).thenReturn(List.of());
+        when(positionAggregateService.getClientTotals(any(), any())).thenReturn(PositionTotals.EMPTY);
+        when(moversService.selectMovers(any(), any(), anyInt()))
+                .thenReturn(new MoversService.RankedMovers(List.of(), List.of()));
+
+        DashboardSummaryResponse response = dashboardService.getDashboardSummary(1L, DashboardSection.parse(null));
+
+        assertThat(response.getSectionStatus()).containsOnlyKeys(DashboardSection.values());
+        assertThat(response.getRecentClients()).hasSize(1);
+        assertThat(response.getTopAssets()).isEmpty();
+        assertThat(response.getTodaysPL()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Should flag a section that never completes as timed out and still return the others")
+    void getDashboardSummary_SectionTimeout() throws Exception {
+        environment.setProperty("dashboard.section.recentClients.timeout-ms", "100");
+        when(assetRepository.countByClientUserId(1L)).thenReturn(3L);
+        CountDownLatch never = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(positionAggregateService.getClientTotals(1L, 10L)).thenAnswer(invocation -> {
+            try {
+                never.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return PositionTotals.EMPTY;
+        });
+
+        DashboardSummaryResponse response = dashboardService.getDashboardSummary(1L,
+                DashboardSection.parse("totals,allocation,recentClients"));
+
+        assertThat(response.getSectionStatus())
+                .containsEntry(DashboardSection.RECENT_CLIENTS, SectionStatus.TIMEOUT)
+                .containsEntry(DashboardSection.TOTALS, SectionStatus.OK)
+                .containsEntry(DashboardSection.ALLOCATION, SectionStatus.OK);
+        assertThat(response.getRecentClients()).isNull();
+        assertThat(response.getTotalInvested()).isEqualByComparingTo("100");
+        assertThat(response.getAssetAllocation()).containsOnlyKeys("STOCK");
+        // The abandoned section is stopped, not left running on its thread
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        // Clients and assets are loaded in their own short transaction
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields")
+    void parse_UnknownField() {
+        assertThat(DashboardSection.parse(" todayspl, Movers ")).containsExactlyInAnyOrder(
+                DashboardSection.TODAYS_PL, DashboardSection.MOVERS);
+        assertThatThrownBy(() -> DashboardSection.parse("totals,chart"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("chart");
+    }
+}
@@ -0,0 +1,237 @@
+package com.app.portfolio.service.excel;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.beans.User;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.repository.UserRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.importer.AssetBatchWriter;
+import com.app.portfolio.service.pricing.PricingService;
+import com.app.portfolio.service.valuation.ValuationServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Excel Service Tests")
+class ExcelServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private AssetBatchWriter batchWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @InjectMocks
+    private ExcelServiceImpl excelService;
+
+    private final List<List<Asset>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(excelService, "batchSize", 2);
+        ReflectionTestUtils.setField(excelService, "exportBatchSize", 2);
+        ReflectionTestUtils.setField(excelService, "valuationService", new ValuationServiceImpl(pricingService, fxRateService));
+        lenient().when(fxRateService.getMatrix()).thenReturn(FxRateMatrix.of(LocalDate.of(2026, 2, 4), "USD", Map.of()));
+        lenient().doAnswer(invocation -> batches.add(List.copyOf(invocation.<List<Asset>>getArgument(0))))
+                .when(batchWriter).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Should stream rows into batches and look clients up once")
+    void importFromExcel_StreamsRows() throws Exception {
+        User user = User.builder().id(1L).build();
+        Client alice = Client.builder().id(10L).name("Alice").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(clientRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(List.of(alice));
+        when(clientRepository.save(any(Client.class))).thenAnswer(invocation -> {
+            Client client = invocation.getArgument(0);
+            client.setId(20L);
+            return client;
+        });
+
+        excelService.importFromExcel(workbook(), 1L);
+
+        List<Asset> assets = batches.stream().flatMap(List::stream).toList();
+        assertThat(batches).extracting(List::size).containsExactly(2, 1);
+        assertThat(assets).extracting(asset -> asset.getClient().getId()).containsExactly(10L, 20L, 20L);
+        assertThat(assets).extracting(Asset::getSymbol).containsExactly("AAPL", "0005.HK", "");
+
+        Asset apple = assets.get(0);
+        assertThat(apple.getQuantity()).isEqualByComparingTo("10.5");
+        assertThat(apple.getBuyingRate()).isEqualByComparingTo("150.25");
+        assertThat(apple.getPurchaseDateTime()).isEqualTo(Instant.parse("2023-01-15T00:00:00Z"));
+        assertThat(apple.isSold()).isTrue();
+        assertThat(apple.getSellingRate()).isEqualByComparingTo("180");
+        assertThat(assets.get(1).getPurchaseDateTime()).isEqualTo(Instant.parse("2023-02-20T00:00:00Z"));
+        assertThat(assets.get(1).getCategory()).isEqualTo(Asset.AssetCategory.STOCK);
+        assertThat(assets.get(1).getSellingRate()).isNull();
+
+        verify(clientRepository).findByUserIdOrderByCreatedAtDesc(1L);
+        verify(clientRepository, times(1)).save(any(Client.class));
+        verify(eventPublisher).publishEvent(any(AssetChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should stream the export with valuation columns, pricing each batch at most once")
+    void exportToExcel_WritesValuedRows() throws Exception {
+        Client alice = Client.builder().id(10L).name("Alice").build();
+        Client bob = Client.builder().id(20L).name("Bob").build();
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(clientRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(List.of(bob, alice));
+        when(assetRepository.streamByUserId(1L)).thenReturn(Stream.of(
+                asset(1L, alice, "AAPL", "10", "150"),
+                asset(2L, alice, "MSFT", "2", "300"),
+                asset(3L, bob, null, "1000", "1")));
+        when(pricingService.getLatestPrices(anyCollection())).thenReturn(Map.of(
+                "AAPL", new BigDecimal("180"), "MSFT", new BigDecimal("270")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        excelService.exportToExcel(1L, out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(3);
+            assertThat(sheet.getRow(0).getCell(14).getStringCellValue()).isEqualTo("Profit/Loss %");
+
+            Row apple = sheet.getRow(1);
+            assertThat(apple.getCell(0).getStringCellValue()).isEqualTo("Alice");
+            assertThat(apple.getCell(6).getLocalDateTimeCellValue().toLocalDate()).isEqualTo(LocalDate.of(2023, 1, 15));
+            assertThat(apple.getCell(11).getNumericCellValue()).isEqualTo(180);
+            assertThat(apple.getCell(12).getNumericCellValue()).isEqualTo(1800);
+            assertThat(apple.getCell(13).getNumericCellValue()).isEqualTo(300);
+            assertThat(apple.getCell(14).getNumericCellValue()).isEqualTo(20);
+
+            Row cash = sheet.getRow(3);
+            assertThat(cash.getCell(0).getStringCellValue()).isEqualTo("Bob");
+            assertThat(cash.getCell(12).getNumericCellValue()).isEqualTo(1000);
+            assertThat(cash.getCell(13).getNumericCellValue()).isZero();
+        }
+        verify(pricingService).getLatestPrices(Set.of("AAPL", "MSFT"));
+        verify(pricingService, times(1)).getLatestPrices(anyCollection());
+        verify(entityManager, times(3)).detach(any(Asset.class));
+    }
+
+    private static Asset asset(Long id, Client client, String symbol, String quantity, String buyingRate) {
+        return Asset.builder()
+                .id(id)
+                .client(client)
+                .name("Asset " + id)
+                .category(Asset.AssetCategory.STOCK)
+                .symbol(symbol)
+                .quantity(new BigDecimal(quantity))
+                .buyingRate(new BigDecimal(buyingRate))
+                .purchaseDateTime(Instant.parse("2023-01-15T00:00:00Z"))
+                .currency("USD")
+                .build();
+    }
+
+    private static MockMultipartFile workbook() throws Exception {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Portfolio Data");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+
+            Row header = sheet.createRow(0);
+            String[] headers = {"Client Name", "Asset Name", "Category", "Symbol", "Quantity", "Buying Rate",
+                    "PurchaseDateTime", "Currency", "Selling Rate", "Selling Date Time", "Sold"};
+            for (int i = 0; i < headers.length; i++) {
+                header.createCell(i).setCellValue(headers[i]);
+            }
+
+            Row apple = sheet.createRow(1);
+            apple.createCell(0).setCellValue("alice");
+            apple.createCell(1).setCellValue("Apple");
+            apple.createCell(2).setCellValue("stock");
+            apple.createCell(3).setCellValue("AAPL");
+            apple.createCell(4).setCellValue(10.5);
+            apple.createCell(5).setCellValue(150.25);
+            apple.createCell(6).setCellValue(LocalDate.of(2023, 1, 15));
+            apple.getCell(6).setCellStyle(dateStyle);
+            apple.createCell(7).setCellValue("USD");
+            apple.createCell(8).setCellValue(180);
+            apple.createCell(10).setCellValue(true);
+
+            // Blank row and a row without an asset name are skipped
+            sheet.createRow(3).createCell(0).setCellValue("Bob");
+
+            Row hsbc = sheet.createRow(4);
+            hsbc.createCell(0).setCellValue("Bob");
+            hsbc.createCell(1).setCellValue("HSBC");
+            hsbc.createCell(2).setCellValue("SHARES");
+            hsbc.createCell(3).setCellValue("0005.HK");
+            hsbc.createCell(4).setCellValue(100);
+            hsbc.createCell(5).setCellValue(60);
+            hsbc.createCell(6).setCellValue("2023-02-20");
+            hsbc.createCell(7).setCellValue("HKD");
+
+            Row cash = sheet.createRow(5);
+            cash.createCell(0).setCellValue("BOB");
+            cash.createCell(1).setCellValue("Cash");
+            cash.createCell(2).setCellValue("FOREX");
+            cash.createCell(4).setCellValue(1000);
+            cash.createCell(5).setCellValue(1);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            return new MockMultipartFile("file", "portfolio.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", out.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.app.portfolio.service.fx;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FX Rate Matrix Tests")
+class FxRateMatrixTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 2, 4);
+
+    private FxRateMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        matrix = FxRateMatrix.of(DATE, "USD", Map.of(
+                "INR", new BigDecimal("0.012"),
+                "HKD", new BigDecimal("0.128")));
+    }
+
+    @Test
+    @DisplayName("Should convert between non-USD currencies through precomputed cross rates")
+    void convert_CrossRate() {
+        // 1 HKD = 0.128 / 0.012 INR
+        assertThat(matrix.rate("HKD", "INR")).isEqualByComparingTo("10.66666666666667");
+        assertThat(matrix.convert(new BigDecimal("1000.00"), "HKD", "INR")).isEqualByComparingTo("10666.6667");
+        assertThat(matrix.convert(new BigDecimal("83333.33"), "INR", "USD")).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    @DisplayName("Should leave same-currency amounts untouched")
+    void convert_SameCurrency() {
+        BigDecimal amount = new BigDecimal("123.45");
+        assertThat(matrix.convert(amount, "inr", "INR")).isSameAs(amount);
+    }
+
+    @Test
+    @DisplayName("Should treat blank currency as the default and unknown currency as one-to-one")
+    void convert_DefaultAndUnknown() {
+        assertThat(matrix.convert(new BigDecimal("100"), null, "INR")).isEqualByComparingTo("8333.3333");
+        assertThat(matrix.supports("EUR")).isFalse();
+        assertThat(matrix.convert(new BigDecimal("100"), "EUR", "USD")).isEqualByComparingTo("100");
+    }
+
+    @Test
+    @DisplayName("Should sum per-currency amounts into one total")
+    void convertAll() {
+        Map<String, BigDecimal> amounts = new LinkedHashMap<>();
+        amounts.put("USD", new BigDecimal("500"));
+        amounts.put("INR", new BigDecimal("100000"));
+        amounts.put("HKD", new BigDecimal("1000"));
+
+        assertThat(matrix.convertAll(amounts, "USD")).isEqualByComparingTo("1828");
+    }
+
+    @Test
+    @DisplayName("Should leave amounts without a rate out of totals and report them per currency")
+    void convertAll_MissingRate() {
+        Map<String, BigDecimal> amounts = new LinkedHashMap<>();
+        amounts.put("USD", new BigDecimal("500"));
+        amounts.put("INR", new BigDecimal("100000"));
+        amounts.put("eur", new BigDecimal("300"));
+        amounts.put("GBP", BigDecimal.ZERO);
+
+        assertThat(matrix.convertAll(amounts, "USD")).isEqualByComparingTo("1700");
+        assertThat(matrix.unconverted(amounts, "USD")).containsOnlyKeys("EUR");
+        assertThat(matrix.unconverted(amounts, "USD").get("EUR")).isEqualByComparingTo("300");
+        // Amounts already in the reporting currency need no rate
+        assertThat(matrix.convertAll(Map.of("EUR", new BigDecimal("300")), "EUR")).isEqualByComparingTo("300");
+        assertThat(matrix.unconverted(amounts, "EUR")).containsOnlyKeys("USD", "INR");
+    }
+
+    @Test
+    @DisplayName("Should overlay new rates without touching the original matrix")
+    void withRates() {
+        FxRateMatrix next = matrix.withRates(DATE.plusDays(1), Map.of("INR", new BigDecimal("0.011")));
+
+        assertThat(next.getDate()).isEqualTo(DATE.plusDays(1));
+        assertThat(next.rate("INR", "USD")).isEqualByComparingTo("0.011");
+        assertThat(next.rate("HKD", "USD")).isEqualByComparingTo("0.128");
+        assertThat(matrix.rate("INR", "USD")).isEqualByComparingTo("0.012");
+    }
+}
@@ -0,0 +1,174 @@
+package com.app.portfolio.service.idempotency;
+
+import com.app.portfolio.beans.IdempotencyKey;
+import com.app.portfolio.dto.asset.AssetBatchOperation;
+import com.app.portfolio.dto.asset.AssetRequest;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.exceptions.ConflictException;
+import com.app.portfolio.repository.IdempotencyKeyRepository;
+import com.app.portfolio.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Idempotency Service Tests")
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    // Stands in for the table and its unique (user_id, idempotency_key) constraint
+    private final Map<String, IdempotencyKey> keys = new HashMap<>();
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository, userRepository, new ObjectMapper());
+        lenient().when(idempotencyKeyRepository.save(any(IdempotencyKey.class))).thenAnswer(invocation -> {
+            IdempotencyKey key = invocation.getArgument(0);
+            if (key.getId() == null) {
+                if (keys.containsKey(key.getKey())) {
+                    throw new DataIntegrityViolationException("Duplicate entry");
+                }
+                key.setId((long) keys.size() + 1);
+            }
+            keys.put(key.getKey(), key);
+            return key;
+        });
+        lenient().when(idempotencyKeyRepository.findByUserIdAndKey(anyLong(), anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(keys.get(invocation.<String>getArgument(1))));
+        lenient().doAnswer(invocation -> keys.remove(invocation.<IdempotencyKey>getArgument(0).getKey()))
+                .when(idempotencyKeyRepository).delete(any(IdempotencyKey.class));
+    }
+
+    @Test
+    @DisplayName("Should handle a request once per key and replay the recorded response")
+    void execute_ReplaysCompletedRequest() throws Exception {
+        ResponseEntity<?> first = idempotencyService.execute(1L, "key-1", "POST /api/assets/import", this::importAssets);
+        ResponseEntity<?> retry = idempotencyService.execute(1L, "key-1", "POST /api/assets/import", this::importAssets);
+
+        assertThat(handled).hasValue(1);
+        assertThat(retry.getStatusCode()).isEqualTo(first.getStatusCode());
+        assertThat(((JsonNode) retry.getBody()).get("count").asInt()).isEqualTo(3);
+        assertThat(retry.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "key-1", "POST /api/clients/7/assets/import-csv",
+                this::importAssets)).isInstanceOf(BadRequestException.class);
+
+        idempotencyService.execute(1L, null, "POST /api/assets/import", this::importAssets);
+        assertThat(handled).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a retry while the first request runs and release the key when it fails")
+    void execute_InProgressAndFailed() throws Exception {
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "key-2", "POST /api/assets/import", () -> {
+            assertThatThrownBy(() -> idempotencyService.execute(1L, "key-2", "POST /api/assets/import", this::importAssets))
+                    .isInstanceOf(ConflictException.class);
+            throw new IllegalStateException("Database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ResponseEntity<?> retry = idempotencyService.execute(1L, "key-2", "POST /api/assets/import", this::importAssets);
+        assertThat(retry.getStatusCode().value()).isEqualTo(200);
+        assertThat(handled).hasValue(1);
+        assertThat(keys.get("key-2").getResponseStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different upload to the same path")
+    void execute_DifferentUpload() throws Exception {
+        String path = "POST /api/clients/7/assets/import-csv";
+        MockMultipartFile file = new MockMultipartFile("file", "assets.csv", "text/csv", "name,symbol\nApple,AAPL\n".getBytes());
+        MockMultipartFile other = new MockMultipartFile("file", "assets.csv", "text/csv", "name,symbol\nTesla,TSLA\n".getBytes());
+
+        idempotencyService.execute(1L, "key-3", UploadFingerprint.of(path, file), this::importAssets);
+        ResponseEntity<?> retry = idempotencyService.execute(1L, "key-3", UploadFingerprint.of(path, file), this::importAssets);
+
+        assertThat(retry.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(UploadFingerprint.of(path, file)).startsWith(path + " (23 bytes, sha256 ");
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "key-3", UploadFingerprint.of(path, other),
+                this::importAssets)).isInstanceOf(BadRequestException.class);
+        assertThat(handled).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different JSON body or async flag")
+    void execute_DifferentBody() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Map<String, Object>> assets = List.of(Map.of("symbol", "AAPL", "quantity", 10));
+        List<Map<String, Object>> others = List.of(Map.of("symbol", "TSLA", "quantity", 10));
+
+        idempotencyService.execute(1L, "key-4", BodyFingerprint.of("POST /api/assets/import?async=false", assets, objectMapper),
+                this::importAssets);
+        ResponseEntity<?> retry = idempotencyService.execute(1L, "key-4",
+                BodyFingerprint.of("POST /api/assets/import?async=false", List.of(Map.of("symbol", "AAPL", "quantity", 10)),
+                        objectMapper), this::importAssets);
+
+        assertThat(retry.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "key-4",
+                BodyFingerprint.of("POST /api/assets/import?async=false", others, objectMapper), this::importAssets))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "key-4",
+                BodyFingerprint.of("POST /api/assets/import?async=true", assets, objectMapper), this::importAssets))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(handled).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different batch of operations")
+    void execute_DifferentBatch() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        AssetRequest asset = new AssetRequest();
+        asset.setName("Apple");
+        asset.setSymbol("AAPL");
+        asset.setQuantity(BigDecimal.TEN);
+        asset.setBuyingRate(new BigDecimal("150"));
+        asset.setPurchaseDateTime(Instant.parse("2026-01-05T10:00:00Z"));
+        List<AssetBatchOperation> create = List.of(AssetBatchOperation.builder()
+                .op(AssetBatchOperation.Type.CREATE).clientId(7L).asset(asset).build());
+        List<AssetBatchOperation> delete = List.of(AssetBatchOperation.builder()
+                .op(AssetBatchOperation.Type.DELETE).id(42L).build());
+
+        idempotencyService.execute(1L, "key-5", BodyFingerprint.of("POST /api/assets/batch", create, objectMapper),
+                this::importAssets);
+
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "key-5",
+                BodyFingerprint.of("POST /api/assets/batch", delete, objectMapper), this::importAssets))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(handled).hasValue(1);
+    }
+
+    private ResponseEntity<?> importAssets() {
+        handled.incrementAndGet();
+        return ResponseEntity.ok(Map.of("count", 3, "message", "Assets imported successfully"));
+    }
+}
@@ -0,0 +1,219 @@
+package com.app.portfolio.service.importer;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.beans.Job;
+import com.app.portfolio.dto.asset.ImportReport;
+import com.app.portfolio.dto.asset.ImportReport.RowError;
+import com.app.portfolio.dto.job.JobResponse;
+import com.app.portfolio.events.AssetChangedEvent;
+import com.app.portfolio.exceptions.ResourceNotFoundException;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.service.job.JobContext;
+import com.app.portfolio.service.job.JobService;
+import com.app.portfolio.service.job.JobTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Asset Import Service Tests")
+class AssetImportServiceImplTest {
+
+    private static final String HEADER = "symbol,name,quantity,buyingRate,purchaseDate,currency,category\n";
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private AssetBatchWriter batchWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JobService jobService;
+
+    private AssetImportServiceImpl importService;
+
+    // Copies of every batch handed to the writer; the service reuses its chunk list
+    private final List<List<Asset>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new AssetImportServiceImpl(clientRepository, assetRepository, batchWriter,
+                new TransactionTemplate(transactionManager), eventPublisher, jobService);
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 100);
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(clientRepository.existsByIdAndUserId(10L, 1L)).thenReturn(true);
+        lenient().when(clientRepository.findById(10L)).thenReturn(Optional.of(Client.builder().id(10L).name("Client 10").build()));
+        lenient().doAnswer(invocation -> batches.add(List.copyOf(invocation.<List<Asset>>getArgument(0))))
+                .when(batchWriter).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Should insert valid rows in committed chunks and report invalid rows by line")
+    void importCsv_ChunksAndRowErrors() throws Exception {
+        String csv = HEADER
+                + "aapl,Apple,10,150.25,2023-01-15,usd,STOCK\n"
+                + ",No symbol,1,1,2023-01-15,USD,STOCK\n"
+                + "MSFT,\"Microsoft, Inc.\",5,320.50,2023-02-20T10:15:30Z,USD,STOCK\n"
+                + "\n"
+                + "BAD,Bad quantity,ten,1,2023-01-15,USD,STOCK\n"
+                + "GOOG,Google,2,100,15/01/2023,USD,STOCK\n"
+                + "VWRL,Vanguard,3,90,2023-03-01,EURO,MUTUAL_FUND\n"
+                + "XYZ,Unknown,1,1,2023-01-15,USD,SHARES\n"
+                + "BTC,,0.5,30000,2023-04-01,,CRYPTO\n";
+
+        ImportReport report = importService.importCsv(stream(csv), 10L, 1L);
+
+        assertThat(report.getStatus()).isEqualTo(ImportReport.Status.COMPLETED);
+        assertThat(report.getRowsRead()).isEqualTo(8);
+        assertThat(report.getImported()).isEqualTo(4);
+        assertThat(report.getFailed()).isEqualTo(4);
+        assertThat(report.getErrors()).extracting(RowError::getLine).containsExactly(3L, 6L, 7L, 9L);
+        assertThat(report.getErrors().get(1).getMessage()).contains("quantity");
+
+        assertThat(batches).extracting(List::size).containsExactly(2, 2);
+        verify(transactionManager, times(2)).commit(any());
+        List<Asset> imported = batches.stream().flatMap(List::stream).toList();
+        assertThat(imported).extracting(Asset::getSymbol).containsExactly("AAPL", "MSFT", "VWRL", "BTC");
+        assertThat(imported.get(1).getName()).isEqualTo("Microsoft, Inc.");
+        assertThat(imported.get(2).getCurrency()).isEqualTo("EUR");
+        assertThat(imported.get(3).getName()).isEqualTo("BTC");
+        assertThat(imported.get(3).getCurrency()).isEqualTo("USD");
+        verify(eventPublisher).publishEvent(any(AssetChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should retry a rejected chunk row by row and keep the rows the database accepts")
+    void importCsv_RejectedChunk() throws Exception {
+        doAnswer(invocation -> {
+            List<Asset> assets = invocation.getArgument(0);
+            if (assets.stream().anyMatch(asset -> asset.getSymbol().equals("DUP"))) {
+                throw new DataIntegrityViolationException("Duplicate entry");
+            }
+            batches.add(List.copyOf(assets));
+            return null;
+        }).when(batchWriter).insert(anyList());
+
+        String csv = HEADER
+                + "AAPL,Apple,10,150,2023-01-15,USD,STOCK\n"
+                + "DUP,Duplicate,1,1,2023-01-15,USD,STOCK\n"
+                + "MSFT,Microsoft,5,320,2023-02-20,USD,STOCK\n";
+
+        ImportReport report = importService.importCsv(stream(csv), 10L, 1L);
+
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(RowError::getLine).containsExactly(3L);
+        assertThat(report.getErrors().get(0).getMessage()).contains("Duplicate entry");
+        assertThat(batches).extracting(List::size).containsExactly(1, 1);
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should skip rows already imported for the client and rows repeated in the file")
+    void importCsv_SkipsDuplicateRows() throws Exception {
+        String apple = "AAPL,Apple,10,150.25,2023-01-15,USD,STOCK\n";
+        String msft = "MSFT,Microsoft,5,320.50,2023-02-20,USD,STOCK\n";
+        importService.importCsv(stream(HEADER + apple), 10L, 1L);
+        String appleHash = batches.get(0).get(0).getRowHash();
+        assertThat(appleHash).hasSize(64);
+        when(assetRepository.findRowHashesByClientId(10L)).thenReturn(List.of(appleHash));
+        batches.clear();
+
+        // Same row re-posted with trailing zeros, plus a row repeated within the file
+        ImportReport report = importService.importCsv(stream(HEADER
+                + "AAPL,Apple,10.00,150.2500,2023-01-15,USD,STOCK\n" + msft + msft), 10L, 1L);
+
+        assertThat(report.getRowsRead()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getSkipped()).isEqualTo(2);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(Asset::getSymbol).containsExactly("MSFT");
+        verify(assetRepository, times(2)).findRowHashesByClientId(10L);
+    }
+
+    @Test
+    @DisplayName("Should run background imports as a job reporting progress per chunk, for the client's owner only")
+    void importCsvAsync_RunsAsJob() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 5; i++) {
+            csv.append("S").append(i).append(",Asset ").append(i).append(",1,10,2023-01-15,USD,STOCK\n");
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "assets.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+        Path input = Files.createTempFile("job-input-", ".csv");
+        file.transferTo(input);
+
+        List<Long> progress = new ArrayList<>();
+        List<Object> results = new ArrayList<>();
+        JobContext job = mock(JobContext.class);
+        when(job.getInput()).thenReturn(input);
+        doAnswer(invocation -> progress.add(invocation.getArgument(0))).when(job).progress(anyLong(), any());
+        doAnswer(invocation -> results.add(invocation.getArgument(0))).when(job).setResult(any());
+        when(jobService.submit(eq(1L), eq(Job.JobType.CSV_IMPORT), eq(file), any())).thenAnswer(invocation -> {
+            invocation.<JobTask>getArgument(3).run(job);
+            return JobResponse.builder().id("job-1").status(Job.JobStatus.QUEUED).build();
+        });
+
+        try {
+            assertThat(importService.importCsvAsync(file, 10L, 1L).getId()).isEqualTo("job-1");
+        } finally {
+            Files.deleteIfExists(input);
+        }
+
+        assertThat(progress).containsExactly(2L, 4L, 5L);
+        ImportReport finished = (ImportReport) results.get(results.size() - 1);
+        assertThat(finished.getStatus()).isEqualTo(ImportReport.Status.COMPLETED);
+        assertThat(finished.getImported()).isEqualTo(5);
+        assertThat(batches).hasSize(3);
+        assertThatThrownBy(() -> importService.importCsvAsync(file, 10L, 2L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(jobService, times(1)).submit(any(), any(), any(), any());
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
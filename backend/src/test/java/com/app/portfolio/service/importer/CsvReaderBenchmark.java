@@ -0,0 +1,142 @@
+package com.app.portfolio.service.importer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading an asset export with the line parser the CSV import used before versus
+ * {@link CsvReader}. Not run by the test suite; start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.app.portfolio.service.importer.CsvReaderBenchmark}
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvReaderBenchmark {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    @Param({"100000"})
+    private int rows;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder("symbol,name,category,quantity,buyingRate,purchaseDate,currency\n");
+        for (int i = 0; i < rows; i++) {
+            builder.append("SYM").append(i % 500).append(',')
+                    .append(i % 10 == 0 ? "\"Holding " + i + ", Class A\"" : "Holding " + i).append(',')
+                    .append("STOCK,")
+                    .append(BigDecimal.valueOf(random.nextLong(1, 10_000_000L), 4)).append(',')
+                    .append(BigDecimal.valueOf(random.nextLong(1, 50_000_000L), 4)).append(',')
+                    .append(LocalDate.of(2020, 1, 1).plusDays(random.nextInt(2000))).append(',')
+                    .append("USD\n");
+        }
+        csv = builder.toString();
+    }
+
+    @Benchmark
+    public void lineParser(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(csv))) {
+            String[] headers = parseCSVLine(reader.readLine());
+            for (int i = 0; i < headers.length; i++) {
+                headers[i] = headers[i].trim().toLowerCase();
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] values = parseCSVLine(line);
+                Map<String, Object> row = new HashMap<>();
+                for (int i = 0; i < headers.length && i < values.length; i++) {
+                    String value = values[i].trim();
+                    if (!value.isEmpty()) {
+                        row.put(headers[i], value);
+                    }
+                }
+                blackhole.consume(row.get("symbol").toString());
+                blackhole.consume(row.get("name").toString());
+                blackhole.consume(new BigDecimal(row.get("quantity").toString()));
+                blackhole.consume(new BigDecimal(row.get("buyingrate").toString()));
+                blackhole.consume(parseInstant(row.get("purchasedate")));
+            }
+        }
+    }
+
+    @Benchmark
+    public void csvReader(Blackhole blackhole) throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            CsvReader.Header header = reader.readHeader();
+            int symbol = header.indexOf("symbol");
+            int name = header.indexOf("name");
+            int quantity = header.indexOf("quantity");
+            int buyingRate = header.indexOf("buyingrate");
+            int purchaseDate = header.indexOf("purchasedatetime", "purchasedate");
+            while (reader.next()) {
+                blackhole.consume(reader.get(symbol));
+                blackhole.consume(reader.get(name));
+                blackhole.consume(reader.getBigDecimal(quantity));
+                blackhole.consume(reader.getBigDecimal(buyingRate));
+                blackhole.consume(reader.getInstant(purchaseDate, ZONE));
+            }
+        }
+    }
+
+    // The import's previous parser: quotes toggle, one StringBuilder per field
+    private static String[] parseCSVLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == ',' && !inQuotes) {
+                values.add(current.toString());
+                current = new StringBuilder();
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values.toArray(new String[0]);
+    }
+
+    private static Instant parseInstant(Object obj) {
+        String value = obj.toString();
+        try {
+            return Instant.parse(value);
+        } catch (Exception e) {
+            return LocalDate.parse(value).atStartOfDay(ZONE).toInstant();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CsvReaderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
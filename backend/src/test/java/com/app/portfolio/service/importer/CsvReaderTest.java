@@ -0,0 +1,78 @@
+package com.app.portfolio.service.importer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CSV Reader Tests")
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("Should parse quoted fields, escaped quotes and line breaks across buffer refills")
+    void next_Rfc4180() throws Exception {
+        String csv = "\uFEFFSymbol,Name,Note\r\n"
+                + "AAPL,\"Apple, Inc.\",\"said \"\"hi\"\"\"\r\n"
+                + "\r\n"
+                + "MSFT,\"Multi\nline\",\n"
+                + "   \n"
+                + "GOOG,Google,\"\"";
+
+        // A 16 char buffer forces records to be moved and the buffer to grow mid-field
+        try (CsvReader reader = new CsvReader(new StringReader(csv), 16)) {
+            CsvReader.Header header = reader.readHeader();
+            assertThat(header.indexOf("symbol")).isZero();
+            assertThat(header.indexOf("missing", "NOTE")).isEqualTo(2);
+            assertThat(header.indexOf("missing")).isEqualTo(-1);
+
+            List<List<String>> rows = new ArrayList<>();
+            List<Long> lines = new ArrayList<>();
+            while (reader.next()) {
+                List<String> row = new ArrayList<>();
+                for (int i = 0; i < reader.size(); i++) {
+                    row.add(reader.get(i));
+                }
+                rows.add(row);
+                lines.add(reader.getLineNumber());
+            }
+
+            assertThat(rows).containsExactly(
+                    List.of("AAPL", "Apple, Inc.", "said \"hi\""),
+                    Arrays.asList("MSFT", "Multi\nline", null),
+                    Arrays.asList("GOOG", "Google", null));
+            assertThat(lines).containsExactly(2L, 4L, 7L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should decode numbers, dates and instants from the buffer")
+    void typedGetters() throws Exception {
+        String csv = " 150.2500 ,2024-01-31,2024-01-31T09:30:00Z,2024-02-30,ten,\n";
+
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            assertThat(reader.next()).isTrue();
+
+            assertThat(reader.getBigDecimal(0)).isEqualTo(new BigDecimal("150.2500"));
+            assertThat(reader.getDate(1)).isEqualTo(LocalDate.of(2024, 1, 31));
+            assertThat(reader.getInstant(1, ZoneOffset.UTC)).isEqualTo(Instant.parse("2024-01-31T00:00:00Z"));
+            assertThat(reader.getInstant(2, ZoneOffset.UTC)).isEqualTo(Instant.parse("2024-01-31T09:30:00Z"));
+            assertThat(reader.getBigDecimal(5)).isNull();
+            assertThat(reader.getDate(9)).isNull();
+            assertThatThrownBy(() -> reader.getDate(3)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> reader.getBigDecimal(4))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("ten");
+            assertThat(reader.next()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.app.portfolio.service.job;
+
+import com.app.portfolio.beans.Job;
+import com.app.portfolio.beans.Job.JobStatus;
+import com.app.portfolio.dto.job.JobResponse;
+import com.app.portfolio.exceptions.TooManyRequestsException;
+import com.app.portfolio.repository.JobRepository;
+import com.app.portfolio.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Job Service Tests")
+class JobServiceImplTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @TempDir
+    Path resultDir;
+
+    private ThreadPoolExecutor executor;
+    private JobServiceImpl jobService;
+
+    // Rows as last saved
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(10));
+        jobService = new JobServiceImpl(jobRepository, userRepository, new ObjectMapper().findAndRegisterModules(), executor);
+        ReflectionTestUtils.setField(jobService, "maxPerUser", 2);
+        ReflectionTestUtils.setField(jobService, "progressIntervalMs", 0L);
+        ReflectionTestUtils.setField(jobService, "resultDir", resultDir.toString());
+
+        lenient().when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> {
+            Job job = invocation.getArgument(0);
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        lenient().when(jobRepository.findByIdAndUserId(anyString(), anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(jobs.get(invocation.<String>getArgument(0))));
+        jobService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run a job to completion and offer its summary and result file")
+    void submit_CompletesWithResult() throws Exception {
+        JobResponse queued = jobService.submit(1L, Job.JobType.CSV_EXPORT, null, job -> {
+            job.progress(1, 1L);
+            try (OutputStream out = job.openResult("export.csv", "text/csv")) {
+                out.write("symbol\nAAPL\n".getBytes(StandardCharsets.UTF_8));
+            }
+            job.setResult(Map.of("count", 1));
+        });
+        assertThat(queued.getStatus()).isEqualTo(JobStatus.QUEUED);
+
+        JobResponse done = awaitFinished(queued.getId());
+        assertThat(done.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(done.getProcessed()).isEqualTo(1);
+        assertThat(done.getResult().get("count").asInt()).isEqualTo(1);
+        assertThat(done.getResultUrl()).isEqualTo("/api/jobs/" + queued.getId() + "/result");
+
+        JobResult result = jobService.getResult(queued.getId(), 1L);
+        assertThat(result.fileName()).isEqualTo("export.csv");
+        assertThat(Files.readString(result.file())).isEqualTo("symbol\nAAPL\n");
+    }
+
+    @Test
+    @DisplayName("Should limit jobs per user and cancel queued and running jobs")
+    void submit_LimitsAndCancels() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        JobResponse running = jobService.submit(1L, Job.JobType.CSV_IMPORT, null, job -> {
+            started.countDown();
+            for (long row = 1; ; row++) {
+                job.progress(row, null);
+                Thread.sleep(5);
+            }
+        });
+        JobResponse queued = jobService.submit(1L, Job.JobType.STATEMENT, null, job -> {
+        });
+        assertThatThrownBy(() -> jobService.submit(1L, Job.JobType.STATEMENT, null, job -> {
+        })).isInstanceOf(TooManyRequestsException.class);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(jobService.cancel(queued.getId(), 1L).getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThat(jobService.cancel(running.getId(), 1L).getMessage()).isEqualTo("Cancellation requested");
+        assertThat(awaitFinished(running.getId()).getStatus()).isEqualTo(JobStatus.CANCELLED);
+
+        // Both slots are free again
+        jobService.submit(1L, Job.JobType.STATEMENT, null, job -> {
+        });
+        assertThat(awaitFinished(jobService.submit(1L, Job.JobType.STATEMENT, null, job -> {
+        }).getId()).getStatus()).isEqualTo(JobStatus.COMPLETED);
+    }
+
+    private JobResponse awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        JobResponse job = jobService.getJob(jobId, 1L);
+        while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = jobService.getJob(jobId, 1L);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,138 @@
+package com.app.portfolio.service.ledger;
+
+import com.app.portfolio.beans.AssetTransaction;
+import com.app.portfolio.beans.AssetTransaction.TransactionType;
+import com.app.portfolio.beans.Position;
+import com.app.portfolio.beans.PositionLot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Lot Engine Tests")
+class LotEngineTest {
+
+    private Position position;
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        position = Position.builder().symbol("AAPL").currency("USD").build();
+        nextId = 1;
+    }
+
+    @Test
+    @DisplayName("Should sell the oldest lots first and realize proceeds minus their cost")
+    void apply_FifoSells() {
+        apply(trade(TransactionType.BUY, "10", "100"));
+        apply(trade(TransactionType.BUY, "10", "120"));
+
+        // Partial sell: all of the first lot and 2 of the second
+        apply(trade(TransactionType.SELL, "12", "130"));
+
+        assertThat(position.getQuantity()).isEqualByComparingTo("8");
+        assertThat(position.getCostBasis()).isEqualByComparingTo("960");
+        // 12 * 130 proceeds against 10 * 100 + 2 * 120 of cost
+        assertThat(position.getRealizedPnl()).isEqualByComparingTo("320");
+        assertThat(position.getLots()).singleElement().satisfies(lot -> {
+            assertThat(lot.getQuantity()).isEqualByComparingTo("8");
+            assertThat(lot.getCost()).isEqualByComparingTo("960");
+            assertThat(lot.getTransactionId()).isEqualTo(2L);
+        });
+        assertThat(position.getLastTransactionId()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should scale lot quantities on a split and keep the cost basis")
+    void apply_Split() {
+        apply(trade(TransactionType.BUY, "3", "90"));
+        AssetTransaction split = trade(TransactionType.SPLIT, null, null);
+        split.setSplitRatio(new BigDecimal("2"));
+        apply(split);
+
+        assertThat(position.getQuantity()).isEqualByComparingTo("6");
+        assertThat(position.getCostBasis()).isEqualByComparingTo("270");
+
+        apply(trade(TransactionType.SELL, "6", "50"));
+        assertThat(position.getQuantity()).isZero();
+        assertThat(position.getCostBasis()).isZero();
+        assertThat(position.getLots()).isEmpty();
+        assertThat(position.getRealizedPnl()).isEqualByComparingTo("30");
+    }
+
+    @Test
+    @DisplayName("Should reject selling more than is held and leave the position unchanged")
+    void apply_Oversell() {
+        apply(trade(TransactionType.BUY, "5", "10"));
+
+        assertThatThrownBy(() -> apply(trade(TransactionType.SELL, "6", "10")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("only 5 held");
+        assertThat(position.getQuantity()).isEqualByComparingTo("5");
+        assertThat(position.getLots()).hasSize(1);
+        assertThat(position.getLastTransactionId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should keep the cost basis equal to the open lots' cost and match a replay")
+    void apply_MatchesReplay() {
+        Random random = new Random(3);
+        List<AssetTransaction> ledger = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            AssetTransaction transaction;
+            int roll = random.nextInt(10);
+            if (roll < 5 || position.getQuantity().signum() == 0) {
+                transaction = trade(TransactionType.BUY, (1 + random.nextInt(50)) + ".5", (10 + random.nextInt(90)) + ".25");
+            } else if (roll < 9) {
+                BigDecimal quantity = position.getQuantity().multiply(new BigDecimal(random.nextInt(100) + 1))
+                        .divide(new BigDecimal(100), 4, RoundingMode.DOWN);
+                if (quantity.signum() == 0) {
+                    continue;
+                }
+                transaction = trade(TransactionType.SELL, quantity.toPlainString(), (10 + random.nextInt(90)) + ".75");
+            } else {
+                transaction = trade(TransactionType.SPLIT, null, null);
+                transaction.setSplitRatio(random.nextBoolean() ? new BigDecimal("2") : new BigDecimal("1.5"));
+            }
+            apply(transaction);
+            ledger.add(transaction);
+
+            assertThat(position.getCostBasis()).isEqualByComparingTo(position.getLots().stream()
+                    .map(PositionLot::getCost).reduce(BigDecimal.ZERO, BigDecimal::add));
+            assertThat(position.getQuantity()).isEqualByComparingTo(position.getLots().stream()
+                    .map(PositionLot::getQuantity).reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+
+        Position replayed = Position.builder().symbol("AAPL").build();
+        LotEngine.reset(replayed);
+        ledger.forEach(transaction -> LotEngine.apply(replayed, transaction));
+        assertThat(replayed.getQuantity()).isEqualByComparingTo(position.getQuantity());
+        assertThat(replayed.getCostBasis()).isEqualByComparingTo(position.getCostBasis());
+        assertThat(replayed.getRealizedPnl()).isEqualByComparingTo(position.getRealizedPnl());
+    }
+
+    private void apply(AssetTransaction transaction) {
+        LotEngine.apply(position, transaction);
+    }
+
+    private AssetTransaction trade(TransactionType type, String quantity, String price) {
+        long id = nextId++;
+        return AssetTransaction.builder()
+                .id(id)
+                .symbol("AAPL")
+                .type(type)
+                .quantity(quantity != null ? new BigDecimal(quantity) : null)
+                .price(price != null ? new BigDecimal(price) : null)
+                .tradeDateTime(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(60 * id))
+                .build();
+    }
+}
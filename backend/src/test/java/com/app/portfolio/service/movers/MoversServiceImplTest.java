@@ -0,0 +1,186 @@
+package com.app.portfolio.service.movers;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.dto.asset.MoverDirection;
+import com.app.portfolio.dto.asset.MoverResponse;
+import com.app.portfolio.dto.asset.MoversResponse;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.pricing.PricingService;
+import com.app.portfolio.service.valuation.PriceSnapshot;
+import com.app.portfolio.service.valuation.ValuationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Movers Service Tests")
+class MoversServiceImplTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @InjectMocks
+    private MoversServiceImpl moversService;
+
+    private ValuationServiceImpl valuationService;
+
+    private List<Asset> assets;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(moversService, "maxK", 100);
+        valuationService = new ValuationServiceImpl(pricingService, fxRateService);
+        ReflectionTestUtils.setField(moversService, "valuationService", valuationService);
+        Client client = Client.builder().id(1L).name("Client 1").build();
+
+        // Symbol Sn is priced at 100 + n; buying rates repeat so several returns tie
+        Random random = new Random(7);
+        assets = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            assets.add(Asset.builder()
+                    .id(id)
+                    .client(client)
+                    .name("Asset " + id)
+                    .category(Asset.AssetCategory.STOCK)
+                    .symbol(id % 10 == 0 ? null : "S" + (id % 7))
+                    .currency("USD")
+                    .quantity(BigDecimal.valueOf(1 + random.nextInt(50)))
+                    .buyingRate(BigDecimal.valueOf(80 + random.nextInt(8) * 5))
+                    .sold(id % 13 == 0)
+                    .purchaseDateTime(Instant.now())
+                    .build());
+        }
+        lenient().when(pricingService.getLatestPrices(anyCollection())).thenAnswer(invocation -> {
+            Map<String, BigDecimal> prices = new HashMap<>();
+            for (String symbol : invocation.<Collection<String>>getArgument(0)) {
+                prices.put(symbol, BigDecimal.valueOf(100 + Integer.parseInt(symbol.substring(1))));
+            }
+            return prices;
+        });
+        lenient().when(assetRepository.findAllByUserIdWithClient(1L)).thenReturn(assets);
+        lenient().when(fxRateService.getBaseCurrency()).thenReturn("USD");
+        lenient().when(fxRateService.getMatrix()).thenReturn(FxRateMatrix.of(LocalDate.of(2026, 2, 4), "USD", Map.of()));
+    }
+
+    @Nested
+    @DisplayName("TopK")
+    class TopKTests {
+
+        @Test
+        @DisplayName("Should keep the k highest scores, ties by lowest id")
+        void keepsBest() {
+            TopK<String> topK = new TopK<>(3);
+            topK.offer(1.0, 5, "a");
+            topK.offer(3.0, 2, "b");
+            topK.offer(2.0, 9, "c");
+            topK.offer(3.0, 1, "d");
+            topK.offer(0.5, 3, "e");
+            topK.offer(2.0, 4, "f");
+
+            assertThat(topK.drain()).containsExactly("d", "b", "f");
+            assertThat(topK.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should match a full sort for random input")
+        void matchesSort() {
+            Random random = new Random(1);
+            TopK<Long> topK = new TopK<>(25);
+            List<double[]> all = new ArrayList<>();
+            for (long id = 0; id < 5000; id++) {
+                double score = random.nextInt(200) / 10.0;
+                topK.offer(score, id, id);
+                all.add(new double[]{score, id});
+            }
+            List<Long> expected = all.stream()
+                    .sorted(Comparator.<double[]>comparingDouble(e -> -e[0]).thenComparingDouble(e -> e[1]))
+                    .limit(25)
+                    .map(e -> (long) e[1])
+                    .toList();
+
+            assertThat(topK.drain()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through every unsold asset exactly once, in returns order")
+    void pagesThroughAll() {
+        for (MoverDirection direction : MoverDirection.values()) {
+            List<MoverResponse> seen = new ArrayList<>();
+            String cursor = null;
+            do {
+                MoversResponse page = moversService.getMovers(1L, null, direction, 15, cursor);
+                assertThat(page.getItems()).hasSizeLessThanOrEqualTo(15);
+                seen.addAll(page.getItems());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            long unsold = assets.stream().filter(a -> !a.isSold()).count();
+            assertThat(seen).hasSize((int) unsold);
+            assertThat(seen.stream().map(MoverResponse::getAssetId).distinct().count()).isEqualTo(unsold);
+            Comparator<BigDecimal> order = direction == MoverDirection.GAINERS
+                    ? Comparator.reverseOrder() : Comparator.naturalOrder();
+            assertThat(seen).extracting(MoverResponse::getReturns).isSortedAccordingTo(order);
+        }
+    }
+
+    @Test
+    @DisplayName("Should select gainers and losers in one pass matching getMovers")
+    void selectMovers() {
+        PriceSnapshot snapshot = valuationService.snapshot(assets);
+
+        MoversService.RankedMovers ranked = moversService.selectMovers(assets, snapshot, 5);
+
+        assertThat(ranked.gainers()).extracting(Asset::getId).isEqualTo(
+                moversService.getMovers(1L, null, MoverDirection.GAINERS, 5, null).getItems().stream()
+                        .map(MoverResponse::getAssetId).toList());
+        assertThat(ranked.losers()).extracting(Asset::getId).isEqualTo(
+                moversService.getMovers(1L, null, MoverDirection.LOSERS, 5, null).getItems().stream()
+                        .map(MoverResponse::getAssetId).toList());
+        assertThat(ranked.gainers()).noneMatch(Asset::isSold);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid k, cursor and direction")
+    void rejectsInvalidInput() {
+        assertThatThrownBy(() -> moversService.getMovers(1L, null, MoverDirection.GAINERS, 0, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> moversService.getMovers(1L, null, MoverDirection.GAINERS, 101, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> moversService.getMovers(1L, null, MoverDirection.GAINERS, 5, "nope"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> MoverDirection.from("sideways"))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
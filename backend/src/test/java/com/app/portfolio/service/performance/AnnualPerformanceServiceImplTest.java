@@ -0,0 +1,187 @@
+package com.app.portfolio.service.performance;
+
+import com.app.portfolio.beans.AnnualPerformance;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.beans.PortfolioHolding;
+import com.app.portfolio.beans.PortfolioSummary;
+import com.app.portfolio.beans.PortfolioUpload;
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import com.app.portfolio.repository.AnnualPerformanceRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.repository.PortfolioHoldingRepository;
+import com.app.portfolio.repository.PortfolioSummaryRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Annual Performance Service Tests")
+class AnnualPerformanceServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Mock
+    private AnnualPerformanceRepository performanceRepository;
+
+    @Mock
+    private PortfolioSummaryRepository summaryRepository;
+
+    @Mock
+    private PortfolioHoldingRepository holdingRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AnnualPerformanceServiceImpl performanceService;
+
+    private final Client client = Client.builder().id(1L).name("Client 1").currency("USD").build();
+
+    @BeforeEach
+    void setUp() {
+        performanceService = new AnnualPerformanceServiceImpl(performanceRepository, summaryRepository,
+                holdingRepository, clientRepository, fxRateService, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(performanceService, "startMonth", 4);
+        ReflectionTestUtils.setField(performanceService, "chunkSize", 100);
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(fxRateService.getMatrix()).thenReturn(FxRateMatrix.of(TODAY, "USD", Map.of()));
+        lenient().when(clientRepository.findAllIds()).thenReturn(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should number financial years by the year they start in")
+    void financialYear_Boundaries() {
+        FinancialYear year = FinancialYear.containing(LocalDate.of(2026, 3, 31), 4);
+        assertThat(year.year()).isEqualTo(2025);
+        assertThat(year.start()).isEqualTo(LocalDate.of(2025, 4, 1));
+        assertThat(year.end()).isEqualTo(LocalDate.of(2026, 3, 31));
+        assertThat(FinancialYear.containing(LocalDate.of(2026, 4, 1), 4).year()).isEqualTo(2026);
+        assertThat(FinancialYear.containing(LocalDate.of(2026, 12, 31), 1).previous().end())
+                .isEqualTo(LocalDate.of(2025, 12, 31));
+    }
+
+    @Test
+    @DisplayName("Should roll up the current year from its opening and closing snapshots only")
+    void rollUp_CurrentYear() {
+        // The previous year is already closed, so only the current one is read
+        when(performanceRepository.findByClientIdInAndFinancialYearIn(List.of(1L), List.of(2025, 2026)))
+                .thenReturn(List.of(AnnualPerformance.builder().client(client).financialYear(2025).closed(true).build()));
+        PortfolioSummary opening = summary(10L, "2026-03-31", "800", "1000");
+        PortfolioSummary closing = summary(20L, "2026-10-19", "1100", "1500");
+        when(summaryRepository.findLatestByClientIdIn(anyCollection(), eq(PeriodType.DAILY),
+                eq("2026-04-01"), eq("2027-03-31"))).thenReturn(List.of(closing));
+        when(summaryRepository.findLatestByClientIdIn(anyCollection(), eq(PeriodType.DAILY),
+                eq("1970-01-01"), eq("2026-03-31"))).thenReturn(List.of(opening));
+        when(holdingRepository.findByUploadIdIn(Set.of(10L, 20L))).thenReturn(List.of(
+                holding(opening, "AAPL", "100"), holding(opening, "MSFT", "50"),
+                holding(closing, "AAPL", "300"), holding(closing, "MSFT", "-20"), holding(closing, "TSLA", "40")));
+
+        assertThat(performanceService.rollUp(TODAY)).isEqualTo(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AnnualPerformance>> saved = ArgumentCaptor.forClass(List.class);
+        verify(performanceRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(row -> {
+            assertThat(row.getFinancialYear()).isEqualTo(2026);
+            assertThat(row.isClosed()).isFalse();
+            assertThat(row.getCurrency()).isEqualTo("USD");
+            assertThat(row.getOpeningDate()).isEqualTo(LocalDate.of(2026, 3, 31));
+            assertThat(row.getOpeningValue()).isEqualByComparingTo("1000");
+            assertThat(row.getClosingValue()).isEqualByComparingTo("1500");
+            assertThat(row.getTotalInvestedDuringYear()).isEqualByComparingTo("300");
+            assertThat(row.getTotalProfitLoss()).isEqualByComparingTo("200");
+            assertThat(row.getBestPerformingAsset()).isEqualTo("AAPL");
+            assertThat(row.getWorstPerformingAsset()).isEqualTo("MSFT");
+        });
+        verify(summaryRepository, never()).findLatestByClientIdIn(anyCollection(), any(), eq("2025-04-01"), any());
+        verify(summaryRepository, never()).findEarliestByClientIdIn(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should close the previous year and open a year without earlier snapshots at its first one")
+    void rollUp_ClosesPreviousYear() {
+        when(performanceRepository.findByClientIdInAndFinancialYearIn(List.of(1L), List.of(2025, 2026)))
+                .thenReturn(List.of());
+        PortfolioSummary first = summary(30L, "2025-06-01", "500", "500");
+        PortfolioSummary last = summary(31L, "2026-03-31", "500", "450");
+        when(summaryRepository.findLatestByClientIdIn(anyCollection(), eq(PeriodType.DAILY),
+                eq("2025-04-01"), eq("2026-03-31"))).thenReturn(List.of(last));
+        when(summaryRepository.findLatestByClientIdIn(anyCollection(), eq(PeriodType.DAILY),
+                eq("1970-01-01"), eq("2025-03-31"))).thenReturn(List.of());
+        when(summaryRepository.findEarliestByClientIdIn(List.of(1L), PeriodType.DAILY, "2025-04-01", "2026-03-31"))
+                .thenReturn(List.of(first));
+        when(summaryRepository.findLatestByClientIdIn(anyCollection(), eq(PeriodType.DAILY),
+                eq("2026-04-01"), eq("2027-03-31"))).thenReturn(List.of());
+
+        assertThat(performanceService.rollUp(TODAY)).isEqualTo(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AnnualPerformance>> saved = ArgumentCaptor.forClass(List.class);
+        verify(performanceRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(row -> {
+            assertThat(row.getFinancialYear()).isEqualTo(2025);
+            assertThat(row.isClosed()).isTrue();
+            assertThat(row.getOpeningDate()).isEqualTo(LocalDate.of(2025, 6, 1));
+            assertThat(row.getTotalInvestedDuringYear()).isEqualByComparingTo("0");
+            assertThat(row.getTotalProfitLoss()).isEqualByComparingTo("-50");
+            assertThat(row.getBestPerformingAsset()).isNull();
+        });
+    }
+
+    private PortfolioSummary summary(Long uploadId, String label, String invested, String currentValue) {
+        PortfolioUpload upload = PortfolioUpload.builder()
+                .id(uploadId)
+                .client(client)
+                .periodType(PeriodType.DAILY)
+                .periodLabel(label)
+                .build();
+        return PortfolioSummary.builder()
+                .portfolioUpload(upload)
+                .client(client)
+                .currency("USD")
+                .totalInvestedValue(new BigDecimal(invested))
+                .totalCurrentValue(new BigDecimal(currentValue))
+                .build();
+    }
+
+    private PortfolioHolding holding(PortfolioSummary summary, String ticker, String profitLoss) {
+        return PortfolioHolding.builder()
+                .portfolioUpload(summary.getPortfolioUpload())
+                .client(client)
+                .ticker(ticker)
+                .currency("USD")
+                .profitLoss(new BigDecimal(profitLoss))
+                .build();
+    }
+}
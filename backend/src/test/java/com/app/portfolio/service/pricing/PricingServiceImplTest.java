@@ -0,0 +1,112 @@
+package com.app.portfolio.service.pricing;
+
+import com.app.portfolio.beans.AssetPrice;
+import com.app.portfolio.dto.pricing.PortfolioChartResponse;
+import com.app.portfolio.dto.pricing.PortfolioValueResponse;
+import com.app.portfolio.repository.AssetPriceRepository;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.pricing.feed.PriceFeed;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pricing Service Local Valuation Tests")
+class PricingServiceImplTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private AssetPriceRepository assetPriceRepository;
+
+    @Mock
+    private PriceFeed priceFeed;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PricingServiceImpl pricingService;
+
+    @Test
+    @DisplayName("Should load previous closes once per symbol per day")
+    void previousClosesCached() {
+        Instant yesterday = LocalDate.now().minusDays(1).atStartOfDay(ZoneId.systemDefault()).plusHours(16).toInstant();
+        when(assetPriceRepository.findLatestBySymbolsBefore(anyCollection(), any(Instant.class)))
+                .thenReturn(List.of(price("AAPL", "190", yesterday)));
+
+        Map<String, BigDecimal> first = pricingService.getPreviousCloses(List.of("aapl", "NEW"));
+        Map<String, BigDecimal> second = pricingService.getPreviousCloses(List.of("AAPL", "NEW"));
+
+        assertThat(first).containsOnlyKeys("AAPL");
+        assertThat(first.get("AAPL")).isEqualByComparingTo("190");
+        assertThat(second).isEqualTo(first);
+        verify(assetPriceRepository, times(1)).findLatestBySymbolsBefore(anyCollection(), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should value a portfolio from stored prices without calling the feed")
+    void portfolioValueFromStoredPrices() {
+        when(assetPriceRepository.findLatestBySymbols(Set.of("AAPL", "MSFT")))
+                .thenReturn(List.of(price("AAPL", "200", Instant.now())));
+
+        PortfolioValueResponse response = pricingService.getPortfolioValue(Map.of("AAPL", 10.0, "MSFT", 5.0));
+
+        assertThat(response.getTotalValue()).isEqualTo(2000.0);
+        assertThat(response.getBreakdown().get("AAPL").getValue()).isEqualTo(2000.0);
+        assertThat(response.getBreakdown().get("MSFT").getError()).isNotNull();
+        verifyNoInteractions(priceFeed);
+    }
+
+    @Test
+    @DisplayName("Should chart stored prices per day, carrying the last price forward")
+    void portfolioChartFromStoredPrices() {
+        ZoneId zone = ZoneId.systemDefault();
+        Instant day1 = LocalDate.now().minusDays(3).atStartOfDay(zone).plusHours(10).toInstant();
+        Instant day1Later = day1.plusSeconds(3600);
+        Instant day2 = LocalDate.now().minusDays(2).atStartOfDay(zone).plusHours(10).toInstant();
+        when(assetPriceRepository.findBySymbolsAndDateRange(anyCollection(), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(
+                        price("AAPL", "100", day1),
+                        price("MSFT", "50", day1),
+                        price("AAPL", "110", day1Later),
+                        price("AAPL", "120", day2)));
+
+        PortfolioChartResponse chart = pricingService.getPortfolioChart(Map.of("aapl", 2.0, "MSFT", 1.0), "1mo", "1d");
+
+        assertThat(chart.getData()).hasSize(2);
+        assertThat(chart.getData().get(0).getValue()).isEqualTo(270.0);
+        assertThat(chart.getData().get(1).getValue()).isEqualTo(290.0);
+        verifyNoInteractions(priceFeed);
+    }
+
+    private AssetPrice price(String symbol, String price, Instant date) {
+        return AssetPrice.builder()
+                .symbol(symbol)
+                .currentPrice(new BigDecimal(price))
+                .priceDate(date)
+                .source(AssetPrice.PriceSource.MANUAL)
+                .build();
+    }
+}
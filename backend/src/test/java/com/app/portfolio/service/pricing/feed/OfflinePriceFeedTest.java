@@ -0,0 +1,117 @@
+package com.app.portfolio.service.pricing.feed;
+
+import com.app.portfolio.beans.AssetPrice;
+import com.app.portfolio.dto.pricing.ChartResponse;
+import com.app.portfolio.dto.pricing.PortfolioChartResponse;
+import com.app.portfolio.dto.pricing.PriceResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Offline Price Feed Tests")
+class OfflinePriceFeedTest {
+
+    private static final String EXTRACT = """
+            symbol,date,adjusted_close_price
+            0005.HK,2025-08-01,93.841
+            0005.HK,2025-08-08,96.747
+            AAPL,2025-08-01,200.0
+            AAPL,2025-08-15,210.5
+            """;
+
+    @Nested
+    @DisplayName("Replay feed")
+    class ReplayTests {
+
+        private ReplayPriceFeed feed(boolean loop) throws Exception {
+            ReplayPriceFeed feed = new ReplayPriceFeed(new ByteArrayResource(EXTRACT.getBytes(StandardCharsets.UTF_8)), loop);
+            feed.load();
+            return feed;
+        }
+
+        @Test
+        @DisplayName("Should step through the extract one date per advance")
+        void shouldReplayDatesInOrder() throws Exception {
+            ReplayPriceFeed feed = feed(false);
+
+            assertThat(feed.getSource()).isEqualTo(AssetPrice.PriceSource.FAKE);
+            assertThat(feed.getPrice("0005.hk").getPrice()).isEqualTo(93.841);
+
+            feed.advance();
+            assertThat(feed.getPrice("0005.HK").getPrice()).isEqualTo(96.747);
+            assertThat(feed.getPrice("AAPL").getPrice()).isEqualTo(200.0);
+
+            feed.advance();
+            feed.advance();
+            assertThat(feed.getPrice("AAPL").getPrice()).isEqualTo(210.5);
+            assertThat(feed.getPrice("MSFT")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should wrap around when looping")
+        void shouldLoop() throws Exception {
+            ReplayPriceFeed feed = feed(true);
+            feed.advance();
+            feed.advance();
+            feed.advance();
+
+            assertThat(feed.getPrice("0005.HK").getPrice()).isEqualTo(93.841);
+        }
+
+        @Test
+        @DisplayName("Should build a carried-forward portfolio chart from the extract")
+        void shouldBuildPortfolioChart() throws Exception {
+            ReplayPriceFeed feed = feed(false);
+            feed.advance();
+            feed.advance();
+
+            ChartResponse chart = feed.getChart("AAPL", "1mo", "1d");
+            assertThat(chart.getData()).hasSize(2);
+
+            PortfolioChartResponse portfolio = feed.getPortfolioChart(Map.of("AAPL", 1.0, "0005.HK", 10.0), "1mo", "1d");
+            assertThat(portfolio.getData()).hasSize(3);
+            assertThat(portfolio.getData().get(2).getValue()).isEqualTo(210.5 + 967.47);
+        }
+    }
+
+    @Nested
+    @DisplayName("Synthetic feed")
+    class SyntheticTests {
+
+        @Test
+        @DisplayName("Should produce the same walk for the same seed regardless of request order")
+        void shouldBeDeterministic() {
+            SyntheticPriceFeed first = new SyntheticPriceFeed(7, 0.02, 0, 0);
+            SyntheticPriceFeed second = new SyntheticPriceFeed(7, 0.02, 0, 0);
+
+            first.getPrice("MSFT");
+            for (int i = 0; i < 5; i++) {
+                first.advance();
+                second.advance();
+            }
+
+            Map<String, PriceResponse> prices = second.getPrices(List.of("AAPL", "MSFT"));
+            assertThat(first.getPrice("AAPL").getPrice()).isEqualTo(prices.get("AAPL").getPrice());
+            assertThat(first.getPrice("MSFT").getPrice()).isEqualTo(prices.get("MSFT").getPrice());
+            ChartResponse chart = first.getChart("AAPL", "1mo", "1d");
+            assertThat(chart.getData()).hasSizeGreaterThan(27);
+            assertThat(chart.getData().get(chart.getData().size() - 1).getClose()).isEqualTo(prices.get("AAPL").getPrice());
+        }
+
+        @Test
+        @DisplayName("Should drop every symbol when the error rate is 100%")
+        void shouldInjectErrors() {
+            SyntheticPriceFeed feed = new SyntheticPriceFeed(7, 0.02, 0, 1.0);
+
+            assertThat(feed.getPrices(List.of("AAPL", "MSFT"))).isEmpty();
+            assertThat(feed.getSource()).isEqualTo(AssetPrice.PriceSource.FAKE);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.app.portfolio.service.snapshot;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.beans.PortfolioHolding;
+import com.app.portfolio.beans.PortfolioSummary;
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import com.app.portfolio.repository.AssetRepository;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.repository.PortfolioHoldingRepository;
+import com.app.portfolio.repository.PortfolioSummaryRepository;
+import com.app.portfolio.repository.PortfolioUploadRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.pricing.PricingService;
+import com.app.portfolio.service.valuation.ValuationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Portfolio Snapshot Service Tests")
+class PortfolioSnapshotServiceImplTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private PortfolioUploadRepository uploadRepository;
+
+    @Mock
+    private PortfolioHoldingRepository holdingRepository;
+
+    @Mock
+    private PortfolioSummaryRepository summaryRepository;
+
+    @Mock
+    private PortfolioSnapshotWriter snapshotWriter;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+    private PortfolioSnapshotServiceImpl snapshotService;
+
+    private final Map<Long, Client> clients = new ConcurrentHashMap<>();
+    private final List<Asset> assets = new ArrayList<>();
+
+    // Summaries and holdings handed to the writer, by client id; chunks are written concurrently
+    private final Map<Long, PortfolioSummary> summaries = new ConcurrentHashMap<>();
+    private final Map<Long, List<PortfolioHolding>> holdings = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        snapshotService = new PortfolioSnapshotServiceImpl(clientRepository, assetRepository, uploadRepository,
+                holdingRepository, summaryRepository, snapshotWriter,
+                new ValuationServiceImpl(pricingService, fxRateService), fxRateService,
+                new TransactionTemplate(transactionManager), executor);
+        ReflectionTestUtils.setField(snapshotService, "chunkSize", 2);
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(fxRateService.getMatrix()).thenReturn(FxRateMatrix.of(DATE, "USD",
+                Map.of("EUR", new BigDecimal("0.90"))));
+
+        clients.put(1L, Client.builder().id(1L).name("Client 1").currency("USD").build());
+        clients.put(2L, Client.builder().id(2L).name("Client 2").currency("EUR").build());
+        clients.put(3L, Client.builder().id(3L).name("Client 3").currency("USD").build());
+        assets.add(asset(11L, 1L, "AAPL", "10", "100", "USD"));
+        assets.add(asset(12L, 1L, null, "2", "50", "USD"));
+        assets.add(asset(21L, 2L, "SAP", "5", "50", "EUR"));
+
+        lenient().when(clientRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        lenient().when(clientRepository.findAllById(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().map(clients::get).toList());
+        lenient().when(assetRepository.findAllByClientIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return assets.stream().filter(asset -> ids.contains(asset.getClient().getId())).toList();
+        });
+        lenient().when(assetRepository.findDistinctUnsoldSymbols()).thenReturn(List.of("AAPL", "SAP"));
+        lenient().when(pricingService.getLatestPrices(anyCollection())).thenReturn(Map.of(
+                "AAPL", new BigDecimal("120"), "SAP", new BigDecimal("40")));
+        lenient().doAnswer(invocation -> {
+            invocation.<List<PortfolioSummary>>getArgument(2)
+                    .forEach(summary -> summaries.put(summary.getClient().getId(), summary));
+            for (PortfolioHolding holding : invocation.<List<PortfolioHolding>>getArgument(1)) {
+                holdings.computeIfAbsent(holding.getClient().getId(), id -> new ArrayList<>()).add(holding);
+            }
+            return null;
+        }).when(snapshotWriter).insert(anyList(), anyList(), anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should replace the day's snapshot with one summary per client, priced in one query")
+    void takeSnapshots_WritesEveryClient() {
+        assertThat(snapshotService.takeSnapshots(DATE)).isEqualTo(3);
+
+        verify(holdingRepository).deleteClientPeriod(PeriodType.DAILY, "2026-03-02");
+        verify(summaryRepository).deleteClientPeriod(PeriodType.DAILY, "2026-03-02");
+        verify(uploadRepository).deleteClientPeriod(PeriodType.DAILY, "2026-03-02");
+        verify(pricingService, times(1)).getLatestPrices(Set.of("AAPL", "SAP"));
+        verify(snapshotWriter, times(2)).insert(anyList(), anyList(), anyList());
+
+        PortfolioSummary first = summaries.get(1L);
+        assertThat(first.getCurrency()).isEqualTo("USD");
+        assertThat(first.getTotalInvestedValue()).isEqualByComparingTo("1100");
+        assertThat(first.getTotalCurrentValue()).isEqualByComparingTo("1300");
+        assertThat(first.getTotalProfitLoss()).isEqualByComparingTo("200");
+        assertThat(first.getNumberOfAssets()).isEqualTo(2);
+        assertThat(first.getNumberOfProfitableAssets()).isEqualTo(1);
+        assertThat(first.getNumberOfLossAssets()).isZero();
+        assertThat(first.getPortfolioUpload().getPeriodLabel()).isEqualTo("2026-03-02");
+        assertThat(holdings.get(1L)).extracting(PortfolioHolding::getTicker).containsExactly("AAPL", "Asset 12");
+
+        PortfolioSummary second = summaries.get(2L);
+        assertThat(second.getCurrency()).isEqualTo("EUR");
+        assertThat(second.getTotalProfitLoss()).isEqualByComparingTo("-50");
+        assertThat(second.getNumberOfLossAssets()).isEqualTo(1);
+        assertThat(holdings.get(2L)).singleElement().satisfies(holding -> {
+            assertThat(holding.getInvestedValue()).isEqualByComparingTo("250");
+            assertThat(holding.getCurrentValue()).isEqualByComparingTo("200");
+            assertThat(holding.getInvestmentStartDate()).isNotNull();
+        });
+
+        assertThat(summaries.get(3L).getNumberOfAssets()).isZero();
+        assertThat(summaries.get(3L).getTotalCurrentValue()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Should still write the other chunks when one fails")
+    void takeSnapshots_ChunkFailure() {
+        when(assetRepository.findAllByClientIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.contains(1L)) {
+                throw new IllegalStateException("connection lost");
+            }
+            return List.of();
+        });
+
+        assertThat(snapshotService.takeSnapshots(DATE)).isEqualTo(1);
+        assertThat(summaries).containsOnlyKeys(3L);
+    }
+
+    private Asset asset(Long id, Long clientId, String symbol, String quantity, String buyingRate, String currency) {
+        return Asset.builder()
+                .id(id)
+                .client(clients.get(clientId))
+                .name("Asset " + id)
+                .category(Asset.AssetCategory.STOCK)
+                .symbol(symbol)
+                .quantity(new BigDecimal(quantity))
+                .buyingRate(new BigDecimal(buyingRate))
+                .currency(currency)
+                .purchaseDateTime(Instant.parse("2025-06-01T10:00:00Z"))
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.app.portfolio.service.upload;
+
+import com.app.portfolio.beans.Client;
+import com.app.portfolio.beans.PortfolioHolding;
+import com.app.portfolio.beans.PortfolioSummary;
+import com.app.portfolio.beans.PortfolioUpload;
+import com.app.portfolio.beans.PortfolioUpload.PeriodType;
+import com.app.portfolio.dto.upload.PortfolioUploadResponse;
+import com.app.portfolio.exceptions.BadRequestException;
+import com.app.portfolio.repository.ClientRepository;
+import com.app.portfolio.repository.PortfolioHoldingRepository;
+import com.app.portfolio.repository.PortfolioSummaryRepository;
+import com.app.portfolio.repository.PortfolioUploadRepository;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.job.JobService;
+import com.app.portfolio.service.snapshot.PortfolioSnapshotWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Portfolio Upload Service Tests")
+class PortfolioUploadServiceImplTest {
+
+    private static final String HEADER = "ticker,quantity,buy_price,current_price,currency,investment_start_date\n";
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private PortfolioUploadRepository uploadRepository;
+
+    @Mock
+    private PortfolioHoldingRepository holdingRepository;
+
+    @Mock
+    private PortfolioSummaryRepository summaryRepository;
+
+    @Mock
+    private PortfolioSnapshotWriter writer;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JobService jobService;
+
+    private PortfolioUploadServiceImpl uploadService;
+
+    // Copies of every chunk handed to the writer; the service reuses its chunk list
+    private final List<List<PortfolioHolding>> chunks = new ArrayList<>();
+    private final List<PortfolioSummary> summaries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        uploadService = new PortfolioUploadServiceImpl(clientRepository, uploadRepository, holdingRepository,
+                summaryRepository, writer, fxRateService, new TransactionTemplate(transactionManager), jobService);
+        ReflectionTestUtils.setField(uploadService, "chunkSize", 2);
+        ReflectionTestUtils.setField(uploadService, "maxReportedErrors", 100);
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(fxRateService.getMatrix()).thenReturn(FxRateMatrix.of(LocalDate.of(2026, 3, 31), "USD",
+                Map.of("EUR", new BigDecimal("2"))));
+        lenient().when(clientRepository.existsByIdAndUserId(10L, 1L)).thenReturn(true);
+        lenient().when(clientRepository.findById(10L))
+                .thenReturn(Optional.of(Client.builder().id(10L).name("Client 10").currency("USD").build()));
+        lenient().doAnswer(invocation -> {
+            invocation.<List<PortfolioUpload>>getArgument(0).forEach(upload -> upload.setId(7L));
+            return null;
+        }).when(writer).insertUploads(anyList());
+        lenient().doAnswer(invocation -> chunks.add(List.copyOf(invocation.<List<PortfolioHolding>>getArgument(0))))
+                .when(writer).insertHoldings(anyList());
+        lenient().doAnswer(invocation -> summaries.addAll(invocation.getArgument(0)))
+                .when(writer).insertSummaries(anyList());
+    }
+
+    @Test
+    @DisplayName("Should insert holdings in chunks and summarize them in the same pass")
+    void upload_ChunksAndSummary() throws Exception {
+        when(uploadRepository.findIdsByClientIdAndPeriod(10L, PeriodType.QUARTERLY, "2026-Q1"))
+                .thenReturn(List.of(5L, 7L));
+        String csv = HEADER
+                + "aapl,10,100,120,USD,2025-01-15\n"
+                + "MSFT,5,50,40,,\n"
+                + ",1,1,1,USD,\n"
+                + "SAP,1,10,15,EUR,2025-02-01\n"
+                + "TSLA,-1,10,15,USD,\n";
+
+        PortfolioUploadResponse response = uploadService.upload(stream(csv), "q1.csv", 10L,
+                PeriodType.QUARTERLY, "2026-Q1", 1L);
+
+        assertThat(chunks).extracting(List::size).containsExactly(2, 1);
+        assertThat(chunks.get(0).get(0).getTicker()).isEqualTo("AAPL");
+        assertThat(chunks.get(0).get(1).getCurrency()).isEqualTo("USD");
+        assertThat(chunks.get(0).get(1).getProfitLoss()).isEqualByComparingTo("-50");
+        assertThat(response.getUploadId()).isEqualTo(7L);
+        assertThat(response.getRowsRead()).isEqualTo(5);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting("line").containsExactly(4L, 6L);
+        // EUR holdings are converted once, at 2 USD per EUR
+        assertThat(response.getCurrency()).isEqualTo("USD");
+        assertThat(response.getTotalInvested()).isEqualByComparingTo("1270");
+        assertThat(response.getTotalCurrentValue()).isEqualByComparingTo("1430");
+        assertThat(response.getTotalProfitLoss()).isEqualByComparingTo("160");
+        assertThat(response.getNumberOfAssets()).isEqualTo(3);
+        assertThat(response.getNumberOfProfitableAssets()).isEqualTo(2);
+        assertThat(response.getNumberOfLossAssets()).isEqualTo(1);
+        assertThat(summaries).singleElement().satisfies(summary ->
+                assertThat(summary.getPortfolioUpload().getId()).isEqualTo(7L));
+        verify(holdingRepository).deleteAllByUploadIdIn(List.of(5L));
+        verify(uploadRepository).deleteAllByIdIn(List.of(5L));
+    }
+
+    @Test
+    @DisplayName("Should remove a partial upload when a chunk fails and keep the earlier one")
+    void upload_RemovesPartialUpload() {
+        doAnswer(invocation -> {
+            if (!chunks.isEmpty()) {
+                throw new DataIntegrityViolationException("rejected");
+            }
+            chunks.add(List.copyOf(invocation.<List<PortfolioHolding>>getArgument(0)));
+            return null;
+        }).when(writer).insertHoldings(anyList());
+        String csv = HEADER + "A,1,1,1,USD,\nB,1,1,1,USD,\nC,1,1,1,USD,\n";
+
+        assertThatThrownBy(() -> uploadService.upload(stream(csv), "q1.csv", 10L, PeriodType.QUARTERLY, "2026-Q1", 1L))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        verify(writer, never()).insertSummaries(anyList());
+        verify(uploadRepository, never()).findIdsByClientIdAndPeriod(any(), any(), any());
+        verify(holdingRepository).deleteAllByUploadIdIn(List.of(7L));
+        verify(summaryRepository).deleteAllByUploadIdIn(List.of(7L));
+        verify(uploadRepository).deleteAllByIdIn(List.of(7L));
+    }
+
+    @Test
+    @DisplayName("Should reject daily periods and files without the required columns")
+    void upload_InvalidInput() {
+        assertThatThrownBy(() -> uploadService.upload(stream(HEADER), "d.csv", 10L, PeriodType.DAILY, "2026-03-31", 1L))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(writer);
+
+        assertThatThrownBy(() -> uploadService.upload(stream("ticker,quantity\nA,1\n"), "q1.csv", 10L,
+                PeriodType.QUARTERLY, "2026-Q1", 1L))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("currentPrice");
+        verify(uploadRepository).deleteAllByIdIn(List.of(7L));
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
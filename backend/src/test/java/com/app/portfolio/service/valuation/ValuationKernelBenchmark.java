@@ -0,0 +1,104 @@
+package com.app.portfolio.service.valuation;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-asset P&L with BigDecimal versus {@link ValuationKernel}, over a book of DECIMAL(20,4)
+ * positions. Not run by the test suite; start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.app.portfolio.service.valuation.ValuationKernelBenchmark}
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValuationKernelBenchmark {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({"10000"})
+    private int positions;
+
+    private BigDecimal[] quantities;
+    private BigDecimal[] buyingRates;
+    private BigDecimal[] prices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        quantities = new BigDecimal[positions];
+        buyingRates = new BigDecimal[positions];
+        prices = new BigDecimal[positions];
+        for (int i = 0; i < positions; i++) {
+            quantities[i] = BigDecimal.valueOf(random.nextLong(1, 100_000_000L), 4);
+            buyingRates[i] = BigDecimal.valueOf(random.nextLong(1, 50_000_000L), 4);
+            prices[i] = BigDecimal.valueOf(random.nextLong(1, 50_000_000L), 4);
+        }
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < positions; i++) {
+            BigDecimal invested = buyingRates[i].multiply(quantities[i]);
+            BigDecimal profitLoss = prices[i].multiply(quantities[i]).subtract(invested);
+            blackhole.consume(profitLoss);
+            blackhole.consume(profitLoss.divide(invested, 4, RoundingMode.HALF_UP).multiply(HUNDRED));
+        }
+    }
+
+    @Benchmark
+    public void kernel(Blackhole blackhole) {
+        for (int i = 0; i < positions; i++) {
+            long quantity = ValuationKernel.scaled(quantities[i]);
+            long invested = ValuationKernel.value(quantity, ValuationKernel.scaled(buyingRates[i]));
+            long profitLoss = ValuationKernel.subtract(ValuationKernel.value(quantity, ValuationKernel.scaled(prices[i])), invested);
+            blackhole.consume(profitLoss);
+            blackhole.consume(ValuationKernel.percent(profitLoss, invested));
+        }
+    }
+
+    @Benchmark
+    public void kernelBigDecimalResults(Blackhole blackhole) {
+        for (int i = 0; i < positions; i++) {
+            ValuationKernel.Valuation valuation = ValuationKernel.valuate(quantities[i], buyingRates[i], prices[i]);
+            blackhole.consume(valuation.getProfitLoss());
+            blackhole.consume(valuation.getProfitLossPercent());
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSum() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < positions; i++) {
+            total = total.add(prices[i].multiply(quantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal kernelSum() {
+        ValuationKernel.Sum total = new ValuationKernel.Sum();
+        for (int i = 0; i < positions; i++) {
+            total.addValue(quantities[i], prices[i]);
+        }
+        return total.toBigDecimal();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ValuationKernelBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
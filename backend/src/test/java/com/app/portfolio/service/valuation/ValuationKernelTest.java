@@ -0,0 +1,84 @@
+package com.app.portfolio.service.valuation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Valuation Kernel Tests")
+class ValuationKernelTest {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Test
+    @DisplayName("Should match BigDecimal P&L for random DECIMAL(20,4) inputs")
+    void matchesBigDecimal() {
+        Random random = new Random(42);
+        ValuationKernel.Sum investedSum = new ValuationKernel.Sum();
+        ValuationKernel.Sum changeSum = new ValuationKernel.Sum();
+        BigDecimal expectedInvested = BigDecimal.ZERO;
+        BigDecimal expectedChange = BigDecimal.ZERO;
+
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal quantity = BigDecimal.valueOf(random.nextLong(1, 10_000_000_000L), 4);
+            BigDecimal buyingRate = BigDecimal.valueOf(random.nextLong(1, 100_000_000L), 4);
+            BigDecimal price = BigDecimal.valueOf(random.nextLong(0, 100_000_000L), 4);
+
+            BigDecimal invested = buyingRate.multiply(quantity);
+            BigDecimal currentValue = price.multiply(quantity);
+            BigDecimal profitLoss = currentValue.subtract(invested);
+            BigDecimal percent = profitLoss.divide(invested, 4, RoundingMode.HALF_UP).multiply(HUNDRED);
+
+            ValuationKernel.Valuation valuation = ValuationKernel.valuate(quantity, buyingRate, price);
+            assertThat(valuation.getCurrentValue()).isEqualTo(currentValue);
+            assertThat(valuation.getProfitLoss()).isEqualTo(profitLoss);
+            assertThat(valuation.getProfitLossPercent()).isEqualTo(percent);
+            assertThat(ValuationKernel.percent(profitLoss, invested)).isEqualTo(percent);
+
+            investedSum.addValue(quantity, buyingRate);
+            changeSum.addChange(quantity, buyingRate, price);
+            expectedInvested = expectedInvested.add(invested);
+            expectedChange = expectedChange.add(profitLoss);
+        }
+
+        // Large enough to overflow a long part way through, so this also covers the switch to BigDecimal
+        assertThat(investedSum.toBigDecimal()).isEqualByComparingTo(expectedInvested);
+        assertThat(changeSum.toBigDecimal()).isEqualByComparingTo(expectedChange);
+    }
+
+    @Test
+    @DisplayName("Should round percentage ties half up, away from zero")
+    void roundsHalfUp() {
+        // 1/20000 = 0.00005 is an exact tie at four decimals
+        assertThat(ValuationKernel.percent(new BigDecimal("1"), new BigDecimal("20000")))
+                .isEqualTo(new BigDecimal("0.0100"));
+        assertThat(ValuationKernel.percent(new BigDecimal("-1"), new BigDecimal("20000")))
+                .isEqualTo(new BigDecimal("-0.0100"));
+        assertThat(ValuationKernel.percent(new BigDecimal("1"), new BigDecimal("3")))
+                .isEqualTo(new BigDecimal("33.3300"));
+        assertThat(ValuationKernel.percent(new BigDecimal("-2"), new BigDecimal("3")))
+                .isEqualTo(new BigDecimal("-66.6700"));
+        assertThat(ValuationKernel.percent(BigDecimal.TEN, BigDecimal.ZERO)).isEqualTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal for extra decimals and overflow")
+    void fallsBack() {
+        BigDecimal fine = new BigDecimal("1.23456");
+        BigDecimal huge = new BigDecimal("9999999999999999.9999");
+
+        assertThat(ValuationKernel.scaled(fine)).isEqualTo(ValuationKernel.NONE);
+        assertThat(ValuationKernel.scaled(new BigDecimal("12.5"))).isEqualTo(125_000L);
+        assertThat(ValuationKernel.valuate(BigDecimal.TEN, BigDecimal.ONE, fine).getCurrentValue())
+                .isEqualByComparingTo("12.3456");
+        assertThat(ValuationKernel.valuate(huge, BigDecimal.ONE, huge).getProfitLoss())
+                .isEqualTo(huge.multiply(huge).subtract(huge));
+        assertThat(ValuationKernel.value(ValuationKernel.scaled(huge), ValuationKernel.scaled(huge)))
+                .isEqualTo(ValuationKernel.NONE);
+        assertThat(ValuationKernel.add(Long.MAX_VALUE, 1)).isEqualTo(ValuationKernel.NONE);
+    }
+}
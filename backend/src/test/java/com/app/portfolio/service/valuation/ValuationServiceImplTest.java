@@ -0,0 +1,106 @@
+package com.app.portfolio.service.valuation;
+
+import com.app.portfolio.beans.Asset;
+import com.app.portfolio.service.fx.FxRateMatrix;
+import com.app.portfolio.service.fx.FxRateService;
+import com.app.portfolio.service.pricing.PricingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Valuation Service Tests")
+class ValuationServiceImplTest {
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @InjectMocks
+    private ValuationServiceImpl valuationService;
+
+    @BeforeEach
+    void setUp() {
+        when(fxRateService.getMatrix()).thenReturn(FxRateMatrix.of(LocalDate.of(2026, 2, 4), "USD",
+                Map.of("EUR", new BigDecimal("1.10"))));
+    }
+
+    @Test
+    @DisplayName("Should price each distinct symbol once and value every kind of asset")
+    void value() {
+        when(pricingService.getLatestPrices(anyCollection())).thenReturn(Map.of("AAPL", new BigDecimal("150")));
+        List<Asset> assets = List.of(
+                asset("aapl", "10", "100", "USD", false, null),
+                asset("AAPL", "2", "120", "EUR", false, null),
+                asset("NEVER", "5", "10", "USD", false, null),   // never priced: worth zero
+                asset(null, "3", "50", "USD", false, null),      // no symbol: valued at cost
+                asset("MSFT", "4", "200", "USD", true, "250"),   // sold: valued at the selling rate
+                asset("TSLA", "1", "300", "USD", true, null));   // sold without a rate: valued at cost
+
+        PortfolioValuation valuation = valuationService.value(assets);
+
+        verify(pricingService, times(1)).getLatestPrices(Set.of("AAPL", "NEVER"));
+        verifyNoMoreInteractions(pricingService);
+        assertThat(valuation.getAssets()).extracting(AssetValuation::getPrice).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("150"), new BigDecimal("150"), BigDecimal.ZERO,
+                        new BigDecimal("50"), new BigDecimal("250"), new BigDecimal("300"));
+        assertThat(valuation.getAssets().get(0).getProfitLoss()).isEqualByComparingTo("500");
+        assertThat(valuation.getAssets().get(0).getProfitLossPercent()).isEqualByComparingTo("50");
+        assertThat(valuation.getAssets().get(2).getProfitLossPercent()).isEqualByComparingTo("-100");
+
+        // USD: invested 1000 + 50 + 150 + 800 + 300, current 1500 + 0 + 150 + 1000 + 300
+        assertThat(valuation.getInvestedByCurrency().get("USD")).isEqualByComparingTo("2300");
+        assertThat(valuation.getCurrentValueByCurrency().get("USD")).isEqualByComparingTo("2950");
+        assertThat(valuation.getCurrentValueByCurrency().get("EUR")).isEqualByComparingTo("300");
+        assertThat(valuation.getCurrentValue(fxRateService.getMatrix(), "USD")).isEqualByComparingTo("3280");
+    }
+
+    @Test
+    @DisplayName("Should share one snapshot across several lists")
+    void value_SharedSnapshot() {
+        when(pricingService.getLatestPrices(anyCollection())).thenReturn(Map.of("AAPL", new BigDecimal("150")));
+        List<Asset> assets = List.of(asset("AAPL", "1", "100", "USD", false, null), asset("MSFT", "1", "100", "USD", false, null));
+        PriceSnapshot snapshot = valuationService.snapshot(assets);
+
+        PortfolioValuation first = valuationService.value(assets.subList(0, 1), snapshot);
+        PortfolioValuation second = valuationService.value(assets.subList(1, 2), snapshot);
+
+        verify(pricingService, times(1)).getLatestPrices(anyCollection());
+        assertThat(first.getSnapshot()).isSameAs(second.getSnapshot());
+        assertThat(second.getAssets().get(0).getPrice()).isEqualByComparingTo("0");
+        assertThat(snapshot.getPrices()).containsOnlyKeys("AAPL", "MSFT");
+    }
+
+    private static Asset asset(String symbol, String quantity, String buyingRate, String currency,
+                               boolean sold, String sellingRate) {
+        return Asset.builder()
+                .name(symbol != null ? symbol : "Fixed deposit")
+                .category(Asset.AssetCategory.STOCK)
+                .symbol(symbol)
+                .quantity(new BigDecimal(quantity))
+                .buyingRate(new BigDecimal(buyingRate))
+                .currency(currency)
+                .sold(sold)
+                .sellingRate(sellingRate != null ? new BigDecimal(sellingRate) : null)
+                .build();
+    }
+}